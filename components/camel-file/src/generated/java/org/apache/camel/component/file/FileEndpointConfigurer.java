@@ -181,6 +181,10 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "startingDirectoryMustExist": target.setStartingDirectoryMustExist(property(camelContext, boolean.class, value)); return true;
         case "startingdirectorymusthaveaccess":
         case "startingDirectoryMustHaveAccess": target.setStartingDirectoryMustHaveAccess(property(camelContext, boolean.class, value)); return true;
+        case "streaminglisting":
+        case "streamingListing": target.setStreamingListing(property(camelContext, boolean.class, value)); return true;
+        case "streaminglistingwatch":
+        case "streamingListingWatch": target.setStreamingListingWatch(property(camelContext, boolean.class, value)); return true;
         case "synchronous": target.setSynchronous(property(camelContext, boolean.class, value)); return true;
         case "tempfilename":
         case "tempFileName": target.setTempFileName(property(camelContext, java.lang.String.class, value)); return true;
@@ -357,6 +361,10 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "startingDirectoryMustExist": return boolean.class;
         case "startingdirectorymusthaveaccess":
         case "startingDirectoryMustHaveAccess": return boolean.class;
+        case "streaminglisting":
+        case "streamingListing": return boolean.class;
+        case "streaminglistingwatch":
+        case "streamingListingWatch": return boolean.class;
         case "synchronous": return boolean.class;
         case "tempfilename":
         case "tempFileName": return java.lang.String.class;
@@ -534,6 +542,10 @@ public class FileEndpointConfigurer extends PropertyConfigurerSupport implements
         case "startingDirectoryMustExist": return target.isStartingDirectoryMustExist();
         case "startingdirectorymusthaveaccess":
         case "startingDirectoryMustHaveAccess": return target.isStartingDirectoryMustHaveAccess();
+        case "streaminglisting":
+        case "streamingListing": return target.isStreamingListing();
+        case "streaminglistingwatch":
+        case "streamingListingWatch": return target.isStreamingListingWatch();
         case "synchronous": return target.isSynchronous();
         case "tempfilename":
         case "tempFileName": return target.getTempFileName();
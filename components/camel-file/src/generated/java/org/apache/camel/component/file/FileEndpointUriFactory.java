@@ -21,7 +21,7 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(94);
+        Set<String> props = new HashSet<>(96);
         props.add("allowNullBody");
         props.add("antExclude");
         props.add("antFilterCaseSensitive");
@@ -111,6 +111,8 @@ public class FileEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("startScheduler");
         props.add("startingDirectoryMustExist");
         props.add("startingDirectoryMustHaveAccess");
+        props.add("streamingListing");
+        props.add("streamingListingWatch");
         props.add("synchronous");
         props.add("tempFileName");
         props.add("tempPrefix");
@@ -18,12 +18,20 @@ package org.apache.camel.component.file;
 
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -38,6 +46,7 @@ import org.apache.camel.resume.ResumeAware;
 import org.apache.camel.resume.ResumeStrategy;
 import org.apache.camel.support.resume.Resumables;
 import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.IOHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -51,6 +60,9 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
     private ResumeStrategy resumeStrategy;
     private String endpointPath;
     private Set<String> extendedAttributes;
+    private final Map<Path, DirectoryCursor> cursors = new HashMap<>();
+    private final Map<Path, List<File>> unchangedDirectories;
+    private WatchService watchService;
 
     public FileConsumer(FileEndpoint endpoint, Processor processor, GenericFileOperations<File> operations,
                         GenericFileProcessStrategy<File> processStrategy) {
@@ -61,6 +73,7 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
             List<String> attributes = Arrays.asList(endpoint.getExtendedAttributes().split(","));
             this.extendedAttributes = new HashSet<>(attributes);
         }
+        this.unchangedDirectories = endpoint.isStreamingListingWatch() ? new HashMap<>() : null;
     }
 
     @Override
@@ -104,22 +117,8 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
             GenericFile<File> gf
                     = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
 
-            if (resumeStrategy != null) {
-                ResumeAdapter adapter = resumeStrategy.getAdapter();
-                LOG.trace("Checking the resume adapter: {}", adapter);
-                if (adapter instanceof FileOffsetResumeAdapter) {
-                    LOG.trace("The resume adapter is for offsets: {}", adapter);
-                    ((FileOffsetResumeAdapter) adapter).setResumePayload(gf);
-                    adapter.resume();
-                }
-
-                if (adapter instanceof DirectoryEntriesResumeAdapter) {
-                    LOG.trace("Running the resume process for file {}", file);
-                    if (((DirectoryEntriesResumeAdapter) adapter).resume(file)) {
-                        LOG.trace("Skipping file {} because it has been marked previously consumed", file);
-                        continue;
-                    }
-                }
+            if (isResumed(gf, file)) {
+                continue;
             }
 
             if (file.isDirectory()) {
@@ -133,19 +132,7 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
                 // Windows can report false to a file on a share so regard it
                 // always as a file (if it is not a directory)
                 if (depth >= endpoint.minDepth && isValidFile(gf, false, files)) {
-                    LOG.trace("Adding valid file: {}", file);
-                    // matched file so add
-                    if (extendedAttributes != null) {
-                        Path path = file.toPath();
-                        Map<String, Object> allAttributes = new HashMap<>();
-                        for (String attribute : extendedAttributes) {
-                            readAttributes(file, path, allAttributes, attribute);
-                        }
-
-                        gf.setExtendedAttributes(allAttributes);
-                    }
-
-                    fileList.add(gf);
+                    addFile(file, gf, fileList);
                 }
 
             }
@@ -167,9 +154,190 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
             return true;
         }
 
+        if (getEndpoint().isStreamingListing()) {
+            processWatchEvents();
+            return pollDirectoryStreaming(directory, fileList, depth);
+        }
         return pollDirectory(directory, fileList, depth);
     }
 
+    /**
+     * Polls the directory using a lazy directory stream, which continues from the cursor of the previous poll if the
+     * previous poll stopped due to hitting maxMessagesPerPoll.
+     */
+    private boolean pollDirectoryStreaming(File directory, List<GenericFile<File>> fileList, int depth) {
+        depth++;
+
+        final Path dir = directory.toPath();
+        DirectoryCursor cursor = cursors.get(dir);
+        if (cursor == null) {
+            List<File> unchanged = unchangedDirectories != null ? unchangedDirectories.get(dir) : null;
+            if (unchanged != null) {
+                LOG.trace("Directory has not changed since last listing: {}", directory);
+                for (File sub : unchanged) {
+                    if (!pollDirectoryStreaming(sub, fileList, depth)) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Listing directory: {}, absolute path: {}", directory.getPath(), directory.getAbsolutePath());
+            }
+            // must watch the directory before listing it, so no changes are lost
+            boolean watched = watchDirectory(dir);
+            try {
+                cursor = new DirectoryCursor(Files.newDirectoryStream(dir), watched);
+            } catch (IOException e) {
+                LOG.debug("Cannot list directory: {} due to: {}", directory, e.getMessage(), e);
+                return true;
+            }
+            cursors.put(dir, cursor);
+        } else {
+            LOG.trace("Continue listing directory from previous poll: {}", directory);
+        }
+
+        try {
+            // continue with the sub directory which was not completed by the previous poll
+            if (cursor.pending != null) {
+                if (!pollDirectoryStreaming(cursor.pending, fileList, depth)) {
+                    return false;
+                }
+                cursor.pending = null;
+            }
+
+            while (cursor.iterator.hasNext()) {
+                // check if we can continue polling in files
+                if (!canPollMoreFiles(fileList)) {
+                    return false;
+                }
+
+                File file = cursor.iterator.next().toFile();
+                GenericFile<File> gf
+                        = asGenericFile(endpointPath, file, getEndpoint().getCharset(), getEndpoint().isProbeContentType());
+
+                if (isResumed(gf, file)) {
+                    continue;
+                }
+
+                if (file.isDirectory()) {
+                    if (endpoint.isRecursive() && depth < endpoint.getMaxDepth() && isValidFile(gf, true, null)) {
+                        cursor.directories.add(file);
+                        if (!pollDirectoryStreaming(file, fileList, depth)) {
+                            cursor.pending = file;
+                            return false;
+                        }
+                    }
+                } else if (depth >= endpoint.minDepth) {
+                    // a file which is in progress may be released again without any change to the directory
+                    if (endpoint.getInProgressRepository().contains(gf.getAbsoluteFilePath())) {
+                        cursor.changed = true;
+                    }
+                    if (isValidFile(gf, false, null)) {
+                        addFile(file, gf, fileList);
+                        cursor.changed = true;
+                    }
+                }
+            }
+        } catch (DirectoryIteratorException e) {
+            LOG.debug("Error listing directory: {} due to: {}", directory, e.getMessage(), e);
+            cursor.changed = true;
+        }
+
+        // the directory has been completely listed
+        cursors.remove(dir);
+        IOHelper.close(cursor.stream);
+        if (unchangedDirectories != null && cursor.watched && !cursor.changed) {
+            unchangedDirectories.put(dir, cursor.directories);
+        }
+        return true;
+    }
+
+    private boolean watchDirectory(Path dir) {
+        if (unchangedDirectories == null) {
+            return false;
+        }
+        try {
+            if (watchService == null) {
+                watchService = dir.getFileSystem().newWatchService();
+            }
+            dir.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            return true;
+        } catch (IOException | UnsupportedOperationException e) {
+            LOG.debug("Cannot watch directory: {} due to: {}", dir, e.getMessage(), e);
+            return false;
+        }
+    }
+
+    /**
+     * Forgets the directories which have changed since they were last listed, so they are listed again.
+     */
+    private void processWatchEvents() {
+        if (watchService == null) {
+            return;
+        }
+        WatchKey key;
+        while ((key = watchService.poll()) != null) {
+            Path dir = (Path) key.watchable();
+            for (WatchEvent<?> event : key.pollEvents()) {
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                    LOG.debug("Watch events overflow, so all directories will be listed again");
+                    unchangedDirectories.clear();
+                }
+            }
+            LOG.trace("Directory has changed: {}", dir);
+            unchangedDirectories.remove(dir);
+            DirectoryCursor cursor = cursors.get(dir);
+            if (cursor != null) {
+                // the change may be behind the position of the ongoing listing
+                cursor.changed = true;
+            }
+            if (!key.reset()) {
+                // the directory is no longer accessible
+                key.cancel();
+            }
+        }
+    }
+
+    private boolean isResumed(GenericFile<File> gf, File file) {
+        if (resumeStrategy != null) {
+            ResumeAdapter adapter = resumeStrategy.getAdapter();
+            LOG.trace("Checking the resume adapter: {}", adapter);
+            if (adapter instanceof FileOffsetResumeAdapter) {
+                LOG.trace("The resume adapter is for offsets: {}", adapter);
+                ((FileOffsetResumeAdapter) adapter).setResumePayload(gf);
+                adapter.resume();
+            }
+
+            if (adapter instanceof DirectoryEntriesResumeAdapter) {
+                LOG.trace("Running the resume process for file {}", file);
+                if (((DirectoryEntriesResumeAdapter) adapter).resume(file)) {
+                    LOG.trace("Skipping file {} because it has been marked previously consumed", file);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void addFile(File file, GenericFile<File> gf, List<GenericFile<File>> fileList) {
+        LOG.trace("Adding valid file: {}", file);
+        // matched file so add
+        if (extendedAttributes != null) {
+            Path path = file.toPath();
+            Map<String, Object> allAttributes = new HashMap<>();
+            for (String attribute : extendedAttributes) {
+                readAttributes(file, path, allAttributes, attribute);
+            }
+
+            gf.setExtendedAttributes(allAttributes);
+        }
+
+        fileList.add(gf);
+    }
+
     private File[] listFiles(File directory) {
         final File[] dirFiles = directory.listFiles();
 
@@ -219,6 +387,14 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
 
     @Override
     protected boolean isMatched(GenericFile<File> file, String doneFileName, File[] files) {
+        if (files == null) {
+            // the directory was not listed up front (streaming listing)
+            if (new File(doneFileName).exists()) {
+                return true;
+            }
+            LOG.trace("Done file: {} does not exist", doneFileName);
+            return false;
+        }
         String onlyName = FileUtil.stripPath(doneFileName);
         // the done file name must be among the files
         for (File f : files) {
@@ -327,6 +503,21 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
         super.doStart();
     }
 
+    @Override
+    protected void doStop() throws Exception {
+        super.doStop();
+
+        for (DirectoryCursor cursor : cursors.values()) {
+            IOHelper.close(cursor.stream);
+        }
+        cursors.clear();
+        if (unchangedDirectories != null) {
+            unchangedDirectories.clear();
+        }
+        IOHelper.close(watchService);
+        watchService = null;
+    }
+
     @Override
     public ResumeStrategy getResumeStrategy() {
         return resumeStrategy;
@@ -341,4 +532,22 @@ public class FileConsumer extends GenericFileConsumer<File> implements ResumeAwa
     public String adapterFactoryService() {
         return "file-adapter-factory";
     }
+
+    /**
+     * The position of an ongoing listing of a directory, which is kept between polls.
+     */
+    private static final class DirectoryCursor {
+        private final DirectoryStream<Path> stream;
+        private final Iterator<Path> iterator;
+        private final boolean watched;
+        private final List<File> directories = new ArrayList<>();
+        private File pending;
+        private boolean changed;
+
+        private DirectoryCursor(DirectoryStream<Path> stream, boolean watched) {
+            this.stream = stream;
+            this.iterator = stream.iterator();
+            this.watched = watched;
+        }
+    }
 }
@@ -75,6 +75,10 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
     private boolean probeContentType;
     @UriParam(label = "consumer,advanced")
     private String extendedAttributes;
+    @UriParam(label = "consumer,advanced")
+    private boolean streamingListing;
+    @UriParam(label = "consumer,advanced")
+    private boolean streamingListingWatch;
     @UriParam(label = "producer,advanced", defaultValue = "true")
     private boolean forceWrites = true;
     @UriParam(label = "producer,advanced")
@@ -120,6 +124,9 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         if (isDelete() && getMove() != null) {
             throw new IllegalArgumentException("You cannot set both delete=true and move options");
         }
+        if (isStreamingListing() && isPreSort()) {
+            throw new IllegalArgumentException("You cannot set both streamingListing=true and preSort=true");
+        }
 
         // if noop=true then idempotent should also be configured
         if (isNoop() && !isIdempotentSet()) {
@@ -226,6 +233,13 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         return new FileProcessStrategyFactory().createGenericFileProcessStrategy(getCamelContext(), getParamsAsMap());
     }
 
+    /**
+     * The file operations used by this endpoint, which keeps statistics of the bytes stored per write technique.
+     */
+    public FileOperations getFileOperations() {
+        return operations;
+    }
+
     public File getFile() {
         return file;
     }
@@ -360,6 +374,35 @@ public class FileEndpoint extends GenericFileEndpoint<File> {
         this.extendedAttributes = extendedAttributes;
     }
 
+    public boolean isStreamingListing() {
+        return streamingListing;
+    }
+
+    /**
+     * Whether to list the directories using a lazy directory stream instead of loading all the entries of a directory
+     * into memory on every poll. The files are filtered while being listed and the listing stops as soon as
+     * maxMessagesPerPoll files have been found, and a cursor is kept per directory so the next poll continues where the
+     * previous poll stopped. This is recommended for directories with a very large number of files. The preSort option
+     * cannot be used together with streaming listing, as sorting requires the entire directory to be listed.
+     */
+    public void setStreamingListing(boolean streamingListing) {
+        this.streamingListing = streamingListing;
+    }
+
+    public boolean isStreamingListingWatch() {
+        return streamingListingWatch;
+    }
+
+    /**
+     * When using streaming listing, then whether to use a file system watch service to detect which directories have
+     * changed, so directories where nothing has been created, modified or deleted since their last complete listing
+     * (which found no files to pick up) are not listed again. Notice that a filter which depends on the time of the
+     * poll is not re-evaluated for files in an unchanged directory.
+     */
+    public void setStreamingListingWatch(boolean streamingListingWatch) {
+        this.streamingListingWatch = streamingListingWatch;
+    }
+
     /**
      * Chmod value must be between 000 and 777; If there is a leading digit like in 0755 we will ignore it.
      */
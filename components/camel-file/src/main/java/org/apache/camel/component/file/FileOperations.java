@@ -17,7 +17,6 @@
 package org.apache.camel.component.file;
 
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -28,13 +27,15 @@ import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.SeekableByteChannel;
 import java.nio.charset.Charset;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
-import java.nio.file.StandardCopyOption;
+import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.PosixFilePermission;
 import java.nio.file.attribute.PosixFilePermissions;
 import java.util.Date;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.apache.camel.Exchange;
 import org.apache.camel.InvalidPayloadException;
@@ -54,6 +55,9 @@ import static org.apache.camel.component.file.GenericFileHelper.asExclusiveReadL
 public class FileOperations implements GenericFileOperations<File> {
     private static final Logger LOG = LoggerFactory.getLogger(FileOperations.class);
     private FileEndpoint endpoint;
+    private final LongAdder renamedBytes = new LongAdder();
+    private final LongAdder transferredBytes = new LongAdder();
+    private final LongAdder streamedBytes = new LongAdder();
 
     public FileOperations() {
     }
@@ -277,23 +281,21 @@ public class FileOperations implements GenericFileOperations<File> {
         }
 
         // we can write the file by 3 different techniques
-        // 1. write file to file
+        // 1. write file to file (zero-copy using file channels)
         // 2. rename a file from a local work path
         // 3. write stream to file
         try {
+            boolean append = endpoint.getFileExist() == GenericFileExist.Append;
 
             // is there an explicit charset configured we must write the file as
             String charset = endpoint.getCharset();
 
             // we can optimize and use file based if no charset must be used,
             // and the input body is a file
-            // however optimization cannot be applied when content should be
-            // appended to target file
             File source = null;
             boolean fileBased = false;
-            if (charset == null && endpoint.getFileExist() != GenericFileExist.Append) {
-                // if no charset and not in appending mode, then we can try
-                // using file directly (optimized)
+            if (charset == null) {
+                // if no charset, then we can try using file directly (optimized)
                 Object body = exchange.getIn().getBody();
                 if (body instanceof WrappedFile<?> wrapped) {
                     body = wrapped.getFile();
@@ -306,6 +308,9 @@ public class FileOperations implements GenericFileOperations<File> {
                         }
                     }
                 }
+                if (body instanceof Path path && path.getFileSystem() == FileSystems.getDefault()) {
+                    body = path.toFile();
+                }
                 if (body instanceof File) {
                     source = (File) body;
                     fileBased = true;
@@ -319,13 +324,15 @@ public class FileOperations implements GenericFileOperations<File> {
                 // path file instead of doing
                 // a full file to file copy, as the local work copy is to be
                 // deleted afterwards anyway
-                // local work path
+                // local work path (which cannot be renamed when appending)
                 String local = exchange.getIn().getHeader(FileConstants.FILE_LOCAL_WORK_PATH, String.class);
-                if (local != null) {
+                if (local != null && !append) {
                     File f = new File(local);
                     if (f.exists()) {
+                        long length = f.length();
                         boolean renamed = writeFileByLocalWorkPath(f, file);
                         if (renamed) {
+                            renamedBytes.add(length);
                             // try to keep last modified timestamp if configured to
                             // do so
                             keepLastModified(exchange, file);
@@ -351,7 +358,7 @@ public class FileOperations implements GenericFileOperations<File> {
                 } else if (source != null && source.exists()) {
                     // no there is no local work file so use file to file copy
                     // if the source exists
-                    writeFileByFile(source, file, exchange);
+                    transferredBytes.add(writeFileByFile(source, file, exchange));
                     // try to keep last modified timestamp if configured to do
                     // so
                     keepLastModified(exchange, file);
@@ -369,6 +376,7 @@ public class FileOperations implements GenericFileOperations<File> {
                 }
             }
 
+            long before = append ? file.length() : 0;
             if (charset != null) {
                 // charset configured so we must use a reader so we can write
                 // with encoding
@@ -392,6 +400,7 @@ public class FileOperations implements GenericFileOperations<File> {
                 InputStream in = exchange.getIn().getMandatoryBody(InputStream.class);
                 writeFileByStream(in, file);
             }
+            streamedBytes.add(file.length() - before);
 
             // try to keep last modified timestamp if configured to do so
             keepLastModified(exchange, file);
@@ -412,6 +421,27 @@ public class FileOperations implements GenericFileOperations<File> {
         }
     }
 
+    /**
+     * Number of bytes stored by renaming a local work file to the target file.
+     */
+    public long getRenamedBytes() {
+        return renamedBytes.sum();
+    }
+
+    /**
+     * Number of bytes stored by transferring a file body to the target file using file channels (zero-copy).
+     */
+    public long getTransferredBytes() {
+        return transferredBytes.sum();
+    }
+
+    /**
+     * Number of bytes stored by writing a stream, reader or string body to the target file.
+     */
+    public long getStreamedBytes() {
+        return streamedBytes.sum();
+    }
+
     private void keepLastModified(Exchange exchange, File file) {
         if (endpoint.isKeepLastModified()) {
             Long last;
@@ -436,22 +466,50 @@ public class FileOperations implements GenericFileOperations<File> {
         return FileUtil.renameFile(source, file, endpoint.isCopyAndDeleteOnRenameFail());
     }
 
-    private void writeFileByFile(File source, File target, Exchange exchange) throws IOException {
+    private long writeFileByFile(File source, File target, Exchange exchange) throws IOException {
+        if (endpoint.getFileExist() != GenericFileExist.Append && target.exists()
+                && Files.isSameFile(source.toPath(), target.toPath())) {
+            // truncating the target would lose the content of the source
+            LOG.trace("writeFileByFile skipped as source and target is the same file: {}", target);
+            return 0;
+        }
+
         // in case we are using file locks as read-locks then we need to use
-        // file channels for copying to support this
+        // the locked file channel for copying to support this
         String path = source.getAbsolutePath();
         FileChannel channel
                 = exchange.getProperty(asExclusiveReadLockKey(path, Exchange.FILE_LOCK_CHANNEL_FILE), FileChannel.class);
         if (channel != null) {
-            try (FileChannel out = new FileOutputStream(target).getChannel()) {
-                LOG.trace("writeFileByFile using FileChannel: {} -> {}", source, target);
-                channel.transferTo(0, channel.size(), out);
-            }
+            LOG.trace("writeFileByFile using locked FileChannel: {} -> {}", source, target);
+            return writeFileByChannel(channel, target);
         } else {
-            // use regular file copy
-            LOG.trace("writeFileByFile using Files.copy: {} -> {}", source, target);
-            Files.copy(source.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            LOG.trace("writeFileByFile using FileChannel: {} -> {}", source, target);
+            try (FileChannel in = FileChannel.open(source.toPath(), StandardOpenOption.READ)) {
+                return writeFileByChannel(in, target);
+            }
+        }
+    }
+
+    private long writeFileByChannel(FileChannel in, File target) throws IOException {
+        // transferTo lets the operating system copy the bytes directly between the files (zero-copy)
+        // but it may transfer fewer bytes than requested, so keep going until the end of the source
+        long size = in.size();
+        long position = 0;
+        try (FileChannel out = prepareOutputFileChannel(target)) {
+            while (position < size) {
+                long n = in.transferTo(position, size - position, out);
+                if (n <= 0) {
+                    // the source was truncated while copying
+                    break;
+                }
+                position += n;
+            }
+
+            if (endpoint.getFileExist() == GenericFileExist.Append && endpoint.getAppendChars() != null) {
+                out.write(ByteBuffer.wrap(endpoint.getAppendChars().getBytes()));
+            }
         }
+        return position;
     }
 
     private void writeFileByStream(InputStream in, File target) throws IOException {
@@ -528,13 +586,12 @@ public class FileOperations implements GenericFileOperations<File> {
      * Creates and prepares the output file channel. Will position itself in correct position if the file is writable
      * eg. it should append or override any existing content.
      */
-    private SeekableByteChannel prepareOutputFileChannel(File target) throws IOException {
+    private FileChannel prepareOutputFileChannel(File target) throws IOException {
         if (endpoint.getFileExist() == GenericFileExist.Append) {
-            SeekableByteChannel out
-                    = Files.newByteChannel(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            FileChannel out = FileChannel.open(target.toPath(), StandardOpenOption.CREATE, StandardOpenOption.APPEND);
             return out.position(out.size());
         }
-        return Files.newByteChannel(target.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING,
+        return FileChannel.open(target.toPath(), StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING,
                 StandardOpenOption.CREATE);
     }
 }
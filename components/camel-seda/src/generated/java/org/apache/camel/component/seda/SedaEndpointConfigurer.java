@@ -41,6 +41,8 @@ public class SedaEndpointConfigurer extends PropertyConfigurerSupport implements
         case "lazyStartProducer": target.setLazyStartProducer(property(camelContext, boolean.class, value)); return true;
         case "limitconcurrentconsumers":
         case "limitConcurrentConsumers": target.setLimitConcurrentConsumers(property(camelContext, boolean.class, value)); return true;
+        case "maxmessagesperpoll":
+        case "maxMessagesPerPoll": target.setMaxMessagesPerPoll(property(camelContext, int.class, value)); return true;
         case "multipleconsumers":
         case "multipleConsumers": target.setMultipleConsumers(property(camelContext, boolean.class, value)); return true;
         case "offertimeout":
@@ -81,6 +83,8 @@ public class SedaEndpointConfigurer extends PropertyConfigurerSupport implements
         case "lazyStartProducer": return boolean.class;
         case "limitconcurrentconsumers":
         case "limitConcurrentConsumers": return boolean.class;
+        case "maxmessagesperpoll":
+        case "maxMessagesPerPoll": return int.class;
         case "multipleconsumers":
         case "multipleConsumers": return boolean.class;
         case "offertimeout":
@@ -122,6 +126,8 @@ public class SedaEndpointConfigurer extends PropertyConfigurerSupport implements
         case "lazyStartProducer": return target.isLazyStartProducer();
         case "limitconcurrentconsumers":
         case "limitConcurrentConsumers": return target.isLimitConcurrentConsumers();
+        case "maxmessagesperpoll":
+        case "maxMessagesPerPoll": return target.getMaxMessagesPerPoll();
         case "multipleconsumers":
         case "multipleConsumers": return target.isMultipleConsumers();
         case "offertimeout":
@@ -0,0 +1,414 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.AbstractQueue;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.camel.util.ObjectHelper;
+
+/**
+ * A bounded lock-free {@link BlockingQueue} backed by a ring buffer, which supports multiple producers and multiple
+ * consumers.
+ * <p/>
+ * Each slot in the ring buffer has a sequence number which tells whether the slot can be written by a producer or read
+ * by a consumer, so producers and consumers only contend on compare-and-set of the enqueue and dequeue positions, and
+ * never take a lock. For the position <tt>pos</tt> the sequence of the slot is <tt>2 * pos</tt> when the slot is free,
+ * and <tt>2 * pos + 1</tt> when the element has been published (which also works when the capacity is 1).
+ * <p/>
+ * Threads that have to wait (consumers on an empty queue, or producers on a full queue) use the {@link WaitStrategy},
+ * which by default spins, then yields and at last parks the thread until it is signalled.
+ * <p/>
+ * Removing an element that is not at the head of the queue (such as an exchange that timed out while waiting to be
+ * consumed) replaces the element in its slot with a tombstone, which is skipped and released when the consumers reach
+ * the slot. The iterator of this queue is a weakly consistent snapshot of the elements.
+ *
+ * @param <E> Element type, usually {@link org.apache.camel.Exchange}
+ */
+public class RingBufferBlockingQueue<E> extends AbstractQueue<E> implements BlockingQueue<E> {
+
+    /**
+     * How threads wait for elements to become available (or for free capacity).
+     */
+    public enum WaitStrategy {
+        /**
+         * Spin, then yield, and then park the thread until signalled. This is a good trade-off between latency and CPU
+         * usage.
+         */
+        Blocking,
+        /**
+         * Spin, and then yield the thread. This has low latency, but keeps the waiting threads running.
+         */
+        Yielding,
+        /**
+         * Spin only. This has the lowest latency, but burns a CPU core per waiting thread.
+         */
+        BusySpin
+    }
+
+    /**
+     * The maximum capacity, as the ring buffer is allocated up front
+     */
+    public static final int MAX_CAPACITY = 1 << 24;
+
+    private static final int SPIN_TRIES = 100;
+    private static final int YIELD_TRIES = 100;
+    private static final long MAX_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final Object TOMBSTONE = new Object();
+
+    private final int capacity;
+    private final AtomicReferenceArray<Object> buffer;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+    private final AtomicInteger tombstones = new AtomicInteger();
+    private final WaitStrategy waitStrategy;
+    private final Queue<Thread> waitingConsumers = new ConcurrentLinkedQueue<>();
+    private final Queue<Thread> waitingProducers = new ConcurrentLinkedQueue<>();
+
+    public RingBufferBlockingQueue(int capacity) {
+        this(capacity, WaitStrategy.Blocking);
+    }
+
+    public RingBufferBlockingQueue(int capacity, WaitStrategy waitStrategy) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException(
+                    "Capacity must be between 1 and " + MAX_CAPACITY + " (pre-allocated ring buffer), was: " + capacity);
+        }
+        ObjectHelper.notNull(waitStrategy, "waitStrategy");
+        this.capacity = capacity;
+        this.buffer = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, 2L * i);
+        }
+        this.waitStrategy = waitStrategy;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    @Override
+    public boolean offer(E e) {
+        ObjectHelper.notNull(e, "element");
+        long pos = enqueuePosition.get();
+        int index;
+        for (;;) {
+            index = (int) (pos % capacity);
+            long diff = sequences.get(index) - 2 * pos;
+            if (diff == 0) {
+                if (enqueuePosition.compareAndSet(pos, pos + 1)) {
+                    break;
+                }
+                pos = enqueuePosition.get();
+            } else if (diff < 0) {
+                // the slot has not been consumed yet, so the queue is full
+                return false;
+            } else {
+                pos = enqueuePosition.get();
+            }
+        }
+        buffer.lazySet(index, e);
+        // publish the element to the consumers (a volatile write so waiting consumers cannot miss the signal)
+        sequences.set(index, 2 * pos + 1);
+        signal(waitingConsumers);
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E poll() {
+        for (;;) {
+            long pos = dequeuePosition.get();
+            int index;
+            for (;;) {
+                index = (int) (pos % capacity);
+                long diff = sequences.get(index) - (2 * pos + 1);
+                if (diff == 0) {
+                    if (dequeuePosition.compareAndSet(pos, pos + 1)) {
+                        break;
+                    }
+                    pos = dequeuePosition.get();
+                } else if (diff < 0) {
+                    // the slot has not been published yet, so the queue is empty
+                    return null;
+                } else {
+                    pos = dequeuePosition.get();
+                }
+            }
+            // take the element atomically, as it may be removed concurrently
+            Object e = buffer.getAndSet(index, null);
+            // release the slot to the producers for the next round
+            sequences.set(index, 2 * (pos + capacity));
+            signal(waitingProducers);
+            if (e != TOMBSTONE) {
+                return (E) e;
+            }
+            // the element was removed, so continue with the next slot
+            tombstones.decrementAndGet();
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public E peek() {
+        for (;;) {
+            long start = dequeuePosition.get();
+            for (long pos = start;; pos++) {
+                int index = (int) (pos % capacity);
+                if (sequences.get(index) != 2 * pos + 1) {
+                    return null;
+                }
+                Object e = buffer.get(index);
+                if (e != TOMBSTONE) {
+                    // the element may have been consumed meanwhile
+                    if (e != null && dequeuePosition.get() == start) {
+                        return (E) e;
+                    }
+                    break;
+                }
+                // skip removed elements
+            }
+        }
+    }
+
+    /**
+     * Removes a single instance of the element from the queue. The slot of the element is released when the consumers
+     * reach it.
+     */
+    @Override
+    public boolean remove(Object o) {
+        if (o == null) {
+            return false;
+        }
+        long pos = dequeuePosition.get();
+        long end = enqueuePosition.get();
+        for (; pos < end; pos++) {
+            int index = (int) (pos % capacity);
+            Object e = buffer.get(index);
+            if (e != null && e != TOMBSTONE && sequences.get(index) == 2 * pos + 1 && o.equals(e)
+                    && buffer.compareAndSet(index, e, TOMBSTONE)) {
+                tombstones.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void put(E e) throws InterruptedException {
+        int tries = 0;
+        while (!offer(e)) {
+            tries = await(true, tries, MAX_PARK_NANOS);
+        }
+    }
+
+    @Override
+    public boolean offer(E e, long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int tries = 0;
+        while (!offer(e)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            tries = await(true, tries, remaining);
+        }
+        return true;
+    }
+
+    @Override
+    public E take() throws InterruptedException {
+        int tries = 0;
+        E e;
+        while ((e = poll()) == null) {
+            tries = await(false, tries, MAX_PARK_NANOS);
+        }
+        return e;
+    }
+
+    @Override
+    public E poll(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        int tries = 0;
+        E e;
+        while ((e = poll()) == null) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return null;
+            }
+            tries = await(false, tries, remaining);
+        }
+        return e;
+    }
+
+    @Override
+    public int remainingCapacity() {
+        return capacity - usedSlots();
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        ObjectHelper.notNull(c, "collection");
+        if (c == this) {
+            throw new IllegalArgumentException("Cannot drain to itself");
+        }
+        int n = 0;
+        E e;
+        while (n < maxElements && (e = poll()) != null) {
+            c.add(e);
+            n++;
+        }
+        return n;
+    }
+
+    @Override
+    public int size() {
+        // removed elements still use a slot until the consumers reach it, but are not part of the size
+        return Math.max(0, usedSlots() - tombstones.get());
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return peek() == null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Iterator<E> iterator() {
+        List<E> answer = new ArrayList<>(size());
+        long pos = dequeuePosition.get();
+        long end = enqueuePosition.get();
+        for (; pos < end; pos++) {
+            int index = (int) (pos % capacity);
+            Object e = buffer.get(index);
+            if (sequences.get(index) == 2 * pos + 1 && e != null && e != TOMBSTONE) {
+                answer.add((E) e);
+            }
+        }
+        return new Iterator<>() {
+            private final Iterator<E> it = answer.iterator();
+            private E last;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public E next() {
+                last = it.next();
+                return last;
+            }
+
+            @Override
+            public void remove() {
+                if (last == null) {
+                    throw new IllegalStateException();
+                }
+                RingBufferBlockingQueue.this.remove(last);
+                last = null;
+            }
+        };
+    }
+
+    /**
+     * Waits according to the wait strategy.
+     *
+     * @param  producer whether a producer is waiting for free capacity, or a consumer waiting for an element
+     * @param  tries    number of times the thread has waited so far
+     * @param  nanos    maximum time to wait
+     * @return          the number of times the thread has waited
+     */
+    private int await(boolean producer, int tries, long nanos) throws InterruptedException {
+        if (Thread.interrupted()) {
+            throw new InterruptedException();
+        }
+        if (tries < SPIN_TRIES || waitStrategy == WaitStrategy.BusySpin) {
+            Thread.onSpinWait();
+        } else if (tries < SPIN_TRIES + YIELD_TRIES || waitStrategy == WaitStrategy.Yielding) {
+            Thread.yield();
+        } else {
+            Queue<Thread> waiters = producer ? waitingProducers : waitingConsumers;
+            Thread thread = Thread.currentThread();
+            waiters.add(thread);
+            try {
+                // check again after registering as waiting, as the other side signals after publishing,
+                // so either we see the change or we are signalled
+                boolean ready = producer ? canOffer() : canPoll();
+                if (!ready) {
+                    LockSupport.parkNanos(this, Math.min(nanos, MAX_PARK_NANOS));
+                }
+            } finally {
+                waiters.remove(thread);
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+        }
+        return tries == Integer.MAX_VALUE ? tries : tries + 1;
+    }
+
+    private int usedSlots() {
+        // read the dequeue position first so the number is never negative
+        long dequeue = dequeuePosition.get();
+        long enqueue = enqueuePosition.get();
+        return (int) Math.max(0, Math.min(capacity, enqueue - dequeue));
+    }
+
+    private boolean canOffer() {
+        long pos = enqueuePosition.get();
+        return sequences.get((int) (pos % capacity)) - 2 * pos >= 0;
+    }
+
+    private boolean canPoll() {
+        long pos = dequeuePosition.get();
+        return sequences.get((int) (pos % capacity)) - (2 * pos + 1) >= 0;
+    }
+
+    private static void signal(Queue<Thread> waiters) {
+        if (!waiters.isEmpty()) {
+            Thread thread = waiters.poll();
+            if (thread != null) {
+                LockSupport.unpark(thread);
+            }
+        }
+    }
+
+}
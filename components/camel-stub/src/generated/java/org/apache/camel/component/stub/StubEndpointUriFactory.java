@@ -21,7 +21,7 @@ public class StubEndpointUriFactory extends org.apache.camel.support.component.E
     private static final Set<String> SECRET_PROPERTY_NAMES;
     private static final Set<String> MULTI_VALUE_PREFIXES;
     static {
-        Set<String> props = new HashSet<>(19);
+        Set<String> props = new HashSet<>(20);
         props.add("blockWhenFull");
         props.add("bridgeErrorHandler");
         props.add("concurrentConsumers");
@@ -32,6 +32,7 @@ public class StubEndpointUriFactory extends org.apache.camel.support.component.E
         props.add("failIfNoConsumers");
         props.add("lazyStartProducer");
         props.add("limitConcurrentConsumers");
+        props.add("maxMessagesPerPoll");
         props.add("multipleConsumers");
         props.add("name");
         props.add("offerTimeout");
@@ -19,10 +19,19 @@ package org.apache.camel.component.wal;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InterruptedIOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 import org.apache.camel.RuntimeCamelException;
@@ -30,7 +39,17 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * A writer for write-ahead log files
+ * A writer for write-ahead log files.
+ * <p/>
+ * By default, the entries are written to the file when they are appended, and the {@link LogSupervisor} flushes the
+ * file to disk at regular intervals. The file mirrors the in-memory transaction log, so when the transaction log rolls
+ * over, the entries on the previous layer are rewritten after each appended entry.
+ * <p/>
+ * In group commit mode, the appended entries are collected in a batch, and {@link #append(LogEntry)} only returns after
+ * the batch containing the entry has been written and flushed to disk. Concurrent appends are written with a single
+ * write and flush, and the first thread of a batch may wait for the group commit window for more appends to join the
+ * batch. The log is append-only in this mode: when the transaction log rolls over, the log is compacted into a new file
+ * which only keeps the entries that are not yet processed, and which replaces the old file.
  */
 public final class LogWriter implements AutoCloseable {
     /**
@@ -38,14 +57,47 @@ public final class LogWriter implements AutoCloseable {
      */
     public static final int DEFAULT_CAPACITY = 1024 * 512;
     private static final Logger LOG = LoggerFactory.getLogger(LogWriter.class);
+    private static final int INITIAL_BUFFER_SIZE = 64 * 1024;
 
-    private final FileChannel fileChannel;
-
+    private final File logFile;
     private final LogSupervisor flushPolicy;
     private final TransactionLog transactionLog;
-
+    private final boolean groupCommit;
+    private final long groupCommitWindow;
+
+    // guards the transaction log, the buffers and the positions
+    private final Lock lock = new ReentrantLock();
+    // guards writing the batches, flushing and replacing the file channel (always acquired after the lock)
+    private final Lock ioLock = new ReentrantLock();
+    private final Lock commitLock = new ReentrantLock();
+    private final Condition committed = commitLock.newCondition();
+
+    private FileChannel fileChannel;
+    private ByteBuffer writeBuffer = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
     private long startOfRecords;
 
+    // group commit mode
+    private ByteBuffer pendingBatch;
+    private ByteBuffer spareBatch;
+    private long pendingBatchPosition;
+    private long writePosition;
+    private long appendSequence;
+    private volatile long committedSequence;
+    private boolean committing;
+    // the range of sequences of the last batch that failed to be written
+    private volatile long failedFromSequence;
+    private volatile long failedToSequence;
+    private volatile IOException failure;
+
+    // statistics
+    private volatile long syncCount;
+    private volatile long syncTotalTime;
+    private volatile long syncMaxTime;
+    private volatile long batchCount;
+    private volatile long batchTotalSize;
+    private volatile long batchMaxSize;
+    private volatile long compactionCount;
+
     /**
      * Constructs a new log writer with the default capacity {@link LogWriter#DEFAULT_CAPACITY} (512 KiB). If the file
      * already exists, it will be truncated.
@@ -58,6 +110,21 @@ public final class LogWriter implements AutoCloseable {
         this(logFile, logSupervisor, DEFAULT_CAPACITY);
     }
 
+    /**
+     * Constructs a new log writer with the default capacity {@link LogWriter#DEFAULT_CAPACITY} (512 KiB). If the file
+     * already exists, it will be truncated.
+     *
+     * @param  logFile           the transaction log file
+     * @param  logSupervisor     the log supervisor {@link LogSupervisor} for the writer
+     * @param  groupCommit       whether to use group commit mode
+     * @param  groupCommitWindow the time in milliseconds to wait for more appends to join a batch in group commit mode
+     * @throws IOException       in case of I/O errors
+     */
+    public LogWriter(File logFile, LogSupervisor logSupervisor, boolean groupCommit,
+                     long groupCommitWindow) throws IOException {
+        this(logFile, logSupervisor, DEFAULT_CAPACITY, groupCommit, groupCommitWindow);
+    }
+
     /**
      * Constructs a new log writer with the default capacity {@link LogWriter#DEFAULT_CAPACITY} (512 KiB). If the file
      * already exists, it will be truncated.
@@ -69,11 +136,37 @@ public final class LogWriter implements AutoCloseable {
      * @throws IOException    in case of I/O errors
      */
     LogWriter(File logFile, LogSupervisor logSupervisor, int maxRecordCount) throws IOException {
+        this(logFile, logSupervisor, maxRecordCount, false, 0);
+    }
+
+    /**
+     * Constructs a new log writer. If the file already exists, it will be truncated.
+     *
+     * @param  logFile           the transaction log file
+     * @param  logSupervisor     the log supervisor {@link LogSupervisor} for the writer
+     * @param  maxRecordCount    the maximum number of records to keep in the file. Beyond this count, entries will be
+     *                           rolled-over.
+     * @param  groupCommit       whether to use group commit mode
+     * @param  groupCommitWindow the time in milliseconds to wait for more appends to join a batch in group commit mode
+     * @throws IOException       in case of I/O errors
+     */
+    LogWriter(File logFile, LogSupervisor logSupervisor, int maxRecordCount, boolean groupCommit,
+              long groupCommitWindow) throws IOException {
+        this.logFile = logFile;
         this.fileChannel = FileChannel.open(logFile.toPath(), StandardOpenOption.CREATE, StandardOpenOption.WRITE,
                 StandardOpenOption.TRUNCATE_EXISTING);
 
         final Header header = Header.WA_DEFAULT_V1;
-        writeHeader(header);
+        startOfRecords = writeHeader(fileChannel, header);
+
+        this.groupCommit = groupCommit;
+        this.groupCommitWindow = groupCommitWindow;
+        if (groupCommit) {
+            pendingBatch = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+            spareBatch = ByteBuffer.allocateDirect(INITIAL_BUFFER_SIZE);
+            pendingBatchPosition = startOfRecords;
+            writePosition = startOfRecords;
+        }
 
         this.flushPolicy = logSupervisor;
         this.transactionLog = new TransactionLog(maxRecordCount);
@@ -86,10 +179,17 @@ public final class LogWriter implements AutoCloseable {
      * @throws IOException in case of I/O errors
      */
     void flush() throws IOException {
-        fileChannel.force(true);
+        ioLock.lock();
+        try {
+            long start = System.nanoTime();
+            fileChannel.force(true);
+            recordSync(System.nanoTime() - start);
+        } finally {
+            ioLock.unlock();
+        }
     }
 
-    private synchronized void tryFlush() {
+    private void tryFlush() {
         try {
             flush();
         } catch (IOException e) {
@@ -99,31 +199,57 @@ public final class LogWriter implements AutoCloseable {
     }
 
     public void reset() throws IOException {
-        fileChannel.truncate(startOfRecords);
-        fileChannel.position(startOfRecords);
+        lock.lock();
+        try {
+            ioLock.lock();
+            try {
+                fileChannel.truncate(startOfRecords);
+                fileChannel.position(startOfRecords);
+                if (groupCommit) {
+                    // the pending entries are discarded as well
+                    pendingBatch.clear();
+                    pendingBatchPosition = startOfRecords;
+                    writePosition = startOfRecords;
+                    committedSequence = appendSequence;
+                }
+            } finally {
+                ioLock.unlock();
+            }
+        } finally {
+            lock.unlock();
+        }
     }
 
     @Override
     public void close() {
         try {
             flushPolicy.stop();
+            if (groupCommit) {
+                awaitCommit(appendSequence());
+            }
             flush();
 
             fileChannel.close();
         } catch (IOException e) {
             LOG.error(e.getMessage(), e);
         }
+        if (groupCommit && LOG.isDebugEnabled()) {
+            LOG.debug("Closed transaction log {} after {} flushes (average {} us, max {} us) of {} batches "
+                      + "(average {} entries, max {} entries) and {} compactions",
+                    logFile, syncCount, getSyncAverageTime() / 1000, syncMaxTime / 1000, batchCount,
+                    getBatchAverageSize(), batchMaxSize, compactionCount);
+        }
     }
 
-    private void writeHeader(final Header header) throws IOException {
-        ByteBuffer headerBuffer = ByteBuffer.allocate(Header.BYTES);
+    private long writeHeader(FileChannel channel, final Header header) throws IOException {
+        ByteBuffer headerBuffer = buffer(Header.BYTES);
 
         headerBuffer.put(header.getFormatName().getBytes());
         headerBuffer.putInt(header.getFileVersion());
 
-        IOUtil.write(fileChannel, headerBuffer);
+        IOUtil.write(channel, headerBuffer);
 
-        startOfRecords = fileChannel.position();
+        return channel.position();
     }
 
     /**
@@ -134,33 +260,262 @@ public final class LogWriter implements AutoCloseable {
      * @throws IOException for lower-level I/O errors
      */
     public EntryInfo.CachedEntryInfo append(LogEntry entry) throws IOException {
-        final TransactionLog.LayerInfo layerInfo = transactionLog.add(entry);
-        if (layerInfo.getLayer() == 0) {
-            return persist(layerInfo, entry);
+        if (groupCommit) {
+            return appendToBatch(entry);
+        }
+
+        lock.lock();
+        try {
+            final TransactionLog.LayerInfo layerInfo = transactionLog.add(entry);
+            if (layerInfo.getLayer() == 0) {
+                return persist(layerInfo, entry);
+            }
+
+            if (layerInfo.isRollingOver()) {
+                reset();
+            }
+
+            LOG.trace("Writing at position {}", fileChannel.position());
+            EntryInfo.CachedEntryInfo spear = persist(layerInfo, entry);
+
+            final List<EntryInfo> collect = transactionLog.stream()
+                    .filter(c -> c != null && c.layerInfo.getLayer() != transactionLog.currentLayer())
+                    .map(e -> tryPersist(layerInfo, e.logEntry)).collect(Collectors.toList());
+
+            if (!collect.isEmpty()) {
+                final EntryInfo lastOnLayer = collect.get(0);
+
+                LOG.trace("Current pos is: {}", fileChannel.position());
+                LOG.trace("Next pos should be: {}", lastOnLayer.getPosition());
+
+                fileChannel.position(lastOnLayer.getPosition());
+                LOG.trace("Current pos now is: {}", fileChannel.position());
+            }
+
+            return spear;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Appends an entry to the pending batch, and waits for the batch to be written and flushed to disk
+     *
+     * @param  entry       the entry to write to the transaction log
+     * @return             An entry info instance with the metadata for the appended log entry
+     * @throws IOException for lower-level I/O errors
+     */
+    private EntryInfo.CachedEntryInfo appendToBatch(LogEntry entry) throws IOException {
+        final EntryInfo.CachedEntryInfo entryInfo;
+        final long sequence;
+
+        lock.lock();
+        try {
+            final TransactionLog.LayerInfo layerInfo = transactionLog.add(entry);
+            if (layerInfo.isRollingOver()) {
+                compact();
+            }
+
+            final int size = entry.size();
+            if (pendingBatch.remaining() < size) {
+                ByteBuffer batch
+                        = ByteBuffer.allocateDirect(Math.max(pendingBatch.capacity() * 2, pendingBatch.position() + size));
+                pendingBatch.flip();
+                batch.put(pendingBatch);
+                pendingBatch = batch;
+            }
+
+            final long position = writePosition;
+            IOUtil.serialize(pendingBatch, entry);
+            writePosition += size;
+            transactionLog.setPosition(layerInfo, position);
+
+            sequence = ++appendSequence;
+            entryInfo = EntryInfo.createForCached(position, layerInfo);
+        } finally {
+            lock.unlock();
+        }
+
+        awaitCommit(sequence);
+        return entryInfo;
+    }
+
+    private long appendSequence() {
+        lock.lock();
+        try {
+            return appendSequence;
+        } finally {
+            lock.unlock();
         }
+    }
 
-        if (layerInfo.isRollingOver()) {
-            reset();
+    /**
+     * Waits until the entry with the given sequence has been written and flushed to disk. The first thread that finds
+     * no commit in progress becomes the leader and commits the pending batch on behalf of the other threads.
+     */
+    private void awaitCommit(long sequence) throws IOException {
+        try {
+            doAwaitCommit(sequence);
+        } finally {
+            if (sequence >= failedFromSequence && sequence <= failedToSequence) {
+                throw new IOException("Unable to write the batch with the entry to the transaction log", failure);
+            }
         }
+    }
 
-        LOG.trace("Writing at position {}", fileChannel.position());
-        EntryInfo.CachedEntryInfo spear = persist(layerInfo, entry);
+    private void doAwaitCommit(long sequence) throws IOException {
+        while (committedSequence < sequence) {
+            boolean leader = false;
+            commitLock.lock();
+            try {
+                if (committedSequence >= sequence) {
+                    return;
+                }
+                if (committing) {
+                    committed.awaitUninterruptibly();
+                } else {
+                    committing = true;
+                    leader = true;
+                }
+            } finally {
+                commitLock.unlock();
+            }
+
+            if (leader) {
+                try {
+                    commit();
+                } finally {
+                    commitLock.lock();
+                    try {
+                        committing = false;
+                        committed.signalAll();
+                    } finally {
+                        commitLock.unlock();
+                    }
+                }
+            }
+        }
+    }
 
-        final List<EntryInfo> collect = transactionLog.stream()
-                .filter(c -> c != null && c.layerInfo.getLayer() != transactionLog.currentLayer())
-                .map(e -> tryPersist(layerInfo, e.logEntry)).collect(Collectors.toList());
+    /**
+     * Writes the pending batch with a single write and flushes it to disk
+     */
+    private void commit() throws IOException {
+        if (groupCommitWindow > 0) {
+            try {
+                // let more appends join the batch
+                TimeUnit.MILLISECONDS.sleep(groupCommitWindow);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the group commit window");
+            }
+        }
+
+        final ByteBuffer batch;
+        final long batchPosition;
+        final long sequence;
+        final long entries;
 
-        if (!collect.isEmpty()) {
-            final EntryInfo lastOnLayer = collect.get(0);
+        lock.lock();
+        try {
+            sequence = appendSequence;
+            entries = sequence - committedSequence;
+            if (entries <= 0) {
+                // a compaction committed the entries already
+                return;
+            }
+            batch = pendingBatch;
+            batchPosition = pendingBatchPosition;
+            pendingBatch = spareBatch;
+            pendingBatchPosition = writePosition;
+            // keep writing to the file in order with compactions
+            ioLock.lock();
+        } finally {
+            lock.unlock();
+        }
 
-            LOG.trace("Current pos is: {}", fileChannel.position());
-            LOG.trace("Next pos should be: {}", lastOnLayer.getPosition());
+        try {
+            IOUtil.write(fileChannel, batch, batchPosition);
 
-            fileChannel.position(lastOnLayer.getPosition());
-            LOG.trace("Current pos now is: {}", fileChannel.position());
+            long start = System.nanoTime();
+            // the file metadata is only needed to retrieve the data, which fdatasync takes care of
+            fileChannel.force(false);
+            recordSync(System.nanoTime() - start);
+            recordBatch(entries);
+        } catch (IOException e) {
+            // fail all the appends of the batch, not only the leader
+            failure = e;
+            failedFromSequence = sequence - entries + 1;
+            failedToSequence = sequence;
+        } finally {
+            batch.clear();
+            spareBatch = batch;
+            committedSequence = sequence;
+            ioLock.unlock();
         }
+    }
+
+    /**
+     * Compacts the log when the transaction log rolls over, by writing the entries that are not yet processed to a new
+     * file that replaces the current file. The entries that were appended are committed by the compaction.
+     */
+    private void compact() throws IOException {
+        ioLock.lock();
+        try {
+            // so the entries of the pending batch are copied
+            if (pendingBatch.position() > 0) {
+                IOUtil.write(fileChannel, pendingBatch, pendingBatchPosition);
+            }
+
+            File compactFile = new File(logFile.getPath() + ".compact");
+            long position;
+            int kept = 0;
+            int discarded = 0;
+            try (FileChannel compactChannel = FileChannel.open(compactFile.toPath(), StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                position = writeHeader(compactChannel, Header.WA_DEFAULT_V1);
+
+                final int currentLayer = transactionLog.currentLayer();
+                for (Iterator<TransactionLog.EntryContainer> it = transactionLog.stream().iterator(); it.hasNext();) {
+                    TransactionLog.EntryContainer container = it.next();
+                    if (container == null || container.layerInfo.getLayer() == currentLayer) {
+                        continue;
+                    }
+                    if (container.logEntry.getEntryState() == LogEntry.EntryState.PROCESSED) {
+                        // completed, so there will be no more updates for the entry
+                        container.position = -1;
+                        discarded++;
+                    } else {
+                        ByteBuffer buffer = buffer(container.logEntry.size());
+                        IOUtil.serialize(buffer, container.logEntry);
+                        container.position = position;
+                        position += IOUtil.write(compactChannel, buffer, position);
+                        kept++;
+                    }
+                }
+                compactChannel.force(true);
+            }
 
-        return spear;
+            fileChannel.close();
+            try {
+                Files.move(compactFile.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(compactFile.toPath(), logFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            fileChannel = FileChannel.open(logFile.toPath(), StandardOpenOption.WRITE);
+
+            pendingBatch.clear();
+            pendingBatchPosition = position;
+            writePosition = position;
+            committedSequence = appendSequence;
+            compactionCount++;
+
+            LOG.debug("Compacted transaction log {} keeping {} entries and discarding {} processed entries", logFile,
+                    kept, discarded);
+        } finally {
+            ioLock.unlock();
+        }
     }
 
     /**
@@ -172,7 +527,7 @@ public final class LogWriter implements AutoCloseable {
      * @throws IOException in case of lower-level I/O errors
      */
     private void persist(TransactionLog.LayerInfo layerInfo, LogEntry entry, long position) throws IOException {
-        ByteBuffer updateBuffer = ByteBuffer.allocate(entry.size());
+        ByteBuffer updateBuffer = buffer(entry.size());
 
         IOUtil.serialize(updateBuffer, entry);
 
@@ -196,14 +551,11 @@ public final class LogWriter implements AutoCloseable {
      * @throws IOException in case of lower-level I/O errors
      */
     private EntryInfo.CachedEntryInfo persist(TransactionLog.LayerInfo layerInfo, LogEntry entry) throws IOException {
-        final byte[] key = entry.getKey();
-        final byte[] value = entry.getValue();
-
-        ByteBuffer writeBuffer = ByteBuffer.allocate(LogEntry.size(key, value));
-        IOUtil.serialize(writeBuffer, entry);
+        ByteBuffer buffer = buffer(entry.size());
+        IOUtil.serialize(buffer, entry);
 
         long recordPosition = fileChannel.position();
-        IOUtil.write(fileChannel, writeBuffer);
+        IOUtil.write(fileChannel, buffer);
 
         return EntryInfo.createForCached(recordPosition, layerInfo);
     }
@@ -223,6 +575,20 @@ public final class LogWriter implements AutoCloseable {
         }
     }
 
+    /**
+     * Returns the reusable write buffer, which is grown if needed to hold the given number of bytes
+     *
+     * @param  size the number of bytes to write
+     * @return      the cleared write buffer
+     */
+    private ByteBuffer buffer(int size) {
+        if (writeBuffer.capacity() < size) {
+            writeBuffer = ByteBuffer.allocateDirect(Math.max(size, writeBuffer.capacity() * 2));
+        }
+        writeBuffer.clear();
+        return writeBuffer;
+    }
+
     /**
      * Updates the state of af entry (i.e.: to mark them after they have seen successfully processed)
      *
@@ -241,10 +607,19 @@ public final class LogWriter implements AutoCloseable {
          */
         assert layerInfo != null;
 
-        final LogEntry logEntry = transactionLog.update(layerInfo, state);
-
-        if (logEntry != null) {
-            persist(layerInfo, logEntry, entryInfo.getPosition());
+        lock.lock();
+        try {
+            final LogEntry logEntry = transactionLog.update(layerInfo, state);
+
+            if (logEntry != null) {
+                // in group commit mode, the entry may have been moved (or discarded) by a compaction
+                long position = groupCommit ? transactionLog.getPosition(layerInfo) : entryInfo.getPosition();
+                if (position >= 0) {
+                    persist(layerInfo, logEntry, position);
+                }
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -257,21 +632,100 @@ public final class LogWriter implements AutoCloseable {
      * @throws IOException if the buffer is too small for the entry or in case of lower-level I/O errors
      */
     public void updateState(PersistedLogEntry entry, LogEntry.EntryState state) throws IOException {
-        ByteBuffer updateBuffer = ByteBuffer.allocate(entry.size());
+        lock.lock();
+        try {
+            ByteBuffer updateBuffer = buffer(entry.size());
 
-        IOUtil.serialize(updateBuffer, state.getCode(), entry.getKeyMetadata(), entry.getKey(), entry.getValueMetadata(),
-                entry.getValue());
+            IOUtil.serialize(updateBuffer, state.getCode(), entry.getKeyMetadata(), entry.getKey(),
+                    entry.getValueMetadata(), entry.getValue());
 
-        final EntryInfo entryInfo = entry.getEntryInfo();
-        if (LOG.isTraceEnabled()) {
-            LOG.trace("Position: {} with key {}", entryInfo.getPosition(), new String(entry.getKey()));
+            final EntryInfo entryInfo = entry.getEntryInfo();
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Position: {} with key {}", entryInfo.getPosition(), new String(entry.getKey()));
+            }
+
+            long size = IOUtil.write(fileChannel, updateBuffer, entryInfo.getPosition());
+
+            if (size == 0) {
+                LOG.warn("No bytes written for the given record!");
+            }
+        } finally {
+            lock.unlock();
         }
+    }
 
-        long size = IOUtil.write(fileChannel, updateBuffer, entryInfo.getPosition());
+    private void recordSync(long time) {
+        syncCount++;
+        syncTotalTime += time;
+        if (time > syncMaxTime) {
+            syncMaxTime = time;
+        }
+    }
 
-        if (size == 0) {
-            LOG.warn("No bytes written for the given record!");
+    private void recordBatch(long entries) {
+        batchCount++;
+        batchTotalSize += entries;
+        if (entries > batchMaxSize) {
+            batchMaxSize = entries;
         }
     }
 
+    /**
+     * Whether the writer is in group commit mode
+     */
+    public boolean isGroupCommit() {
+        return groupCommit;
+    }
+
+    /**
+     * The number of flushes to disk
+     */
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * The average time of a flush to disk in nanoseconds
+     */
+    public long getSyncAverageTime() {
+        long count = syncCount;
+        return count > 0 ? syncTotalTime / count : 0;
+    }
+
+    /**
+     * The maximum time of a flush to disk in nanoseconds
+     */
+    public long getSyncMaxTime() {
+        return syncMaxTime;
+    }
+
+    /**
+     * The number of batches committed in group commit mode
+     */
+    public long getBatchCount() {
+        return batchCount;
+    }
+
+    /**
+     * The average number of entries per batch in group commit mode
+     */
+    public long getBatchAverageSize() {
+        long count = batchCount;
+        return count > 0 ? batchTotalSize / count : 0;
+    }
+
+    /**
+     * The maximum number of entries in a batch in group commit mode
+     */
+    public long getBatchMaxSize() {
+        return batchMaxSize;
+    }
+
+    /**
+     * The number of compactions of the log in group commit mode
+     */
+    public long getCompactionCount() {
+        return compactionCount;
+    }
+
 }
@@ -76,6 +76,8 @@ class TransactionLog {
     static class EntryContainer {
         LayerInfo layerInfo;
         LogEntry logEntry;
+        // the position of the entry in the log file, or -1 if not known
+        long position = -1;
 
         public EntryContainer(LayerInfo layerInfo, LogEntry logEntry) {
             this.layerInfo = layerInfo;
@@ -196,6 +198,26 @@ class TransactionLog {
         return null;
     }
 
+    /**
+     * Sets the position of an entry in the log file
+     *
+     * @param layerInfo the layer information for the entry
+     * @param position  the position of the entry in the log file
+     */
+    public void setPosition(LayerInfo layerInfo, long position) {
+        logEntries[layerInfo.getIndex()].position = position;
+    }
+
+    /**
+     * Gets the position of an entry in the log file. This should only be called for entries that can be updated.
+     *
+     * @param  layerInfo the layer information for the entry
+     * @return           the position of the entry in the log file, or -1 if not known
+     */
+    public long getPosition(LayerInfo layerInfo) {
+        return logEntries[layerInfo.getIndex()].position;
+    }
+
     /**
      * Returns a sequential stream of the entries
      *
@@ -315,7 +315,9 @@ public class WriteAheadResumeStrategy implements ResumeStrategy, CamelContextAwa
             DefaultLogSupervisor flushPolicy = new DefaultLogSupervisor(
                     resumeStrategyConfiguration.getSupervisorInterval(),
                     executorService);
-            logWriter = new LogWriter(logFile, flushPolicy);
+            logWriter = new LogWriter(
+                    logFile, flushPolicy, resumeStrategyConfiguration.isGroupCommit(),
+                    resumeStrategyConfiguration.getGroupCommitWindow());
         } catch (Exception e) {
             throw new RuntimeCamelException(e);
         }
@@ -28,6 +28,8 @@ public class WriteAheadResumeStrategyConfiguration extends ResumeStrategyConfigu
     private File logFile;
     private ResumeStrategy delegateResumeStrategy;
     private long supervisorInterval;
+    private boolean groupCommit;
+    private long groupCommitWindow;
 
     public File getLogFile() {
         return logFile;
@@ -53,6 +55,22 @@ public class WriteAheadResumeStrategyConfiguration extends ResumeStrategyConfigu
         this.supervisorInterval = supervisorInterval;
     }
 
+    public boolean isGroupCommit() {
+        return groupCommit;
+    }
+
+    void setGroupCommit(boolean groupCommit) {
+        this.groupCommit = groupCommit;
+    }
+
+    public long getGroupCommitWindow() {
+        return groupCommitWindow;
+    }
+
+    void setGroupCommitWindow(long groupCommitWindow) {
+        this.groupCommitWindow = groupCommitWindow;
+    }
+
     @Override
     public String resumeStrategyService() {
         return "write-ahead-resume-strategy";
@@ -28,6 +28,8 @@ public class WriteAheadResumeStrategyConfigurationBuilder
     private File logFile;
     private ResumeStrategy delegateResumeStrategy;
     private long supervisorInterval;
+    private boolean groupCommit;
+    private long groupCommitWindow;
 
     /**
      * The transaction log file to use
@@ -53,6 +55,31 @@ public class WriteAheadResumeStrategyConfigurationBuilder
         return this;
     }
 
+    /**
+     * Whether to use group commit mode, where appending a record waits until the record is flushed to disk, and the
+     * records appended concurrently are written and flushed to disk together
+     *
+     * @param  groupCommit true to use group commit mode
+     * @return             this instance
+     */
+    public WriteAheadResumeStrategyConfigurationBuilder withGroupCommit(boolean groupCommit) {
+        this.groupCommit = groupCommit;
+
+        return this;
+    }
+
+    /**
+     * The time in milliseconds to wait for more records to join a batch in group commit mode
+     *
+     * @param  groupCommitWindow the time in milliseconds
+     * @return                   this instance
+     */
+    public WriteAheadResumeStrategyConfigurationBuilder withGroupCommitWindow(long groupCommitWindow) {
+        this.groupCommitWindow = groupCommitWindow;
+
+        return this;
+    }
+
     @Override
     public WriteAheadResumeStrategyConfiguration build() {
         final WriteAheadResumeStrategyConfiguration writeAheadResumeStrategyConfiguration
@@ -63,6 +90,8 @@ public class WriteAheadResumeStrategyConfigurationBuilder
         writeAheadResumeStrategyConfiguration.setLogFile(logFile);
         writeAheadResumeStrategyConfiguration.setDelegateResumeStrategy(delegateResumeStrategy);
         writeAheadResumeStrategyConfiguration.setSupervisorInterval(supervisorInterval);
+        writeAheadResumeStrategyConfiguration.setGroupCommit(groupCommit);
+        writeAheadResumeStrategyConfiguration.setGroupCommitWindow(groupCommitWindow);
 
         return writeAheadResumeStrategyConfiguration;
     }
@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.wal;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LogWriterGroupCommitTest extends LogTestBase {
+
+    @Test
+    public void testConcurrentAppends() throws Exception {
+        File reportFile = new File(testDir, "test.data");
+        final int threads = 4;
+        final int recordsPerThread = 250;
+
+        final LogWriter logWriter = new LogWriter(reportFile, new DefaultLogSupervisor(100), true, 1);
+        final ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                final int offset = t * recordsPerThread;
+                futures.add(executorService.submit(() -> {
+                    for (int i = 0; i < recordsPerThread; i++) {
+                        logWriter.append(createNewLogEntry(null, offset + i));
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executorService.shutdownNow();
+            logWriter.close();
+        }
+
+        // every append waited for its batch to be flushed, and concurrent appends may share a batch
+        assertTrue(logWriter.getBatchCount() > 0 && logWriter.getBatchCount() <= threads * recordsPerThread);
+        assertTrue(logWriter.getSyncCount() >= logWriter.getBatchCount());
+        assertTrue(logWriter.getBatchMaxSize() >= 1);
+
+        Set<String> keys = new HashSet<>();
+        try (LogReader reader = new LogReader(reportFile)) {
+            PersistedLogEntry entry = reader.readEntry();
+            while (entry != null) {
+                assertEquals(LogEntry.EntryState.NEW, entry.getEntryState());
+                keys.add(new String(entry.getKey()));
+                entry = reader.readEntry();
+            }
+        }
+        assertEquals(threads * recordsPerThread, keys.size(), "The number of records don't match");
+    }
+
+    @Test
+    public void testCompactionOnRollOver() throws IOException {
+        File reportFile = new File(testDir, "test.data");
+        final List<EntryInfo.CachedEntryInfo> entryInfos = new ArrayList<>();
+
+        try (LogWriter logWriter = new LogWriter(reportFile, new DefaultLogSupervisor(100), 10, true, 0)) {
+            generateDataFilePredictable(entryInfos::add, logWriter, 10);
+            for (int i = 0; i < 5; i++) {
+                logWriter.updateState(entryInfos.get(i), LogEntry.EntryState.PROCESSED);
+            }
+
+            // rolls over, so the processed records are discarded from the file
+            entryInfos.add(logWriter.append(createNewLogEntry(null, 10)));
+            assertEquals(1, logWriter.getCompactionCount());
+
+            // the record was moved by the compaction
+            logWriter.updateState(entryInfos.get(7), LogEntry.EntryState.PROCESSED);
+        }
+
+        List<String> keys = new ArrayList<>();
+        try (LogReader reader = new LogReader(reportFile)) {
+            PersistedLogEntry entry = reader.readEntry();
+            while (entry != null) {
+                String key = new String(entry.getKey());
+                keys.add(key);
+                Assertions.assertEquals("record-7".equals(key) ? LogEntry.EntryState.PROCESSED : LogEntry.EntryState.NEW,
+                        entry.getEntryState(), key);
+                entry = reader.readEntry();
+            }
+        }
+        assertEquals(List.of("record-5", "record-6", "record-7", "record-8", "record-9", "record-10"), keys);
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel;
+
+import java.util.List;
+
+/**
+ * A {@link Producer} which can send many messages at once using a bulk operation of the component, such as a batch
+ * insert, or a batch of records sent in a single request.
+ * <p/>
+ * When the <tt>to</tt> EIP is configured with a <tt>batchSize</tt> and the producer of the endpoint is a batching
+ * producer, then the exchanges are accumulated and sent in batches by the {@link #processBatch(List, AsyncCallback)}
+ * method, instead of one by one. The routing of each exchange continues individually, when the batch is complete.
+ */
+public interface BatchingProducer extends AsyncProducer {
+
+    /**
+     * Sends the batch of exchanges using a bulk operation.
+     * <p/>
+     * The producer must complete each exchange individually: a reply is set on the message of the exchange (for
+     * request/reply), and a failure of a message is set as an exception on its exchange. If the bulk operation fails as
+     * a whole, then the exception should be set on all the exchanges in the batch.
+     *
+     * @param  exchanges the exchanges in the batch
+     * @param  callback  the callback to invoke when the entire batch is complete
+     * @return           (doneSync) <tt>true</tt> to continue execute synchronously, <tt>false</tt> to continue being
+     *                   executed asynchronously
+     */
+    boolean processBatch(List<Exchange> exchanges, AsyncCallback callback);
+
+}
@@ -232,6 +232,7 @@ public interface Exchange {
     String SCHEDULER_POLLED_MESSAGES = "CamelSchedulerPolledMessages";
     @Deprecated
     String SOAP_ACTION = "CamelSoapAction";
+    String SIMPLE_COMPILED = "CamelSimpleCompiled";
     String SKIP_GZIP_ENCODING = "CamelSkipGzipEncoding";
     String SKIP_WWW_FORM_URLENCODED = "CamelSkipWwwFormUrlEncoding";
     String SLIP_ENDPOINT = "CamelSlipEndpoint";
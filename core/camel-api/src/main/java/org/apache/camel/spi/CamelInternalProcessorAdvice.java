@@ -39,6 +39,24 @@ public interface CamelInternalProcessorAdvice<T> {
      */
     T before(Exchange exchange) throws Exception;
 
+    /**
+     * Callback executed before processing a step in the route, when the routing engine is fully pooled and the state
+     * from a previous exchange can be recycled.
+     * <p/>
+     * This is only called if {@link #isStateReusable()} returns <tt>true</tt>. The default implementation ignores the
+     * previous state and calls {@link #before(org.apache.camel.Exchange)}.
+     *
+     * @param  exchange  the current exchange
+     * @param  previous  the state returned for a previous exchange which can be reset and returned, or <tt>null</tt> if
+     *                   there is no previous state.
+     * @return           any state to keep and provide as data to the {@link #after(org.apache.camel.Exchange, Object)}
+     *                   method, or use <tt>null</tt> for no state.
+     * @throws Exception is thrown if error during the call.
+     */
+    default T before(Exchange exchange, T previous) throws Exception {
+        return before(exchange);
+    }
+
     /**
      * Callback executed after processing a step in the route.
      *
@@ -55,4 +73,12 @@ public interface CamelInternalProcessorAdvice<T> {
         return true;
     }
 
+    /**
+     * Whether the state of this advice is only in use during a single before and after callback, and therefore can be
+     * recycled for the next exchange when the routing engine is fully pooled.
+     */
+    default boolean isStateReusable() {
+        return false;
+    }
+
 }
@@ -150,6 +150,33 @@ public interface InflightRepository extends StaticService {
      */
     void setInflightBrowseEnabled(boolean inflightBrowseEnabled);
 
+    /**
+     * Whether the inflight repository should allow browsing each inflight exchange originating from the given route.
+     * <p/>
+     * This allows to turn off tracking the exchanges for high volume routes, while keeping browsing enabled for the
+     * other routes. The inflight counters are always kept, as they are needed for graceful shutdown.
+     *
+     * @param  routeId the id of the route
+     * @return         whether browsing is enabled for the route
+     */
+    default boolean isInflightBrowseEnabled(String routeId) {
+        return isInflightBrowseEnabled();
+    }
+
+    /**
+     * Whether the inflight repository should allow browsing each inflight exchange originating from the given route.
+     * <p/>
+     * This allows to turn off tracking the exchanges for high volume routes, while keeping browsing enabled for the
+     * other routes. The inflight counters are always kept, as they are needed for graceful shutdown. This is also
+     * configured by the <tt>inflightBrowse</tt> option on the route.
+     *
+     * @param routeId               the id of the route
+     * @param inflightBrowseEnabled whether browsing is enabled for the route
+     */
+    default void setInflightBrowseEnabled(String routeId, boolean inflightBrowseEnabled) {
+        // noop
+    }
+
     /**
      * A <i>read-only</i> browser of the {@link InflightExchange}s that are currently inflight.
      */
@@ -260,6 +260,40 @@ public interface ManagementAgent extends Service {
      */
     Boolean getLoadStatisticsEnabled();
 
+    /**
+     * Sets whether latency histograms is enabled (records the processing time of routes and processors into histograms,
+     * which allows to calculate percentiles such as p50, p99 and p999).
+     * <p/>
+     * The default value is <tt>false</tt>
+     *
+     * @param flag <tt>true</tt> to enable latency histograms
+     */
+    void setLatencyHistogramEnabled(Boolean flag);
+
+    /**
+     * Gets whether latency histograms is enabled
+     *
+     * @return <tt>true</tt> if enabled
+     */
+    Boolean getLatencyHistogramEnabled();
+
+    /**
+     * Sets the number of significant decimal digits (1 to 3) the latency histograms should record the processing time
+     * with. A higher number gives a more accurate percentile but uses more memory per histogram.
+     * <p/>
+     * The default value is <tt>2</tt>
+     *
+     * @param digits the number of significant digits
+     */
+    void setLatencyHistogramSignificantDigits(Integer digits);
+
+    /**
+     * Gets the number of significant decimal digits the latency histograms should record the processing time with.
+     *
+     * @return the number of significant digits
+     */
+    Integer getLatencyHistogramSignificantDigits();
+
     /**
      * Sets whether endpoint runtime statistics is enabled (gathers runtime usage of each incoming and outgoing
      * endpoints).
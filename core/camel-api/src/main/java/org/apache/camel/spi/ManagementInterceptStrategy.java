@@ -35,8 +35,16 @@ public interface ManagementInterceptStrategy {
 
         T before(Exchange exchange);
 
+        default T before(Exchange exchange, T previous) {
+            return before(exchange);
+        }
+
         void after(Exchange exchange, T data);
 
+        default boolean isStateReusable() {
+            return false;
+        }
+
         void setProcessor(Processor processor);
 
         void setCounter(Object object);
@@ -49,6 +49,20 @@ public interface PooledObjectFactory<T> extends Service, CamelContextAware {
          */
         long getDiscardedCounter();
 
+        /**
+         * Number of exchanges where the heap allocations during routing were measured (only in fully pooled mode).
+         */
+        default long getAllocationMeasuredCounter() {
+            return 0;
+        }
+
+        /**
+         * Total number of bytes allocated on the heap while routing the measured exchanges (only in fully pooled mode).
+         */
+        default long getAllocatedBytes() {
+            return 0;
+        }
+
         /**
          * Reset the counters
          */
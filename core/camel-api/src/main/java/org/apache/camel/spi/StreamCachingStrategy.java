@@ -64,6 +64,31 @@ public interface StreamCachingStrategy extends StaticService {
          */
         long getCacheSpoolAverageSize();
 
+        /**
+         * Gets the counter for number of {@link StreamCache} spooled to off-heap memory.
+         */
+        long getCacheOffHeapCounter();
+
+        /**
+         * Gets the total accumulated number of bytes which has been stream cached for off-heap stream caches.
+         */
+        long getCacheOffHeapSize();
+
+        /**
+         * Gets the average number of bytes per cached stream for off-heap stream caches.
+         */
+        long getCacheOffHeapAverageSize();
+
+        /**
+         * Gets the number of bytes of direct memory currently in use by off-heap stream caches.
+         */
+        long getCacheOffHeapMemoryUsed();
+
+        /**
+         * Gets the number of bytes of the memory-mapped segment file currently in use by off-heap stream caches.
+         */
+        long getCacheOffHeapMappedUsed();
+
         /**
          * Reset the counters
          */
@@ -224,6 +249,48 @@ public interface StreamCachingStrategy extends StaticService {
 
     String getSpoolCipher();
 
+    /**
+     * Enables spooling to off-heap memory instead of temporary files.
+     * <p/>
+     * The stream caches are spooled into a pool of direct memory (bounded by {@link #setSpoolOffHeapMaxSize(long)}),
+     * which overflows into a memory-mapped file in the spool directory shared by all the stream caches (bounded by
+     * {@link #setSpoolOffHeapMappedMaxSize(long)}). When both are in use, then the stream caches are spooled to
+     * temporary files as usual. This avoids creating a temporary file per stream cache, and keeps the cached data out
+     * of the heap.
+     * <p/>
+     * Spooling must be enabled via {@link #setSpoolEnabled(boolean)}. If a spool cipher is configured, then the
+     * memory-mapped file is not used, as its data would not be encrypted.
+     * <p/>
+     * <b>Notice:</b> This cannot be changed at runtime.
+     *
+     * Default is disabled.
+     */
+    void setSpoolOffHeapEnabled(boolean spoolOffHeapEnabled);
+
+    /**
+     * Is spooling to off-heap memory enabled.
+     */
+    boolean isSpoolOffHeapEnabled();
+
+    /**
+     * Sets the maximum number of bytes of direct memory to use for spooling stream caches off-heap.
+     * <p/>
+     * The default size is 64 MB.
+     */
+    void setSpoolOffHeapMaxSize(long maxSize);
+
+    long getSpoolOffHeapMaxSize();
+
+    /**
+     * Sets the maximum number of bytes of the memory-mapped file to use for spooling stream caches off-heap, when the
+     * direct memory is in use. Use <tt>0</tt> to not use a memory-mapped file.
+     * <p/>
+     * The default size is 256 MB.
+     */
+    void setSpoolOffHeapMappedMaxSize(long mappedMaxSize);
+
+    long getSpoolOffHeapMappedMaxSize();
+
     /**
      * Whether to remove the temporary directory when stopping.
      * <p/>
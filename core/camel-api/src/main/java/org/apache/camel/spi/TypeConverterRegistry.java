@@ -60,6 +60,22 @@ public interface TypeConverterRegistry extends StaticService, CamelContextAware
          */
         long getFailedCounter();
 
+        /**
+         * Number of attempts where the type converter was resolved from the cache of previously resolved type
+         * converters
+         */
+        long getCacheHitCounter();
+
+        /**
+         * Number of attempts where the type converter was not cached and had to be looked up
+         */
+        long getCacheMissCounter();
+
+        /**
+         * Number of successful conversions done by a fallback type converter
+         */
+        long getFallbackCounter();
+
         /**
          * Reset the counters
          */
@@ -51,6 +51,7 @@ import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
 import org.apache.camel.util.concurrent.ThreadHelper;
 import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.apache.camel.util.concurrent.VirtualThreadHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -68,6 +69,7 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
     private long shutdownAwaitTermination = 10000;
     private String defaultThreadPoolProfileId = "defaultThreadPoolProfile";
     private final ThreadPoolProfile defaultProfile;
+    private volatile boolean virtualThreadsWarned;
 
     public BaseExecutorServiceManager(CamelContext camelContext) {
         this.camelContext = camelContext;
@@ -193,7 +195,7 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
         ThreadPoolProfile defaultProfile = getDefaultThreadPoolProfile();
         profile.addDefaults(defaultProfile);
 
-        ThreadFactory threadFactory = createThreadFactory(sanitizedName, true);
+        ThreadFactory threadFactory = createThreadFactory(sanitizedName, true, isVirtualThreads(profile));
         ExecutorService executorService = threadPoolFactory.newThreadPool(profile, threadFactory);
         onThreadPoolCreated(executorService, source, profile.getId());
         if (LOG.isDebugEnabled()) {
@@ -219,7 +221,9 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
     @Override
     public ExecutorService newCachedThreadPool(Object source, String name) {
         String sanitizedName = URISupport.sanitizeUri(name);
-        ExecutorService answer = threadPoolFactory.newCachedThreadPool(createThreadFactory(sanitizedName, true));
+        ThreadFactory threadFactory
+                = createThreadFactory(sanitizedName, true, isVirtualThreads(getDefaultThreadPoolProfile()));
+        ExecutorService answer = threadPoolFactory.newCachedThreadPool(threadFactory);
         onThreadPoolCreated(answer, source, null);
 
         if (LOG.isDebugEnabled()) {
@@ -571,7 +575,31 @@ public class BaseExecutorServiceManager extends ServiceSupport implements Execut
     }
 
     protected ThreadFactory createThreadFactory(String name, boolean isDaemon) {
-        return new CamelThreadFactory(threadNamePattern, name, isDaemon);
+        return createThreadFactory(name, isDaemon, false);
+    }
+
+    protected ThreadFactory createThreadFactory(String name, boolean isDaemon, boolean virtual) {
+        return new CamelThreadFactory(threadNamePattern, name, isDaemon, virtual);
+    }
+
+    /**
+     * Whether virtual threads should be used for thread pools created from the given profile, which requires the JVM to
+     * support virtual threads.
+     */
+    protected boolean isVirtualThreads(ThreadPoolProfile profile) {
+        if (profile == null || !profile.isVirtualThreads()) {
+            return false;
+        }
+        if (VirtualThreadHelper.isVirtualThreadsSupported()) {
+            return true;
+        }
+        if (!virtualThreadsWarned) {
+            virtualThreadsWarned = true;
+            LOG.warn("Virtual threads is enabled on thread pool profile: {} but the JVM {} does not support virtual threads"
+                     + " (requires Java 21 or newer). Platform threads will be used instead.",
+                    profile.getId(), System.getProperty("java.version"));
+        }
+        return false;
     }
 
 }
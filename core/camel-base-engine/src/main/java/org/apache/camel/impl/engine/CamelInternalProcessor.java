@@ -41,6 +41,7 @@ import org.apache.camel.impl.debugger.BacklogTracer;
 import org.apache.camel.impl.debugger.DefaultBacklogTracerEventMessage;
 import org.apache.camel.spi.CamelInternalProcessorAdvice;
 import org.apache.camel.spi.Debugger;
+import org.apache.camel.spi.ExchangeFactory;
 import org.apache.camel.spi.InflightRepository;
 import org.apache.camel.spi.InternalProcessor;
 import org.apache.camel.spi.ManagementInterceptStrategy.InstrumentationProcessor;
@@ -111,6 +112,7 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
     private final List<CamelInternalProcessorAdvice<?>> advices = new ArrayList<>();
     private byte statefulAdvices;
     private Object[] emptyStatefulStates;
+    private boolean[] reusableStates;
     private PooledObjectFactory<CamelInternalTask> taskFactory;
 
     public CamelInternalProcessor(CamelContext camelContext) {
@@ -147,6 +149,22 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
 
             // create empty array we can use for reset
             emptyStatefulStates = new Object[statefulAdvices];
+
+            // in fully pooled mode then advices can recycle their state from the previous exchange
+            ExchangeFactory ef = camelContext.getCamelContextExtension().getExchangeFactory();
+            if (ef instanceof PooledExchangeFactory pef && pef.isFullyPooled()) {
+                boolean[] reusable = new boolean[statefulAdvices];
+                boolean any = false;
+                for (int i = 0, j = 0; i < advices.size(); i++) {
+                    CamelInternalProcessorAdvice<?> advice = advices.get(i);
+                    if (advice.hasState()) {
+                        reusable[j] = advice.isStateReusable();
+                        any |= reusable[j];
+                        j++;
+                    }
+                }
+                reusableStates = any ? reusable : null;
+            }
         }
 
         ServiceHelper.buildService(taskFactory, processor);
@@ -238,8 +256,17 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
 
         @Override
         public void reset() {
-            // reset array by copying over from empty which is a very fast JVM optimized operation
-            System.arraycopy(emptyStatefulStates, 0, states, 0, statefulAdvices);
+            if (reusableStates != null) {
+                // keep the states which can be recycled for the next exchange
+                for (int i = 0; i < statefulAdvices; i++) {
+                    if (!reusableStates[i]) {
+                        states[i] = null;
+                    }
+                }
+            } else {
+                // reset array by copying over from empty which is a very fast JVM optimized operation
+                System.arraycopy(emptyStatefulStates, 0, states, 0, statefulAdvices);
+            }
             this.exchange = null;
             this.originalCallback = null;
         }
@@ -319,7 +346,12 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
         for (int i = 0, j = 0; i < advices.size(); i++) {
             CamelInternalProcessorAdvice<?> task = advices.get(i);
             try {
-                Object state = task.before(exchange);
+                Object state;
+                if (reusableStates != null && task.hasState() && reusableStates[j]) {
+                    state = ((CamelInternalProcessorAdvice<Object>) task).before(exchange, states[j]);
+                } else {
+                    state = task.before(exchange);
+                }
                 if (task.hasState()) {
                     states[j++] = state;
                 }
@@ -1206,10 +1238,20 @@ public class CamelInternalProcessor extends DelegateAsyncProcessor implements In
             return instrumentationProcessor.before(exchange);
         }
 
+        @Override
+        public T before(Exchange exchange, T previous) throws Exception {
+            return instrumentationProcessor.before(exchange, previous);
+        }
+
         @Override
         public void after(Exchange exchange, T data) throws Exception {
             instrumentationProcessor.after(exchange, data);
         }
+
+        @Override
+        public boolean isStateReusable() {
+            return instrumentationProcessor.isStateReusable();
+        }
     }
 
 }
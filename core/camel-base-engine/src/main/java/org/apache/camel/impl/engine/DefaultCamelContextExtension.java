@@ -61,9 +61,12 @@ import org.apache.camel.spi.Registry;
 import org.apache.camel.spi.RouteController;
 import org.apache.camel.spi.RouteStartupOrder;
 import org.apache.camel.spi.StartupStepRecorder;
+import org.apache.camel.support.CamelContextHelper;
 import org.apache.camel.support.EndpointHelper;
+import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.NormalizedUri;
 import org.apache.camel.support.PluginHelper;
+import org.apache.camel.support.cache.RecentEndpointCache;
 import org.apache.camel.util.StringHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -93,6 +96,7 @@ class DefaultCamelContextExtension implements ExtendedCamelContext {
     private volatile ManagementMBeanAssembler managementMBeanAssembler;
     private volatile HeadersMapFactory headersMapFactory;
     private volatile boolean eventNotificationApplicable;
+    private volatile Map<String, NormalizedEndpointUri> normalizedUriCache;
 
     @Deprecated
     private ErrorHandlerFactory errorHandlerFactory;
@@ -143,9 +147,21 @@ class DefaultCamelContextExtension implements ExtendedCamelContext {
 
     @Override
     public NormalizedEndpointUri normalizeUri(String uri) {
+        Map<String, NormalizedEndpointUri> cache = getNormalizedUriCache();
+        NormalizedEndpointUri answer = cache.get(uri);
+        if (answer != null) {
+            return answer;
+        }
         try {
+            String key = uri;
             uri = EndpointHelper.resolveEndpointUriPropertyPlaceholders(camelContext, uri);
-            return NormalizedUri.newNormalizedUri(uri, false);
+            answer = NormalizedUri.newNormalizedUri(uri, false);
+            // uris with property placeholders are resolved every time, and uris with secrets (such as RAW values or
+            // passwords) should not be kept in memory as cache keys, so only cache the other uris
+            if (RecentEndpointCache.isCacheable(key)) {
+                cache.put(key, answer);
+            }
+            return answer;
         } catch (ResolveEndpointFailedException e) {
             throw e;
         } catch (Exception e) {
@@ -153,6 +169,22 @@ class DefaultCamelContextExtension implements ExtendedCamelContext {
         }
     }
 
+    /**
+     * Cache of the normalized uris by the uri as-is, as normalizing uris (such as sorting the query parameters) is
+     * expensive for dynamic endpoints that are computed per message. Uris with sensitive information are not cached.
+     */
+    private Map<String, NormalizedEndpointUri> getNormalizedUriCache() {
+        if (normalizedUriCache == null) {
+            synchronized (lock) {
+                if (normalizedUriCache == null) {
+                    int max = CamelContextHelper.getMaximumEndpointCacheSize(camelContext);
+                    normalizedUriCache = LRUCacheFactory.newLRUCache(16, max, false);
+                }
+            }
+        }
+        return normalizedUriCache;
+    }
+
     @Override
     public Endpoint getEndpoint(NormalizedEndpointUri uri) {
         return camelContext.doGetEndpoint(uri.getUri(), null, true, false);
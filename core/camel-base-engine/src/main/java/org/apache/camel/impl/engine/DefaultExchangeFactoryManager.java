@@ -163,6 +163,28 @@ public class DefaultExchangeFactoryManager extends ServiceSupport implements Exc
             return answer;
         }
 
+        @Override
+        public long getAllocationMeasuredCounter() {
+            long answer = 0;
+            if (statisticsEnabled) {
+                for (ExchangeFactory ef : factories.values()) {
+                    answer += ef.getStatistics().getAllocationMeasuredCounter();
+                }
+            }
+            return answer;
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            long answer = 0;
+            if (statisticsEnabled) {
+                for (ExchangeFactory ef : factories.values()) {
+                    answer += ef.getStatistics().getAllocatedBytes();
+                }
+            }
+            return answer;
+        }
+
     }
 
     @Override
@@ -16,13 +16,19 @@
  */
 package org.apache.camel.impl.engine;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -37,22 +43,49 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Default {@link org.apache.camel.spi.InflightRepository}.
+ * <p/>
+ * The inflight exchanges (when browsing is enabled) are tracked in a number of shards, which each keeps the exchanges
+ * in the order they are added. This reduces the contention when adding and removing exchanges, and allows to find the
+ * oldest inflight exchange by looking at the head of each shard, instead of sorting all the inflight exchanges.
  */
 public class DefaultInflightRepository extends ServiceSupport implements InflightRepository {
 
     private static final Logger LOG = LoggerFactory.getLogger(DefaultInflightRepository.class);
 
+    private static final Comparator<Exchange> OLDEST_FIRST = Comparator.comparingLong(Exchange::getCreated);
+
     private final LongAdder size = new LongAdder();
-    private final ConcurrentMap<String, Exchange> inflight = new ConcurrentHashMap<>();
+    private final Shard[] shards;
+    private final int mask;
     private final ConcurrentMap<String, LongAdder> routeCount = new ConcurrentHashMap<>();
+    private final Set<String> browseDisabledRoutes = ConcurrentHashMap.newKeySet();
     private boolean inflightExchangeEnabled;
 
+    public DefaultInflightRepository() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    /**
+     * Creates the repository with the given number of shards, which is rounded up to a power of two.
+     */
+    public DefaultInflightRepository(int concurrencyLevel) {
+        int num = 1;
+        while (num < concurrencyLevel) {
+            num <<= 1;
+        }
+        this.shards = new Shard[num];
+        for (int i = 0; i < num; i++) {
+            shards[i] = new Shard();
+        }
+        this.mask = num - 1;
+    }
+
     @Override
     public void add(Exchange exchange) {
         size.increment();
 
-        if (inflightExchangeEnabled) {
-            inflight.put(exchange.getExchangeId(), exchange);
+        if (inflightExchangeEnabled && isBrowseEnabled(exchange.getFromRouteId())) {
+            shardFor(exchange).add(exchange);
         }
     }
 
@@ -61,7 +94,8 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         size.decrement();
 
         if (inflightExchangeEnabled) {
-            inflight.remove(exchange.getExchangeId());
+            // always remove, as browsing may have been turned off for the route while the exchange was inflight
+            shardFor(exchange).remove(exchange);
         }
     }
 
@@ -94,6 +128,7 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
     @Override
     public void removeRoute(String routeId) {
         routeCount.remove(routeId);
+        browseDisabledRoutes.remove(routeId);
     }
 
     @Override
@@ -112,6 +147,20 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         this.inflightExchangeEnabled = inflightBrowseEnabled;
     }
 
+    @Override
+    public boolean isInflightBrowseEnabled(String routeId) {
+        return inflightExchangeEnabled && isBrowseEnabled(routeId);
+    }
+
+    @Override
+    public void setInflightBrowseEnabled(String routeId, boolean inflightBrowseEnabled) {
+        if (inflightBrowseEnabled) {
+            browseDisabledRoutes.remove(routeId);
+        } else {
+            browseDisabledRoutes.add(routeId);
+        }
+    }
+
     @Override
     public Collection<InflightExchange> browse() {
         return browse(null, -1, false);
@@ -133,24 +182,15 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
             return Collections.emptyList();
         }
 
-        Stream<Exchange> values;
-        if (fromRouteId == null) {
-            // all values
-            values = inflight.values().stream();
-        } else {
-            // only if route match
-            values = inflight.values().stream()
-                    .filter(e -> fromRouteId.equals(e.getFromRouteId()));
+        List<Exchange> list = new ArrayList<>();
+        for (Shard shard : shards) {
+            shard.collect(fromRouteId, list);
         }
 
+        Stream<Exchange> values = list.stream();
         if (sortByLongestDuration) {
-            // sort by duration and grab the first
-            values = values.sorted((e1, e2) -> {
-                long d1 = getExchangeDuration(e1);
-                long d2 = getExchangeDuration(e2);
-                // need the biggest number first
-                return -1 * Long.compare(d1, d2);
-            });
+            // the longest duration is the oldest exchange
+            values = values.sorted(OLDEST_FIRST);
         } else {
             // else sort by exchange id
             values = values.sorted(Comparator.comparing(Exchange::getExchangeId));
@@ -169,25 +209,15 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
             return null;
         }
 
-        Stream<Exchange> values;
-
-        if (fromRouteId == null) {
-            // all values
-            values = inflight.values().stream();
-        } else {
-            // only if route match
-            values = inflight.values().stream()
-                    .filter(e -> fromRouteId.equals(e.getFromRouteId()));
+        // the head of each shard is the oldest exchange in the shard, so we only need to compare those
+        Exchange first = null;
+        for (Shard shard : shards) {
+            Exchange candidate = shard.oldest(fromRouteId);
+            if (candidate != null && (first == null || candidate.getCreated() < first.getCreated())) {
+                first = candidate;
+            }
         }
 
-        // sort by duration and grab the first
-        Exchange first = values.sorted((e1, e2) -> {
-            long d1 = getExchangeDuration(e1);
-            long d2 = getExchangeDuration(e2);
-            // need the biggest number first
-            return -1 * Long.compare(d1, d2);
-        }).findFirst().orElse(null);
-
         if (first != null) {
             return new InflightExchangeEntry(first);
         } else {
@@ -206,6 +236,70 @@ public class DefaultInflightRepository extends ServiceSupport implements Infligh
         routeCount.clear();
     }
 
+    private boolean isBrowseEnabled(String routeId) {
+        return browseDisabledRoutes.isEmpty() || routeId == null || !browseDisabledRoutes.contains(routeId);
+    }
+
+    private Shard shardFor(Exchange exchange) {
+        int h = exchange.getExchangeId().hashCode();
+        return shards[(h ^ (h >>> 16)) & mask];
+    }
+
+    /**
+     * A shard of the inflight exchanges, which keeps the exchanges in the order they are added, so the oldest exchange
+     * is (approximately) at the head.
+     */
+    private static final class Shard {
+
+        private final Lock lock = new ReentrantLock();
+        private final Map<String, Exchange> exchanges = new LinkedHashMap<>();
+
+        void add(Exchange exchange) {
+            lock.lock();
+            try {
+                exchanges.put(exchange.getExchangeId(), exchange);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void remove(Exchange exchange) {
+            lock.lock();
+            try {
+                exchanges.remove(exchange.getExchangeId());
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        Exchange oldest(String fromRouteId) {
+            lock.lock();
+            try {
+                for (Exchange exchange : exchanges.values()) {
+                    if (fromRouteId == null || fromRouteId.equals(exchange.getFromRouteId())) {
+                        return exchange;
+                    }
+                }
+                return null;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void collect(String fromRouteId, List<Exchange> list) {
+            lock.lock();
+            try {
+                for (Exchange exchange : exchanges.values()) {
+                    if (fromRouteId == null || fromRouteId.equals(exchange.getFromRouteId())) {
+                        list.add(exchange);
+                    }
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
     private static long getExchangeDuration(Exchange exchange) {
         return System.currentTimeMillis() - exchange.getCreated();
     }
@@ -77,6 +77,14 @@ public class DefaultReactiveExecutor extends ServiceSupport implements ReactiveE
         return workers.get().executeFromQueue();
     }
 
+    /**
+     * Whether the worker for the current thread is already running tasks, which means that newly scheduled tasks are
+     * queued until the running task is complete.
+     */
+    protected boolean isCurrentWorkerRunning() {
+        return workers.get().running;
+    }
+
     @Override
     @ManagedAttribute(description = "Whether statistics is enabled")
     public boolean isStatisticsEnabled() {
@@ -30,11 +30,14 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.Exchange;
 import org.apache.camel.Message;
 import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.OffHeapInputStreamCache;
+import org.apache.camel.converter.stream.OffHeapStreamCacheArena;
 import org.apache.camel.spi.StreamCachingStrategy;
 import org.apache.camel.support.service.ServiceSupport;
 import org.apache.camel.util.FilePathResolver;
 import org.apache.camel.util.FileUtil;
 import org.apache.camel.util.IOHelper;
+import org.apache.camel.util.ObjectHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -60,6 +63,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
     private String spoolCipher;
     private int bufferSize = IOHelper.DEFAULT_BUFFER_SIZE;
     private boolean removeSpoolDirectoryWhenStopping = true;
+    private boolean spoolOffHeapEnabled;
+    private long spoolOffHeapMaxSize = 64 * 1024 * 1024L;
+    private long spoolOffHeapMappedMaxSize = 256 * 1024 * 1024L;
+    private OffHeapStreamCacheArena offHeapArena;
     private final UtilizationStatistics statistics = new UtilizationStatistics();
     private final Set<SpoolRule> spoolRules = new LinkedHashSet<>();
     private boolean anySpoolRules;
@@ -197,6 +204,36 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         this.removeSpoolDirectoryWhenStopping = removeSpoolDirectoryWhenStopping;
     }
 
+    @Override
+    public boolean isSpoolOffHeapEnabled() {
+        return spoolOffHeapEnabled;
+    }
+
+    @Override
+    public void setSpoolOffHeapEnabled(boolean spoolOffHeapEnabled) {
+        this.spoolOffHeapEnabled = spoolOffHeapEnabled;
+    }
+
+    @Override
+    public long getSpoolOffHeapMaxSize() {
+        return spoolOffHeapMaxSize;
+    }
+
+    @Override
+    public void setSpoolOffHeapMaxSize(long spoolOffHeapMaxSize) {
+        this.spoolOffHeapMaxSize = spoolOffHeapMaxSize;
+    }
+
+    @Override
+    public long getSpoolOffHeapMappedMaxSize() {
+        return spoolOffHeapMappedMaxSize;
+    }
+
+    @Override
+    public void setSpoolOffHeapMappedMaxSize(long spoolOffHeapMappedMaxSize) {
+        this.spoolOffHeapMappedMaxSize = spoolOffHeapMappedMaxSize;
+    }
+
     @Override
     public boolean isAnySpoolRules() {
         return anySpoolRules;
@@ -286,7 +323,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             }
             if (statistics.isStatisticsEnabled()) {
                 try {
-                    if (cache.inMemory()) {
+                    if (cache instanceof OffHeapInputStreamCache) {
+                        statistics.updateOffHeap(cache.length());
+                    } else if (cache.inMemory()) {
                         statistics.updateMemory(cache.length());
                     } else {
                         statistics.updateSpool(cache.length());
@@ -420,6 +459,16 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                 }
                 spoolRules.add(new UsedHeapMemorySpoolRule(spoolUsedHeapMemoryLimit));
             }
+            if (spoolOffHeapEnabled) {
+                // do not overflow to the memory-mapped file when encryption is required
+                long mapped = ObjectHelper.isNotEmpty(spoolCipher) ? 0 : spoolOffHeapMappedMaxSize;
+                offHeapArena = new OffHeapStreamCacheArena(
+                        OffHeapStreamCacheArena.DEFAULT_SLAB_SIZE, spoolOffHeapMaxSize, mapped, spoolDirectory);
+                camelContext.getCamelContextExtension().addContextPlugin(OffHeapStreamCacheArena.class, offHeapArena);
+                statistics.offHeapArena = offHeapArena;
+                LOG.info("StreamCaching spooling to off-heap memory (max {}K) with memory-mapped overflow (max {}K)",
+                        spoolOffHeapMaxSize >> 10, mapped >> 10);
+            }
         }
 
         LOG.debug("StreamCaching configuration {}", this);
@@ -436,6 +485,13 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
 
     @Override
     protected void doStop() throws Exception {
+        if (offHeapArena != null) {
+            LOG.debug("Closing off-heap stream cache arena: {}", offHeapArena);
+            IOHelper.close(offHeapArena);
+            offHeapArena = null;
+            statistics.offHeapArena = null;
+        }
+
         if (spoolEnabled && isSpoolRemovable()) {
             LOG.debug("Removing spool directory: {}", spoolDirectory);
             FileUtil.removeDir(spoolDirectory);
@@ -460,6 +516,7 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
                + ", spoolCipher=" + spoolCipher
                + ", spoolThreshold=" + spoolThreshold
                + ", spoolUsedHeapMemoryThreshold=" + spoolUsedHeapMemoryThreshold
+               + ", spoolOffHeapEnabled=" + spoolOffHeapEnabled
                + ", bufferSize=" + bufferSize
                + ", anySpoolRules=" + anySpoolRules + "]";
     }
@@ -539,6 +596,10 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         private volatile long spoolCounter;
         private volatile long spoolSize;
         private volatile long spoolAverageSize;
+        private volatile long offHeapCounter;
+        private volatile long offHeapSize;
+        private volatile long offHeapAverageSize;
+        private volatile OffHeapStreamCacheArena offHeapArena;
 
         synchronized void updateMemory(long size) {
             memoryCounter++;
@@ -552,6 +613,12 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             spoolAverageSize = spoolSize / spoolCounter;
         }
 
+        synchronized void updateOffHeap(long size) {
+            offHeapCounter++;
+            offHeapSize += size;
+            offHeapAverageSize = offHeapSize / offHeapCounter;
+        }
+
         @Override
         public long getCacheMemoryCounter() {
             return memoryCounter;
@@ -582,6 +649,33 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             return spoolAverageSize;
         }
 
+        @Override
+        public long getCacheOffHeapCounter() {
+            return offHeapCounter;
+        }
+
+        @Override
+        public long getCacheOffHeapSize() {
+            return offHeapSize;
+        }
+
+        @Override
+        public long getCacheOffHeapAverageSize() {
+            return offHeapAverageSize;
+        }
+
+        @Override
+        public long getCacheOffHeapMemoryUsed() {
+            OffHeapStreamCacheArena arena = offHeapArena;
+            return arena != null ? arena.getUsed() : 0;
+        }
+
+        @Override
+        public long getCacheOffHeapMappedUsed() {
+            OffHeapStreamCacheArena arena = offHeapArena;
+            return arena != null ? arena.getMappedUsed() : 0;
+        }
+
         @Override
         public synchronized void reset() {
             memoryCounter = 0;
@@ -590,6 +684,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
             spoolCounter = 0;
             spoolSize = 0;
             spoolAverageSize = 0;
+            offHeapCounter = 0;
+            offHeapSize = 0;
+            offHeapAverageSize = 0;
         }
 
         @Override
@@ -605,8 +702,9 @@ public class DefaultStreamCachingStrategy extends ServiceSupport implements Came
         @Override
         public String toString() {
             return String.format(
-                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s]",
-                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize);
+                    "[memoryCounter=%s, memorySize=%s, memoryAverageSize=%s, spoolCounter=%s, spoolSize=%s, spoolAverageSize=%s, offHeapCounter=%s, offHeapSize=%s, offHeapAverageSize=%s]",
+                    memoryCounter, memorySize, memoryAverageSize, spoolCounter, spoolSize, spoolAverageSize, offHeapCounter,
+                    offHeapSize, offHeapAverageSize);
         }
     }
 
@@ -24,6 +24,9 @@ import org.apache.camel.spi.UnitOfWorkFactory;
 
 /**
  * Default {@link org.apache.camel.spi.UnitOfWorkFactory}
+ * <p/>
+ * A pooled exchange keeps its unit of work, which is reset when the exchange is done, and prepared again when the
+ * exchange is reused. This factory is therefore only called for exchanges that do not have a unit of work yet.
  */
 public class DefaultUnitOfWorkFactory implements UnitOfWorkFactory {
 
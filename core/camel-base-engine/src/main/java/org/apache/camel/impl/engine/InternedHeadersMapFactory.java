@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.spi.HeadersMapFactory;
+import org.apache.camel.util.InternedCaseInsensitiveMap;
+
+/**
+ * {@link HeadersMapFactory} which uses the {@link InternedCaseInsensitiveMap} where the header names from the
+ * {@link Exchange} constants (and any additional header names given to this factory) are stored in pre-computed slots.
+ * <p/>
+ * Accessing these headers by their constant is faster than with the {@link DefaultHeadersMapFactory}, as the header
+ * name does not have to be compared ignoring case. Other headers are stored in a case insensitive hash table. Like the
+ * default factory, the map is case insensitive and preserves the original key cases.
+ */
+public class InternedHeadersMapFactory implements HeadersMapFactory {
+
+    private final InternedCaseInsensitiveMap.Keys keys;
+
+    public InternedHeadersMapFactory() {
+        this(Collections.emptyList());
+    }
+
+    /**
+     * Creates the factory with additional well known header names, such as the header constants of the components in
+     * use.
+     *
+     * @param headerNames additional header names to store in pre-computed slots
+     */
+    public InternedHeadersMapFactory(Collection<String> headerNames) {
+        List<String> names = new ArrayList<>(exchangeHeaderNames());
+        names.addAll(headerNames);
+        this.keys = InternedCaseInsensitiveMap.Keys.of(names);
+    }
+
+    @Override
+    public Map<String, Object> newMap() {
+        return new InternedCaseInsensitiveMap(keys);
+    }
+
+    @Override
+    public Map<String, Object> newMap(Map<String, Object> map) {
+        return new InternedCaseInsensitiveMap(keys, map);
+    }
+
+    @Override
+    public boolean isInstanceOf(Map<String, Object> map) {
+        return map instanceof InternedCaseInsensitiveMap m && m.getKeys() == keys;
+    }
+
+    @Override
+    public boolean isCaseInsensitive() {
+        return true;
+    }
+
+    /**
+     * The number of header names stored in pre-computed slots
+     */
+    public int getSize() {
+        return keys.size();
+    }
+
+    private static List<String> exchangeHeaderNames() {
+        // the constants are interned, so lookup by constant is an identity match
+        List<String> answer = new ArrayList<>();
+        try {
+            for (Field field : Exchange.class.getFields()) {
+                if (Modifier.isStatic(field.getModifiers()) && field.getType() == String.class) {
+                    answer.add((String) field.get(null));
+                }
+            }
+        } catch (IllegalAccessException e) {
+            throw new RuntimeCamelException(e);
+        }
+        return answer;
+    }
+
+    @Override
+    public String toString() {
+        return "InternedHeadersMapFactory[" + keys.size() + "]";
+    }
+}
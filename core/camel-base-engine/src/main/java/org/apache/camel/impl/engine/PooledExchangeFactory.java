@@ -16,6 +16,9 @@
  */
 package org.apache.camel.impl.engine;
 
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
 import org.apache.camel.Consumer;
 import org.apache.camel.Endpoint;
 import org.apache.camel.Exchange;
@@ -27,12 +30,20 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Pooled {@link ExchangeFactory} that reuses {@link Exchange} instance from a pool.
+ * <p/>
+ * When fully pooled is enabled, then the routing engine also recycles the state of its internal advices (such as the
+ * stop watches used by JMX statistics) between exchanges. If statistics is enabled, then the bytes allocated on the
+ * heap while routing each exchange is measured as well (for exchanges that are created and released by the same
+ * thread).
  */
 public final class PooledExchangeFactory extends PrototypeExchangeFactory {
 
     private static final Logger LOG = LoggerFactory.getLogger(PooledExchangeFactory.class);
 
     private final ReleaseOnDoneTask onDone = new ReleaseOnDoneTask();
+    private final ThreadLocal<AllocationMark> allocationMarks = ThreadLocal.withInitial(AllocationMark::new);
+    private boolean fullyPooled;
+    private com.sun.management.ThreadMXBean threadMXBean;
 
     public PooledExchangeFactory() {
     }
@@ -51,6 +62,28 @@ public final class PooledExchangeFactory extends PrototypeExchangeFactory {
         dummy.getIn();
         dummy.getIn().getHeaders();
         LOG.trace("Warming up PooledExchangeFactory loaded class: {}", dummy.getClass().getName());
+
+        if (fullyPooled) {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (bean instanceof com.sun.management.ThreadMXBean sun && sun.isThreadAllocatedMemorySupported()
+                    && sun.isThreadAllocatedMemoryEnabled()) {
+                threadMXBean = sun;
+            } else {
+                LOG.debug("Measuring allocated bytes per exchange is not supported on this JVM");
+            }
+        }
+    }
+
+    public boolean isFullyPooled() {
+        return fullyPooled;
+    }
+
+    /**
+     * Whether the routing engine should also recycle the state of its internal advices between exchanges, and measure
+     * the bytes allocated per exchange when statistics is enabled.
+     */
+    public void setFullyPooled(boolean fullyPooled) {
+        this.fullyPooled = fullyPooled;
     }
 
     @Override
@@ -59,6 +92,7 @@ public final class PooledExchangeFactory extends PrototypeExchangeFactory {
         answer.setCamelContext(camelContext);
         answer.setCapacity(capacity);
         answer.setStatisticsEnabled(statisticsEnabled);
+        answer.setFullyPooled(fullyPooled);
         return answer;
     }
 
@@ -81,6 +115,9 @@ public final class PooledExchangeFactory extends PrototypeExchangeFactory {
         PooledExchange ee = (PooledExchange) exchange;
         ee.reset(System.currentTimeMillis());
 
+        if (statisticsEnabled && threadMXBean != null) {
+            markAllocation(exchange);
+        }
         return exchange;
     }
 
@@ -103,6 +140,9 @@ public final class PooledExchangeFactory extends PrototypeExchangeFactory {
         PooledExchange ee = (PooledExchange) exchange;
         ee.reset(System.currentTimeMillis());
 
+        if (statisticsEnabled && threadMXBean != null) {
+            markAllocation(exchange);
+        }
         return exchange;
     }
 
@@ -122,6 +162,9 @@ public final class PooledExchangeFactory extends PrototypeExchangeFactory {
                 } else {
                     statistics.discarded.increment();
                 }
+                if (threadMXBean != null) {
+                    measureAllocation(exchange);
+                }
             }
             return inserted;
         } catch (Exception e) {
@@ -133,6 +176,25 @@ public final class PooledExchangeFactory extends PrototypeExchangeFactory {
         }
     }
 
+    private void markAllocation(Exchange exchange) {
+        AllocationMark mark = allocationMarks.get();
+        mark.exchange = exchange;
+        mark.bytes = threadMXBean.getCurrentThreadAllocatedBytes();
+    }
+
+    private void measureAllocation(Exchange exchange) {
+        AllocationMark mark = allocationMarks.get();
+        // only measure if the exchange was created by this thread, as otherwise the routing was (partly) asynchronous
+        if (mark.exchange == exchange) {
+            long delta = threadMXBean.getCurrentThreadAllocatedBytes() - mark.bytes;
+            mark.exchange = null;
+            if (delta >= 0) {
+                statistics.allocationMeasured.increment();
+                statistics.allocatedBytes.add(delta);
+            }
+        }
+    }
+
     private PooledExchange createPooledExchange(Endpoint fromEndpoint, boolean autoRelease) {
         PooledExchange answer;
         if (fromEndpoint != null) {
@@ -166,6 +228,11 @@ public final class PooledExchangeFactory extends PrototypeExchangeFactory {
         // do not call super
     }
 
+    private static final class AllocationMark {
+        private Exchange exchange;
+        private long bytes;
+    }
+
     private final class ReleaseOnDoneTask implements PooledExchange.OnDoneTask {
 
         @Override
@@ -0,0 +1,381 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.Experimental;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.ReactiveExecutor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link ReactiveExecutor} that can offload work to a number of core threads which uses bounded per-core deques with
+ * work stealing, so a busy thread can let idle cores run its pending work.
+ * <p/>
+ * The tasks scheduled via {@link #scheduleMain(Runnable)}, {@link #scheduleSync(Runnable)} and
+ * {@link #scheduleQueue(Runnable)} are executed on the calling thread exactly as {@link DefaultReactiveExecutor} does,
+ * which preserves their ordering semantics. Tasks scheduled via {@link #schedule(Runnable)} are also executed directly
+ * by the calling thread when it is idle, however when the calling thread is already busy running tasks, then the task
+ * is offloaded to a core deque (instead of being queued on the calling thread). Idle cores steal work from the tail of
+ * the deques of the other cores. If the deque is full then the task is queued on the calling thread as fallback.
+ * <p/>
+ * Use {@link org.apache.camel.ExtendedCamelContext#setReactiveExecutor(ReactiveExecutor)} to use this executor.
+ */
+@Experimental
+@ManagedResource(description = "Managed WorkStealingReactiveExecutor")
+public class WorkStealingReactiveExecutor extends DefaultReactiveExecutor implements CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WorkStealingReactiveExecutor.class);
+
+    private final AtomicInteger nextCore = new AtomicInteger();
+    private final ThreadLocal<Core> currentCore = new ThreadLocal<>();
+    private CamelContext camelContext;
+    private int cores = Runtime.getRuntime().availableProcessors();
+    private int capacity = 1024;
+    private long idleTimeout = 10;
+    private volatile Core[] workers;
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @ManagedAttribute(description = "Number of cores")
+    public int getCores() {
+        return cores;
+    }
+
+    /**
+     * Number of cores (threads) which can run offloaded tasks. Is default the number of available processors.
+     */
+    public void setCores(int cores) {
+        this.cores = cores;
+    }
+
+    @ManagedAttribute(description = "Maximum number of pending tasks per core")
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Maximum number of pending tasks per core. When a core is full then the task is run by the calling thread instead.
+     */
+    public void setCapacity(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public long getIdleTimeout() {
+        return idleTimeout;
+    }
+
+    /**
+     * Time in millis an idle core waits for new tasks before it attempts to steal work from other cores.
+     */
+    public void setIdleTimeout(long idleTimeout) {
+        this.idleTimeout = idleTimeout;
+    }
+
+    @Override
+    public void schedule(Runnable runnable) {
+        if (workers != null && isCurrentWorkerRunning()) {
+            Core core = currentCore.get();
+            if (core == null) {
+                // not a core thread so pick a core in round-robin fashion
+                Core[] arr = workers;
+                core = arr[Math.floorMod(nextCore.getAndIncrement(), arr.length)];
+            }
+            if (core.offer(runnable)) {
+                return;
+            }
+        }
+        super.schedule(runnable);
+    }
+
+    @ManagedAttribute(description = "Number of tasks offloaded to the cores")
+    public long getOffloadedTasks() {
+        long answer = 0;
+        for (CoreStatistics cs : getCoreStatistics()) {
+            answer += cs.getCreatedTasks();
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of tasks stolen by idle cores")
+    public long getStolenTasks() {
+        long answer = 0;
+        for (CoreStatistics cs : getCoreStatistics()) {
+            answer += cs.getStolenTasks();
+        }
+        return answer;
+    }
+
+    @ManagedAttribute(description = "Number of pending tasks in the cores")
+    public int getPendingCoreTasks() {
+        int answer = 0;
+        for (CoreStatistics cs : getCoreStatistics()) {
+            answer += cs.getPendingTasks();
+        }
+        return answer;
+    }
+
+    /**
+     * Statistics per core
+     */
+    public List<CoreStatistics> getCoreStatistics() {
+        Core[] arr = workers;
+        if (arr == null) {
+            return Collections.emptyList();
+        }
+        List<CoreStatistics> answer = new ArrayList<>(arr.length);
+        for (Core core : arr) {
+            answer.add(core);
+        }
+        return answer;
+    }
+
+    @ManagedOperation(description = "Dumps the statistics per core")
+    public String dumpCoreStatistics() {
+        StringBuilder sb = new StringBuilder();
+        for (CoreStatistics cs : getCoreStatistics()) {
+            sb.append(String.format("Core #%s [running: %s, created: %s, executed: %s, stolen: %s, pending: %s]%n",
+                    cs.getNumber(), cs.isRunning(), cs.getCreatedTasks(), cs.getExecutedTasks(), cs.getStolenTasks(),
+                    cs.getPendingTasks()));
+        }
+        return sb.toString();
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        super.doStart();
+
+        if (cores <= 0) {
+            throw new IllegalArgumentException("Cores must be a positive number, was: " + cores);
+        }
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be a positive number, was: " + capacity);
+        }
+
+        Core[] arr = new Core[cores];
+        for (int i = 0; i < cores; i++) {
+            arr[i] = new Core(i + 1, capacity);
+        }
+        for (Core core : arr) {
+            String name = "ReactiveExecutorCore-" + core.number;
+            if (camelContext != null) {
+                core.thread = camelContext.getExecutorServiceManager().newThread(name, () -> runCore(core, arr));
+            } else {
+                core.thread = new Thread(() -> runCore(core, arr), name);
+                core.thread.setDaemon(true);
+            }
+        }
+        workers = arr;
+        for (Core core : arr) {
+            core.thread.start();
+        }
+        LOG.debug("Started {} reactive executor cores with capacity: {}", cores, capacity);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        Core[] arr = workers;
+        workers = null;
+        if (arr != null) {
+            for (Core core : arr) {
+                core.thread.interrupt();
+            }
+            for (Core core : arr) {
+                core.thread.join(1000);
+            }
+            // run any left-over tasks by the stopping thread so they are not lost
+            for (Core core : arr) {
+                Runnable task;
+                while ((task = core.deque.pollFirst()) != null) {
+                    super.schedule(task);
+                }
+            }
+        }
+        super.doStop();
+    }
+
+    private void runCore(Core core, Core[] all) {
+        currentCore.set(core);
+        try {
+            while (isRunAllowed() && !Thread.currentThread().isInterrupted()) {
+                boolean stolen = false;
+                Runnable task = core.deque.pollFirst();
+                if (task == null) {
+                    task = steal(core, all);
+                    stolen = task != null;
+                }
+                if (task == null) {
+                    try {
+                        task = core.deque.pollFirst(idleTimeout, TimeUnit.MILLISECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                }
+                if (task != null) {
+                    runTask(core, task, stolen);
+                }
+            }
+        } finally {
+            currentCore.remove();
+        }
+    }
+
+    private void runTask(Core core, Runnable task, boolean stolen) {
+        core.running = true;
+        try {
+            if (stolen) {
+                core.stolen.increment();
+            }
+            core.executed.increment();
+            // run the task using the reactive worker of this core thread
+            super.schedule(task);
+        } finally {
+            core.running = false;
+        }
+    }
+
+    private static Runnable steal(Core thief, Core[] all) {
+        int len = all.length;
+        // start from the neighbour so the cores do not all steal from the same victim
+        for (int i = 1; i < len; i++) {
+            Core victim = all[(thief.number - 1 + i) % len];
+            // steal from the tail while the owner polls from the head
+            Runnable task = victim.deque.pollLast();
+            if (task != null) {
+                return task;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public String toString() {
+        return "WorkStealingReactiveExecutor[cores: " + cores + ", capacity: " + capacity + "]";
+    }
+
+    /**
+     * Statistics for a core
+     */
+    public interface CoreStatistics {
+
+        /**
+         * The core number
+         */
+        int getNumber();
+
+        /**
+         * Whether the core is currently running a task
+         */
+        boolean isRunning();
+
+        /**
+         * Number of tasks scheduled on this core
+         */
+        long getCreatedTasks();
+
+        /**
+         * Number of tasks executed by this core (including stolen tasks)
+         */
+        long getExecutedTasks();
+
+        /**
+         * Number of tasks this core has stolen from other cores
+         */
+        long getStolenTasks();
+
+        /**
+         * Number of pending tasks on this core
+         */
+        int getPendingTasks();
+    }
+
+    private static final class Core implements CoreStatistics {
+
+        private final int number;
+        private final LinkedBlockingDeque<Runnable> deque;
+        private final LongAdder created = new LongAdder();
+        private final LongAdder executed = new LongAdder();
+        private final LongAdder stolen = new LongAdder();
+        private volatile boolean running;
+        private Thread thread;
+
+        Core(int number, int capacity) {
+            this.number = number;
+            this.deque = new LinkedBlockingDeque<>(capacity);
+        }
+
+        boolean offer(Runnable runnable) {
+            if (deque.offerLast(runnable)) {
+                created.increment();
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public int getNumber() {
+            return number;
+        }
+
+        @Override
+        public boolean isRunning() {
+            return running;
+        }
+
+        @Override
+        public long getCreatedTasks() {
+            return created.sum();
+        }
+
+        @Override
+        public long getExecutedTasks() {
+            return executed.sum();
+        }
+
+        @Override
+        public long getStolenTasks() {
+            return stolen.sum();
+        }
+
+        @Override
+        public int getPendingTasks() {
+            return deque.size();
+        }
+    }
+
+}
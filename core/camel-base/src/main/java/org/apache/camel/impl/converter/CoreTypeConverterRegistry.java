@@ -65,6 +65,8 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
     protected final List<FallbackTypeConverter> fallbackConverters = new CopyOnWriteArrayList<>();
     // special enum converter for optional performance
     protected final TypeConverter enumTypeConverter = new EnumTypeConverter();
+    // the resolved converter (or miss) per to/from type pair to avoid walking the bulk converters and type hierarchy again
+    protected final DoubleMap<Class<?>, Class<?>, TypeConverter> resolvedConverters = new DoubleMap<>(16);
 
     protected final Statistics statistics = new UtilizationStatistics();
     protected final LongAdder noopCounter = new LongAdder();
@@ -72,6 +74,9 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
     protected final LongAdder missCounter = new LongAdder();
     protected final LongAdder hitCounter = new LongAdder();
     protected final LongAdder failedCounter = new LongAdder();
+    protected final LongAdder cacheHitCounter = new LongAdder();
+    protected final LongAdder cacheMissCounter = new LongAdder();
+    protected final LongAdder fallbackCounter = new LongAdder();
 
     protected TypeConverterExists typeConverterExists = TypeConverterExists.Ignore;
     protected LoggingLevel typeConverterExistsLoggingLevel = LoggingLevel.DEBUG;
@@ -442,19 +447,46 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             attemptCounter.increment();
         }
 
+        final Class<?> fromType = value.getClass();
+
+        // use the previously resolved converter for this pair
+        TypeConverter resolved = resolvedConverters.get(type, fromType);
+        if (resolved != null) {
+            if (statisticsEnabled) {
+                cacheHitCounter.increment();
+            }
+            if (resolved == MISS_CONVERTER) {
+                // bulk converters may still be able to convert this value
+                return doConvertMiss(type, exchange, value, fromType);
+            }
+            Object rc = doConvertResolved(type, exchange, value, tryConvert, fromType, resolved);
+            if (rc != null) {
+                return rc;
+            } else if (resolved.allowNull()) {
+                return null;
+            }
+            // the converter could not convert this value, so do a regular lookup
+        } else if (statisticsEnabled) {
+            cacheMissCounter.increment();
+        }
+
         // attempt bulk first which is the fastest
         for (BulkTypeConverters bulk : bulkTypeConverters) {
-            Object rc = bulk.convertTo(value.getClass(), type, exchange, value);
+            Object rc = bulk.convertTo(fromType, type, exchange, value);
             if (rc != null) {
+                resolvedConverters.put(type, fromType, bulk);
                 return rc;
             }
         }
 
         // try to find a suitable type converter
-        TypeConverter converter = getOrFindTypeConverter(type, value.getClass());
+        TypeConverter converter = getOrFindTypeConverter(type, fromType);
         if (converter != null) {
             Object rc = doConvert(type, exchange, value, tryConvert, converter);
             if (rc != null) {
+                if (converter != MISS_CONVERTER) {
+                    resolvedConverters.put(type, fromType, converter);
+                }
                 return rc;
             } else if (converter.allowNull()) {
                 return null;
@@ -465,7 +497,6 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         if (type.isPrimitive()) {
             Class<?> primitiveType = ObjectHelper.convertPrimitiveTypeToWrapperType(type);
             if (primitiveType != type) {
-                Class<?> fromType = value.getClass();
                 TypeConverter tc = getOrFindTypeConverter(primitiveType, fromType);
                 if (tc != null) {
                     // add the type as a known type converter as we can convert from primitive to object converter
@@ -494,10 +525,13 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             }
 
             if (rc != null) {
+                if (statisticsEnabled) {
+                    fallbackCounter.increment();
+                }
                 // if fallback can promote then let it be promoted to a first class type converter
                 if (fallback.isCanPromote()) {
                     // add it as a known type converter since we found a fallback that could do it
-                    addTypeConverter(type, value.getClass(), fallback.getFallbackTypeConverter());
+                    addTypeConverter(type, fromType, fallback.getFallbackTypeConverter());
                 }
                 // return converted value
                 return rc;
@@ -507,13 +541,34 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         if (!tryConvert) {
             // Could not find suitable conversion, so remember it
             // do not register misses for try conversions
-            typeMappings.put(type, value.getClass(), MISS_CONVERTER);
+            typeMappings.put(type, fromType, MISS_CONVERTER);
+            resolvedConverters.put(type, fromType, MISS_CONVERTER);
         }
 
         // Could not find suitable conversion, so return Void to indicate not found
         return TypeConverter.MISS_VALUE;
     }
 
+    private Object doConvertResolved(
+            Class<?> type, Exchange exchange, Object value, boolean tryConvert, Class<?> fromType, TypeConverter resolved) {
+        if (resolved instanceof BulkTypeConverters) {
+            // bulk converters must be given the from type
+            return ((BulkTypeConverters) resolved).convertTo(fromType, type, exchange, value);
+        }
+        return doConvert(type, exchange, value, tryConvert, resolved);
+    }
+
+    private Object doConvertMiss(Class<?> type, Exchange exchange, Object value, Class<?> fromType) {
+        // bulk converters check the value itself so they are always attempted
+        for (BulkTypeConverters bulk : bulkTypeConverters) {
+            Object rc = bulk.convertTo(fromType, type, exchange, value);
+            if (rc != null) {
+                return rc;
+            }
+        }
+        return TypeConverter.MISS_VALUE;
+    }
+
     private static Object doConvert(
             Exchange exchange, Object value, boolean tryConvert, Class<?> primitiveType, TypeConverter tc) {
         if (tryConvert) {
@@ -541,6 +596,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         // guard against adding duplicates
         boolean exists = this.bulkTypeConverters.contains(bulkTypeConverters);
         if (!exists) {
+            resolvedConverters.clear();
             if (bulkTypeConverters.getOrder() == Ordered.HIGHEST) {
                 this.bulkTypeConverters.add(0, bulkTypeConverters);
             } else {
@@ -557,6 +613,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         if (converter == MISS_CONVERTER) {
             // we have previously attempted to convert but missed so add this converter
             typeMappings.put(toType, fromType, typeConverter);
+            resolvedConverters.clear();
             return;
         }
 
@@ -584,12 +641,15 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
 
             if (add) {
                 typeMappings.put(toType, fromType, typeConverter);
+                // previously resolved converters may no longer be the best match
+                resolvedConverters.clear();
             }
         }
     }
 
     public boolean removeTypeConverter(Class<?> toType, Class<?> fromType) {
         LOG.trace("Removing type converter from: {} to: {}", fromType, toType);
+        resolvedConverters.clear();
         return typeMappings.remove(toType, fromType);
     }
 
@@ -604,6 +664,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         // add in top of fallback as the toString() fallback will nearly always be able to convert
         // the last one which is add to the FallbackTypeConverter will be called at the first place
         fallbackConverters.add(0, new FallbackTypeConverter(typeConverter, canPromote));
+        resolvedConverters.clear();
     }
 
     public TypeConverter lookup(Class<?> toType, Class<?> fromType) {
@@ -770,6 +831,7 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
         }
 
         typeMappings.clear();
+        resolvedConverters.clear();
         statistics.reset();
     }
 
@@ -805,6 +867,21 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             return failedCounter.longValue();
         }
 
+        @Override
+        public long getCacheHitCounter() {
+            return cacheHitCounter.longValue();
+        }
+
+        @Override
+        public long getCacheMissCounter() {
+            return cacheMissCounter.longValue();
+        }
+
+        @Override
+        public long getFallbackCounter() {
+            return fallbackCounter.longValue();
+        }
+
         @Override
         public void reset() {
             noopCounter.reset();
@@ -812,6 +889,9 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
             hitCounter.reset();
             missCounter.reset();
             failedCounter.reset();
+            cacheHitCounter.reset();
+            cacheMissCounter.reset();
+            fallbackCounter.reset();
         }
 
         @Override
@@ -826,8 +906,10 @@ public class CoreTypeConverterRegistry extends ServiceSupport implements TypeCon
 
         @Override
         public String toString() {
-            return String.format("TypeConverterRegistry utilization[noop=%s, attempts=%s, hits=%s, misses=%s, failures=%s]",
-                    getNoopCounter(), getAttemptCounter(), getHitCounter(), getMissCounter(), getFailedCounter());
+            return String.format(
+                    "TypeConverterRegistry utilization[noop=%s, attempts=%s, hits=%s, misses=%s, failures=%s, cacheHits=%s, cacheMisses=%s, fallbacks=%s]",
+                    getNoopCounter(), getAttemptCounter(), getHitCounter(), getMissCounter(), getFailedCounter(),
+                    getCacheHitCounter(), getCacheMissCounter(), getFallbackCounter());
         }
     }
 
@@ -16,6 +16,10 @@
  */
 package org.apache.camel.impl.converter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Method;
 
 import org.apache.camel.Exchange;
@@ -27,13 +31,16 @@ import org.apache.camel.support.TypeConverterSupport;
 
 /**
  * A {@link TypeConverter} implementation which instantiates an object so that an instance method can be used as a type
- * converter
+ * converter.
+ * <p/>
+ * The method is invoked via a {@link MethodHandle} when the method is accessible, and otherwise via reflection.
  */
 public class InstanceMethodTypeConverter extends TypeConverterSupport {
     private final CachingInjector<?> injector;
     private final Method method;
     private final boolean useExchange;
     private final boolean allowNull;
+    private final MethodHandle handle;
 
     public InstanceMethodTypeConverter(CachingInjector<?> injector, Method method, TypeConverterRegistry registry,
                                        boolean allowNull) {
@@ -41,6 +48,19 @@ public class InstanceMethodTypeConverter extends TypeConverterSupport {
         this.method = method;
         this.useExchange = method.getParameterCount() == 2;
         this.allowNull = allowNull;
+        this.handle = createMethodHandle(method, useExchange);
+    }
+
+    private static MethodHandle createMethodHandle(Method method, boolean useExchange) {
+        MethodType type = useExchange
+                ? MethodType.methodType(Object.class, Object.class, Object.class, Exchange.class)
+                : MethodType.methodType(Object.class, Object.class, Object.class);
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException | IllegalArgumentException | WrongMethodTypeException e) {
+            // not accessible so fallback to use reflection
+            return null;
+        }
     }
 
     @Override
@@ -60,6 +80,15 @@ public class InstanceMethodTypeConverter extends TypeConverterSupport {
         if (instance == null) {
             throw new RuntimeCamelException("Could not instantiate an instance of: " + type.getCanonicalName());
         }
+        if (handle != null) {
+            try {
+                return useExchange
+                        ? (T) (Object) handle.invokeExact(instance, value, exchange)
+                        : (T) (Object) handle.invokeExact(instance, value);
+            } catch (Throwable e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+        }
         return useExchange
                 ? (T) ObjectHelper.invokeMethod(method, instance, value, exchange) : (T) ObjectHelper
                         .invokeMethod(method, instance, value);
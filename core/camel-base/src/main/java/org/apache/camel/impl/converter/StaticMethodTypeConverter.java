@@ -16,25 +16,46 @@
  */
 package org.apache.camel.impl.converter;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.WrongMethodTypeException;
 import java.lang.reflect.Method;
 
 import org.apache.camel.Exchange;
+import org.apache.camel.RuntimeCamelException;
 import org.apache.camel.TypeConverter;
 import org.apache.camel.support.ObjectHelper;
 import org.apache.camel.support.TypeConverterSupport;
 
 /**
- * A {@link TypeConverter} implementation which invokes a static method to convert from a type to another type
+ * A {@link TypeConverter} implementation which invokes a static method to convert from a type to another type.
+ * <p/>
+ * The method is invoked via a {@link MethodHandle} when the method is accessible, and otherwise via reflection.
  */
 public class StaticMethodTypeConverter extends TypeConverterSupport {
     private final Method method;
     private final boolean useExchange;
     private final boolean allowNull;
+    private final MethodHandle handle;
 
     public StaticMethodTypeConverter(Method method, boolean allowNull) {
         this.method = method;
         this.useExchange = method.getParameterCount() == 2;
         this.allowNull = allowNull;
+        this.handle = createMethodHandle(method, useExchange);
+    }
+
+    private static MethodHandle createMethodHandle(Method method, boolean useExchange) {
+        MethodType type = useExchange
+                ? MethodType.methodType(Object.class, Object.class, Exchange.class)
+                : MethodType.methodType(Object.class, Object.class);
+        try {
+            return MethodHandles.publicLookup().unreflect(method).asType(type);
+        } catch (IllegalAccessException | IllegalArgumentException | WrongMethodTypeException e) {
+            // not accessible so fallback to use reflection
+            return null;
+        }
     }
 
     @Override
@@ -50,6 +71,15 @@ public class StaticMethodTypeConverter extends TypeConverterSupport {
     @Override
     @SuppressWarnings("unchecked")
     public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+        if (handle != null) {
+            try {
+                return useExchange
+                        ? (T) (Object) handle.invokeExact(value, exchange)
+                        : (T) (Object) handle.invokeExact(value);
+            } catch (Throwable e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            }
+        }
         return useExchange
                 ? (T) ObjectHelper.invokeMethod(method, null, value, exchange)
                 : (T) ObjectHelper.invokeMethod(method, null, value);
@@ -99,6 +99,11 @@ public class RouteDevConsole extends AbstractDevConsole {
                 sb.append(String.format("\n    Last Time: %s", TimeUtils.printDuration(mrb.getLastProcessingTime(), true)));
                 sb.append(String.format("\n    Delta Time: %s", TimeUtils.printDuration(mrb.getDeltaProcessingTime(), true)));
             }
+            if (mrb.isLatencyHistogramEnabled()) {
+                sb.append(String.format("\n    P50 Time: %s", TimeUtils.printDuration(mrb.getProcessingTimeP50(), true)));
+                sb.append(String.format("\n    P99 Time: %s", TimeUtils.printDuration(mrb.getProcessingTimeP99(), true)));
+                sb.append(String.format("\n    P999 Time: %s", TimeUtils.printDuration(mrb.getProcessingTimeP999(), true)));
+            }
             Date last = mrb.getLastExchangeCreatedTimestamp();
             if (last != null) {
                 String ago = TimeUtils.printSince(last.getTime());
@@ -167,6 +172,11 @@ public class RouteDevConsole extends AbstractDevConsole {
                 sb.append(String.format("\n    Last Time: %s", TimeUtils.printDuration(mp.getLastProcessingTime(), true)));
                 sb.append(String.format("\n    Delta Time: %s", TimeUtils.printDuration(mp.getDeltaProcessingTime(), true)));
             }
+            if (mp.isLatencyHistogramEnabled()) {
+                sb.append(String.format("\n        P50 Time: %s", TimeUtils.printDuration(mp.getProcessingTimeP50(), true)));
+                sb.append(String.format("\n        P99 Time: %s", TimeUtils.printDuration(mp.getProcessingTimeP99(), true)));
+                sb.append(String.format("\n        P999 Time: %s", TimeUtils.printDuration(mp.getProcessingTimeP999(), true)));
+            }
             Date last = mp.getLastExchangeCompletedTimestamp();
             if (last != null) {
                 String ago = TimeUtils.printSince(last.getTime());
@@ -222,6 +232,11 @@ public class RouteDevConsole extends AbstractDevConsole {
                 stats.put("lastProcessingTime", mrb.getLastProcessingTime());
                 stats.put("deltaProcessingTime", mrb.getDeltaProcessingTime());
             }
+            if (mrb.isLatencyHistogramEnabled()) {
+                stats.put("p50ProcessingTime", mrb.getProcessingTimeP50());
+                stats.put("p99ProcessingTime", mrb.getProcessingTimeP99());
+                stats.put("p999ProcessingTime", mrb.getProcessingTimeP999());
+            }
             Date last = mrb.getLastExchangeCreatedTimestamp();
             if (last != null) {
                 String ago = TimeUtils.printSince(last.getTime());
@@ -308,6 +323,11 @@ public class RouteDevConsole extends AbstractDevConsole {
                 stats.put("lastProcessingTime", mp.getLastProcessingTime());
                 stats.put("deltaProcessingTime", mp.getDeltaProcessingTime());
             }
+            if (mp.isLatencyHistogramEnabled()) {
+                stats.put("p50ProcessingTime", mp.getProcessingTimeP50());
+                stats.put("p99ProcessingTime", mp.getProcessingTimeP99());
+                stats.put("p999ProcessingTime", mp.getProcessingTimeP999());
+            }
             Date last = mp.getLastExchangeCompletedTimestamp();
             if (last != null) {
                 String ago = TimeUtils.printSince(last.getTime());
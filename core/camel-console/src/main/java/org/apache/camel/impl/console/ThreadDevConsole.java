@@ -23,7 +23,10 @@ import java.util.Arrays;
 import java.util.Map;
 
 import org.apache.camel.spi.Configurer;
+import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.annotations.DevConsole;
+import org.apache.camel.support.DefaultThreadPoolFactory;
+import org.apache.camel.support.VirtualThreadPinnedMonitor;
 import org.apache.camel.support.console.AbstractDevConsole;
 import org.apache.camel.util.json.JsonArray;
 import org.apache.camel.util.json.JsonObject;
@@ -47,6 +50,12 @@ public class ThreadDevConsole extends AbstractDevConsole {
             sb.append(String.format("Daemon Threads: %s\n", tb.getDaemonThreadCount()));
             sb.append(String.format("Total Started Threads: %s\n", tb.getTotalStartedThreadCount()));
             sb.append(String.format("Peak Threads: %s\n", tb.getPeakThreadCount()));
+            VirtualThreadPinnedMonitor vm = pinnedMonitor();
+            if (vm != null && vm.isStarted()) {
+                sb.append(String.format("Virtual Threads Pinned: %s\n", vm.getPinnedCounter()));
+                sb.append(String.format("Virtual Threads Pinned Time: %s\n", vm.getPinnedTime()));
+                sb.append(String.format("Virtual Threads Max Pinned Time: %s\n", vm.getMaxPinnedTime()));
+            }
 
             long[] ids = tb.getAllThreadIds();
             Arrays.sort(ids);
@@ -79,6 +88,12 @@ public class ThreadDevConsole extends AbstractDevConsole {
             root.put("daemonThreadCount", tb.getDaemonThreadCount());
             root.put("totalStartedThreadCount", tb.getTotalStartedThreadCount());
             root.put("peakThreadCount", tb.getPeakThreadCount());
+            VirtualThreadPinnedMonitor vm = pinnedMonitor();
+            if (vm != null && vm.isStarted()) {
+                root.put("virtualThreadsPinned", vm.getPinnedCounter());
+                root.put("virtualThreadsPinnedTime", vm.getPinnedTime());
+                root.put("virtualThreadsMaxPinnedTime", vm.getMaxPinnedTime());
+            }
 
             JsonArray arr = new JsonArray();
             root.put("threads", arr);
@@ -114,4 +129,12 @@ public class ThreadDevConsole extends AbstractDevConsole {
         return root;
     }
 
+    private VirtualThreadPinnedMonitor pinnedMonitor() {
+        ThreadPoolFactory tpf = getCamelContext().getExecutorServiceManager().getThreadPoolFactory();
+        if (tpf instanceof DefaultThreadPoolFactory) {
+            return ((DefaultThreadPoolFactory) tpf).getVirtualThreadPinnedMonitor();
+        }
+        return null;
+    }
+
 }
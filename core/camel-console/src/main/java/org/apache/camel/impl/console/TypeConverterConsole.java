@@ -44,6 +44,9 @@ public class TypeConverterConsole extends AbstractDevConsole {
             sb.append(String.format("\n    Miss: %s", reg.getStatistics().getMissCounter()));
             sb.append(String.format("\n    Failed: %s", reg.getStatistics().getFailedCounter()));
             sb.append(String.format("\n    Noop: %s", reg.getStatistics().getNoopCounter()));
+            sb.append(String.format("\n    Cache Hit: %s", reg.getStatistics().getCacheHitCounter()));
+            sb.append(String.format("\n    Cache Miss: %s", reg.getStatistics().getCacheMissCounter()));
+            sb.append(String.format("\n    Fallback: %s", reg.getStatistics().getFallbackCounter()));
         }
 
         return sb.toString();
@@ -65,6 +68,9 @@ public class TypeConverterConsole extends AbstractDevConsole {
             props.put("missCounter", reg.getStatistics().getAttemptCounter());
             props.put("failedCounter", reg.getStatistics().getFailedCounter());
             props.put("noopCounter", reg.getStatistics().getNoopCounter());
+            props.put("cacheHitCounter", reg.getStatistics().getCacheHitCounter());
+            props.put("cacheMissCounter", reg.getStatistics().getCacheMissCounter());
+            props.put("fallbackCounter", reg.getStatistics().getFallbackCounter());
         }
 
         return root;
@@ -0,0 +1,564 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.constant.ConstantDescs;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Message;
+import org.apache.camel.Predicate;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.language.simple.ast.BinaryExpression;
+import org.apache.camel.language.simple.ast.BooleanExpression;
+import org.apache.camel.language.simple.ast.CompositeNodes;
+import org.apache.camel.language.simple.ast.DoubleQuoteStart;
+import org.apache.camel.language.simple.ast.LiteralNode;
+import org.apache.camel.language.simple.ast.LogicalExpression;
+import org.apache.camel.language.simple.ast.NullExpression;
+import org.apache.camel.language.simple.ast.NumericExpression;
+import org.apache.camel.language.simple.ast.SimpleFunctionStart;
+import org.apache.camel.language.simple.ast.SimpleNode;
+import org.apache.camel.language.simple.ast.SingleQuoteStart;
+import org.apache.camel.language.simple.types.BinaryOperatorType;
+import org.apache.camel.language.simple.types.LogicalOperatorType;
+import org.apache.camel.support.ExpressionAdapter;
+import org.apache.camel.support.LanguageHelper;
+import org.apache.camel.support.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Compiles the AST of a simple expression or predicate into bytecode.
+ * <p/>
+ * Each node of the AST is turned into a {@link MethodHandle}, which are combined into a single method handle for the
+ * entire expression. A hidden class is then defined from the bytecode of a template class, with the method handle as
+ * its class data. The template holds the method handle in a static final field, which allows the JVM to inline the
+ * entire expression as if it was written in Java.
+ * <p/>
+ * The body, headers and exchange properties are accessed directly, and the binary and logical operators are evaluated
+ * without creating any intermediate predicates. Nodes which cannot be compiled, such as OGNL, nested functions or the
+ * regex operators, fallback to use the interpreted expression for that node only.
+ */
+public final class SimpleCompiler {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SimpleCompiler.class);
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final MethodType VALUE = MethodType.methodType(Object.class, Exchange.class);
+    private static final MethodType PREDICATE = MethodType.methodType(boolean.class, Exchange.class);
+    private static final MethodType OPERATOR
+            = MethodType.methodType(boolean.class, Exchange.class, Object.class, Object.class);
+
+    // only plain names can be accessed directly, anything else such as OGNL must be interpreted
+    private static final Pattern BODY = Pattern.compile("(?:in\\.)?body");
+    private static final Pattern HEADER = Pattern.compile("(?:in\\.)?headers?\\.([\\w-]+)");
+    private static final Pattern PROPERTY = Pattern.compile("exchangeProperty\\.([\\w-]+)");
+
+    private static final MethodHandle GET_BODY;
+    private static final MethodHandle GET_HEADER;
+    private static final MethodHandle GET_PROPERTY;
+    private static final MethodHandle EVALUATE;
+    private static final MethodHandle MATCHES;
+    private static final MethodHandle VALUE_PREDICATE;
+    private static final MethodHandle NOT;
+    private static final MethodHandle CONCAT;
+    private static final MethodHandle TRUE;
+    private static final MethodHandle FALSE;
+
+    static {
+        try {
+            GET_BODY = MethodHandles.filterReturnValue(
+                    LOOKUP.findVirtual(Exchange.class, "getIn", MethodType.methodType(Message.class)),
+                    LOOKUP.findVirtual(Message.class, "getBody", MethodType.methodType(Object.class)));
+            GET_HEADER = LOOKUP.findStatic(SimpleCompiler.class, "header",
+                    MethodType.methodType(Object.class, Exchange.class, String.class));
+            GET_PROPERTY = LOOKUP.findVirtual(Exchange.class, "getProperty",
+                    MethodType.methodType(Object.class, String.class));
+            EVALUATE = LOOKUP.findVirtual(Expression.class, "evaluate",
+                    MethodType.methodType(Object.class, Exchange.class, Class.class));
+            MATCHES = LOOKUP.findVirtual(Predicate.class, "matches", PREDICATE);
+            VALUE_PREDICATE = LOOKUP.findStatic(org.apache.camel.util.ObjectHelper.class, "evaluateValuePredicate",
+                    MethodType.methodType(boolean.class, Object.class));
+            NOT = LOOKUP.findStatic(SimpleCompiler.class, "not", MethodType.methodType(boolean.class, boolean.class));
+            CONCAT = LOOKUP.findStatic(SimpleCompiler.class, "concat",
+                    MethodType.methodType(Object.class, Exchange.class, Object[].class));
+            TRUE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, true), 0, Exchange.class);
+            FALSE = MethodHandles.dropArguments(MethodHandles.constant(boolean.class, false), 0, Exchange.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // the bytecode of the templates which are loaded once
+    private static volatile byte[] expressionTemplate;
+    private static volatile byte[] predicateTemplate;
+
+    private final CamelContext camelContext;
+    private final String expression;
+    private final List<Object> interpreted = new ArrayList<>();
+
+    public SimpleCompiler(CamelContext camelContext, String expression) {
+        this.camelContext = camelContext;
+        this.expression = expression;
+    }
+
+    /**
+     * Compiles the nodes of a predicate.
+     *
+     * @return the compiled predicate, or <tt>null</tt> if the predicate could not be compiled
+     */
+    public Predicate compilePredicate(List<SimpleNode> nodes) {
+        MethodHandle mh = null;
+        for (SimpleNode node : nodes) {
+            MethodHandle next = predicate(node);
+            // multiple predicates are and'ed together
+            mh = mh == null ? next : MethodHandles.guardWithTest(mh, next, FALSE);
+        }
+        if (mh == null) {
+            mh = FALSE;
+        }
+        return (Predicate) define(PredicateTemplate.class, mh);
+    }
+
+    /**
+     * Compiles the nodes of an expression.
+     *
+     * @return the compiled expression, or <tt>null</tt> if the expression could not be compiled
+     */
+    public Expression compileExpression(List<SimpleNode> nodes) {
+        List<MethodHandle> parts = new ArrayList<>();
+        for (SimpleNode node : nodes) {
+            if (node.createExpression(camelContext, expression) != null) {
+                parts.add(value(node));
+            }
+        }
+        MethodHandle mh;
+        if (parts.isEmpty()) {
+            mh = constant("");
+        } else if (parts.size() == 1) {
+            mh = parts.get(0);
+        } else {
+            // concat the parts as evaluating an expression is like a template language
+            mh = MethodHandles.filterArguments(CONCAT.asCollector(Object[].class, parts.size()), 1,
+                    parts.toArray(new MethodHandle[0]));
+            mh = MethodHandles.permuteArguments(mh, VALUE, new int[parts.size() + 1]);
+        }
+        return (Expression) define(ExpressionTemplate.class, mh);
+    }
+
+    private MethodHandle predicate(SimpleNode node) {
+        if (node instanceof LogicalExpression logical) {
+            MethodHandle left = predicate(logical.getLeft());
+            MethodHandle right = predicate(logical.getRight());
+            if (logical.getOperator() == LogicalOperatorType.AND) {
+                return MethodHandles.guardWithTest(left, right, FALSE);
+            } else if (logical.getOperator() == LogicalOperatorType.OR) {
+                return MethodHandles.guardWithTest(left, TRUE, right);
+            }
+        } else if (node instanceof BinaryExpression binary) {
+            MethodHandle operator = operator(binary.getOperator());
+            if (operator != null) {
+                // validate the same way as when interpreted
+                node.createExpression(camelContext, expression);
+                MethodHandle mh = MethodHandles.filterArguments(operator, 1, value(binary.getLeft()), value(binary.getRight()));
+                // all three arguments are the same exchange
+                return MethodHandles.permuteArguments(mh, PREDICATE, 0, 0, 0);
+            }
+        }
+        Expression exp = interpreted(node);
+        if (exp instanceof Predicate) {
+            return MATCHES.bindTo(exp);
+        }
+        return MethodHandles.filterReturnValue(evaluate(exp), VALUE_PREDICATE);
+    }
+
+    private MethodHandle value(SimpleNode node) {
+        if (node instanceof NumericExpression numeric) {
+            return constant(numeric.getNumber());
+        } else if (node instanceof BooleanExpression bool) {
+            return constant(bool.getValue());
+        } else if (node instanceof NullExpression) {
+            return constant(null);
+        } else if (node instanceof LiteralNode literal) {
+            return constant(literal.getText());
+        } else if (node instanceof SingleQuoteStart quote) {
+            String text = literalText(quote.getBlock());
+            if (text != null) {
+                return constant(text);
+            }
+        } else if (node instanceof DoubleQuoteStart quote) {
+            String text = literalText(quote.getBlock());
+            if (text != null) {
+                return constant(text);
+            }
+        } else if (node instanceof SimpleFunctionStart function) {
+            // create the interpreted expression which validates the syntax
+            Expression exp = interpreted(node);
+            List<SimpleNode> children = function.getBlock().getChildren();
+            if (children.size() == 1 && children.get(0) instanceof LiteralNode literal) {
+                MethodHandle mh = function(literal.getText());
+                if (mh != null) {
+                    interpreted.remove(exp);
+                    return mh;
+                }
+            }
+            return evaluate(exp);
+        }
+        return evaluate(interpreted(node));
+    }
+
+    private static MethodHandle function(String function) {
+        if (BODY.matcher(function).matches()) {
+            return GET_BODY;
+        } else if ("null".equals(function)) {
+            return constant(null);
+        }
+        Matcher matcher = HEADER.matcher(function);
+        if (matcher.matches()) {
+            return MethodHandles.insertArguments(GET_HEADER, 1, matcher.group(1));
+        }
+        matcher = PROPERTY.matcher(function);
+        if (matcher.matches()) {
+            return MethodHandles.insertArguments(GET_PROPERTY, 1, matcher.group(1));
+        }
+        return null;
+    }
+
+    private static String literalText(CompositeNodes block) {
+        StringBuilder sb = new StringBuilder();
+        for (SimpleNode child : block.getChildren()) {
+            if (child instanceof LiteralNode literal) {
+                sb.append(literal.getText());
+            } else {
+                // embedded functions
+                return null;
+            }
+        }
+        return sb.toString();
+    }
+
+    private static MethodHandle operator(BinaryOperatorType operator) {
+        String name;
+        boolean negate = false;
+        switch (operator) {
+            case EQ -> name = "isEqualTo";
+            case EQ_IGNORE -> name = "isEqualToIgnoreCase";
+            case NOT_EQ -> name = "isNotEqualTo";
+            case NOT_EQ_IGNORE -> {
+                name = "isEqualToIgnoreCase";
+                negate = true;
+            }
+            case GT -> name = "isGreaterThan";
+            case GTE -> name = "isGreaterThanOrEqualTo";
+            case LT -> name = "isLessThan";
+            case LTE -> name = "isLessThanOrEqualTo";
+            case CONTAINS -> name = "contains";
+            case NOT_CONTAINS -> {
+                name = "contains";
+                negate = true;
+            }
+            case CONTAINS_IGNORECASE -> name = "containsIgnoreCase";
+            case NOT_CONTAINS_IGNORECASE -> {
+                name = "containsIgnoreCase";
+                negate = true;
+            }
+            case STARTS_WITH -> name = "startsWith";
+            case ENDS_WITH -> name = "endsWith";
+            default -> {
+                // is, regex, in and range operators are interpreted
+                return null;
+            }
+        }
+        try {
+            MethodHandle mh = LOOKUP.findStatic(SimpleCompiler.class, name, OPERATOR);
+            return negate ? MethodHandles.filterReturnValue(mh, NOT) : mh;
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Expression interpreted(SimpleNode node) {
+        Expression exp = node.createExpression(camelContext, expression);
+        interpreted.add(exp);
+        return exp;
+    }
+
+    private static MethodHandle evaluate(Expression exp) {
+        return MethodHandles.insertArguments(EVALUATE.bindTo(exp), 1, Object.class);
+    }
+
+    private static MethodHandle constant(Object value) {
+        return MethodHandles.dropArguments(MethodHandles.constant(Object.class, value), 0, Exchange.class);
+    }
+
+    private Object define(Class<? extends CompiledExpression> template, MethodHandle mh) {
+        boolean predicate = template == PredicateTemplate.class;
+        byte[] bytes = templateBytes(template);
+        if (bytes == null) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup
+                    = LOOKUP.defineHiddenClassWithClassData(bytes, mh.asType(predicate ? PREDICATE : VALUE), true);
+            CompiledExpression answer = (CompiledExpression) lookup
+                    .findConstructor(lookup.lookupClass(), MethodType.methodType(void.class)).invoke();
+            answer.text = expression;
+            answer.interpreted = interpreted.toArray(new Expression[0]);
+            return answer;
+        } catch (Throwable e) {
+            LOG.warn("Cannot compile simple expression: {} due to: {}. Using interpreted expression instead.",
+                    expression, e.getMessage(), e);
+            return null;
+        }
+    }
+
+    /**
+     * Loads the bytecode of the template class, which is defined as a hidden class for each compiled expression with
+     * the method handle of the expression as its class data.
+     */
+    private static byte[] templateBytes(Class<?> template) {
+        byte[] bytes = template == PredicateTemplate.class ? predicateTemplate : expressionTemplate;
+        if (bytes != null) {
+            return bytes;
+        }
+        String name = template.getName();
+        String resource = name.substring(name.lastIndexOf('.') + 1) + ".class";
+        try (InputStream is = SimpleCompiler.class.getResourceAsStream(resource)) {
+            if (is == null) {
+                LOG.warn("Cannot load bytecode of {}. Using interpreted simple expressions instead.", name);
+                return null;
+            }
+            bytes = is.readAllBytes();
+        } catch (IOException e) {
+            LOG.warn("Cannot load bytecode of {} due to: {}. Using interpreted simple expressions instead.", name,
+                    e.getMessage(), e);
+            return null;
+        }
+        if (template == PredicateTemplate.class) {
+            predicateTemplate = bytes;
+        } else {
+            expressionTemplate = bytes;
+        }
+        return bytes;
+    }
+
+    // operators which is used by the compiled expressions, they have the same semantic as the PredicateBuilder
+    // ---------------------------------------------------------------------------------------------------------
+
+    static Object header(Exchange exchange, String name) {
+        Object header = exchange.getIn().getHeader(name);
+        if (header == null) {
+            // fall back on a property
+            header = exchange.getProperty(name);
+        }
+        return header;
+    }
+
+    static Object concat(Exchange exchange, Object[] values) {
+        StringBuilder sb = new StringBuilder();
+        for (Object value : values) {
+            String text = exchange.getContext().getTypeConverter().convertTo(String.class, exchange, value);
+            if (text != null) {
+                sb.append(text);
+            }
+        }
+        return sb.toString();
+    }
+
+    static boolean not(boolean value) {
+        return !value;
+    }
+
+    static boolean isEqualTo(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return ObjectHelper.typeCoerceEquals(exchange.getContext().getTypeConverter(), left, right);
+    }
+
+    static boolean isEqualToIgnoreCase(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return ObjectHelper.typeCoerceEquals(exchange.getContext().getTypeConverter(), left, right, true);
+    }
+
+    static boolean isNotEqualTo(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return left != right;
+        }
+        return ObjectHelper.typeCoerceNotEquals(exchange.getContext().getTypeConverter(), left, right);
+    }
+
+    static boolean isGreaterThan(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return false;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), left, right) > 0;
+    }
+
+    static boolean isGreaterThanOrEqualTo(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), left, right) >= 0;
+    }
+
+    static boolean isLessThan(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), left, right) < 0;
+    }
+
+    static boolean isLessThanOrEqualTo(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return ObjectHelper.typeCoerceCompare(exchange.getContext().getTypeConverter(), left, right) <= 0;
+    }
+
+    static boolean contains(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return ObjectHelper.typeCoerceContains(exchange.getContext().getTypeConverter(), left, right, false);
+    }
+
+    static boolean containsIgnoreCase(Exchange exchange, Object left, Object right) {
+        if (left == null || right == null) {
+            return left == right;
+        }
+        return ObjectHelper.typeCoerceContains(exchange.getContext().getTypeConverter(), left, right, true);
+    }
+
+    static boolean startsWith(Exchange exchange, Object left, Object right) {
+        return LanguageHelper.startsWith(exchange, left, right);
+    }
+
+    static boolean endsWith(Exchange exchange, Object left, Object right) {
+        return LanguageHelper.endsWith(exchange, left, right);
+    }
+
+    /**
+     * Base class for the compiled expressions, which are generated as hidden classes.
+     */
+    public abstract static class CompiledExpression extends ExpressionAdapter {
+
+        private String text;
+        private Expression[] interpreted;
+
+        @Override
+        public abstract Object evaluate(Exchange exchange);
+
+        @Override
+        public void init(CamelContext context) {
+            super.init(context);
+            for (Expression exp : interpreted) {
+                exp.init(context);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return text;
+        }
+    }
+
+    /**
+     * Base class for the compiled predicates, which are generated as hidden classes.
+     */
+    public abstract static class CompiledPredicate extends CompiledExpression {
+
+        @Override
+        public abstract boolean matches(Exchange exchange);
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            return matches(exchange);
+        }
+    }
+
+    /**
+     * Template for the compiled expressions. This class is never loaded as is, its bytecode is defined as a hidden
+     * class per expression, with the method handle of the expression as class data.
+     */
+    static final class ExpressionTemplate extends CompiledExpression {
+
+        private static final MethodHandle HANDLE;
+
+        static {
+            try {
+                HANDLE = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME,
+                        MethodHandle.class);
+            } catch (IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        @Override
+        public Object evaluate(Exchange exchange) {
+            try {
+                return (Object) HANDLE.invokeExact(exchange);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw RuntimeCamelException.wrapRuntimeException(e);
+            }
+        }
+    }
+
+    /**
+     * Template for the compiled predicates. This class is never loaded as is, its bytecode is defined as a hidden class
+     * per predicate, with the method handle of the predicate as class data.
+     */
+    static final class PredicateTemplate extends CompiledPredicate {
+
+        private static final MethodHandle HANDLE;
+
+        static {
+            try {
+                HANDLE = MethodHandles.classData(MethodHandles.lookup(), ConstantDescs.DEFAULT_NAME,
+                        MethodHandle.class);
+            } catch (IllegalAccessException e) {
+                throw new ExceptionInInitializerError(e);
+            }
+        }
+
+        @Override
+        public boolean matches(Exchange exchange) {
+            try {
+                return (boolean) HANDLE.invokeExact(exchange);
+            } catch (RuntimeException | Error e) {
+                throw e;
+            } catch (Throwable e) {
+                throw RuntimeCamelException.wrapRuntimeException(e);
+            }
+        }
+    }
+}
@@ -64,6 +64,25 @@ public class SimpleExpressionParser extends BaseSimpleParser {
         }
     }
 
+    /**
+     * Parses the expression and compiles it to bytecode.
+     *
+     * @see SimpleCompiler
+     */
+    public Expression parseCompiledExpression() {
+        try {
+            parseTokens();
+            Expression answer = new SimpleCompiler(camelContext, expression).compileExpression(nodes);
+            return answer != null ? answer : doParseExpression();
+        } catch (SimpleParserException e) {
+            // catch parser exception and turn that into a syntax exceptions
+            throw new SimpleIllegalSyntaxException(expression, e.getIndex(), e.getMessage(), e);
+        } catch (Exception e) {
+            // include exception in rethrown exception
+            throw new SimpleIllegalSyntaxException(expression, -1, e.getMessage(), e);
+        }
+    }
+
     public String parseCode() {
         try {
             parseTokens();
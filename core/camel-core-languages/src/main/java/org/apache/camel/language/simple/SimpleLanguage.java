@@ -49,6 +49,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     private static final String CACHE_KEY_PREFIX = "@SIMPLE@";
 
     boolean allowEscape = true;
+    private boolean compiled;
 
     // use caches to avoid re-parsing the same expressions over and over again
     private Map<String, Expression> cacheExpression;
@@ -60,8 +61,32 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
     public SimpleLanguage() {
     }
 
+    /**
+     * Whether the predicates and expressions are compiled to bytecode.
+     */
+    public boolean isCompiled() {
+        return compiled;
+    }
+
+    /**
+     * Sets whether to compile the predicates and expressions to bytecode when they are created (such as when the routes
+     * are created), instead of interpreting them. Parts which cannot be compiled, such as OGNL or nested functions, are
+     * still interpreted.
+     * <p/>
+     * Can also be enabled with the global option {@link Exchange#SIMPLE_COMPILED}.
+     */
+    public void setCompiled(boolean compiled) {
+        this.compiled = compiled;
+    }
+
     @Override
     public void init() {
+        if (!compiled && getCamelContext() != null) {
+            compiled = "true".equalsIgnoreCase(getCamelContext().getGlobalOption(Exchange.SIMPLE_COMPILED));
+            if (compiled) {
+                LOG.debug("Simple language compiles predicates/expressions to bytecode");
+            }
+        }
         // setup cache which requires CamelContext to be set first
         if (cacheExpression == null && cachePredicate == null && getCamelContext() != null) {
             int maxSize = CamelContextHelper.getMaximumSimpleCacheSize(getCamelContext());
@@ -137,7 +162,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             // using the expression cache here with the predicate parser is okay
             SimplePredicateParser parser
                     = new SimplePredicateParser(getCamelContext(), expression, allowEscape, cacheExpression);
-            answer = parser.parsePredicate();
+            answer = compiled ? parser.parseCompiledPredicate() : parser.parsePredicate();
 
             if (cachePredicate != null && answer != null) {
                 cachePredicate.put(key, answer);
@@ -209,7 +234,7 @@ public class SimpleLanguage extends LanguageSupport implements StaticService {
             // only parse if there are simple functions
             SimpleExpressionParser parser
                     = new SimpleExpressionParser(getCamelContext(), expression, allowEscape, cacheExpression);
-            answer = parser.parseExpression();
+            answer = compiled ? parser.parseCompiledExpression() : parser.parseExpression();
 
             if (cacheExpression != null && answer != null) {
                 cacheExpression.put(key, answer);
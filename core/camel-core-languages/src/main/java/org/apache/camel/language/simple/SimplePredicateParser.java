@@ -84,6 +84,25 @@ public class SimplePredicateParser extends BaseSimpleParser {
         }
     }
 
+    /**
+     * Parses the predicate and compiles it to bytecode.
+     *
+     * @see SimpleCompiler
+     */
+    public Predicate parseCompiledPredicate() {
+        try {
+            parseTokens();
+            Predicate answer = new SimpleCompiler(camelContext, expression).compilePredicate(nodes);
+            return answer != null ? answer : doParsePredicate();
+        } catch (SimpleParserException e) {
+            // catch parser exception and turn that into a syntax exceptions
+            throw new SimpleIllegalSyntaxException(expression, e.getIndex(), e.getMessage(), e);
+        } catch (Exception e) {
+            // include exception in rethrown exception
+            throw new SimpleIllegalSyntaxException(expression, -1, e.getMessage(), e);
+        }
+    }
+
     public String parseCode() {
         try {
             parseTokens();
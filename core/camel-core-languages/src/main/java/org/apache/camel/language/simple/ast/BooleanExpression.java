@@ -34,6 +34,10 @@ public class BooleanExpression extends BaseSimpleNode {
         this.value = "true".equals(token.getText());
     }
 
+    public boolean getValue() {
+        return value;
+    }
+
     @Override
     public Expression createExpression(CamelContext camelContext, String expression) throws SimpleParserException {
         return new Expression() {
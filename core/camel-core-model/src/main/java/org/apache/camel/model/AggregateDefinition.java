@@ -90,6 +90,9 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
     @Metadata(javaType = "java.lang.Boolean")
     private String optimisticLocking;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String lockStripes;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.util.concurrent.ExecutorService")
     private String executorService;
     @XmlAttribute
@@ -123,6 +126,9 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
     @Metadata(label = "advanced", defaultValue = "1000", javaType = "java.time.Duration")
     private String completionTimeoutCheckerInterval;
     @XmlAttribute
+    @Metadata(label = "advanced", defaultValue = "false", javaType = "java.lang.Boolean")
+    private String completionTimeoutTimingWheel;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String completionFromBatchConsumer;
     @XmlAttribute
@@ -386,6 +392,14 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         this.completionTimeoutCheckerInterval = completionTimeoutCheckerInterval;
     }
 
+    public String getCompletionTimeoutTimingWheel() {
+        return completionTimeoutTimingWheel;
+    }
+
+    public void setCompletionTimeoutTimingWheel(String completionTimeoutTimingWheel) {
+        this.completionTimeoutTimingWheel = completionTimeoutTimingWheel;
+    }
+
     public ExpressionSubElementDefinition getCompletionPredicate() {
         return completionPredicate;
     }
@@ -455,6 +469,14 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         this.optimisticLocking = optimisticLocking;
     }
 
+    public String getLockStripes() {
+        return lockStripes;
+    }
+
+    public void setLockStripes(String lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public String getParallelProcessing() {
         return parallelProcessing;
     }
@@ -781,6 +803,16 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         return this;
     }
 
+    /**
+     * Whether to use a timing wheel for keeping track of completion timeouts. The default timeout checker checks every
+     * correlation group on each run, whereas the timing wheel only checks the groups that are due to time out. This
+     * scales better when there are many correlation groups in progress.
+     */
+    public AggregateDefinition completionTimeoutTimingWheel() {
+        setCompletionTimeoutTimingWheel(Boolean.toString(true));
+        return this;
+    }
+
     /**
      * Sets the AggregationStrategy to use with a fluent builder.
      */
@@ -954,6 +986,27 @@ public class AggregateDefinition extends OutputDefinition<AggregateDefinition>
         return this;
     }
 
+    /**
+     * Number of locks to stripe the aggregation lock into, which allows exchanges with different correlation keys to be
+     * aggregated in parallel (exchanges with the same correlation key are still aggregated one at a time). By default a
+     * single lock is used for all correlation keys. This option cannot be used together with optimisticLocking,
+     * completionFromBatchConsumer or completionOnNewCorrelationGroup.
+     */
+    public AggregateDefinition lockStripes(int lockStripes) {
+        return lockStripes(Integer.toString(lockStripes));
+    }
+
+    /**
+     * Number of locks to stripe the aggregation lock into, which allows exchanges with different correlation keys to be
+     * aggregated in parallel (exchanges with the same correlation key are still aggregated one at a time). By default a
+     * single lock is used for all correlation keys. This option cannot be used together with optimisticLocking,
+     * completionFromBatchConsumer or completionOnNewCorrelationGroup.
+     */
+    public AggregateDefinition lockStripes(String lockStripes) {
+        setLockStripes(lockStripes);
+        return this;
+    }
+
     /**
      * Allows to configure retry settings when using optimistic locking.
      */
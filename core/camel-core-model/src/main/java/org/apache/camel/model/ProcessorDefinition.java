@@ -252,6 +252,23 @@ public abstract class ProcessorDefinition<Type extends ProcessorDefinition<Type>
         return asType();
     }
 
+    /**
+     * Sends the exchange to the given endpoint in batches, when the producer of the endpoint supports sending in
+     * batches (BatchingProducer). The batch is sent when it is full, or when the batch timeout is triggered.
+     *
+     * @param  uri          the endpoint to send to
+     * @param  batchSize    the maximum number of messages to send in a batch
+     * @param  batchTimeout the maximum time in millis a message can wait for the batch to become full
+     * @return              the builder
+     */
+    public Type to(@AsEndpointUri String uri, int batchSize, long batchTimeout) {
+        ToDefinition answer = new ToDefinition(uri);
+        answer.setBatchSize(Integer.toString(batchSize));
+        answer.setBatchTimeout(Long.toString(batchTimeout));
+        addOutput(answer);
+        return asType();
+    }
+
     /**
      * Sends the exchange to the given dynamic endpoint
      *
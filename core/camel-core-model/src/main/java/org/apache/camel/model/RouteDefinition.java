@@ -71,6 +71,8 @@ public class RouteDefinition extends OutputDefinition<RouteDefinition>
     private String trace;
     private String messageHistory;
     private String logMask;
+    private String fuseProcessors;
+    private String inflightBrowse;
     private String delayer;
     private String autoStartup;
     private Integer startupOrder;
@@ -396,6 +398,50 @@ public class RouteDefinition extends OutputDefinition<RouteDefinition>
         return this;
     }
 
+    /**
+     * Enable fusing consecutive simple processors (such as setting headers and message body) at the top level of this
+     * route into a single processor.
+     *
+     * @return the builder
+     */
+    public RouteDefinition fuseProcessors() {
+        setFuseProcessors("true");
+        return this;
+    }
+
+    /**
+     * Sets whether to fuse consecutive simple processors (such as setting headers and message body) at the top level of
+     * this route into a single processor.
+     *
+     * @param  fuseProcessors whether to fuse processors (true or false), the value can be a property placeholder
+     * @return                the builder
+     */
+    public RouteDefinition fuseProcessors(String fuseProcessors) {
+        setFuseProcessors(fuseProcessors);
+        return this;
+    }
+
+    /**
+     * Disable browsing the inflight exchanges of this route.
+     *
+     * @return the builder
+     */
+    public RouteDefinition noInflightBrowse() {
+        setInflightBrowse("false");
+        return this;
+    }
+
+    /**
+     * Sets whether the inflight exchanges of this route can be browsed.
+     *
+     * @param  inflightBrowse whether to allow browsing (true or false), the value can be a property placeholder
+     * @return                the builder
+     */
+    public RouteDefinition inflightBrowse(String inflightBrowse) {
+        setInflightBrowse(inflightBrowse);
+        return this;
+    }
+
     /**
      * Disable message history for this route.
      *
@@ -946,6 +992,48 @@ public class RouteDefinition extends OutputDefinition<RouteDefinition>
         this.logMask = logMask;
     }
 
+    /**
+     * Whether to fuse consecutive simple processors (such as setting headers and message body) at the top level of this
+     * route into a single processor, to reduce the routing overhead per step. EIPs with outputs, such as filter, are
+     * not fused. Fused processors are not individually traced, debugged or intercepted, and their JMX statistics are
+     * only captured for the fused processor as a whole, which is registered using the id of its first processor.
+     */
+    public String getFuseProcessors() {
+        return fuseProcessors;
+    }
+
+    /**
+     * Whether to fuse consecutive simple processors (such as setting headers and message body) at the top level of this
+     * route into a single processor, to reduce the routing overhead per step. EIPs with outputs, such as filter, are
+     * not fused. Fused processors are not individually traced, debugged or intercepted, and their JMX statistics are
+     * only captured for the fused processor as a whole, which is registered using the id of its first processor.
+     */
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Boolean")
+    public void setFuseProcessors(String fuseProcessors) {
+        this.fuseProcessors = fuseProcessors;
+    }
+
+    /**
+     * Whether the inflight exchanges of this route can be browsed, when browsing is enabled on the inflight repository.
+     * Turning this off for high volume routes avoids tracking each of their exchanges, while the inflight counters are
+     * still kept for graceful shutdown.
+     */
+    public String getInflightBrowse() {
+        return inflightBrowse;
+    }
+
+    /**
+     * Whether the inflight exchanges of this route can be browsed, when browsing is enabled on the inflight repository.
+     * Turning this off for high volume routes avoids tracking each of their exchanges, while the inflight counters are
+     * still kept for graceful shutdown.
+     */
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Boolean", defaultValue = "true")
+    public void setInflightBrowse(String inflightBrowse) {
+        this.inflightBrowse = inflightBrowse;
+    }
+
     /**
      * Whether to slow down processing messages by a given delay in msec.
      */
@@ -401,6 +401,8 @@ public class RouteTemplateDefinition extends OptionalIdentifiedDefinition<RouteT
         copy.setInput(route.getInput());
         copy.setInputType(route.getInputType());
         copy.setLogMask(route.getLogMask());
+        copy.setFuseProcessors(route.getFuseProcessors());
+        copy.setInflightBrowse(route.getInflightBrowse());
         copy.setMessageHistory(route.getMessageHistory());
         copy.setOutputType(route.getOutputType());
         copy.setOutputs(route.getOutputs());
@@ -70,6 +70,9 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
     @Metadata(javaType = "java.lang.Boolean")
     private String streaming;
     @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String maxInflight;
+    @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String stopOnException;
     @XmlAttribute
@@ -364,6 +367,43 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         return this;
     }
 
+    /**
+     * Sets the maximum number of split messages which can be in flight at the same time, when using streaming and
+     * parallel processing. When the limit is reached, then the splitter does not pull the next message from the
+     * iterator until a reply has been aggregated. The replies are aggregated in the same order as the messages was
+     * split.
+     * <p/>
+     * This keeps the memory usage bounded when splitting big streams (such as a big file) with parallel processing, as
+     * otherwise the splitter may split the stream faster than the thread pool can process the split messages.
+     * <p/>
+     * The default value is 0 which means no limit.
+     *
+     * @param  maxInflight the maximum number of split messages in flight
+     * @return             the builder
+     */
+    public SplitDefinition maxInflight(int maxInflight) {
+        return maxInflight(Integer.toString(maxInflight));
+    }
+
+    /**
+     * Sets the maximum number of split messages which can be in flight at the same time, when using streaming and
+     * parallel processing. When the limit is reached, then the splitter does not pull the next message from the
+     * iterator until a reply has been aggregated. The replies are aggregated in the same order as the messages was
+     * split.
+     * <p/>
+     * This keeps the memory usage bounded when splitting big streams (such as a big file) with parallel processing, as
+     * otherwise the splitter may split the stream faster than the thread pool can process the split messages.
+     * <p/>
+     * The default value is 0 which means no limit.
+     *
+     * @param  maxInflight the maximum number of split messages in flight
+     * @return             the builder
+     */
+    public SplitDefinition maxInflight(String maxInflight) {
+        setMaxInflight(maxInflight);
+        return this;
+    }
+
     /**
      * Will now stop further processing if an exception or failure occurred during processing of an
      * {@link org.apache.camel.Exchange} and the caused exception will be thrown.
@@ -584,6 +624,14 @@ public class SplitDefinition extends OutputExpressionNode implements ExecutorSer
         this.streaming = streaming;
     }
 
+    public String getMaxInflight() {
+        return maxInflight;
+    }
+
+    public void setMaxInflight(String maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
     public String getParallelAggregate() {
         return parallelAggregate;
     }
@@ -60,6 +60,12 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "java.lang.Boolean")
     private String rejectExecution;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Boolean")
+    private String tokenBucket;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String burstSize;
 
     public ThrottleDefinition() {
     }
@@ -251,6 +257,63 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         return this;
     }
 
+    /**
+     * Whether to use a token bucket based throttler, which never blocks the calling thread, as delayed exchanges are
+     * continued by the thread pool. The token bucket allows a burst of exchanges up to the burst size, and is refilled
+     * at the maximum requests per period.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket() {
+        return tokenBucket(true);
+    }
+
+    /**
+     * Whether to use a token bucket based throttler, which never blocks the calling thread, as delayed exchanges are
+     * continued by the thread pool. The token bucket allows a burst of exchanges up to the burst size, and is refilled
+     * at the maximum requests per period.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket(boolean tokenBucket) {
+        return tokenBucket(Boolean.toString(tokenBucket));
+    }
+
+    /**
+     * Whether to use a token bucket based throttler, which never blocks the calling thread, as delayed exchanges are
+     * continued by the thread pool. The token bucket allows a burst of exchanges up to the burst size, and is refilled
+     * at the maximum requests per period.
+     *
+     * @return the builder
+     */
+    public ThrottleDefinition tokenBucket(String tokenBucket) {
+        setTokenBucket(tokenBucket);
+        return this;
+    }
+
+    /**
+     * The maximum number of exchanges which can be let through at once after a period of inactivity, when using the
+     * token bucket based throttler. Is by default the maximum requests per period.
+     *
+     * @param  burstSize the burst size
+     * @return           the builder
+     */
+    public ThrottleDefinition burstSize(int burstSize) {
+        return burstSize(Integer.toString(burstSize));
+    }
+
+    /**
+     * The maximum number of exchanges which can be let through at once after a period of inactivity, when using the
+     * token bucket based throttler. Is by default the maximum requests per period.
+     *
+     * @param  burstSize the burst size
+     * @return           the builder
+     */
+    public ThrottleDefinition burstSize(String burstSize) {
+        setBurstSize(burstSize);
+        return this;
+    }
+
     /**
      * To use a custom thread pool (ScheduledExecutorService) by the throttler.
      *
@@ -329,6 +392,22 @@ public class ThrottleDefinition extends ExpressionNode implements ExecutorServic
         this.rejectExecution = rejectExecution;
     }
 
+    public String getTokenBucket() {
+        return tokenBucket;
+    }
+
+    public void setTokenBucket(String tokenBucket) {
+        this.tokenBucket = tokenBucket;
+    }
+
+    public String getBurstSize() {
+        return burstSize;
+    }
+
+    public void setBurstSize(String burstSize) {
+        this.burstSize = burstSize;
+    }
+
     /**
      * The expression used to calculate the correlation key to use for throttle grouping. The Exchange which has the
      * same correlation key is throttled together.
@@ -37,6 +37,12 @@ public class ToDefinition extends SendDefinition<ToDefinition> {
     @XmlAttribute
     @Metadata(label = "advanced", javaType = "org.apache.camel.ExchangePattern", enums = "InOnly,InOut")
     private String pattern;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.lang.Integer")
+    private String batchSize;
+    @XmlAttribute
+    @Metadata(label = "advanced", javaType = "java.time.Duration", defaultValue = "1000")
+    private String batchTimeout;
 
     public ToDefinition() {
     }
@@ -93,4 +99,29 @@ public class ToDefinition extends SendDefinition<ToDefinition> {
         this.pattern = pattern;
     }
 
+    public String getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of messages to send in a batch, when the producer of the endpoint supports sending in
+     * batches (BatchingProducer). The default value is 0 which means messages are sent one by one. Transacted messages,
+     * and messages where the caller waits for a reply (InOut), are not batched.
+     */
+    public void setBatchSize(String batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public String getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Sets the maximum time a message can wait for the batch to become full, before the batch is sent anyway. The value
+     * must be positive when a batch size is set.
+     */
+    public void setBatchTimeout(String batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
 }
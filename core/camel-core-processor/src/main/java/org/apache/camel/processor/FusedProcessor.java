@@ -0,0 +1,244 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.AsyncProcessor;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Navigate;
+import org.apache.camel.Processor;
+import org.apache.camel.Traceable;
+import org.apache.camel.spi.IdAware;
+import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.support.AsyncProcessorConverterHelper;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.support.ExchangeHelper;
+import org.apache.camel.support.service.ServiceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.apache.camel.processor.PipelineHelper.continueProcessing;
+
+/**
+ * Processes a run of consecutive simple processors (such as setting headers and message body) as a single step in the
+ * route.
+ * <p/>
+ * Unlike {@link Pipeline} the processors are not wrapped in a channel each, and as long as the processors complete
+ * synchronously they are called in a plain loop on the current thread. Each processor is still wrapped in the error
+ * handler, so redeliveries happen at the failing processor only.
+ */
+public class FusedProcessor extends AsyncProcessorSupport implements Navigate<Processor>, Traceable, IdAware, RouteIdAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(FusedProcessor.class);
+
+    private final CamelContext camelContext;
+    private final List<AsyncProcessor> processors;
+    private final List<String> fusedIds;
+    private final int size;
+    private PooledExchangeTaskFactory taskFactory;
+
+    private String id;
+    private String routeId;
+
+    private final class FusedTask implements PooledExchangeTask, AsyncCallback {
+
+        private Exchange exchange;
+        private AsyncCallback callback;
+        private int index;
+
+        FusedTask() {
+        }
+
+        @Override
+        public void prepare(Exchange exchange, AsyncCallback callback) {
+            this.exchange = exchange;
+            this.callback = callback;
+            this.index = 0;
+        }
+
+        @Override
+        public void reset() {
+            this.exchange = null;
+            this.callback = null;
+            this.index = 0;
+        }
+
+        @Override
+        public void done(boolean doneSync) {
+            if (!doneSync) {
+                // the processor completed asynchronously so continue routing the remainder
+                doProcess(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            doProcess(false);
+        }
+
+        boolean doProcess(boolean sync) {
+            while (index < size) {
+                if (index == 0) {
+                    if (exchange.isRouteStop()) {
+                        break;
+                    }
+                } else if (continueProcessing(exchange, "so breaking out of fused processor", LOG)) {
+                    // prepare for next run
+                    ExchangeHelper.prepareOutToIn(exchange);
+                } else {
+                    break;
+                }
+
+                AsyncProcessor processor = processors.get(index++);
+                if (!processor.process(exchange, this)) {
+                    // the processor will continue routing when its done
+                    return false;
+                }
+            }
+
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Processing complete for exchangeId: {} >>> {}", exchange.getExchangeId(), exchange);
+            }
+
+            AsyncCallback cb = callback;
+            taskFactory.release(this);
+            cb.done(sync);
+            return sync;
+        }
+    }
+
+    public FusedProcessor(CamelContext camelContext, Collection<Processor> processors, List<String> fusedIds) {
+        this.camelContext = camelContext;
+        this.processors = processors.stream().map(AsyncProcessorConverterHelper::convert).toList();
+        this.fusedIds = fusedIds;
+        this.size = processors.size();
+    }
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        FusedTask task;
+        try {
+            // create task which has state used during routing
+            task = (FusedTask) taskFactory.acquire(exchange, callback);
+        } catch (Throwable e) {
+            exchange.setException(e);
+            callback.done(true);
+            return true;
+        }
+        return task.doProcess(true);
+    }
+
+    @Override
+    protected void doBuild() throws Exception {
+        boolean pooled = camelContext.getCamelContextExtension().getExchangeFactory().isPooled();
+        if (pooled) {
+            taskFactory = new PooledTaskFactory(getId()) {
+                @Override
+                public PooledExchangeTask create(Exchange exchange, AsyncCallback callback) {
+                    return new FusedTask();
+                }
+            };
+            int capacity = camelContext.getCamelContextExtension().getExchangeFactory().getCapacity();
+            taskFactory.setCapacity(capacity);
+        } else {
+            taskFactory = new PrototypeTaskFactory() {
+                @Override
+                public PooledExchangeTask create(Exchange exchange, AsyncCallback callback) {
+                    return new FusedTask();
+                }
+            };
+        }
+        LOG.trace("Using TaskFactory: {}", taskFactory);
+
+        ServiceHelper.buildService(taskFactory, processors);
+    }
+
+    @Override
+    protected void doInit() throws Exception {
+        ServiceHelper.initService(taskFactory, processors);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ServiceHelper.startService(taskFactory, processors);
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(taskFactory, processors);
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        ServiceHelper.stopAndShutdownServices(taskFactory, processors);
+    }
+
+    /**
+     * The ids of the processors which has been fused
+     */
+    public List<String> getFusedIds() {
+        return fusedIds;
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+
+    @Override
+    public String getTraceLabel() {
+        return "fused" + fusedIds;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getRouteId() {
+        return routeId;
+    }
+
+    @Override
+    public void setRouteId(String routeId) {
+        this.routeId = routeId;
+    }
+
+    @Override
+    public List<Processor> next() {
+        if (!hasNext()) {
+            return null;
+        }
+        return new ArrayList<>(processors);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return processors != null && !processors.isEmpty();
+    }
+}
@@ -22,6 +22,7 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
@@ -172,6 +173,8 @@ public class MulticastProcessor extends AsyncProcessorSupport
     private final long timeout;
     private final ConcurrentMap<Processor, Processor> errorHandlers = new ConcurrentHashMap<>();
     private final boolean shareUnitOfWork;
+    private int maxInflight;
+    private final Set<MulticastTask> windowedTasks = ConcurrentHashMap.newKeySet();
 
     public MulticastProcessor(CamelContext camelContext, Route route, Collection<Processor> processors) {
         this(camelContext, route, processors, null);
@@ -444,7 +447,12 @@ public class MulticastProcessor extends AsyncProcessorSupport
             } else {
                 this.mdc = null;
             }
-            if (capacity > 0) {
+            if (isWindowed()) {
+                // use a ring buffer to aggregate the replies in order, as there can be no more than
+                // the window size of sub exchanges in flight
+                this.completion = new AsyncCompletionService<>(scheduler, true, lock, maxInflight, true);
+                windowedTasks.add(this);
+            } else if (capacity > 0) {
                 this.completion = new AsyncCompletionService<>(scheduler, !isStreaming(), lock, capacity);
             } else {
                 this.completion = new AsyncCompletionService<>(scheduler, !isStreaming(), lock);
@@ -514,6 +522,9 @@ public class MulticastProcessor extends AsyncProcessorSupport
 
         protected void doDone(Exchange exchange, boolean forceExhaust) {
             if (done.compareAndSet(false, true)) {
+                if (completion != null && isWindowed()) {
+                    windowedTasks.remove(this);
+                }
                 MulticastProcessor.this.doDone(original, exchange, pairs, callback, false, forceExhaust);
             }
         }
@@ -524,6 +535,8 @@ public class MulticastProcessor extends AsyncProcessorSupport
      */
     protected class MulticastReactiveTask extends MulticastTask {
 
+        final AtomicBoolean paused = new AtomicBoolean();
+
         private MulticastReactiveTask() {
         }
 
@@ -605,18 +618,35 @@ public class MulticastProcessor extends AsyncProcessorSupport
                         // next step
                         if (hasNext && !isParallelProcessing()) {
                             schedule(this);
+                        } else if (isWindowed()) {
+                            // there may be room in the window again
+                            resume();
                         }
                     });
                 });
                 // after submitting this pair then move on to the next pair (if in parallel mode)
                 if (hasNext && isParallelProcessing()) {
-                    schedule(this);
+                    if (!isWindowed() || nbExchangeSent.get() - nbAggregated.get() < maxInflight) {
+                        schedule(this);
+                    } else {
+                        // the window is full, so pause until a reply has been aggregated
+                        paused.set(true);
+                        // a reply may have been aggregated in the meantime
+                        resume();
+                    }
                 }
             } catch (Exception e) {
                 original.setException(e);
                 doDone(null, false);
             }
         }
+
+        private void resume() {
+            if (paused.get() && nbExchangeSent.get() - nbAggregated.get() < maxInflight
+                    && paused.compareAndSet(true, false)) {
+                schedule(this);
+            }
+        }
     }
 
     /**
@@ -1290,6 +1320,49 @@ public class MulticastProcessor extends AsyncProcessorSupport
         return parallelAggregate;
     }
 
+    /**
+     * Whether the number of sub exchanges in flight is limited by {@link #getMaxInflight()}.
+     */
+    protected boolean isWindowed() {
+        return maxInflight > 0 && parallelProcessing;
+    }
+
+    public int getMaxInflight() {
+        return maxInflight;
+    }
+
+    /**
+     * Sets the maximum number of sub exchanges in flight per exchange, when using parallel processing. When the limit
+     * is reached then no more pairs are created from the iterator until a reply has been aggregated, and the replies
+     * are aggregated in the same order as they were sent.
+     */
+    public void setMaxInflight(int maxInflight) {
+        this.maxInflight = maxInflight;
+    }
+
+    /**
+     * Number of sub exchanges which has been sent but not yet aggregated, when using a limited window.
+     */
+    public int getSubExchangesInflight() {
+        int answer = 0;
+        for (MulticastTask task : windowedTasks) {
+            answer += Math.max(0, task.nbExchangeSent.get() - task.nbAggregated.get());
+        }
+        return answer;
+    }
+
+    /**
+     * Number of sub exchanges which has completed, but are waiting for a previous sub exchange to complete before they
+     * can be aggregated, when using a limited window.
+     */
+    public int getSubExchangesPendingAggregation() {
+        int answer = 0;
+        for (MulticastTask task : windowedTasks) {
+            answer += task.completion.size();
+        }
+        return answer;
+    }
+
     public boolean isShareUnitOfWork() {
         return shareUnitOfWork;
     }
@@ -35,6 +35,7 @@ import org.apache.camel.spi.RouteIdAware;
 import org.apache.camel.support.AsyncProcessorSupport;
 import org.apache.camel.support.cache.DefaultProducerCache;
 import org.apache.camel.support.cache.EmptyProducerCache;
+import org.apache.camel.support.cache.RecentEndpointCache;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.StringHelper;
 import org.slf4j.Logger;
@@ -180,6 +181,13 @@ public class RecipientList extends AsyncProcessorSupport implements IdAware, Rou
         return producerCache.getEndpointUtilizationStatistics();
     }
 
+    /**
+     * The cache of the most recently used endpoints by their uri, or <tt>null</tt> if not started
+     */
+    public RecentEndpointCache getEndpointCache() {
+        return recipientListProcessor != null ? recipientListProcessor.getEndpointCache() : null;
+    }
+
     @Override
     protected void doStart() throws Exception {
         if (errorHandler == null) {
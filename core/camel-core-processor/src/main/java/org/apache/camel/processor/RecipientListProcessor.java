@@ -44,6 +44,7 @@ import org.apache.camel.support.EndpointHelper;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.MessageHelper;
 import org.apache.camel.support.ObjectHelper;
+import org.apache.camel.support.cache.RecentEndpointCache;
 import org.apache.camel.support.service.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -68,6 +69,7 @@ public class RecipientListProcessor extends MulticastProcessor {
     private final Expression expression;
     private final String delimiter;
     private final ProducerCache producerCache;
+    private final RecentEndpointCache endpointCache = new RecentEndpointCache();
     private int cacheSize;
     private Map<String, Object> txData;
 
@@ -171,6 +173,13 @@ public class RecipientListProcessor extends MulticastProcessor {
         this.producerCache = producerCache;
     }
 
+    /**
+     * The cache of the most recently used endpoints by their uri
+     */
+    public RecentEndpointCache getEndpointCache() {
+        return endpointCache;
+    }
+
     public int getCacheSize() {
         return cacheSize;
     }
@@ -255,14 +264,22 @@ public class RecipientListProcessor extends MulticastProcessor {
         Producer producer;
         ExchangePattern pattern;
         try {
-            recipient = prepareRecipient(exchange, recipient);
-            Endpoint existing = getExistingEndpoint(exchange, recipient);
-            if (existing == null) {
-                endpoint = resolveEndpoint(exchange, recipient, prototype);
-            } else {
-                endpoint = existing;
-                // we have an existing endpoint then its not a prototype scope
-                prototype = false;
+            // lookup the endpoint by its uri as-is in the cache of recently used endpoints
+            String cacheKey = !prototype && recipient instanceof String ? (String) recipient : null;
+            endpoint = cacheKey != null ? endpointCache.get(cacheKey) : null;
+            if (endpoint == null) {
+                recipient = prepareRecipient(exchange, recipient);
+                Endpoint existing = getExistingEndpoint(exchange, recipient);
+                if (existing == null) {
+                    endpoint = resolveEndpoint(exchange, recipient, prototype);
+                } else {
+                    endpoint = existing;
+                    // we have an existing endpoint then its not a prototype scope
+                    prototype = false;
+                }
+                if (cacheKey != null && !prototype) {
+                    endpointCache.put(cacheKey, endpoint);
+                }
             }
             pattern = resolveExchangePattern(recipient);
             producer = producerCache.acquireProducer(endpoint);
@@ -415,6 +432,7 @@ public class RecipientListProcessor extends MulticastProcessor {
     @Override
     protected void doStop() throws Exception {
         ServiceHelper.stopService(producerCache);
+        endpointCache.clear();
         super.doStop();
     }
 
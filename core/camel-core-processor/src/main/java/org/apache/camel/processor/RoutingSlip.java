@@ -41,6 +41,7 @@ import org.apache.camel.support.ObjectHelper;
 import org.apache.camel.support.builder.ExpressionBuilder;
 import org.apache.camel.support.cache.DefaultProducerCache;
 import org.apache.camel.support.cache.EmptyProducerCache;
+import org.apache.camel.support.cache.RecentEndpointCache;
 import org.apache.camel.support.service.ServiceHelper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -63,6 +64,7 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
     protected String id;
     protected String routeId;
     protected ProducerCache producerCache;
+    protected final RecentEndpointCache endpointCache = new RecentEndpointCache();
     protected int cacheSize;
     protected boolean ignoreInvalidEndpoints;
     protected String header;
@@ -245,14 +247,22 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
             Endpoint endpoint;
             try {
                 Object recipient = iter.next(exchange);
-                recipient = prepareRecipient(exchange, recipient);
-                Endpoint existing = getExistingEndpoint(exchange, recipient);
-                if (existing == null) {
-                    endpoint = resolveEndpoint(exchange, recipient, prototype);
-                } else {
-                    endpoint = existing;
-                    // we have an existing endpoint then its not a prototype scope
-                    prototype = false;
+                // lookup the endpoint by its uri as-is in the cache of recently used endpoints
+                String cacheKey = !prototype && recipient instanceof String ? (String) recipient : null;
+                endpoint = cacheKey != null ? endpointCache.get(cacheKey) : null;
+                if (endpoint == null) {
+                    recipient = prepareRecipient(exchange, recipient);
+                    Endpoint existing = getExistingEndpoint(exchange, recipient);
+                    if (existing == null) {
+                        endpoint = resolveEndpoint(exchange, recipient, prototype);
+                    } else {
+                        endpoint = existing;
+                        // we have an existing endpoint then its not a prototype scope
+                        prototype = false;
+                    }
+                    if (cacheKey != null && endpoint != null && !prototype) {
+                        endpointCache.put(cacheKey, endpoint);
+                    }
                 }
                 // if no endpoint was resolved then try the next
                 if (endpoint == null) {
@@ -477,15 +487,24 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
                             boolean prototype = cacheSize < 0;
                             try {
                                 Object recipient = iter.next(ex);
-                                recipient = prepareRecipient(exchange, recipient);
-                                Endpoint existing = getExistingEndpoint(exchange, recipient);
-                                if (existing == null) {
-                                    nextEndpoint = resolveEndpoint(exchange, recipient, prototype);
-                                } else {
-                                    nextEndpoint = existing;
-                                    // we have an existing endpoint then its not a prototype scope
-                                    prototype = false;
+                                // lookup the endpoint by its uri as-is in the cache of recently used endpoints
+                                String cacheKey = !prototype && recipient instanceof String ? (String) recipient : null;
+                                Endpoint endpoint = cacheKey != null ? endpointCache.get(cacheKey) : null;
+                                if (endpoint == null) {
+                                    recipient = prepareRecipient(exchange, recipient);
+                                    Endpoint existing = getExistingEndpoint(exchange, recipient);
+                                    if (existing == null) {
+                                        endpoint = resolveEndpoint(exchange, recipient, prototype);
+                                    } else {
+                                        endpoint = existing;
+                                        // we have an existing endpoint then its not a prototype scope
+                                        prototype = false;
+                                    }
+                                    if (cacheKey != null && endpoint != null && !prototype) {
+                                        endpointCache.put(cacheKey, endpoint);
+                                    }
                                 }
+                                nextEndpoint = endpoint;
                                 // if no endpoint was resolved then try the next
                                 if (nextEndpoint == null) {
                                     continue;
@@ -556,6 +575,7 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
     @Override
     protected void doStop() throws Exception {
         ServiceHelper.stopService(producerCache, errorHandler);
+        endpointCache.clear();
     }
 
     @Override
@@ -567,6 +587,13 @@ public class RoutingSlip extends AsyncProcessorSupport implements Traceable, IdA
         return producerCache.getEndpointUtilizationStatistics();
     }
 
+    /**
+     * The cache of the most recently used endpoints by their uri
+     */
+    public RecentEndpointCache getEndpointCache() {
+        return endpointCache;
+    }
+
     /**
      * Creates the embedded processor to use when wrapping this routing slip in an error handler.
      */
@@ -39,6 +39,7 @@ import org.apache.camel.support.EndpointHelper;
 import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.cache.DefaultProducerCache;
 import org.apache.camel.support.cache.EmptyProducerCache;
+import org.apache.camel.support.cache.RecentEndpointCache;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.URISupport;
 import org.slf4j.Logger;
@@ -66,6 +67,7 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
     protected int cacheSize;
     protected boolean allowOptimisedComponents = true;
     protected boolean autoStartupComponents = true;
+    protected final RecentEndpointCache endpointCache = new RecentEndpointCache();
 
     public SendDynamicProcessor(String uri, Expression expression) {
         this.uri = uri;
@@ -142,22 +144,32 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
                 }
             }
             Object targetRecipient = staticUri != null ? staticUri : recipient;
-            targetRecipient = prepareRecipient(exchange, targetRecipient);
-            if (targetRecipient == null) {
-                if (LOG.isDebugEnabled()) {
-                    LOG.debug("Send dynamic evaluated as null so cannot send to any endpoint");
-                }
-                // no endpoint to send to, so ignore
-                callback.done(true);
-                return true;
-            }
-            Endpoint existing = getExistingEndpoint(exchange, targetRecipient);
-            if (existing == null) {
-                endpoint = resolveEndpoint(exchange, targetRecipient, prototype);
+            // lookup the endpoint by its uri as-is in the cache of recently used endpoints
+            String cacheKey = !prototype && targetRecipient instanceof String ? (String) targetRecipient : null;
+            Endpoint cached = cacheKey != null ? endpointCache.get(cacheKey) : null;
+            if (cached != null) {
+                endpoint = cached;
             } else {
-                endpoint = existing;
-                // we have an existing endpoint then its not a prototype scope
-                prototype = false;
+                targetRecipient = prepareRecipient(exchange, targetRecipient);
+                if (targetRecipient == null) {
+                    if (LOG.isDebugEnabled()) {
+                        LOG.debug("Send dynamic evaluated as null so cannot send to any endpoint");
+                    }
+                    // no endpoint to send to, so ignore
+                    callback.done(true);
+                    return true;
+                }
+                Endpoint existing = getExistingEndpoint(exchange, targetRecipient);
+                if (existing == null) {
+                    endpoint = resolveEndpoint(exchange, targetRecipient, prototype);
+                } else {
+                    endpoint = existing;
+                    // we have an existing endpoint then its not a prototype scope
+                    prototype = false;
+                }
+                if (cacheKey != null && !prototype) {
+                    endpointCache.put(cacheKey, endpoint);
+                }
             }
             destinationExchangePattern = EndpointHelper.resolveExchangePatternFromUrl(endpoint.getEndpointUri());
         } catch (Throwable e) {
@@ -374,12 +386,20 @@ public class SendDynamicProcessor extends AsyncProcessorSupport implements IdAwa
     @Override
     protected void doStop() throws Exception {
         ServiceHelper.stopService(producerCache, dynamicAware);
+        endpointCache.clear();
     }
 
     public EndpointUtilizationStatistics getEndpointUtilizationStatistics() {
         return producerCache.getEndpointUtilizationStatistics();
     }
 
+    /**
+     * The cache of the most recently used endpoints by their uri
+     */
+    public RecentEndpointCache getEndpointCache() {
+        return endpointCache;
+    }
+
     @Override
     public CamelContext getCamelContext() {
         return camelContext;
@@ -16,10 +16,17 @@
  */
 package org.apache.camel.processor;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.camel.AsyncCallback;
 import org.apache.camel.AsyncProducer;
+import org.apache.camel.BatchingProducer;
 import org.apache.camel.CamelContext;
 import org.apache.camel.Endpoint;
 import org.apache.camel.EndpointAware;
@@ -43,6 +50,10 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Processor for forwarding exchanges to a static endpoint destination.
+ * <p/>
+ * If a batch size is configured and the producer of the destination is a {@link BatchingProducer}, then the exchanges
+ * are accumulated and sent in batches, when the batch is full or the batch timeout is triggered. Transacted exchanges,
+ * and exchanges where the caller waits for a reply (InOut), are not batched but sent directly.
  *
  * @see SendDynamicProcessor
  */
@@ -61,6 +72,14 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
     protected String routeId;
     protected boolean extendedStatistics;
     protected final AtomicLong counter = new AtomicLong();
+    protected int batchSize;
+    protected long batchTimeout = 1000;
+    private BatchingProducer batchingProducer;
+    private ScheduledExecutorService batchTimeoutExecutor;
+    private final Lock batchLock = new ReentrantLock();
+    private List<Exchange> batchExchanges;
+    private List<AsyncCallback> batchCallbacks;
+    private boolean batchStopping;
 
     public SendProcessor(Endpoint destination) {
         this(destination, null);
@@ -169,7 +188,7 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
             }
             try {
                 LOG.debug(">>>> {} {}", destination, exchange);
-                boolean sync = producer.process(exchange, ac);
+                boolean sync = isBatchable(target) ? addToBatch(exchange, ac) : producer.process(exchange, ac);
                 if (!sync) {
                     EventHelper.notifyExchangeAsyncProcessingStartedEvent(camelContext, exchange);
                 }
@@ -201,6 +220,90 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
         }
     }
 
+    /**
+     * Whether the exchange can be added to a batch. A transacted exchange must be completed by the thread of its
+     * transaction, and the caller of an InOut exchange should not wait for the batch timeout to get its reply.
+     */
+    private boolean isBatchable(Exchange exchange) {
+        return batchingProducer != null && !exchange.isTransacted() && !exchange.getPattern().isOutCapable();
+    }
+
+    /**
+     * Adds the exchange to the current batch, and sends the batch if it is full. The callback is called when the batch
+     * has been sent.
+     */
+    private boolean addToBatch(Exchange exchange, AsyncCallback callback) {
+        List<Exchange> exchanges = null;
+        List<AsyncCallback> callbacks = null;
+        batchLock.lock();
+        try {
+            if (batchExchanges == null) {
+                batchExchanges = new ArrayList<>(batchSize);
+                batchCallbacks = new ArrayList<>(batchSize);
+                if (!batchStopping) {
+                    // send the batch when it times out, unless it has been sent already
+                    final List<Exchange> batch = batchExchanges;
+                    batchTimeoutExecutor.schedule(() -> sendBatch(batch), batchTimeout, TimeUnit.MILLISECONDS);
+                }
+            }
+            batchExchanges.add(exchange);
+            batchCallbacks.add(callback);
+            // the batch timeout executor is shutdown when stopping, so the batch must be sent now
+            if (batchStopping || batchExchanges.size() >= batchSize) {
+                exchanges = batchExchanges;
+                callbacks = batchCallbacks;
+                batchExchanges = null;
+                batchCallbacks = null;
+            }
+        } finally {
+            batchLock.unlock();
+        }
+        if (exchanges != null) {
+            doSendBatch(exchanges, callbacks);
+        }
+        return false;
+    }
+
+    /**
+     * Sends the current batch, if it is the given batch.
+     *
+     * @param batch the batch to send, or <tt>null</tt> to send the current batch
+     */
+    private void sendBatch(List<Exchange> batch) {
+        List<Exchange> exchanges;
+        List<AsyncCallback> callbacks;
+        batchLock.lock();
+        try {
+            if (batchExchanges == null || batch != null && batchExchanges != batch) {
+                return;
+            }
+            exchanges = batchExchanges;
+            callbacks = batchCallbacks;
+            batchExchanges = null;
+            batchCallbacks = null;
+        } finally {
+            batchLock.unlock();
+        }
+        doSendBatch(exchanges, callbacks);
+    }
+
+    private void doSendBatch(List<Exchange> exchanges, List<AsyncCallback> callbacks) {
+        LOG.debug(">>>> {} batch of {} exchanges", destination, exchanges.size());
+        try {
+            batchingProducer.processBatch(exchanges, doneSync -> {
+                // each exchange continues being routed individually
+                for (AsyncCallback callback : callbacks) {
+                    callback.done(false);
+                }
+            });
+        } catch (Throwable throwable) {
+            for (int i = 0; i < exchanges.size(); i++) {
+                exchanges.get(i).setException(throwable);
+                callbacks.get(i).done(false);
+            }
+        }
+    }
+
     public Endpoint getDestination() {
         return destination;
     }
@@ -217,8 +320,49 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
         counter.set(0);
     }
 
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Sets the maximum number of exchanges to send in a batch, when the producer of the destination is a
+     * {@link BatchingProducer}. The default value is 0 which means that exchanges are sent one by one.
+     * <p/>
+     * An exchange waits until its batch has been sent, so a consumer that processes its exchanges one at a time waits
+     * for the batch timeout on every exchange. Batching should therefore be used with consumers that process exchanges
+     * concurrently.
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeout() {
+        return batchTimeout;
+    }
+
+    /**
+     * Sets the maximum time in millis an exchange can wait for the batch to become full, before the batch is sent
+     * anyway. The value must be positive when a batch size is set. The default value is 1000.
+     */
+    public void setBatchTimeout(long batchTimeout) {
+        this.batchTimeout = batchTimeout;
+    }
+
+    /**
+     * Whether exchanges are sent in batches, which requires a batch size and the producer of the destination to be a
+     * {@link BatchingProducer}.
+     */
+    public boolean isBatching() {
+        return batchingProducer != null;
+    }
+
     @Override
     protected void doInit() throws Exception {
+        if (batchSize > 1 && batchTimeout <= 0) {
+            throw new IllegalArgumentException(
+                    "BatchTimeout must be a positive value when batchSize is set, was: " + batchTimeout);
+        }
+
         // only if JMX is enabled
         if (camelContext.getManagementStrategy() != null && camelContext.getManagementStrategy().getManagementAgent() != null) {
             this.extendedStatistics
@@ -246,6 +390,16 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
             this.producer = destination.createAsyncProducer();
             // ensure the producer is managed and started
             camelContext.addService(this.producer, true, true);
+            if (batchSize > 1) {
+                if (producer instanceof BatchingProducer) {
+                    this.batchingProducer = (BatchingProducer) producer;
+                    this.batchStopping = false;
+                    this.batchTimeoutExecutor = camelContext.getExecutorServiceManager()
+                            .newSingleThreadScheduledExecutor(this, "SendBatchTimeout");
+                } else {
+                    LOG.debug("Batch size is configured but the producer of {} does not support batching", destination);
+                }
+            }
         } else {
             // no we need the producer cache for pooled non-singleton producers
             ServiceHelper.startService(producerCache);
@@ -254,6 +408,20 @@ public class SendProcessor extends AsyncProcessorSupport implements Traceable, E
 
     @Override
     protected void doStop() throws Exception {
+        if (batchingProducer != null) {
+            batchLock.lock();
+            try {
+                batchStopping = true;
+            } finally {
+                batchLock.unlock();
+            }
+            // send the remaining exchanges before stopping
+            sendBatch(null);
+        }
+        if (batchTimeoutExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdown(batchTimeoutExecutor);
+            batchTimeoutExecutor = null;
+        }
         // ensure the producer is removed before its stopped
         if (this.producer != null) {
             camelContext.removeService(this.producer);
@@ -31,9 +31,12 @@ import org.apache.camel.Expression;
 import org.apache.camel.Navigate;
 import org.apache.camel.Processor;
 import org.apache.camel.Traceable;
+import org.apache.camel.processor.resequencer.DefaultExchangeComparator;
 import org.apache.camel.processor.resequencer.ResequencerEngine;
 import org.apache.camel.processor.resequencer.SequenceElementComparator;
+import org.apache.camel.processor.resequencer.SequenceNumberResequencerEngine;
 import org.apache.camel.processor.resequencer.SequenceSender;
+import org.apache.camel.processor.resequencer.StreamResequencerEngine;
 import org.apache.camel.spi.ExceptionHandler;
 import org.apache.camel.spi.IdAware;
 import org.apache.camel.spi.RouteIdAware;
@@ -58,8 +61,13 @@ import org.slf4j.LoggerFactory;
  * <p>
  * Instances of this class poll for {@link Exchange}s from a given <code>endpoint</code>. Resequencing work and the
  * delivery of messages to the next <code>processor</code> is done within the single polling thread.
+ * <p>
+ * When the messages are compared by their sequence number (using {@link DefaultExchangeComparator}), then the
+ * {@link SequenceNumberResequencerEngine} is used, which keeps the pending messages in a primitive heap and checks the
+ * timeouts when delivering. Otherwise the {@link ResequencerEngine} is used with the given comparator.
  *
  * @see ResequencerEngine
+ * @see SequenceNumberResequencerEngine
  */
 public class StreamResequencer extends AsyncProcessorSupport
         implements SequenceSender<Exchange>, Navigate<Processor>, Traceable, IdAware, RouteIdAware {
@@ -70,7 +78,7 @@ public class StreamResequencer extends AsyncProcessorSupport
     private String routeId;
     private final CamelContext camelContext;
     private final ExceptionHandler exceptionHandler;
-    private final ResequencerEngine<Exchange> engine;
+    private final StreamResequencerEngine<Exchange> engine;
     private final Processor processor;
     private final Expression expression;
     private Delivery delivery;
@@ -88,7 +96,17 @@ public class StreamResequencer extends AsyncProcessorSupport
                              Expression expression) {
         ObjectHelper.notNull(camelContext, "CamelContext");
         this.camelContext = camelContext;
-        this.engine = new ResequencerEngine<>(comparator);
+        if (comparator != null && comparator.getClass() == DefaultExchangeComparator.class && expression != null) {
+            this.engine = new SequenceNumberResequencerEngine<>(e -> {
+                Long num = expression.evaluate(e, Long.class);
+                if (num == null) {
+                    throw new IllegalArgumentException("Sequence number evaluated as null using expression: " + expression);
+                }
+                return num;
+            });
+        } else {
+            this.engine = new ResequencerEngine<>(comparator);
+        }
         this.engine.setSequenceSender(this);
         this.processor = processor;
         this.expression = expression;
@@ -113,6 +131,64 @@ public class StreamResequencer extends AsyncProcessorSupport
         return processor;
     }
 
+    /**
+     * Returns the resequencer engine.
+     */
+    public StreamResequencerEngine<Exchange> getEngine() {
+        return engine;
+    }
+
+    /**
+     * Number of messages that arrived with a lower sequence number than a previous message, or <tt>-1</tt> if not
+     * supported by the resequencer engine.
+     */
+    public long getOutOfOrderCount() {
+        if (engine instanceof SequenceNumberResequencerEngine<Exchange> sne) {
+            return sne.getOutOfOrderCount();
+        }
+        return -1;
+    }
+
+    /**
+     * Number of gaps in the delivered sequence of messages, or <tt>-1</tt> if not supported by the resequencer engine.
+     */
+    public long getGapCount() {
+        if (engine instanceof SequenceNumberResequencerEngine<Exchange> sne) {
+            return sne.getGapCount();
+        }
+        return -1;
+    }
+
+    /**
+     * Number of sequence numbers that were skipped over in the delivered sequence of messages, or <tt>-1</tt> if not
+     * supported by the resequencer engine.
+     */
+    public long getMissingCount() {
+        if (engine instanceof SequenceNumberResequencerEngine<Exchange> sne) {
+            return sne.getMissingCount();
+        }
+        return -1;
+    }
+
+    /**
+     * Number of duplicate messages that were discarded, or <tt>-1</tt> if not supported by the resequencer engine.
+     */
+    public long getDuplicateCount() {
+        if (engine instanceof SequenceNumberResequencerEngine<Exchange> sne) {
+            return sne.getDuplicateCount();
+        }
+        return -1;
+    }
+
+    /**
+     * Resets the statistics of the resequencer engine.
+     */
+    public void resetStatistics() {
+        if (engine instanceof SequenceNumberResequencerEngine<Exchange> sne) {
+            sne.resetStatistics();
+        }
+    }
+
     /**
      * Returns this resequencer's capacity. The capacity is the maximum number of exchanges that can be managed by this
      * resequencer at a given point in time. If the capacity if reached, polling from the endpoint will be skipped for
@@ -298,7 +374,7 @@ public class StreamResequencer extends AsyncProcessorSupport
                 try {
                     deliveryRequestLock.lock();
                     try {
-                        deliveryRequestCondition.await(deliveryAttemptInterval, TimeUnit.MILLISECONDS);
+                        deliveryRequestCondition.await(nextDeliveryAttempt(), TimeUnit.MILLISECONDS);
                     } finally {
                         deliveryRequestLock.unlock();
                     }
@@ -314,6 +390,17 @@ public class StreamResequencer extends AsyncProcessorSupport
             }
         }
 
+        private long nextDeliveryAttempt() {
+            if (engine instanceof SequenceNumberResequencerEngine<Exchange> sne) {
+                // wake up when the next message times out, if that is sooner
+                long delay = sne.getNextDeliveryDelay();
+                if (delay >= 0) {
+                    return Math.min(delay, deliveryAttemptInterval);
+                }
+            }
+            return deliveryAttemptInterval;
+        }
+
         public void cancel() {
             interrupt();
         }
@@ -0,0 +1,506 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.RuntimeExchangeException;
+import org.apache.camel.Traceable;
+import org.apache.camel.spi.IdAware;
+import org.apache.camel.spi.RouteIdAware;
+import org.apache.camel.support.AsyncProcessorSupport;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A <a href="http://camel.apache.org/throttler.html">Throttler</a> which uses a token bucket to limit the rate of
+ * message exchanges sent to a processor.
+ * <p/>
+ * The bucket holds up to burstSize tokens (by default the maximum requests per period), and is refilled at a rate of
+ * maxRequestsPerPeriod per timePeriodMillis. An exchange which arrives when the bucket is empty reserves the next token
+ * and is delayed until that time. The state of each bucket is a single <tt>long</tt> (the time when the bucket is full
+ * again, also known as the generic cell rate algorithm) which is updated lock-free, so there is no queue of permits per
+ * correlation key.
+ * <p/>
+ * Unlike {@link Throttler} the calling thread is never blocked, as delayed exchanges are continued by a scheduled task.
+ * Only transacted exchanges are delayed on the calling thread, as they must be processed by the same thread.
+ */
+public class TokenBucketThrottler extends AsyncProcessorSupport implements Traceable, IdAware, RouteIdAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TokenBucketThrottler.class);
+
+    private static final String DEFAULT_KEY = "CamelThrottlerDefaultKey";
+
+    private final CamelContext camelContext;
+    private final ScheduledExecutorService asyncExecutor;
+    private final boolean shutdownAsyncExecutor;
+    private final Map<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final LongAdder throttledCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+
+    private volatile long timePeriodMillis;
+    private String id;
+    private String routeId;
+    private Expression maxRequestsPerPeriodExpression;
+    private Integer burstSize;
+    private boolean rejectExecution;
+    private boolean callerRunsWhenRejected = true;
+    private Expression correlationExpression;
+    private ScheduledFuture<?> cleanTask;
+
+    public TokenBucketThrottler(final CamelContext camelContext, final Expression maxRequestsPerPeriodExpression,
+                                final long timePeriodMillis,
+                                final ScheduledExecutorService asyncExecutor, final boolean shutdownAsyncExecutor,
+                                final boolean rejectExecution, Expression correlation) {
+        this.camelContext = camelContext;
+        this.rejectExecution = rejectExecution;
+        this.shutdownAsyncExecutor = shutdownAsyncExecutor;
+
+        ObjectHelper.notNull(maxRequestsPerPeriodExpression, "maxRequestsPerPeriodExpression");
+        this.maxRequestsPerPeriodExpression = maxRequestsPerPeriodExpression;
+
+        if (timePeriodMillis <= 0) {
+            throw new IllegalArgumentException("TimePeriodMillis should be a positive number, was: " + timePeriodMillis);
+        }
+        this.timePeriodMillis = timePeriodMillis;
+        this.asyncExecutor = asyncExecutor;
+        this.correlationExpression = correlation;
+    }
+
+    @Override
+    public boolean process(final Exchange exchange, final AsyncCallback callback) {
+        return doProcess(exchange, callback, true);
+    }
+
+    protected boolean doProcess(final Exchange exchange, final AsyncCallback callback, final boolean sync) {
+        try {
+            if (!isRunAllowed()) {
+                throw new RejectedExecutionException("Run is not allowed");
+            }
+
+            String key = DEFAULT_KEY;
+            if (correlationExpression != null) {
+                key = correlationExpression.evaluate(exchange, String.class);
+            }
+            Bucket bucket = buckets.computeIfAbsent(key, Bucket::new);
+            bucket.calculateAndSetMaxRequestsPerPeriod(exchange);
+
+            long now = System.nanoTime();
+            long delay = bucket.acquire(now, !rejectExecution);
+            if (delay == 0) {
+                bucket.permitted(now);
+                if (LOG.isTraceEnabled()) {
+                    LOG.trace("No throttling applied to exchangeId: {}", exchange.getExchangeId());
+                }
+                callback.done(sync);
+                return sync;
+            } else if (delay < 0) {
+                bucket.rejected.increment();
+                rejectedCount.increment();
+                throw new ThrottlerRejectedExecutionException(
+                        "Exceeded the max throttle rate of " + bucket.getThrottleRate() + " within " + timePeriodMillis
+                                                              + "ms");
+            }
+
+            bucket.throttled.increment();
+            throttledCount.increment();
+            if (LOG.isTraceEnabled()) {
+                LOG.trace("Throttling for {}ms, exchangeId: {}", TimeUnit.NANOSECONDS.toMillis(delay),
+                        exchange.getExchangeId());
+            }
+            boolean noTokens = bucket.getThrottleRate() == 0;
+            Runnable task;
+            if (noTokens) {
+                // no tokens at all, so evaluate the throttle rate again after the delay
+                task = () -> doProcess(exchange, callback, false);
+            } else {
+                task = () -> {
+                    bucket.permitted(System.nanoTime());
+                    callback.done(false);
+                };
+            }
+            if (scheduleOrSleep(exchange, delay, task)) {
+                return false;
+            }
+
+            // the exchange was delayed on the current thread
+            if (noTokens) {
+                return doProcess(exchange, callback, sync);
+            }
+            bucket.permitted(System.nanoTime());
+            callback.done(sync);
+            return sync;
+        } catch (final Exception e) {
+            exchange.setException(e);
+            callback.done(sync);
+            return sync;
+        }
+    }
+
+    /**
+     * Schedules the task to continue the exchange after the given delay. Transacted exchanges must be processed by the
+     * same thread, so they are delayed on the current thread instead, as are exchanges rejected by the executor when
+     * callerRunsWhenRejected is enabled.
+     *
+     * @return <tt>true</tt> if the task was scheduled, <tt>false</tt> if the current thread was delayed
+     */
+    private boolean scheduleOrSleep(final Exchange exchange, final long delay, final Runnable task)
+            throws InterruptedException {
+        if (!exchange.isTransacted()) {
+            try {
+                asyncExecutor.schedule(task, delay, TimeUnit.NANOSECONDS);
+                return true;
+            } catch (final RejectedExecutionException e) {
+                if (!isCallerRunsWhenRejected()) {
+                    throw e;
+                }
+                LOG.debug("AsyncExecutor is full, rejected exchange will run in the current thread, exchangeId: {}",
+                        exchange.getExchangeId());
+            }
+        }
+
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay);
+        } catch (final InterruptedException e) {
+            // determine if we can still run, or the camel context is forcing a shutdown
+            if (exchange.getContext().getShutdownStrategy().isForceShutdown()) {
+                String msg = "Run not allowed as ShutdownStrategy is forcing shutting down, will reject executing exchange: "
+                             + exchange;
+                LOG.debug(msg);
+                throw new RejectedExecutionException(msg, e);
+            }
+            throw e;
+        }
+        return false;
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(asyncExecutor, "executorService", this);
+        if (burstSize != null && burstSize <= 0) {
+            throw new IllegalArgumentException("BurstSize should be a positive number, was: " + burstSize);
+        }
+        if (correlationExpression != null) {
+            // remove the buckets of idle correlation keys (an idle bucket is full, so it is the same as a new bucket)
+            long cleanPeriodMillis = timePeriodMillis * 10;
+            cleanTask = asyncExecutor.scheduleWithFixedDelay(this::clean, cleanPeriodMillis, cleanPeriodMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (cleanTask != null) {
+            cleanTask.cancel(false);
+            cleanTask = null;
+        }
+    }
+
+    @Override
+    protected void doShutdown() throws Exception {
+        if (shutdownAsyncExecutor && asyncExecutor != null) {
+            camelContext.getExecutorServiceManager().shutdownNow(asyncExecutor);
+        }
+        buckets.clear();
+        super.doShutdown();
+    }
+
+    private void clean() {
+        long now = System.nanoTime();
+        long idle = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis * 10);
+        buckets.values().removeIf(b -> b.isIdle(now, idle));
+    }
+
+    /**
+     * The token bucket of a correlation key.
+     */
+    private final class Bucket {
+        private final String key;
+        // the time (in nanos) when the bucket is full again
+        private final AtomicLong state = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder throttled = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final AtomicLong windowCount = new AtomicLong();
+        private volatile long windowStart = System.nanoTime();
+        private volatile long lastWindowCount;
+        private volatile int throttleRate;
+
+        Bucket(String key) {
+            this.key = key;
+        }
+
+        int getThrottleRate() {
+            return throttleRate;
+        }
+
+        /**
+         * Takes a token from the bucket, or reserves the next token if the bucket is empty.
+         *
+         * @param  now     the current time in nanos
+         * @param  reserve whether to reserve the next token if the bucket is empty
+         * @return         0 if a token was taken, the delay in nanos until the reserved token is available, or -1 if
+         *                 the bucket is empty and no token was reserved
+         */
+        long acquire(long now, boolean reserve) {
+            long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+            int rate = throttleRate;
+            if (rate == 0) {
+                return reserve ? period : -1;
+            }
+            long interval = Math.max(1, period / rate);
+            long capacity = interval * (burstSize != null ? burstSize : rate);
+            while (true) {
+                long current = state.get();
+                long next = Math.max(current, now) + interval;
+                long delay = next - now - capacity;
+                if (delay > 0 && !reserve) {
+                    return -1;
+                }
+                if (state.compareAndSet(current, next)) {
+                    return Math.max(0, delay);
+                }
+            }
+        }
+
+        /**
+         * Counts an exchange which is let through, to calculate the current rate
+         */
+        void permitted(long now) {
+            long start = windowStart;
+            long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+            if (now - start >= period) {
+                synchronized (this) {
+                    if (windowStart == start) {
+                        long count = windowCount.getAndSet(0);
+                        lastWindowCount = now - start < 2 * period ? count : 0;
+                        windowStart = now;
+                    }
+                }
+            }
+            windowCount.incrementAndGet();
+        }
+
+        /**
+         * The number of exchanges let through in the last time period
+         */
+        long getCurrentRate() {
+            long elapsed = System.nanoTime() - windowStart;
+            long period = TimeUnit.MILLISECONDS.toNanos(timePeriodMillis);
+            if (elapsed >= 2 * period) {
+                return 0;
+            } else if (elapsed >= period) {
+                return windowCount.get();
+            }
+            return lastWindowCount;
+        }
+
+        boolean isIdle(long now, long idle) {
+            return state.get() < now - idle && now - windowStart > idle;
+        }
+
+        /**
+         * Evaluates the maxRequestsPerPeriodExpression and adjusts the throttle rate up or down.
+         */
+        void calculateAndSetMaxRequestsPerPeriod(final Exchange exchange) {
+            Integer newThrottle = maxRequestsPerPeriodExpression.evaluate(exchange, Integer.class);
+
+            if (newThrottle != null && newThrottle < 0) {
+                throw new IllegalStateException("The maximumRequestsPerPeriod must be a positive number, was: " + newThrottle);
+            }
+
+            if (newThrottle == null && throttleRate == 0) {
+                throw new RuntimeExchangeException(
+                        "The maxRequestsPerPeriodExpression was evaluated as null: " + maxRequestsPerPeriodExpression,
+                        exchange);
+            }
+
+            if (newThrottle != null && newThrottle != throttleRate) {
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Throttle rate changed from {} to {} for key: {}, triggered by ExchangeId: {}", throttleRate,
+                            newThrottle, key, exchange.getExchangeId());
+                }
+                throttleRate = newThrottle;
+            }
+        }
+    }
+
+    public boolean isRejectExecution() {
+        return rejectExecution;
+    }
+
+    public void setRejectExecution(boolean rejectExecution) {
+        this.rejectExecution = rejectExecution;
+    }
+
+    public boolean isCallerRunsWhenRejected() {
+        return callerRunsWhenRejected;
+    }
+
+    public void setCallerRunsWhenRejected(boolean callerRunsWhenRejected) {
+        this.callerRunsWhenRejected = callerRunsWhenRejected;
+    }
+
+    public Integer getBurstSize() {
+        return burstSize;
+    }
+
+    /**
+     * The maximum number of tokens in the bucket, which is the number of exchanges which can be let through at once
+     * after a period of inactivity. Is by default the maximum requests per period.
+     */
+    public void setBurstSize(Integer burstSize) {
+        this.burstSize = burstSize;
+    }
+
+    @Override
+    public String getId() {
+        return id;
+    }
+
+    @Override
+    public void setId(final String id) {
+        this.id = id;
+    }
+
+    @Override
+    public String getRouteId() {
+        return routeId;
+    }
+
+    @Override
+    public void setRouteId(String routeId) {
+        this.routeId = routeId;
+    }
+
+    /**
+     * Sets the maximum number of requests per time period expression
+     */
+    public void setMaximumRequestsPerPeriodExpression(Expression maxRequestsPerPeriodExpression) {
+        this.maxRequestsPerPeriodExpression = maxRequestsPerPeriodExpression;
+    }
+
+    public Expression getMaximumRequestsPerPeriodExpression() {
+        return maxRequestsPerPeriodExpression;
+    }
+
+    /**
+     * Gets the current maximum request per period value. If it is grouped throttling applied with correlationExpression
+     * than the max per period within the group will return
+     */
+    public int getCurrentMaximumRequestsPerPeriod() {
+        return buckets.values().stream().mapToInt(Bucket::getThrottleRate).max().orElse(0);
+    }
+
+    /**
+     * Sets the time period during which the maximum number of requests apply
+     */
+    public void setTimePeriodMillis(final long timePeriodMillis) {
+        this.timePeriodMillis = timePeriodMillis;
+    }
+
+    public long getTimePeriodMillis() {
+        return timePeriodMillis;
+    }
+
+    /**
+     * Number of exchanges which has been delayed
+     */
+    public long getThrottledCount() {
+        return throttledCount.sum();
+    }
+
+    /**
+     * Number of exchanges which has been rejected
+     */
+    public long getRejectedCount() {
+        return rejectedCount.sum();
+    }
+
+    /**
+     * Reset the counters
+     */
+    public void reset() {
+        throttledCount.reset();
+        rejectedCount.reset();
+        buckets.values().forEach(b -> {
+            b.throttled.reset();
+            b.rejected.reset();
+        });
+    }
+
+    /**
+     * The correlation keys which currently has a token bucket
+     */
+    public Set<String> getKeys() {
+        return buckets.keySet();
+    }
+
+    /**
+     * The maximum requests per period of the given correlation key
+     */
+    public int getMaximumRequestsPerPeriod(String key) {
+        Bucket bucket = buckets.get(key);
+        return bucket != null ? bucket.getThrottleRate() : 0;
+    }
+
+    /**
+     * The number of exchanges let through in the last time period for the given correlation key
+     */
+    public long getCurrentRate(String key) {
+        Bucket bucket = buckets.get(key);
+        return bucket != null ? bucket.getCurrentRate() : 0;
+    }
+
+    /**
+     * Number of exchanges which has been delayed for the given correlation key
+     */
+    public long getThrottledCount(String key) {
+        Bucket bucket = buckets.get(key);
+        return bucket != null ? bucket.throttled.sum() : 0;
+    }
+
+    /**
+     * Number of exchanges which has been rejected for the given correlation key
+     */
+    public long getRejectedCount(String key) {
+        Bucket bucket = buckets.get(key);
+        return bucket != null ? bucket.rejected.sum() : 0;
+    }
+
+    @Override
+    public String getTraceLabel() {
+        return "throttle[" + maxRequestsPerPeriodExpression + " per: " + timePeriodMillis + "]";
+    }
+
+    @Override
+    public String toString() {
+        return id;
+    }
+}
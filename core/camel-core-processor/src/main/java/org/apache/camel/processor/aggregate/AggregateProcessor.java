@@ -28,6 +28,7 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -65,6 +66,7 @@ import org.apache.camel.support.ExchangeHelper;
 import org.apache.camel.support.LRUCacheFactory;
 import org.apache.camel.support.LoggingExceptionHandler;
 import org.apache.camel.support.NoLock;
+import org.apache.camel.support.TimingWheelTimeoutMap;
 import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.util.ObjectHelper;
 import org.apache.camel.util.StopWatch;
@@ -98,6 +100,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
     private static final Logger LOG = LoggerFactory.getLogger(AggregateProcessor.class);
     private volatile Lock lock;
+    private volatile Lock[] stripedLocks;
     private final AtomicBoolean aggregateRepositoryWarned = new AtomicBoolean();
     private final CamelContext camelContext;
     private final ReactiveExecutor reactiveExecutor;
@@ -138,6 +141,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private final AtomicLong completedByBatchConsumer = new AtomicLong();
     private final AtomicLong completedByForce = new AtomicLong();
     private final AtomicLong discarded = new AtomicLong();
+    private final AtomicLong lockWaitTime = new AtomicLong();
     private final AtomicBoolean recoveryInProgress = new AtomicBoolean(false);
 
     // keep booking about redelivery
@@ -145,6 +149,83 @@ public class AggregateProcessor extends AsyncProcessorSupport
         int redeliveryCounter;
     }
 
+    /**
+     * A lock spanning all the lock stripes, used by tasks that operate on all the correlation groups. The stripes are
+     * always acquired in the same order to avoid deadlocks.
+     */
+    private static final class StripedLock implements Lock {
+        private final Lock[] locks;
+
+        private StripedLock(Lock[] locks) {
+            this.locks = locks;
+        }
+
+        @Override
+        public void lock() {
+            for (Lock lock : locks) {
+                lock.lock();
+            }
+        }
+
+        @Override
+        public void lockInterruptibly() throws InterruptedException {
+            int i = 0;
+            try {
+                for (; i < locks.length; i++) {
+                    locks[i].lockInterruptibly();
+                }
+            } catch (InterruptedException e) {
+                unlock(i);
+                throw e;
+            }
+        }
+
+        @Override
+        public boolean tryLock() {
+            for (int i = 0; i < locks.length; i++) {
+                if (!locks[i].tryLock()) {
+                    unlock(i);
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+            long deadline = System.nanoTime() + unit.toNanos(time);
+            int i = 0;
+            try {
+                for (; i < locks.length; i++) {
+                    if (!locks[i].tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                        unlock(i);
+                        return false;
+                    }
+                }
+            } catch (InterruptedException e) {
+                unlock(i);
+                throw e;
+            }
+            return true;
+        }
+
+        @Override
+        public void unlock() {
+            unlock(locks.length);
+        }
+
+        private void unlock(int count) {
+            for (int i = count - 1; i >= 0; i--) {
+                locks[i].unlock();
+            }
+        }
+
+        @Override
+        public Condition newCondition() {
+            throw new UnsupportedOperationException("Conditions are not supported on striped locks");
+        }
+    }
+
     private class Statistics implements AggregateProcessorStatistics {
 
         private boolean statisticsEnabled = true;
@@ -199,6 +280,11 @@ public class AggregateProcessor extends AsyncProcessorSupport
             return discarded.get();
         }
 
+        @Override
+        public long getLockWaitTime() {
+            return TimeUnit.NANOSECONDS.toMillis(lockWaitTime.get());
+        }
+
         @Override
         public void reset() {
             totalIn.set(0);
@@ -210,6 +296,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
             completedByBatchConsumer.set(0);
             completedByForce.set(0);
             discarded.set(0);
+            lockWaitTime.set(0);
         }
 
         @Override
@@ -228,6 +315,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private Integer closeCorrelationKeyOnCompletion;
     private boolean parallelProcessing;
     private boolean optimisticLocking;
+    private int lockStripes;
 
     // different ways to have completion triggered
     private boolean eagerCheckCompletion;
@@ -245,6 +333,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
     private boolean forceCompletionOnStop;
     private boolean completeAllOnStop;
     private long completionTimeoutCheckerInterval = 1000;
+    private boolean completionTimeoutTimingWheel;
 
     private ProducerTemplate deadLetterProducerTemplate;
     private boolean isRecoverableRepository;
@@ -401,13 +490,16 @@ public class AggregateProcessor extends AsyncProcessorSupport
         removeFlagCompleteAllGroupsInclusive(copy);
 
         List<Exchange> aggregated = null;
-        lock.lock();
+        // when using lock stripes then completion of all groups must be done outside the lock
+        AtomicBoolean completeAllGroups = stripedLocks != null ? new AtomicBoolean() : null;
+        Lock keyLock = getLock(key);
+        acquireLock(keyLock);
         try {
-            aggregated = doAggregation(key, copy);
+            aggregated = doAggregation(key, copy, completeAllGroups);
         } catch (CamelExchangeException e) {
             exchange.setException(e);
         } finally {
-            lock.unlock();
+            keyLock.unlock();
         }
 
         // we are completed so do that work outside the lock
@@ -416,6 +508,10 @@ public class AggregateProcessor extends AsyncProcessorSupport
             aggregated.forEach(agg -> onSubmitCompletion(key, agg));
         }
 
+        if (completeAllGroups != null && completeAllGroups.get()) {
+            forceCompletionOfAllGroups();
+        }
+
         // check for the special header to force completion of all groups (inclusive of the message)
         if (isCompleteAllGroupsInclusive(exchange)) {
             removeFlagCompleteAllGroupsInclusive(exchange);
@@ -426,6 +522,31 @@ public class AggregateProcessor extends AsyncProcessorSupport
         return sync;
     }
 
+    /**
+     * Gets the lock to use for aggregating the given correlation key, which is the shared aggregation lock, or one of
+     * the lock stripes if lock striping is enabled.
+     */
+    private Lock getLock(String key) {
+        Lock[] locks = stripedLocks;
+        if (locks != null) {
+            // spread the hash bits as correlation keys often only differ in the last characters
+            int hash = key.hashCode();
+            hash ^= hash >>> 16;
+            return locks[Math.floorMod(hash, locks.length)];
+        }
+        return lock;
+    }
+
+    private void acquireLock(Lock lock) {
+        if (getStatistics().isStatisticsEnabled()) {
+            long start = System.nanoTime();
+            lock.lock();
+            lockWaitTime.addAndGet(System.nanoTime() - start);
+        } else {
+            lock.lock();
+        }
+    }
+
     private Object removeFlagCompleteCurrentGroup(Exchange exchange) {
         return exchange.removeProperty(ExchangePropertyKey.AGGREGATION_COMPLETE_CURRENT_GROUP);
     }
@@ -469,11 +590,14 @@ public class AggregateProcessor extends AsyncProcessorSupport
      *
      * @param  key                                     the correlation key
      * @param  newExchange                             the exchange
+     * @param  completeAllGroups                       if not <tt>null</tt> then completion of all groups is not
+     *                                                 triggered, but flagged to be done by the caller outside the lock
      * @return                                         the aggregated exchange(s) which is complete, or <tt>null</tt> if
      *                                                 not yet complete
      * @throws org.apache.camel.CamelExchangeException is thrown if error aggregating
      */
-    private List<Exchange> doAggregation(String key, Exchange newExchange) throws CamelExchangeException {
+    private List<Exchange> doAggregation(String key, Exchange newExchange, AtomicBoolean completeAllGroups)
+            throws CamelExchangeException {
         LOG.trace("onAggregation +++ start +++ with correlation key: {}", key);
 
         List<Exchange> list = new ArrayList<>();
@@ -573,7 +697,11 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // check for the special exchange property to force completion of all groups
         if (isCompleteAllGroups(answer)) {
             removeFlagCompleteAllGroups(answer);
-            forceCompletionOfAllGroups();
+            if (completeAllGroups != null) {
+                completeAllGroups.set(true);
+            } else {
+                forceCompletionOfAllGroups();
+            }
         } else if (isCompletionOnNewCorrelationGroup() && originalExchange == null) {
             // its a new group so force complete of all existing groups
             forceCompletionOfAllGroups();
@@ -1073,6 +1201,18 @@ public class AggregateProcessor extends AsyncProcessorSupport
         this.completionTimeoutCheckerInterval = completionTimeoutCheckerInterval;
     }
 
+    public boolean isCompletionTimeoutTimingWheel() {
+        return completionTimeoutTimingWheel;
+    }
+
+    /**
+     * Whether to use a {@link TimingWheelTimeoutMap} for keeping track of completion timeouts, which scales better than
+     * the default {@link DefaultTimeoutMap} when there are many correlation groups in progress.
+     */
+    public void setCompletionTimeoutTimingWheel(boolean completionTimeoutTimingWheel) {
+        this.completionTimeoutTimingWheel = completionTimeoutTimingWheel;
+    }
+
     public ExceptionHandler getExceptionHandler() {
         return exceptionHandler;
     }
@@ -1097,6 +1237,19 @@ public class AggregateProcessor extends AsyncProcessorSupport
         this.optimisticLocking = optimisticLocking;
     }
 
+    public int getLockStripes() {
+        return lockStripes;
+    }
+
+    /**
+     * Number of locks to stripe the aggregation lock into, which allows exchanges with different correlation keys to be
+     * aggregated in parallel. Exchanges with the same correlation key are still aggregated one at a time. A value of 1
+     * or less uses a single shared lock (default).
+     */
+    public void setLockStripes(int lockStripes) {
+        this.lockStripes = lockStripes;
+    }
+
     public AggregationRepository getAggregationRepository() {
         return aggregationRepository;
     }
@@ -1256,8 +1409,9 @@ public class AggregateProcessor extends AsyncProcessorSupport
 
         private AggregationTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
             // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
-            super(executor, requestMapPollTimeMillis, optimisticLocking);
-            addListener(this::onEviction);
+            // (unless lock striping is in use, as then exchanges for different correlation keys are tracked in parallel)
+            super(executor, requestMapPollTimeMillis, optimisticLocking || lockStripes > 1);
+            addListener(AggregateProcessor.this::onTimeoutEviction);
         }
 
         @Override
@@ -1273,43 +1427,71 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 }
             }
         }
+    }
 
-        private void onEviction(Listener.Type type, String key, String exchangeId) {
-            if (type != Listener.Type.Evict) {
-                return;
-            }
-            log.debug("Completion timeout triggered for correlation key: {}", key);
+    /**
+     * Background task that looks for aggregated exchanges which is triggered by completion timeouts, using a timing
+     * wheel to keep track of the timeouts.
+     */
+    private final class AggregationTimingWheelTimeoutMap extends TimingWheelTimeoutMap<String, String> {
 
-            boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
-            if (inProgress) {
-                log.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
-                return;
-            }
+        private AggregationTimingWheelTimeoutMap(ScheduledExecutorService executor, long requestMapPollTimeMillis) {
+            // do NOT use locking on the timeout map as this aggregator has its own shared lock we will use instead
+            // (unless lock striping is in use, as then exchanges for different correlation keys are tracked in parallel)
+            super(executor, requestMapPollTimeMillis, optimisticLocking || lockStripes > 1);
+            addListener(AggregateProcessor.this::onTimeoutEviction);
+        }
 
-            // get the aggregated exchange
-            boolean evictionStolen = false;
-            Exchange answer = aggregationRepository.get(camelContext, key);
-            if (answer == null) {
-                evictionStolen = true;
-            } else {
-                // indicate it was completed by timeout
-                answer.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
+        @Override
+        protected void purge() {
+            // wait for lock to be created
+            if (lock != null) {
+                // must acquire the shared aggregation lock to be able to purge
+                lock.lock();
                 try {
-                    answer = onCompletion(key, answer, answer, true, false);
-                    if (answer != null) {
-                        onSubmitCompletion(key, answer);
-                    }
-                } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
-                    evictionStolen = true;
+                    super.purge();
+                } finally {
+                    lock.unlock();
                 }
             }
+        }
+    }
+
+    private void onTimeoutEviction(TimeoutMap.Listener.Type type, String key, String exchangeId) {
+        if (type != TimeoutMap.Listener.Type.Evict) {
+            return;
+        }
+        LOG.debug("Completion timeout triggered for correlation key: {}", key);
+
+        boolean inProgress = inProgressCompleteExchanges.contains(exchangeId);
+        if (inProgress) {
+            LOG.trace("Aggregated exchange with id: {} is already in progress.", exchangeId);
+            return;
+        }
 
-            if (optimisticLocking && evictionStolen) {
-                log.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
-                          + "for exchange with id: {} and correlation id: {}",
-                        exchangeId, key);
+        // get the aggregated exchange
+        boolean evictionStolen = false;
+        Exchange answer = aggregationRepository.get(camelContext, key);
+        if (answer == null) {
+            evictionStolen = true;
+        } else {
+            // indicate it was completed by timeout
+            answer.setProperty(ExchangePropertyKey.AGGREGATED_COMPLETED_BY, COMPLETED_BY_TIMEOUT);
+            try {
+                answer = onCompletion(key, answer, answer, true, false);
+                if (answer != null) {
+                    onSubmitCompletion(key, answer);
+                }
+            } catch (OptimisticLockingAggregationRepository.OptimisticLockingException e) {
+                evictionStolen = true;
             }
         }
+
+        if (optimisticLocking && evictionStolen) {
+            LOG.debug("Another Camel instance has already successfully correlated or processed this timeout eviction "
+                      + "for exchange with id: {} and correlation id: {}",
+                    exchangeId, key);
+        }
     }
 
     /**
@@ -1544,6 +1726,19 @@ public class AggregateProcessor extends AsyncProcessorSupport
             LOG.info("Optimistic locking is enabled");
         }
 
+        if (lockStripes > 1) {
+            if (optimisticLocking) {
+                throw new IllegalArgumentException("Lock stripes cannot be used together with optimistic locking");
+            }
+            if (isCompletionFromBatchConsumer()) {
+                throw new IllegalArgumentException("Lock stripes cannot be used together with completionFromBatchConsumer");
+            }
+            if (isCompletionOnNewCorrelationGroup()) {
+                throw new IllegalArgumentException(
+                        "Lock stripes cannot be used together with completionOnNewCorrelationGroup");
+            }
+        }
+
         ServiceHelper.startService(aggregationStrategy, processor, aggregationRepository);
 
         // should we use recover checker
@@ -1608,7 +1803,13 @@ public class AggregateProcessor extends AsyncProcessorSupport
                 shutdownTimeoutCheckerExecutorService = true;
             }
             // check for timed out aggregated messages once every second
-            timeoutMap = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            if (isCompletionTimeoutTimingWheel()) {
+                timeoutMap = new AggregationTimingWheelTimeoutMap(
+                        getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            } else {
+                timeoutMap
+                        = new AggregationTimeoutMap(getTimeoutCheckerExecutorService(), getCompletionTimeoutCheckerInterval());
+            }
             // fill in existing timeout values from the aggregation repository, for example if a restart occurred, then we
             // need to re-establish the timeout map so timeout can trigger
             restoreTimeoutMapFromAggregationRepository();
@@ -1627,6 +1828,15 @@ public class AggregateProcessor extends AsyncProcessorSupport
                         .newSingleThreadScheduledExecutor(this, AGGREGATE_OPTIMISTIC_LOCKING_EXECUTOR));
                 shutdownOptimisticLockingExecutorService = true;
             }
+        } else if (lockStripes > 1) {
+            LOG.info("Using {} lock stripes", lockStripes);
+            Lock[] locks = new Lock[lockStripes];
+            for (int i = 0; i < locks.length; i++) {
+                locks[i] = new ReentrantLock();
+            }
+            // operations spanning all groups must acquire all the stripes
+            lock = new StripedLock(locks);
+            stripedLocks = locks;
         } else {
             lock = new ReentrantLock();
         }
@@ -1739,6 +1949,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
+        Lock lock = getLock(key);
         lock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
@@ -1812,6 +2023,7 @@ public class AggregateProcessor extends AsyncProcessorSupport
         // must acquire the shared aggregation lock to be able to trigger force completion
         int total = 0;
 
+        Lock lock = getLock(key);
         lock.lock();
         try {
             Exchange exchange = aggregationRepository.get(camelContext, key);
@@ -71,6 +71,11 @@ public interface AggregateProcessorStatistics {
      */
     long getDiscarded();
 
+    /**
+     * Total time in millis exchanges have been waiting to acquire the aggregation lock
+     */
+    long getLockWaitTime();
+
     /**
      * Reset the counters
      */
@@ -45,7 +45,7 @@ import org.apache.camel.util.concurrent.ThreadHelper;
  * first arriving element needs <code>timeout</code> milliseconds in any case for becoming <i>ready-for-delivery</i>.
  * <p>
  */
-public class ResequencerEngine<E> {
+public class ResequencerEngine<E> implements StreamResequencerEngine<E> {
 
     /**
      * The element that most recently hash been delivered or <code>null</code> if no element has been delivered yet.
@@ -89,6 +89,7 @@ public class ResequencerEngine<E> {
         this.lastDelivered = null;
     }
 
+    @Override
     public void start() {
         timer = new Timer(
                 ThreadHelper.resolveThreadName("Camel Thread ${counter} - ${name}", "Stream Resequencer Timer"), true);
@@ -97,6 +98,7 @@ public class ResequencerEngine<E> {
     /**
      * Stops this resequencer (i.e. this resequencer's {@link Timer} instance).
      */
+    @Override
     public void stop() {
         timer.cancel();
     }
@@ -106,6 +108,7 @@ public class ResequencerEngine<E> {
      *
      * @return the number of elements currently maintained by this resequencer.
      */
+    @Override
     public synchronized int size() {
         return sequence.size();
     }
@@ -115,6 +118,7 @@ public class ResequencerEngine<E> {
      *
      * @return the timeout in milliseconds.
      */
+    @Override
     public long getTimeout() {
         return timeout;
     }
@@ -124,14 +128,17 @@ public class ResequencerEngine<E> {
      *
      * @param timeout the timeout in milliseconds.
      */
+    @Override
     public void setTimeout(long timeout) {
         this.timeout = timeout;
     }
 
+    @Override
     public Boolean getRejectOld() {
         return rejectOld;
     }
 
+    @Override
     public void setRejectOld(Boolean rejectOld) {
         this.rejectOld = rejectOld;
     }
@@ -141,6 +148,7 @@ public class ResequencerEngine<E> {
      *
      * @return the sequence sender.
      */
+    @Override
     public SequenceSender<E> getSequenceSender() {
         return sequenceSender;
     }
@@ -150,6 +158,7 @@ public class ResequencerEngine<E> {
      *
      * @param sequenceSender a sequence element sender.
      */
+    @Override
     public void setSequenceSender(SequenceSender<E> sequenceSender) {
         this.sequenceSender = sequenceSender;
     }
@@ -182,6 +191,7 @@ public class ResequencerEngine<E> {
      * @param  o                        an element.
      * @throws IllegalArgumentException if the element cannot be used with this resequencer engine
      */
+    @Override
     public synchronized void insert(E o) {
         // wrap object into internal element
         Element<E> element = new Element<>(o);
@@ -227,6 +237,7 @@ public class ResequencerEngine<E> {
      *
      * @see              ResequencerEngine#deliverNext()
      */
+    @Override
     public synchronized void deliver() throws Exception {
         while (deliverNext()) {
             // do nothing here
@@ -243,6 +254,7 @@ public class ResequencerEngine<E> {
      * @throws Exception thrown by {@link SequenceSender#sendElement(Object)}.
      *
      */
+    @Override
     public boolean deliverNext() throws Exception {
         if (sequence.isEmpty()) {
             return false;
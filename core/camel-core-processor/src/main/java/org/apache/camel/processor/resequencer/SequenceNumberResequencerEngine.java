@@ -0,0 +1,341 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.ToLongFunction;
+
+/**
+ * A {@link StreamResequencerEngine} for elements that are identified by a <code>long</code> sequence number, where the
+ * immediate successor of sequence number <tt>n</tt> is <tt>n + 1</tt>.
+ * <p>
+ * The pending elements are kept in a binary heap ordered by their sequence number, which is backed by a primitive
+ * <code>long</code> array for the sequence numbers, a primitive <code>long</code> array for the timeout deadlines and
+ * an array of the elements. This means there are no wrapper objects or timer tasks per element, and the memory used per
+ * pending element is constant. The arrays grow as needed, and are reused once elements have been delivered.
+ * <p>
+ * Instead of scheduling a timer task per element, the timeouts are checked when delivering elements. The element with
+ * the lowest sequence number is <i>ready-for-delivery</i> if it is the immediate successor of the last delivered
+ * element, or if its timeout has elapsed. Use {@link #getNextDeliveryDelay()} to know when the next element becomes
+ * ready for delivery. Duplicate sequence numbers of pending elements are discarded, as with {@link ResequencerEngine}.
+ * <p>
+ * This engine keeps statistics about the elements that arrive out of order, and the gaps in the delivered sequence
+ * (i.e. elements delivered after a timeout because their predecessors are missing).
+ */
+public class SequenceNumberResequencerEngine<E> implements StreamResequencerEngine<E> {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final ToLongFunction<E> sequenceNumber;
+    private long timeout = 2000L;
+    private Boolean rejectOld;
+    private SequenceSender<E> sequenceSender;
+
+    // the binary heap of the pending elements
+    private long[] sequences;
+    private long[] deadlines;
+    private Object[] elements;
+    private int size;
+
+    private boolean delivered;
+    private long lastDelivered;
+    private boolean inserted;
+    private long highestInserted;
+
+    // statistics
+    private long outOfOrderCount;
+    private long duplicateCount;
+    private long gapCount;
+    private long missingCount;
+
+    /**
+     * Creates a new resequencer instance with a default timeout of 2000 milliseconds.
+     *
+     * @param sequenceNumber function that returns the sequence number of an element, which should throw an exception if
+     *                       the element has no sequence number.
+     */
+    public SequenceNumberResequencerEngine(ToLongFunction<E> sequenceNumber) {
+        this(sequenceNumber, INITIAL_CAPACITY);
+    }
+
+    /**
+     * Creates a new resequencer instance with a default timeout of 2000 milliseconds.
+     *
+     * @param sequenceNumber  function that returns the sequence number of an element, which should throw an exception
+     *                        if the element has no sequence number.
+     * @param initialCapacity the initial number of pending elements this resequencer can hold before growing
+     */
+    public SequenceNumberResequencerEngine(ToLongFunction<E> sequenceNumber, int initialCapacity) {
+        this.sequenceNumber = sequenceNumber;
+        int capacity = Math.max(INITIAL_CAPACITY, initialCapacity);
+        this.sequences = new long[capacity];
+        this.deadlines = new long[capacity];
+        this.elements = new Object[capacity];
+    }
+
+    @Override
+    public void start() {
+        // noop
+    }
+
+    @Override
+    public synchronized void stop() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    @Override
+    public synchronized int size() {
+        return size;
+    }
+
+    @Override
+    public long getTimeout() {
+        return timeout;
+    }
+
+    @Override
+    public void setTimeout(long timeout) {
+        this.timeout = timeout;
+    }
+
+    @Override
+    public Boolean getRejectOld() {
+        return rejectOld;
+    }
+
+    @Override
+    public void setRejectOld(Boolean rejectOld) {
+        this.rejectOld = rejectOld;
+    }
+
+    @Override
+    public SequenceSender<E> getSequenceSender() {
+        return sequenceSender;
+    }
+
+    @Override
+    public void setSequenceSender(SequenceSender<E> sequenceSender) {
+        this.sequenceSender = sequenceSender;
+    }
+
+    /**
+     * Number of elements that arrived with a lower sequence number than a previous element.
+     */
+    public synchronized long getOutOfOrderCount() {
+        return outOfOrderCount;
+    }
+
+    /**
+     * Number of elements that were discarded because an element with the same sequence number was pending.
+     */
+    public synchronized long getDuplicateCount() {
+        return duplicateCount;
+    }
+
+    /**
+     * Number of gaps in the delivered sequence, i.e. elements that were delivered after a timeout even though their
+     * predecessor was never delivered.
+     */
+    public synchronized long getGapCount() {
+        return gapCount;
+    }
+
+    /**
+     * Number of sequence numbers that were skipped over in the delivered sequence.
+     */
+    public synchronized long getMissingCount() {
+        return missingCount;
+    }
+
+    /**
+     * Resets the statistics.
+     */
+    public synchronized void resetStatistics() {
+        outOfOrderCount = 0;
+        duplicateCount = 0;
+        gapCount = 0;
+        missingCount = 0;
+    }
+
+    /**
+     * Returns the sequence number of the last delivered element, or <code>null</code> if no delivery has been made yet.
+     */
+    public synchronized Long getLastDelivered() {
+        return delivered ? lastDelivered : null;
+    }
+
+    /**
+     * Sets the sequence number of the last delivered element. This is for testing purposes only.
+     */
+    synchronized void setLastDelivered(long sequence) {
+        delivered = true;
+        lastDelivered = sequence;
+    }
+
+    /**
+     * Returns the delay in milliseconds until the element with the lowest sequence number becomes ready for delivery.
+     *
+     * @return the delay, <tt>0</tt> if the element is ready for delivery now, or <tt>-1</tt> if there are no elements
+     */
+    public synchronized long getNextDeliveryDelay() {
+        if (size == 0) {
+            return -1;
+        }
+        if (isSuccessorOfLastDelivered(sequences[0])) {
+            return 0;
+        }
+        long delay = deadlines[0] - System.nanoTime();
+        return delay > 0 ? TimeUnit.NANOSECONDS.toMillis(delay) + 1 : 0;
+    }
+
+    /**
+     * Inserts the given element into this resequencer. If the element is not the immediate successor of the last
+     * delivered element, then it is ready for delivery after the timeout has elapsed (or when its predecessors have
+     * been delivered).
+     *
+     * @param  o                        an element.
+     * @throws IllegalArgumentException if the element has no sequence number
+     */
+    @Override
+    public synchronized void insert(E o) {
+        long sequence;
+        try {
+            sequence = sequenceNumber.applyAsLong(o);
+        } catch (Exception e) {
+            throw new IllegalArgumentException("Element has no sequence number: " + o, e);
+        }
+
+        if (rejectOld != null && rejectOld && delivered && sequence < lastDelivered) {
+            throw new MessageRejectedException(
+                    "rejecting message [" + o + "], it should have been sent before the last delivered message with sequence ["
+                                               + lastDelivered + "]");
+        }
+
+        if (inserted && sequence < highestInserted) {
+            outOfOrderCount++;
+        } else {
+            inserted = true;
+            highestInserted = sequence;
+        }
+
+        if (size == sequences.length) {
+            grow();
+        }
+        siftUp(size++, sequence, System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeout), o);
+    }
+
+    @Override
+    public synchronized void deliver() throws Exception {
+        while (deliverNext()) {
+            // do nothing here
+        }
+    }
+
+    @Override
+    public synchronized boolean deliverNext() throws Exception {
+        if (size == 0) {
+            return false;
+        }
+        long sequence = sequences[0];
+        boolean successor = isSuccessorOfLastDelivered(sequence);
+        if (!successor && deadlines[0] - System.nanoTime() > 0) {
+            return false;
+        }
+
+        E element = removeFirst();
+        // pending elements with the same sequence number are duplicates
+        while (size > 0 && sequences[0] == sequence) {
+            removeFirst();
+            duplicateCount++;
+        }
+        if (!successor && delivered && sequence > lastDelivered) {
+            gapCount++;
+            missingCount += sequence - lastDelivered - 1;
+        }
+        delivered = true;
+        lastDelivered = sequence;
+
+        sequenceSender.sendElement(element);
+        return true;
+    }
+
+    private boolean isSuccessorOfLastDelivered(long sequence) {
+        return delivered && sequence == lastDelivered + 1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private E removeFirst() {
+        E first = (E) elements[0];
+        int last = --size;
+        long sequence = sequences[last];
+        long deadline = deadlines[last];
+        Object element = elements[last];
+        elements[last] = null;
+        if (last > 0) {
+            siftDown(sequence, deadline, element);
+        } else {
+            elements[0] = null;
+        }
+        return first;
+    }
+
+    private void siftUp(int index, long sequence, long deadline, Object element) {
+        while (index > 0) {
+            int parent = (index - 1) >>> 1;
+            if (sequence >= sequences[parent]) {
+                break;
+            }
+            set(index, sequences[parent], deadlines[parent], elements[parent]);
+            index = parent;
+        }
+        set(index, sequence, deadline, element);
+    }
+
+    private void siftDown(long sequence, long deadline, Object element) {
+        int index = 0;
+        int half = size >>> 1;
+        while (index < half) {
+            int child = (index << 1) + 1;
+            int right = child + 1;
+            if (right < size && sequences[right] < sequences[child]) {
+                child = right;
+            }
+            if (sequence <= sequences[child]) {
+                break;
+            }
+            set(index, sequences[child], deadlines[child], elements[child]);
+            index = child;
+        }
+        set(index, sequence, deadline, element);
+    }
+
+    private void set(int index, long sequence, long deadline, Object element) {
+        sequences[index] = sequence;
+        deadlines[index] = deadline;
+        elements[index] = element;
+    }
+
+    private void grow() {
+        int capacity = sequences.length << 1;
+        sequences = Arrays.copyOf(sequences, capacity);
+        deadlines = Arrays.copyOf(deadlines, capacity);
+        elements = Arrays.copyOf(elements, capacity);
+    }
+
+}
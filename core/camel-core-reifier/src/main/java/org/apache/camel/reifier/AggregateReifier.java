@@ -129,6 +129,10 @@ public class AggregateReifier extends ProcessorReifier<AggregateDefinition> {
         if (optimisticLocking != null) {
             answer.setOptimisticLocking(optimisticLocking);
         }
+        Integer lockStripes = parseInt(definition.getLockStripes());
+        if (lockStripes != null) {
+            answer.setLockStripes(lockStripes);
+        }
         if (definition.getCompletionPredicate() != null) {
             Predicate predicate = createPredicate(definition.getCompletionPredicate());
             answer.setCompletionPredicate(predicate);
@@ -207,6 +211,10 @@ public class AggregateReifier extends ProcessorReifier<AggregateDefinition> {
         if (completionTimeoutCheckerInterval != null) {
             answer.setCompletionTimeoutCheckerInterval(completionTimeoutCheckerInterval);
         }
+        Boolean completionTimeoutTimingWheel = parseBoolean(definition.getCompletionTimeoutTimingWheel());
+        if (completionTimeoutTimingWheel != null) {
+            answer.setCompletionTimeoutTimingWheel(completionTimeoutTimingWheel);
+        }
         return answer;
     }
 
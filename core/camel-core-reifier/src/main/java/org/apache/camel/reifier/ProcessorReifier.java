@@ -837,6 +837,18 @@ public abstract class ProcessorReifier<T extends ProcessorDefinition<?>> extends
      * Creates the processor and wraps it in any necessary interceptors and error handlers
      */
     protected Channel makeProcessor() throws Exception {
+        Processor processor = makeUnwrappedProcessor();
+        if (processor == null) {
+            // no processor to make
+            return null;
+        }
+        return wrapProcessor(processor);
+    }
+
+    /**
+     * Creates the processor with its id and route id injected, but without wrapping it in a {@link Channel}.
+     */
+    protected Processor makeUnwrappedProcessor() throws Exception {
         Processor processor = null;
 
         // allow any custom logic before we create the processor
@@ -861,12 +873,7 @@ public abstract class ProcessorReifier<T extends ProcessorDefinition<?>> extends
         if (processor instanceof RouteIdAware) {
             ((RouteIdAware) processor).setRouteId(route.getRouteId());
         }
-
-        if (processor == null) {
-            // no processor to make
-            return null;
-        }
-        return wrapProcessor(processor);
+        return processor;
     }
 
     /**
@@ -34,12 +34,32 @@ import org.apache.camel.ServiceStatus;
 import org.apache.camel.ShutdownRoute;
 import org.apache.camel.ShutdownRunningTask;
 import org.apache.camel.StartupStep;
+import org.apache.camel.model.ConvertBodyDefinition;
+import org.apache.camel.model.LogDefinition;
 import org.apache.camel.model.ModelCamelContext;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.PropertyDefinition;
+import org.apache.camel.model.RemoveHeaderDefinition;
+import org.apache.camel.model.RemoveHeadersDefinition;
+import org.apache.camel.model.RemovePropertiesDefinition;
+import org.apache.camel.model.RemovePropertyDefinition;
 import org.apache.camel.model.RouteDefinition;
+import org.apache.camel.model.SetBodyDefinition;
+import org.apache.camel.model.SetHeaderDefinition;
+import org.apache.camel.model.SetPropertyDefinition;
+import org.apache.camel.model.TransformDefinition;
 import org.apache.camel.processor.ContractAdvice;
+import org.apache.camel.processor.FusedProcessor;
+import org.apache.camel.processor.LogProcessor;
+import org.apache.camel.processor.RemoveHeaderProcessor;
+import org.apache.camel.processor.RemoveHeadersProcessor;
+import org.apache.camel.processor.RemovePropertiesProcessor;
+import org.apache.camel.processor.RemovePropertyProcessor;
 import org.apache.camel.processor.RoutePipeline;
+import org.apache.camel.processor.SetBodyProcessor;
+import org.apache.camel.processor.SetHeaderProcessor;
+import org.apache.camel.processor.SetPropertyProcessor;
+import org.apache.camel.processor.TransformProcessor;
 import org.apache.camel.reifier.rest.RestBindingReifier;
 import org.apache.camel.spi.Contract;
 import org.apache.camel.spi.ErrorHandlerAware;
@@ -50,6 +70,7 @@ import org.apache.camel.spi.NodeIdFactory;
 import org.apache.camel.spi.RoutePolicy;
 import org.apache.camel.spi.RoutePolicyFactory;
 import org.apache.camel.support.PluginHelper;
+import org.apache.camel.support.processor.ConvertBodyProcessor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -141,6 +162,17 @@ public class RouteReifier extends ProcessorReifier<RouteDefinition> {
             }
         }
 
+        // configure browsing of inflight exchanges
+        if (definition.getInflightBrowse() != null) {
+            Boolean isInflightBrowse = parseBoolean(definition.getInflightBrowse());
+            if (isInflightBrowse != null) {
+                camelContext.getInflightRepository().setInflightBrowseEnabled(route.getRouteId(), isInflightBrowse);
+                if (!isInflightBrowse) {
+                    LOG.debug("Browsing inflight exchanges is disabled on route: {}", definition.getId());
+                }
+            }
+        }
+
         // configure stream caching
         if (definition.getStreamCache() != null) {
             Boolean isStreamCache = parseBoolean(definition.getStreamCache());
@@ -198,6 +230,21 @@ public class RouteReifier extends ProcessorReifier<RouteDefinition> {
             throw new FailedToCreateRouteException(definition.getId(), definition.toString(), at, cause);
         }
 
+        // configure fusing of processors
+        boolean fuse = parseBoolean(definition.getFuseProcessors(), false);
+        if (fuse) {
+            fuse = isFuseProcessorsPossible(route);
+            if (fuse) {
+                LOG.debug("Fusing processors is enabled on route: {}", definition.getId());
+            } else {
+                LOG.debug("Fusing processors is not possible on route: {} as tracing, debugging, message history,"
+                          + " delayer or interceptors are in use",
+                        definition.getId());
+            }
+        }
+
+        List<ProcessorReifier<?>> fusedReifiers = new ArrayList<>();
+        List<Processor> fusedProcessors = new ArrayList<>();
         List<ProcessorDefinition<?>> list = new ArrayList<>(definition.getOutputs());
         for (ProcessorDefinition<?> output : list) {
             try {
@@ -210,13 +257,32 @@ public class RouteReifier extends ProcessorReifier<RouteDefinition> {
                 StartupStep step = camelContext.getCamelContextExtension().getStartupStepRecorder()
                         .beginStep(ProcessorReifier.class, outputId, "Create " + eip + " Processor");
 
-                reifier.addRoutes();
+                if (fuse && isFusible(reifier, output)) {
+                    Processor processor = reifier.makeUnwrappedProcessor();
+                    if (isFusible(processor)) {
+                        fusedReifiers.add(reifier);
+                        fusedProcessors.add(processor);
+                    } else {
+                        addFusedProcessors(route, fusedReifiers, fusedProcessors);
+                        if (processor != null) {
+                            route.getEventDrivenProcessors().add(reifier.wrapProcessor(processor));
+                        }
+                    }
+                } else {
+                    addFusedProcessors(route, fusedReifiers, fusedProcessors);
+                    reifier.addRoutes();
+                }
 
                 camelContext.getCamelContextExtension().getStartupStepRecorder().endStep(step);
             } catch (Exception e) {
                 throw new FailedToCreateRouteException(definition.getId(), definition.toString(), output.toString(), e);
             }
         }
+        try {
+            addFusedProcessors(route, fusedReifiers, fusedProcessors);
+        } catch (Exception e) {
+            throw new FailedToCreateRouteException(definition.getId(), definition.toString(), e);
+        }
 
         // now lets turn all the event driven consumer processors into a single route
         List<Processor> eventDrivenProcessors = route.getEventDrivenProcessors();
@@ -363,6 +429,81 @@ public class RouteReifier extends ProcessorReifier<RouteDefinition> {
         }
     }
 
+    /**
+     * Whether the route is configured in a way that allows fusing processors, as fused processors are not individually
+     * wrapped in a channel, and therefore cannot be traced, debugged or intercepted.
+     */
+    private boolean isFuseProcessorsPossible(Route route) {
+        if (route.isTracing() || camelContext.isTracingStandby()) {
+            return false;
+        }
+        if (route.isBacklogTracing() || camelContext.isBacklogTracingStandby()) {
+            return false;
+        }
+        if (route.isDebugging() || route.isMessageHistory()) {
+            return false;
+        }
+        if (route.getDelayer() != null && route.getDelayer() > 0) {
+            return false;
+        }
+        return camelContext.getCamelContextExtension().getInterceptStrategies().isEmpty()
+                && route.getInterceptStrategies().isEmpty();
+    }
+
+    private static boolean isFusible(ProcessorReifier<?> reifier, ProcessorDefinition<?> output) {
+        if (reifier instanceof DisabledReifier) {
+            return false;
+        }
+        if (!output.getInterceptStrategies().isEmpty()) {
+            return false;
+        }
+        Boolean inherit = output.isInheritErrorHandler();
+        if (inherit != null && !inherit) {
+            return false;
+        }
+        return output instanceof SetHeaderDefinition || output instanceof SetBodyDefinition
+                || output instanceof SetPropertyDefinition || output instanceof RemoveHeaderDefinition
+                || output instanceof RemoveHeadersDefinition || output instanceof RemovePropertyDefinition
+                || output instanceof RemovePropertiesDefinition || output instanceof TransformDefinition
+                || output instanceof ConvertBodyDefinition || output instanceof LogDefinition;
+    }
+
+    private static boolean isFusible(Processor processor) {
+        return processor instanceof SetHeaderProcessor || processor instanceof SetBodyProcessor
+                || processor instanceof SetPropertyProcessor || processor instanceof RemoveHeaderProcessor
+                || processor instanceof RemoveHeadersProcessor || processor instanceof RemovePropertyProcessor
+                || processor instanceof RemovePropertiesProcessor || processor instanceof TransformProcessor
+                || processor instanceof ConvertBodyProcessor || processor instanceof LogProcessor;
+    }
+
+    /**
+     * Adds the pending processors as a single {@link FusedProcessor} to the route. Each processor is wrapped in the
+     * error handler individually, so redelivery happens at the failing processor, while the fused processor is wrapped
+     * in a channel without error handler.
+     */
+    private void addFusedProcessors(Route route, List<ProcessorReifier<?>> reifiers, List<Processor> processors)
+            throws Exception {
+        if (processors.size() == 1) {
+            // nothing to fuse
+            route.getEventDrivenProcessors().add(reifiers.get(0).wrapProcessor(processors.get(0)));
+        } else if (processors.size() > 1) {
+            List<Processor> outputs = new ArrayList<>(processors.size());
+            List<String> ids = new ArrayList<>(processors.size());
+            for (int i = 0; i < processors.size(); i++) {
+                ProcessorReifier<?> reifier = reifiers.get(i);
+                outputs.add(reifier.wrapInErrorHandler(processors.get(i)));
+                ids.add(reifier.definition.getId());
+            }
+            FusedProcessor fused = new FusedProcessor(camelContext, outputs, ids);
+            fused.setId(ids.get(0));
+            fused.setRouteId(route.getRouteId());
+            LOG.debug("Fused processors: {} on route: {}", ids, route.getRouteId());
+            route.getEventDrivenProcessors().add(reifiers.get(0).wrapChannel(fused, null, false));
+        }
+        reifiers.clear();
+        processors.clear();
+    }
+
     protected Map<String, Object> computeRouteProperties() {
         Map<String, Object> routeProperties = new HashMap<>();
         routeProperties.put(Route.ID_PROPERTY, definition.getId());
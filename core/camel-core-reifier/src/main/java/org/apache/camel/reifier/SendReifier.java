@@ -23,6 +23,7 @@ import org.apache.camel.Processor;
 import org.apache.camel.Route;
 import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.model.SendDefinition;
+import org.apache.camel.model.ToDefinition;
 import org.apache.camel.processor.SendProcessor;
 import org.apache.camel.support.CamelContextHelper;
 
@@ -35,7 +36,13 @@ public class SendReifier extends ProcessorReifier<SendDefinition<?>> {
     @Override
     public Processor createProcessor() throws Exception {
         Endpoint endpoint = resolveEndpoint();
-        return new SendProcessor(endpoint, parse(ExchangePattern.class, definition.getPattern()));
+        SendProcessor answer = new SendProcessor(endpoint, parse(ExchangePattern.class, definition.getPattern()));
+        if (definition instanceof ToDefinition) {
+            ToDefinition to = (ToDefinition) definition;
+            answer.setBatchSize(parseInt(to.getBatchSize(), 0));
+            answer.setBatchTimeout(parseDuration(to.getBatchTimeout(), 1000));
+        }
+        return answer;
     }
 
     public Endpoint resolveEndpoint() {
@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.Registry;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Unit test for consuming files with the streamingListing option
+ */
+public class FileConsumerStreamingListingTest extends ContextTestSupport {
+
+    private final List<String> names = new ArrayList<>();
+    private final AtomicInteger listed = new AtomicInteger();
+
+    @Override
+    protected Registry createRegistry() throws Exception {
+        Registry jndi = super.createRegistry();
+        jndi.bind("countingFilter", (GenericFileFilter<Object>) (file) -> {
+            if (!file.isDirectory()) {
+                listed.incrementAndGet();
+            }
+            return true;
+        });
+        return jndi;
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testContinueFromCursor() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            template.sendBodyAndHeader(fileUri(), "Hello " + i, Exchange.FILE_NAME, "hello" + i + ".txt");
+        }
+
+        // without idempotency the same files would be picked up again if the listing did not continue from the cursor
+        FileConsumer consumer
+                = createConsumer("?noop=true&idempotent=false&streamingListing=true&maxMessagesPerPoll=2");
+        assertEquals(2, consumer.poll());
+        assertEquals(2, consumer.poll());
+        assertEquals(1, consumer.poll());
+        assertEquals(5, new HashSet<>(names).size());
+
+        // the directory has been completely listed so start over
+        assertEquals(2, consumer.poll());
+    }
+
+    @Test
+    public void testRecursive() throws Exception {
+        template.sendBodyAndHeader(fileUri(), "Hello", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(fileUri(), "Bye", Exchange.FILE_NAME, "a/bye.txt");
+        template.sendBodyAndHeader(fileUri(), "Hi", Exchange.FILE_NAME, "a/b/hi.txt");
+        template.sendBodyAndHeader(fileUri(), "Howdy", Exchange.FILE_NAME, "c/howdy.txt");
+
+        FileConsumer consumer
+                = createConsumer("?noop=true&idempotent=false&recursive=true&streamingListing=true&maxMessagesPerPoll=1");
+        for (int i = 0; i < 4; i++) {
+            assertEquals(1, consumer.poll());
+        }
+
+        Set<String> expected = Set.of("hello.txt", "a/bye.txt", "a/b/hi.txt", "c/howdy.txt");
+        assertEquals(expected, new HashSet<>(names));
+    }
+
+    @Test
+    public void testDoneFile() throws Exception {
+        template.sendBodyAndHeader(fileUri(), "Hello", Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(fileUri(), "Bye", Exchange.FILE_NAME, "bye.txt");
+        template.sendBodyAndHeader(fileUri(), "", Exchange.FILE_NAME, "bye.done");
+
+        FileConsumer consumer = createConsumer("?noop=true&doneFileName=${file:name.noext}.done&streamingListing=true");
+        assertEquals(1, consumer.poll());
+        assertEquals(List.of("bye.txt"), names);
+    }
+
+    @Test
+    public void testWatchUnchangedDirectory() throws Exception {
+        template.sendBodyAndHeader(fileUri(), "Hello", Exchange.FILE_NAME, "hello.txt");
+
+        FileConsumer consumer = createConsumer(
+                "?noop=true&include=.*\\.csv&filter=#countingFilter&streamingListing=true&streamingListingWatch=true");
+        assertEquals(0, consumer.poll());
+        assertEquals(1, listed.get());
+
+        // nothing has changed so the directory is not listed again
+        assertEquals(0, consumer.poll());
+        assertEquals(1, listed.get());
+
+        template.sendBodyAndHeader(fileUri(), "Bye", Exchange.FILE_NAME, "bye.csv");
+        await().atMost(5, TimeUnit.SECONDS).until(consumer::poll, n -> n == 1);
+        assertEquals(List.of("bye.csv"), names);
+    }
+
+    @Test
+    public void testPreSortNotAllowed() {
+        FileEndpoint endpoint = context.getEndpoint(fileUri("?streamingListing=true&preSort=true"), FileEndpoint.class);
+        assertThrows(IllegalArgumentException.class, () -> endpoint.createConsumer(exchange -> {
+        }));
+    }
+
+    private FileConsumer createConsumer(String query) throws Exception {
+        Files.createDirectories(testDirectory());
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from(fileUri(query + "&startScheduler=false")).routeId("foo")
+                        .process(exchange -> names.add(exchange.getIn().getHeader(Exchange.FILE_NAME, String.class)
+                                .replace('\\', '/')));
+            }
+        });
+        return (FileConsumer) context.getRoute("foo").getConsumer();
+    }
+}
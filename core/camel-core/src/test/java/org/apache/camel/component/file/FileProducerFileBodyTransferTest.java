@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.file;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that a body of type {@link java.io.File} or {@link java.nio.file.Path} is transferred to the target file using
+ * file channels, instead of copying using IO streams.
+ */
+public class FileProducerFileBodyTransferTest extends ContextTestSupport {
+
+    private Path source;
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+        source = testFile("source/hello.txt");
+        Files.createDirectories(source.getParent());
+        Files.writeString(source, "Hello World");
+    }
+
+    @Test
+    public void testFileBody() throws Exception {
+        template.sendBodyAndHeader(fileUri("out"), source.toFile(), Exchange.FILE_NAME, "hello.txt");
+
+        assertFileExists(testFile("out/hello.txt"), "Hello World");
+        FileOperations operations = context.getEndpoint(fileUri("out"), FileEndpoint.class).getFileOperations();
+        assertEquals(11, operations.getTransferredBytes());
+        assertEquals(0, operations.getStreamedBytes());
+    }
+
+    @Test
+    public void testPathBody() throws Exception {
+        template.sendBodyAndHeader(fileUri("out"), source, Exchange.FILE_NAME, "hello.txt");
+
+        assertFileExists(testFile("out/hello.txt"), "Hello World");
+        FileOperations operations = context.getEndpoint(fileUri("out"), FileEndpoint.class).getFileOperations();
+        assertEquals(11, operations.getTransferredBytes());
+        assertEquals(0, operations.getStreamedBytes());
+    }
+
+    @Test
+    public void testFileBodyAppend() throws Exception {
+        String uri = fileUri("out?fileExist=Append&appendChars=@@@");
+        template.sendBodyAndHeader(uri, source.toFile(), Exchange.FILE_NAME, "hello.txt");
+        template.sendBodyAndHeader(uri, source.toFile(), Exchange.FILE_NAME, "hello.txt");
+
+        assertFileExists(testFile("out/hello.txt"), "Hello World@@@Hello World@@@");
+        assertEquals(22, context.getEndpoint(uri, FileEndpoint.class).getFileOperations().getTransferredBytes());
+    }
+
+    @Test
+    public void testFileBodySameFile() throws Exception {
+        template.sendBodyAndHeader(fileUri("source"), source.toFile(), Exchange.FILE_NAME, "hello.txt");
+
+        assertFileExists(source, "Hello World");
+    }
+
+    @Test
+    public void testStringBody() throws Exception {
+        template.sendBodyAndHeader(fileUri("out"), "Bye World", Exchange.FILE_NAME, "bye.txt");
+
+        assertFileExists(testFile("out/bye.txt"), "Bye World");
+        FileOperations operations = context.getEndpoint(fileUri("out"), FileEndpoint.class).getFileOperations();
+        assertEquals(0, operations.getTransferredBytes());
+        assertEquals(9, operations.getStreamedBytes());
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.component.seda.RingBufferBlockingQueue.WaitStrategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RingBufferBlockingQueueTest {
+
+    @Test
+    public void testOfferPoll() {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(3);
+        assertTrue(queue.isEmpty());
+        assertNull(queue.poll());
+        assertNull(queue.peek());
+
+        assertTrue(queue.offer("a"));
+        assertTrue(queue.offer("b"));
+        assertTrue(queue.offer("c"));
+        assertFalse(queue.offer("d"));
+        assertEquals(3, queue.size());
+        assertEquals(0, queue.remainingCapacity());
+        assertEquals(List.of("a", "b", "c"), new ArrayList<>(queue));
+
+        assertEquals("a", queue.peek());
+        assertEquals("a", queue.poll());
+        assertTrue(queue.offer("d"));
+        assertEquals("b", queue.poll());
+        assertEquals("c", queue.poll());
+        assertEquals("d", queue.poll());
+        assertNull(queue.poll());
+        assertEquals(0, queue.size());
+        assertEquals(3, queue.remainingCapacity());
+    }
+
+    @Test
+    public void testDrainTo() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(10);
+        for (int i = 0; i < 5; i++) {
+            queue.add(i);
+        }
+        List<Integer> list = new ArrayList<>();
+        assertEquals(3, queue.drainTo(list, 3));
+        assertEquals(List.of(0, 1, 2), list);
+        assertEquals(2, queue.drainTo(list));
+        assertEquals(List.of(0, 1, 2, 3, 4), list);
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testRemove() {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(3);
+        queue.add("a");
+        queue.add("b");
+        queue.add("c");
+
+        assertTrue(queue.remove("b"));
+        assertFalse(queue.remove("b"));
+        assertFalse(queue.remove("x"));
+        assertEquals(2, queue.size());
+        assertEquals(List.of("a", "c"), new ArrayList<>(queue));
+        // the slot of the removed element is released when the consumers reach it
+        assertEquals(0, queue.remainingCapacity());
+
+        assertTrue(queue.remove("a"));
+        assertEquals("c", queue.peek());
+        assertEquals("c", queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertEquals(3, queue.remainingCapacity());
+
+        queue.add("d");
+        queue.add("e");
+        Iterator<String> it = queue.iterator();
+        assertEquals("d", it.next());
+        it.remove();
+        assertEquals(List.of("e"), new ArrayList<>(queue));
+        assertEquals("e", queue.poll());
+        assertNull(queue.poll());
+    }
+
+    @Test
+    public void testClear() {
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(4);
+        queue.add(1);
+        queue.add(2);
+        queue.clear();
+        assertEquals(0, queue.size());
+        assertThrows(IllegalStateException.class, () -> {
+            for (int i = 0; i < 5; i++) {
+                queue.add(i);
+            }
+        });
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferBlockingQueue<>(0));
+        assertThrows(IllegalArgumentException.class, () -> new RingBufferBlockingQueue<>(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void testTimeouts() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(1);
+        assertNull(queue.poll(50, TimeUnit.MILLISECONDS));
+        assertTrue(queue.offer("a", 50, TimeUnit.MILLISECONDS));
+        assertFalse(queue.offer("b", 50, TimeUnit.MILLISECONDS));
+        assertEquals("a", queue.poll(50, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testTakeIsSignalled() throws Exception {
+        RingBufferBlockingQueue<String> queue = new RingBufferBlockingQueue<>(1);
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread consumer = new Thread(() -> {
+            try {
+                if ("a".equals(queue.take())) {
+                    latch.countDown();
+                }
+            } catch (InterruptedException e) {
+                // ignore
+            }
+        });
+        consumer.start();
+        // let the consumer park
+        Thread.sleep(100);
+        queue.put("a");
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+        consumer.join(5000);
+    }
+
+    @Test
+    public void testMultipleProducersAndConsumersBlocking() throws Exception {
+        doTestMultipleProducersAndConsumers(WaitStrategy.Blocking);
+    }
+
+    @Test
+    public void testMultipleProducersAndConsumersYielding() throws Exception {
+        doTestMultipleProducersAndConsumers(WaitStrategy.Yielding);
+    }
+
+    private void doTestMultipleProducersAndConsumers(WaitStrategy waitStrategy) throws Exception {
+        int producers = 4;
+        int consumers = 4;
+        int messages = 50000;
+        RingBufferBlockingQueue<Integer> queue = new RingBufferBlockingQueue<>(64, waitStrategy);
+        Set<Integer> received = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(producers * messages);
+
+        ExecutorService executor = Executors.newFixedThreadPool(producers + consumers);
+        try {
+            for (int c = 0; c < consumers; c++) {
+                executor.execute(() -> {
+                    try {
+                        while (!Thread.currentThread().isInterrupted()) {
+                            Integer i = queue.poll(100, TimeUnit.MILLISECONDS);
+                            if (i != null) {
+                                assertTrue(received.add(i), "Duplicate element " + i);
+                                done.countDown();
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        // done
+                    }
+                });
+            }
+            for (int p = 0; p < producers; p++) {
+                int base = p * messages;
+                executor.execute(() -> {
+                    try {
+                        for (int i = 0; i < messages; i++) {
+                            queue.put(base + i);
+                        }
+                    } catch (InterruptedException e) {
+                        // ignore
+                    }
+                });
+            }
+
+            assertTrue(done.await(30, TimeUnit.SECONDS), "Should receive all elements");
+            assertEquals(producers * messages, received.size());
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
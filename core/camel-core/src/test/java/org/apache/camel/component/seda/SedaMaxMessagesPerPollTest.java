@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.component.seda;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SedaMaxMessagesPerPollTest extends ContextTestSupport {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getRegistry().bind("ringBufferQueueFactory", new RingBufferBlockingQueueFactory<Exchange>());
+        return context;
+    }
+
+    @Test
+    public void testMaxMessagesPerPoll() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(1000);
+
+        for (int i = 0; i < 1000; i++) {
+            template.sendBody("seda:foo?queueFactory=#ringBufferQueueFactory&size=100&blockWhenFull=true", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+
+        SedaEndpoint endpoint = (SedaEndpoint) context.getRoute("foo").getEndpoint();
+        assertEquals(10, endpoint.getMaxMessagesPerPoll());
+    }
+
+    @Test
+    public void testMaxMessagesPerPollOrdering() throws Exception {
+        Object[] bodies = new Object[200];
+        for (int i = 0; i < 200; i++) {
+            bodies[i] = i;
+        }
+        getMockEndpoint("mock:ordered").expectedBodiesReceived(bodies);
+
+        for (int i = 0; i < 200; i++) {
+            template.sendBody("seda:bar", i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testMaxMessagesPerPollMultipleConsumers() throws Exception {
+        getMockEndpoint("mock:a").expectedMessageCount(100);
+        getMockEndpoint("mock:b").expectedMessageCount(100);
+
+        for (int i = 0; i < 100; i++) {
+            template.sendBody("seda:baz?multipleConsumers=true", "Message " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("seda:foo?queueFactory=#ringBufferQueueFactory&size=100&concurrentConsumers=4&maxMessagesPerPoll=10")
+                        .routeId("foo").to("mock:result");
+
+                from("seda:bar?maxMessagesPerPoll=50")
+                        .to("mock:ordered");
+
+                from("seda:baz?multipleConsumers=true&maxMessagesPerPoll=10").to("mock:a");
+                from("seda:baz?multipleConsumers=true&maxMessagesPerPoll=10").to("mock:b");
+            }
+        };
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter;
+
+import java.util.Random;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.TestSupport;
+import org.apache.camel.impl.converter.DefaultTypeConverter;
+import org.apache.camel.impl.converter.StaticMethodTypeConverter;
+import org.apache.camel.impl.engine.DefaultPackageScanClassResolver;
+import org.apache.camel.spi.TypeConverterRegistry;
+import org.apache.camel.support.TypeConverterSupport;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.ReflectionInjector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class TypeConverterResolutionCacheTest extends TestSupport {
+
+    private static final Random RANDOM = new Random();
+
+    protected DefaultTypeConverter converter = new DefaultTypeConverter(
+            new DefaultPackageScanClassResolver(), new ReflectionInjector(), true);
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        ServiceHelper.startService(converter);
+        converter.getStatistics().setStatisticsEnabled(true);
+    }
+
+    @Test
+    public void testResolvedConverterIsCached() {
+        TypeConverterRegistry.Statistics stats = converter.getStatistics();
+
+        assertEquals(Integer.valueOf(123), converter.convertTo(Integer.class, "123"));
+        assertEquals(0, stats.getCacheHitCounter());
+        assertEquals(1, stats.getCacheMissCounter());
+
+        assertEquals(Integer.valueOf(456), converter.convertTo(Integer.class, "456"));
+        assertEquals(Integer.valueOf(789), converter.convertTo(Integer.class, "789"));
+        assertEquals(2, stats.getCacheHitCounter());
+        assertEquals(1, stats.getCacheMissCounter());
+        assertEquals(3, stats.getHitCounter());
+    }
+
+    @Test
+    public void testMissIsCached() {
+        TypeConverterRegistry.Statistics stats = converter.getStatistics();
+
+        assertNull(converter.convertTo(Random.class, 123L));
+        assertNull(converter.convertTo(Random.class, 456L));
+        assertEquals(2, stats.getMissCounter());
+        assertEquals(1, stats.getCacheHitCounter());
+        assertEquals(1, stats.getCacheMissCounter());
+    }
+
+    @Test
+    public void testAddTypeConverterAfterMiss() throws Exception {
+        assertNull(converter.convertTo(Random.class, 123L));
+
+        converter.addTypeConverter(Random.class, Long.class,
+                new StaticMethodTypeConverter(TypeConverterResolutionCacheTest.class.getMethod("toRandom", Long.class), false));
+
+        assertSame(RANDOM, converter.convertTo(Random.class, 123L));
+        assertSame(RANDOM, converter.convertTo(Random.class, 456L));
+        assertEquals(1, converter.getStatistics().getCacheHitCounter());
+    }
+
+    @Test
+    public void testFallbackCounter() {
+        converter.addFallbackTypeConverter(new TypeConverterSupport() {
+            @Override
+            public <T> T convertTo(Class<T> type, Exchange exchange, Object value) {
+                if (type == MyCoolBean.class) {
+                    MyCoolBean cool = new MyCoolBean();
+                    cool.setCool(value.toString());
+                    return type.cast(cool);
+                }
+                return null;
+            }
+        }, false);
+
+        assertEquals("Camel rocks", converter.convertTo(MyCoolBean.class, "Camel rocks").getCool());
+        assertEquals("It works", converter.convertTo(MyCoolBean.class, "It works").getCool());
+        assertEquals(2, converter.getStatistics().getFallbackCounter());
+    }
+
+    public static Random toRandom(Long value) {
+        return RANDOM;
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.impl.engine.DefaultUnitOfWork;
+import org.apache.camel.spi.StreamCachingStrategy;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.DefaultExchange;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class CachedOutputStreamOffHeapTest extends ContextTestSupport {
+
+    private Exchange exchange;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.setStreamCaching(true);
+        context.getStreamCachingStrategy().setSpoolDirectory(testDirectory(true).toFile());
+        context.getStreamCachingStrategy().setSpoolEnabled(true);
+        context.getStreamCachingStrategy().setSpoolThreshold(16);
+        context.getStreamCachingStrategy().setSpoolOffHeapEnabled(true);
+        context.getStreamCachingStrategy().getStatistics().setStatisticsEnabled(true);
+        return context;
+    }
+
+    @Override
+    @BeforeEach
+    public void setUp() throws Exception {
+        super.setUp();
+
+        exchange = new DefaultExchange(context);
+        UnitOfWork uow = new DefaultUnitOfWork(exchange);
+        exchange.getExchangeExtension().setUnitOfWork(uow);
+    }
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    private static byte[] createData(int size) {
+        byte[] data = new byte[size];
+        for (int i = 0; i < size; i++) {
+            data[i] = (byte) (i * 31);
+        }
+        return data;
+    }
+
+    @Test
+    public void testCacheStreamOffHeap() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        byte[] data = createData(200 * 1024);
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data, 0, 1000);
+        cos.write(data[1000]);
+        cos.write(Arrays.copyOfRange(data, 1001, data.length));
+
+        // no temp file should be created
+        File dir = testDirectory().toFile();
+        assertEquals(0, dir.list().length);
+
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(OffHeapInputStreamCache.class, cache);
+        assertEquals(data.length, cache.length());
+        assertArrayEquals(data, ((InputStream) cache).readAllBytes());
+
+        // can be read again after reset
+        cache.reset();
+        assertEquals(0, cache.position());
+        assertArrayEquals(data, context.getTypeConverter().convertTo(byte[].class, cache));
+
+        // and a copy reads from the start
+        cache.reset();
+        ((InputStream) cache).skip(100);
+        StreamCache copy = cache.copy(exchange);
+        assertArrayEquals(data, ((InputStream) copy).readAllBytes());
+        assertTrue(statistics.getCacheOffHeapMemoryUsed() >= data.length);
+
+        // the memory is returned to the arena when the exchange is done
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, statistics.getCacheOffHeapMemoryUsed());
+        assertEquals(0, dir.list().length);
+    }
+
+    @Test
+    public void testCacheStreamOffHeapStatistics() throws Exception {
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        byte[] data = createData(100 * 1024);
+        exchange.getMessage().setBody(new java.io.BufferedInputStream(new java.io.ByteArrayInputStream(data)));
+        StreamCache cache = context.getStreamCachingStrategy().cache(exchange);
+        assertInstanceOf(OffHeapInputStreamCache.class, cache);
+
+        assertEquals(1, statistics.getCacheOffHeapCounter());
+        assertEquals(data.length, statistics.getCacheOffHeapSize());
+        assertEquals(0, statistics.getCacheSpoolCounter());
+        exchange.getUnitOfWork().done(exchange);
+    }
+
+    @Test
+    public void testCacheStreamOffHeapMapped() throws Exception {
+        // no direct memory so the memory-mapped file is used
+        context.getStreamCachingStrategy().setSpoolOffHeapMaxSize(0);
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        byte[] data = createData(300 * 1024);
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        cos.write(data);
+
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(OffHeapInputStreamCache.class, cache);
+        assertArrayEquals(data, ((InputStream) cache).readAllBytes());
+        assertEquals(0, statistics.getCacheOffHeapMemoryUsed());
+        assertTrue(statistics.getCacheOffHeapMappedUsed() >= data.length);
+
+        // a single shared segment file
+        File dir = testDirectory().toFile();
+        assertEquals(1, dir.list().length);
+        assertTrue(dir.list()[0].endsWith(".seg"));
+
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, statistics.getCacheOffHeapMappedUsed());
+    }
+
+    @Test
+    public void testCacheStreamOffHeapExhausted() throws Exception {
+        // the arena can only hold 128kb so the stream must overflow to a temp file
+        context.getStreamCachingStrategy().setSpoolOffHeapMaxSize(128 * 1024);
+        context.getStreamCachingStrategy().setSpoolOffHeapMappedMaxSize(0);
+        context.start();
+        StreamCachingStrategy.Statistics statistics = context.getStreamCachingStrategy().getStatistics();
+
+        byte[] data = createData(500 * 1024);
+        CachedOutputStream cos = new CachedOutputStream(exchange);
+        for (int i = 0; i < data.length; i += 1000) {
+            cos.write(data, i, Math.min(1000, data.length - i));
+        }
+
+        StreamCache cache = cos.newStreamCache();
+        assertInstanceOf(FileInputStreamCache.class, cache);
+        assertArrayEquals(data, ((InputStream) cache).readAllBytes());
+        // the memory is released when spooling to file
+        assertEquals(0, statistics.getCacheOffHeapMemoryUsed());
+
+        File dir = testDirectory().toFile();
+        assertEquals(1, dir.list().length);
+        assertTrue(dir.list()[0].startsWith("cos"));
+
+        ((InputStream) cache).close();
+        exchange.getUnitOfWork().done(exchange);
+        assertEquals(0, dir.list().length);
+    }
+
+    @Test
+    public void testSpoolReleasesSlabsWhenArenaExhausted() throws Exception {
+        // room for 2 slabs only
+        OffHeapStreamCacheArena arena = new OffHeapStreamCacheArena(1024, 2 * 1024, 0, null);
+        OffHeapSpool spool = new OffHeapSpool(arena);
+        OutputStream os = spool.createOutputStream();
+        os.write(createData(100));
+        assertEquals(1024, arena.getUsed());
+
+        // needs 3 more slabs, where the 2nd cannot be acquired
+        assertThrows(OffHeapSpool.ArenaExhaustedException.class, () -> os.write(createData(3 * 1024)));
+        assertEquals(1024, arena.getUsed());
+        assertEquals(1, spool.slabCount());
+        assertEquals(100, spool.length());
+
+        spool.release();
+        assertEquals(0, arena.getUsed());
+    }
+
+    @Test
+    public void testSpoolReleasesSlabsWhenArenaFails() throws Exception {
+        // the 3rd slab fails to be acquired, such as when the memory-mapped segment file cannot be mapped
+        OffHeapStreamCacheArena arena = new OffHeapStreamCacheArena(1024, 10 * 1024, 0, null) {
+            private int count;
+
+            @Override
+            Slab acquire() throws IOException {
+                if (++count == 3) {
+                    throw new IOException("Forced");
+                }
+                return super.acquire();
+            }
+        };
+        OffHeapSpool spool = new OffHeapSpool(arena);
+        OutputStream os = spool.createOutputStream();
+
+        IOException e = assertThrows(IOException.class, () -> os.write(createData(5 * 1024)));
+        assertEquals("Forced", e.getMessage());
+        assertEquals(0, arena.getUsed());
+        assertEquals(0, spool.slabCount());
+        assertEquals(0, spool.length());
+
+        // the arena can still be used afterwards
+        os.write(createData(2 * 1024));
+        assertEquals(2 * 1024, arena.getUsed());
+        spool.release();
+        assertEquals(0, arena.getUsed());
+    }
+
+}
@@ -23,8 +23,10 @@ import java.util.concurrent.TimeUnit;
 
 import org.apache.camel.ContextTestSupport;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.DefaultThreadPoolFactory;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
 import org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy;
+import org.apache.camel.util.concurrent.VirtualThreadHelper;
 import org.junit.jupiter.api.Disabled;
 import org.junit.jupiter.api.Test;
 
@@ -523,6 +525,53 @@ public class DefaultExecutorServiceManagerTest extends ContextTestSupport {
         assertTrue(thread.getName().contains("Cool"));
     }
 
+    @Test
+    public void testNewVirtualThreadPool() throws Exception {
+        ThreadPoolProfile foo = new ThreadPoolProfile("foo");
+        foo.setVirtualThreads(true);
+
+        ExecutorService pool = context.getExecutorServiceManager().newThreadPool(this, "Cool", foo);
+        assertNotNull(pool);
+
+        Thread thread = pool.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+        assertTrue(thread.getName().contains("Cool"));
+        if (VirtualThreadHelper.isVirtualThreadsSupported()) {
+            assertTrue(VirtualThreadHelper.isVirtual(thread));
+            assertFalse(pool instanceof ThreadPoolExecutor);
+        } else {
+            // fallback to platform threads
+            assertFalse(VirtualThreadHelper.isVirtual(thread));
+            assertIsInstanceOf(ThreadPoolExecutor.class, pool);
+        }
+
+        // pinned virtual threads are only monitored when enabled
+        DefaultThreadPoolFactory tpf
+                = assertIsInstanceOf(DefaultThreadPoolFactory.class,
+                        context.getExecutorServiceManager().getThreadPoolFactory());
+        assertFalse(tpf.getVirtualThreadPinnedMonitor().isStarted());
+
+        context.stop();
+
+        assertTrue(pool.isShutdown());
+    }
+
+    @Test
+    public void testNewCachedVirtualThreadPool() throws Exception {
+        ThreadPoolProfile custom = new ThreadPoolProfile("custom");
+        custom.setVirtualThreads(true);
+        context.getExecutorServiceManager().setDefaultThreadPoolProfile(custom);
+
+        ExecutorService pool = context.getExecutorServiceManager().newCachedThreadPool(this, "Cool");
+        assertNotNull(pool);
+
+        Thread thread = pool.submit(Thread::currentThread).get(5, TimeUnit.SECONDS);
+        assertEquals(VirtualThreadHelper.isVirtualThreadsSupported(), VirtualThreadHelper.isVirtual(thread));
+
+        context.stop();
+
+        assertTrue(pool.isShutdown());
+    }
+
     @Disabled("This is a manual test, by looking at the logs")
     public void xxxtestLongShutdownOfThreadPool() throws Exception {
         final CountDownLatch latch = new CountDownLatch(1);
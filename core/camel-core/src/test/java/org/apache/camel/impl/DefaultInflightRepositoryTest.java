@@ -24,6 +24,10 @@ import org.apache.camel.support.DefaultExchange;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class DefaultInflightRepositoryTest extends ContextTestSupport {
 
@@ -47,4 +51,59 @@ public class DefaultInflightRepositoryTest extends ContextTestSupport {
         repo.remove(e1);
         assertEquals(0, repo.size());
     }
+
+    @Test
+    public void testOldest() throws Exception {
+        // use a single shard so the exchanges are ordered by when they were added
+        InflightRepository repo = new DefaultInflightRepository(1);
+        repo.setInflightBrowseEnabled(true);
+
+        assertNull(repo.oldest(null));
+
+        Exchange e1 = new DefaultExchange(context);
+        e1.getExchangeExtension().setFromRouteId("foo");
+        repo.add(e1);
+        Exchange e2 = new DefaultExchange(context);
+        e2.getExchangeExtension().setFromRouteId("bar");
+        repo.add(e2);
+
+        assertSame(e1, repo.oldest(null).getExchange());
+        assertSame(e1, repo.oldest("foo").getExchange());
+        assertSame(e2, repo.oldest("bar").getExchange());
+        assertNull(repo.oldest("baz"));
+
+        repo.remove(e1);
+        assertSame(e2, repo.oldest(null).getExchange());
+        assertNull(repo.oldest("foo"));
+
+        repo.remove(e2);
+        assertNull(repo.oldest(null));
+    }
+
+    @Test
+    public void testBrowseDisabledForRoute() throws Exception {
+        InflightRepository repo = new DefaultInflightRepository();
+        repo.setInflightBrowseEnabled(true);
+        repo.setInflightBrowseEnabled("bar", false);
+        assertTrue(repo.isInflightBrowseEnabled("foo"));
+        assertFalse(repo.isInflightBrowseEnabled("bar"));
+
+        Exchange e1 = new DefaultExchange(context);
+        e1.getExchangeExtension().setFromRouteId("foo");
+        repo.add(e1);
+        Exchange e2 = new DefaultExchange(context);
+        e2.getExchangeExtension().setFromRouteId("bar");
+        repo.add(e2);
+
+        // the exchanges are counted but only tracked for the foo route
+        assertEquals(2, repo.size());
+        assertEquals(1, repo.browse().size());
+        assertSame(e1, repo.browse().iterator().next().getExchange());
+        assertNull(repo.oldest("bar"));
+
+        repo.remove(e1);
+        repo.remove(e2);
+        assertEquals(0, repo.size());
+        assertEquals(0, repo.browse().size());
+    }
 }
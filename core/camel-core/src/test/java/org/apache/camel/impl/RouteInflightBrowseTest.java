@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.InflightRepository;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RouteInflightBrowseTest extends ContextTestSupport {
+
+    private volatile int fooBrowsed = -1;
+    private volatile int fooCounted = -1;
+    private volatile int barBrowsed = -1;
+    private volatile int barCounted = -1;
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getInflightRepository().setInflightBrowseEnabled(true);
+        return context;
+    }
+
+    @Test
+    public void testInflightBrowseDisabledOnRoute() throws Exception {
+        InflightRepository repo = context.getInflightRepository();
+        assertTrue(repo.isInflightBrowseEnabled("foo"));
+        assertFalse(repo.isInflightBrowseEnabled("bar"));
+
+        getMockEndpoint("mock:foo").expectedMessageCount(1);
+        getMockEndpoint("mock:bar").expectedMessageCount(1);
+        context.getRouteController().startRoute("foo");
+        context.getRouteController().startRoute("bar");
+        assertMockEndpointsSatisfied();
+
+        assertEquals(1, fooBrowsed);
+        assertEquals(1, fooCounted);
+        // the exchanges of the route are counted but not tracked
+        assertEquals(0, barBrowsed);
+        assertEquals(1, barCounted);
+    }
+
+    @Test
+    public void testInflightBrowseRemovedRoute() throws Exception {
+        context.getRouteController().stopRoute("bar");
+        context.removeRoute("bar");
+
+        assertTrue(context.getInflightRepository().isInflightBrowseEnabled("bar"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("timer:foo?repeatCount=1").routeId("foo").autoStartup(false)
+                        .process(e -> {
+                            fooBrowsed = context.getInflightRepository().browse("foo").size();
+                            fooCounted = context.getInflightRepository().size("foo");
+                        })
+                        .to("mock:foo");
+
+                from("timer:bar?repeatCount=1").routeId("bar").autoStartup(false).noInflightBrowse()
+                        .process(e -> {
+                            barBrowsed = context.getInflightRepository().browse("bar").size();
+                            barCounted = context.getInflightRepository().size("bar");
+                        })
+                        .to("mock:bar");
+            }
+        };
+    }
+}
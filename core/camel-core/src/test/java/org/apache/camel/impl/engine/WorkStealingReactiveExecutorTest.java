@@ -0,0 +1,85 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.impl.engine;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class WorkStealingReactiveExecutorTest extends ContextTestSupport {
+
+    private final WorkStealingReactiveExecutor executor = new WorkStealingReactiveExecutor();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        executor.setCores(2);
+        context.getCamelContextExtension().setReactiveExecutor(executor);
+        return context;
+    }
+
+    @Test
+    public void testWorkStealing() throws Exception {
+        assertSame(executor, context.getCamelContextExtension().getReactiveExecutor());
+
+        getMockEndpoint("mock:result").expectedMessageCount(300);
+        getMockEndpoint("mock:done").expectedMessageCount(100);
+
+        for (int i = 0; i < 50; i++) {
+            template.sendBody("direct:start", "A,B,C");
+            template.sendBody("direct:start", "D,E,F");
+        }
+
+        assertMockEndpointsSatisfied();
+
+        assertEquals(2, executor.getCoreStatistics().size());
+        assertTrue(executor.getOffloadedTasks() > 0, "Should offload tasks to the cores");
+        assertEquals(0, executor.getPendingCoreTasks());
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(3);
+        getMockEndpoint("mock:done").expectedBodiesReceived("A,B,C");
+        template.sendBody("direct:start", "A,B,C");
+        assertMockEndpointsSatisfied();
+
+        context.stop();
+
+        assertTrue(executor.getCoreStatistics().isEmpty());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .split(body().tokenize(","))
+                        .to("log:foo?level=OFF")
+                        .to("mock:result")
+                        .end()
+                        .to("mock:done");
+            }
+        };
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.language.simple;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the operator tests with the simple language compiling the predicates and expressions to bytecode.
+ */
+public class SimpleCompiledOperatorTest extends SimpleOperatorTest {
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        context.getGlobalOptions().put(Exchange.SIMPLE_COMPILED, "true");
+        return context;
+    }
+
+    @Test
+    public void testCompiled() throws Exception {
+        Predicate predicate
+                = context.resolveLanguage("simple").createPredicate("${header.bar} > 100 && ${body} contains 'world'");
+        assertTrue(predicate instanceof SimpleCompiler.CompiledPredicate);
+        assertTrue(predicate.matches(exchange));
+    }
+
+    @Test
+    public void testCompiledExpression() throws Exception {
+        Expression expression = context.resolveLanguage("simple").createExpression("${body}");
+        assertTrue(expression instanceof SimpleCompiler.CompiledExpression);
+        assertEquals("<hello id='m123'>world!</hello>", expression.evaluate(exchange, String.class));
+    }
+
+    @Test
+    public void testCompiledConcat() throws Exception {
+        Expression expression = context.resolveLanguage("simple")
+                .createExpression("Hello ${header.foo} and ${exchangeProperty.foobar} with ${in.header.bar}");
+        assertTrue(expression instanceof SimpleCompiler.CompiledExpression);
+        assertEquals("Hello abc and cba with 123", expression.evaluate(exchange, String.class));
+
+        exchange.getIn().setHeader("foo", "xyz");
+        exchange.getIn().removeHeader("bar");
+        assertEquals("Hello xyz and cba with ", expression.evaluate(exchange, String.class));
+    }
+
+    @Test
+    public void testCompiledConcatInterpreted() throws Exception {
+        // the exchange id and OGNL functions are interpreted inside the compiled expression
+        Expression expression = context.resolveLanguage("simple")
+                .createExpression("${exchangeId}-${header.foo.toUpperCase()}-${header.bar}");
+        assertTrue(expression instanceof SimpleCompiler.CompiledExpression);
+        assertEquals(exchange.getExchangeId() + "-ABC-123", expression.evaluate(exchange, String.class));
+    }
+}
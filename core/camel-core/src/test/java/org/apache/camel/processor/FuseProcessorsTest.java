@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+
+import org.apache.camel.Channel;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class FuseProcessorsTest extends ContextTestSupport {
+
+    private int counter;
+
+    @Test
+    public void testFuseProcessors() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+        getMockEndpoint("mock:result").expectedHeaderReceived("bar", "123");
+        getMockEndpoint("mock:result").message(0).header("foo").isNull();
+        getMockEndpoint("mock:result").message(0).exchangeProperty("baz").isEqualTo("456");
+
+        template.sendBody("direct:start", "World");
+
+        assertMockEndpointsSatisfied();
+
+        List<Processor> processors = context.getRoute("start").getEventDrivenProcessors();
+        assertEquals(2, processors.size());
+        FusedProcessor fused = assertInstanceOf(FusedProcessor.class, ((Channel) processors.get(0)).getNextProcessor());
+        assertEquals(List.of("a", "b", "c", "d", "e"), fused.getFusedIds());
+    }
+
+    @Test
+    public void testFuseProcessorsRedelivery() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Bye World");
+        getMockEndpoint("mock:result").expectedHeaderReceived(Exchange.REDELIVERY_COUNTER, 2);
+
+        template.sendBody("direct:redelivery", "World");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(3, counter);
+
+        // the custom processor is not fused so there are two fused processors
+        List<Processor> processors = context.getRoute("redelivery").getEventDrivenProcessors();
+        assertEquals(4, processors.size());
+        assertInstanceOf(FusedProcessor.class, ((Channel) processors.get(0)).getNextProcessor());
+        assertInstanceOf(FusedProcessor.class, ((Channel) processors.get(2)).getNextProcessor());
+    }
+
+    @Test
+    public void testNoFuseProcessors() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+
+        template.sendBody("direct:noFuse", "World");
+
+        assertMockEndpointsSatisfied();
+
+        for (Processor processor : context.getRoute("noFuse").getEventDrivenProcessors()) {
+            assertFalse(((Channel) processor).getNextProcessor() instanceof FusedProcessor);
+        }
+    }
+
+    @Test
+    public void testFuseProcessorsSingle() throws Exception {
+        getMockEndpoint("mock:result").expectedBodiesReceived("Hello World");
+
+        template.sendBody("direct:single", "World");
+
+        assertMockEndpointsSatisfied();
+
+        Route route = context.getRoute("single");
+        for (Processor processor : route.getEventDrivenProcessors()) {
+            assertFalse(((Channel) processor).getNextProcessor() instanceof FusedProcessor);
+        }
+    }
+
+    public String bye(String body) {
+        if (++counter < 3) {
+            throw new IllegalArgumentException("Forced");
+        }
+        return "Bye " + body;
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                errorHandler(defaultErrorHandler().maximumRedeliveries(3).redeliveryDelay(0));
+
+                from("direct:start").routeId("start").fuseProcessors()
+                        .setHeader("foo", constant("Hello")).id("a")
+                        .setBody(simple("${header.foo} ${body}")).id("b")
+                        .setHeader("bar", constant("123")).id("c")
+                        .removeHeader("foo").id("d")
+                        .setProperty("baz", constant("456")).id("e")
+                        .to("mock:result");
+
+                from("direct:redelivery").routeId("redelivery").fuseProcessors()
+                        .setHeader("foo", constant("Hello"))
+                        .log("${body}")
+                        .process(e -> e.getMessage().removeHeader("foo"))
+                        .setBody(method(FuseProcessorsTest.this, "bye"))
+                        .convertBodyTo(String.class)
+                        .to("mock:result");
+
+                from("direct:noFuse").routeId("noFuse")
+                        .setHeader("foo", constant("Hello"))
+                        .setBody(simple("${header.foo} ${body}"))
+                        .to("mock:result");
+
+                from("direct:single").routeId("single").fuseProcessors()
+                        .setBody(simple("Hello ${body}"))
+                        .to("mock:result");
+            }
+        };
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Component;
+import org.apache.camel.Consumer;
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+import org.apache.camel.Processor;
+import org.apache.camel.Producer;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.spi.CamelEvent;
+import org.apache.camel.spi.CamelEvent.ExchangeSendingEvent;
+import org.apache.camel.support.DefaultBatchingProducer;
+import org.apache.camel.support.DefaultComponent;
+import org.apache.camel.support.DefaultEndpoint;
+import org.apache.camel.support.EventNotifierSupport;
+import org.apache.camel.util.StopWatch;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SendProcessorBatchingTest extends ContextTestSupport {
+
+    private final List<Integer> batches = new CopyOnWriteArrayList<>();
+    private final CountDownLatch sending = new CountDownLatch(1);
+    private final CountDownLatch stopped = new CountDownLatch(1);
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+        // hold the sending of the exchange with body B until the send processor has been stopped
+        context.getManagementStrategy().addEventNotifier(new EventNotifierSupport() {
+            @Override
+            public void notify(CamelEvent event) throws Exception {
+                Exchange exchange = ((ExchangeSendingEvent) event).getExchange();
+                if ("B".equals(exchange.getMessage().getBody())) {
+                    sending.countDown();
+                    stopped.await(20, TimeUnit.SECONDS);
+                }
+            }
+
+            @Override
+            public boolean isEnabled(CamelEvent event) {
+                return event instanceof ExchangeSendingEvent
+                        && "batch://stop".equals(((ExchangeSendingEvent) event).getEndpoint().getEndpointUri());
+            }
+        });
+        return context;
+    }
+
+    @Test
+    public void testBatchFull() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(10);
+        getMockEndpoint("mock:result").allMessages().body().startsWith("Bye");
+
+        for (int i = 0; i < 10; i++) {
+            template.sendBody("seda:start", "World " + i);
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(List.of(5, 5), batches);
+    }
+
+    @Test
+    public void testBatchTimeout() throws Exception {
+        getMockEndpoint("mock:timeout").expectedBodiesReceivedInAnyOrder("Bye A", "Bye B", "Bye C");
+
+        template.sendBody("seda:timeout", "A");
+        template.sendBody("seda:timeout", "B");
+        template.sendBody("seda:timeout", "C");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(List.of(3), batches);
+    }
+
+    @Test
+    public void testBatchFailedMessage() throws Exception {
+        getMockEndpoint("mock:result").expectedMessageCount(4);
+        getMockEndpoint("mock:dead").expectedBodiesReceived("Kaboom");
+
+        template.sendBody("seda:start", "A");
+        template.sendBody("seda:start", "B");
+        template.sendBody("seda:start", "Kaboom");
+        template.sendBody("seda:start", "C");
+        template.sendBody("seda:start", "D");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(List.of(5), batches);
+    }
+
+    @Test
+    public void testRequestReplyNotBatched() throws Exception {
+        getMockEndpoint("mock:reply").expectedBodiesReceived("Bye A");
+
+        // the caller waits for the reply, so the exchange is sent directly instead of waiting for the batch timeout
+        StopWatch watch = new StopWatch();
+        Object out = template.requestBody("direct:reply", "A");
+        assertEquals("Bye A", out);
+        assertTrue(watch.taken() < 30000, "Should not wait for the batch timeout");
+
+        assertMockEndpointsSatisfied();
+        assertEquals(List.of(1), batches);
+    }
+
+    @Test
+    public void testTransactedNotBatched() throws Exception {
+        getMockEndpoint("mock:transacted").expectedBodiesReceivedInAnyOrder("Bye A", "Bye B", "Bye C");
+        getMockEndpoint("mock:transacted").setResultWaitTime(30000);
+
+        StopWatch watch = new StopWatch();
+        template.sendBody("seda:transacted", "A");
+        template.sendBody("seda:transacted", "B");
+        template.sendBody("seda:transacted", "C");
+
+        assertMockEndpointsSatisfied();
+        assertTrue(watch.taken() < 30000, "Should not wait for the batch timeout");
+        assertEquals(List.of(1, 1, 1), batches);
+    }
+
+    @Test
+    public void testStopWhileBatching() throws Exception {
+        SendProcessor send = context.getProcessor("stopBatch", SendProcessor.class);
+
+        // A waits in the batch
+        Exchange a = createExchangeWithBody("A");
+        CountDownLatch doneA = new CountDownLatch(1);
+        assertFalse(send.process(a, doneSync -> doneA.countDown()));
+
+        // and B is about to be added to the batch when the send processor is stopped
+        Exchange b = createExchangeWithBody("B");
+        CountDownLatch doneB = new CountDownLatch(1);
+        CompletableFuture.runAsync(() -> send.process(b, doneSync -> doneB.countDown()));
+        assertTrue(sending.await(20, TimeUnit.SECONDS));
+
+        send.stop();
+        stopped.countDown();
+
+        // both exchanges are sent right away instead of being stranded in a batch without a timeout
+        assertTrue(doneA.await(20, TimeUnit.SECONDS));
+        assertTrue(doneB.await(20, TimeUnit.SECONDS));
+        assertNull(a.getException());
+        assertNull(b.getException());
+        assertEquals("Bye A", a.getMessage().getBody());
+        assertEquals("Bye B", b.getMessage().getBody());
+        assertEquals(List.of(1, 1), batches);
+    }
+
+    @Test
+    public void testInvalidBatchTimeout() throws Exception {
+        RouteBuilder builder = new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:invalid")
+                        .to("batch:invalid", 10, 0);
+            }
+        };
+
+        Exception e = assertThrows(Exception.class, () -> context.addRoutes(builder));
+        assertIsInstanceOf(IllegalArgumentException.class, e.getCause());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                getContext().addComponent("batch", new MyComponent());
+                errorHandler(deadLetterChannel("mock:dead"));
+
+                from("seda:start?concurrentConsumers=10")
+                        .to("batch:start", 5, 10000)
+                        .to("mock:result");
+
+                from("seda:timeout?concurrentConsumers=10")
+                        .to("direct:timeout");
+
+                from("direct:timeout")
+                        .to("batch:timeout", 100, 200)
+                        .to("mock:timeout");
+
+                from("direct:reply")
+                        .to("batch:reply", 100, 60000)
+                        .to("mock:reply");
+
+                from("direct:stop")
+                        .to("batch:stop", 100, 60000).id("stopBatch");
+
+                from("seda:transacted?concurrentConsumers=10")
+                        .process(e -> e.getExchangeExtension().setTransacted(true))
+                        .to("batch:transacted", 100, 60000)
+                        .to("mock:transacted");
+            }
+        };
+    }
+
+    public class MyComponent extends DefaultComponent {
+
+        @Override
+        protected Endpoint createEndpoint(String uri, String remaining, Map<String, Object> parameters) throws Exception {
+            return new MyEndpoint(uri, this);
+        }
+    }
+
+    public class MyEndpoint extends DefaultEndpoint {
+
+        public MyEndpoint(String endpointUri, Component component) {
+            super(endpointUri, component);
+        }
+
+        @Override
+        public Producer createProducer() throws Exception {
+            return new MyBatchingProducer(this);
+        }
+
+        @Override
+        public Consumer createConsumer(Processor processor) throws Exception {
+            throw new UnsupportedOperationException("Consumer not supported");
+        }
+    }
+
+    public class MyBatchingProducer extends DefaultBatchingProducer {
+
+        public MyBatchingProducer(Endpoint endpoint) {
+            super(endpoint);
+        }
+
+        @Override
+        protected void processBatch(List<Exchange> exchanges) throws Exception {
+            batches.add(exchanges.size());
+            for (Exchange exchange : exchanges) {
+                String body = exchange.getMessage().getBody(String.class);
+                if ("Kaboom".equals(body)) {
+                    exchange.setException(new IllegalArgumentException("Forced"));
+                } else {
+                    exchange.getMessage().setBody("Bye " + body);
+                }
+            }
+        }
+    }
+
+}
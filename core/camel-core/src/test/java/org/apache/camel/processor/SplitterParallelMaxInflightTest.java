@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.Iterator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.processor.aggregate.StringAggregationStrategy;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SplitterParallelMaxInflightTest extends ContextTestSupport {
+
+    private static final int SIZE = 200;
+
+    private final AtomicInteger pulled = new AtomicInteger();
+    private final AtomicInteger aggregated = new AtomicInteger();
+    private final AtomicInteger maxAhead = new AtomicInteger();
+
+    @Test
+    public void testMaxInflight() throws Exception {
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < SIZE; i++) {
+            if (i > 0) {
+                expected.append(',');
+            }
+            expected.append(i);
+        }
+        getMockEndpoint("mock:split").expectedMessageCount(SIZE);
+        getMockEndpoint("mock:result").expectedBodiesReceived(expected.toString());
+
+        template.sendBody("direct:start", new CountingIterator());
+
+        assertMockEndpointsSatisfied();
+
+        // the splitter must not pull more from the iterator than the window allows
+        assertTrue(maxAhead.get() <= 5, "Should not be more than 5 in flight, was " + maxAhead.get());
+
+        Splitter splitter = context.getProcessor("mysplit", Splitter.class);
+        assertEquals(5, splitter.getMaxInflight());
+        assertEquals(0, splitter.getSubExchangesInflight());
+        assertEquals(0, splitter.getSubExchangesPendingAggregation());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start")
+                        .split(body(), new CountingAggregationStrategy().delimiter(","))
+                        .streaming().parallelProcessing().maxInflight(5).id("mysplit")
+                        .process(e -> Thread.sleep(ThreadLocalRandom.current().nextInt(5)))
+                        .to("mock:split")
+                        .end()
+                        .to("mock:result");
+            }
+        };
+    }
+
+    private final class CountingAggregationStrategy extends StringAggregationStrategy {
+
+        @Override
+        public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+            aggregated.incrementAndGet();
+            return super.aggregate(oldExchange, newExchange);
+        }
+    }
+
+    private final class CountingIterator implements Iterator<Integer> {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < SIZE;
+        }
+
+        @Override
+        public Integer next() {
+            int ahead = pulled.incrementAndGet() - aggregated.get();
+            maxAhead.accumulateAndGet(ahead, Math::max);
+            return index++;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Isolated
+public class TokenBucketThrottlerTest extends ContextTestSupport {
+
+    @Test
+    public void testBurstThenThrottle() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(30);
+
+        long start = System.currentTimeMillis();
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            futures.add(template.asyncRequestBody("direct:start", "Message " + i));
+        }
+        // the first 10 messages are let through at once
+        for (int i = 0; i < 10; i++) {
+            futures.get(i).get();
+        }
+        long burst = System.currentTimeMillis() - start;
+        for (Future<Object> future : futures) {
+            future.get();
+        }
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertMockEndpointsSatisfied();
+        assertTrue(burst < 400, "Burst should not be throttled, was: " + burst);
+        // the remaining 20 messages are let through at 10 per 200 millis
+        assertTrue(elapsed >= 350, "Should take at least 350ms, was: " + elapsed);
+
+        TokenBucketThrottler throttler = context.getProcessor("throttler", TokenBucketThrottler.class);
+        assertTrue(throttler.getThrottledCount() >= 19, "Was: " + throttler.getThrottledCount());
+        assertEquals(0, throttler.getRejectedCount());
+    }
+
+    @Test
+    public void testRejectExecution() throws Exception {
+        getMockEndpoint("mock:reject").expectedMessageCount(3);
+
+        int rejected = 0;
+        for (int i = 0; i < 6; i++) {
+            Exchange out = template.send("direct:reject", e -> e.getMessage().setBody("Hello"));
+            if (out.getException() != null) {
+                assertInstanceOf(ThrottlerRejectedExecutionException.class, out.getException());
+                rejected++;
+            }
+        }
+
+        assertMockEndpointsSatisfied();
+        assertEquals(3, rejected);
+
+        TokenBucketThrottler throttler = context.getProcessor("rejecter", TokenBucketThrottler.class);
+        assertEquals(3, throttler.getRejectedCount());
+        assertEquals(3, throttler.getRejectedCount("CamelThrottlerDefaultKey"));
+    }
+
+    @Test
+    public void testCorrelationKeys() throws Exception {
+        getMockEndpoint("mock:grouped").expectedMessageCount(4);
+
+        // each key has its own bucket so none are rejected
+        template.sendBodyAndHeader("direct:grouped", "A1", "key", "A");
+        template.sendBodyAndHeader("direct:grouped", "A2", "key", "A");
+        template.sendBodyAndHeader("direct:grouped", "B1", "key", "B");
+        template.sendBodyAndHeader("direct:grouped", "B2", "key", "B");
+
+        assertMockEndpointsSatisfied();
+
+        TokenBucketThrottler throttler = context.getProcessor("grouped", TokenBucketThrottler.class);
+        assertEquals(2, throttler.getKeys().size());
+        assertEquals(2, throttler.getMaximumRequestsPerPeriod("A"));
+        assertEquals(0, throttler.getRejectedCount());
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start")
+                        .throttle(10).timePeriodMillis(200).tokenBucket().id("throttler")
+                        .to("mock:result");
+
+                from("direct:reject")
+                        .throttle(1).timePeriodMillis(10000).tokenBucket().burstSize(3).rejectExecution(true).id("rejecter")
+                        .to("mock:reject");
+
+                from("direct:grouped")
+                        .throttle(2).correlationExpression(header("key")).timePeriodMillis(10000).tokenBucket()
+                        .rejectExecution(true).id("grouped")
+                        .to("mock:grouped");
+            }
+        };
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.aggregator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.camel.ContextTestSupport;
+import org.apache.camel.Exchange;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.processor.BodyInAggregatingStrategy;
+import org.apache.camel.processor.aggregate.AggregateProcessor;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+public class AggregateLockStripesTest extends ContextTestSupport {
+
+    private final int size = 1000;
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testAggregateLockStripes() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(100)
+                        .lockStripes(4).to("mock:result");
+            }
+        });
+        context.start();
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+
+        ExecutorService service = Executors.newFixedThreadPool(20);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            final int id = i % 10;
+            tasks.add(() -> {
+                template.sendBodyAndHeader("direct:start", "A", "id", id);
+                return null;
+            });
+        }
+
+        // submit all tasks
+        service.invokeAll(tasks);
+
+        assertMockEndpointsSatisfied();
+        service.shutdownNow();
+
+        // each group should have all its 100 exchanges aggregated
+        for (Exchange exchange : mock.getReceivedExchanges()) {
+            assertEquals(100, exchange.getIn().getBody(String.class).split("\\+").length);
+        }
+    }
+
+    @Test
+    public void testAggregateLockStripesLockWaitTime() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").aggregate(header("id"), new BodyInAggregatingStrategy() {
+                    @Override
+                    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+                        // hold the lock for a while so the other threads must wait for it
+                        try {
+                            Thread.sleep(5);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return super.aggregate(oldExchange, newExchange);
+                    }
+                }).completionSize(10).lockStripes(2).id("aggregator").to("mock:result");
+            }
+        });
+        context.start();
+
+        AggregateProcessor aggregator = context.getProcessor("aggregator", AggregateProcessor.class);
+        assertEquals(0, aggregator.getStatistics().getLockWaitTime());
+
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(10);
+
+        ExecutorService service = Executors.newFixedThreadPool(10);
+        List<Callable<Object>> tasks = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final int id = i % 10;
+            tasks.add(() -> {
+                template.sendBodyAndHeader("direct:start", "A", "id", id);
+                return null;
+            });
+        }
+        service.invokeAll(tasks);
+
+        assertMockEndpointsSatisfied();
+        service.shutdownNow();
+
+        // the threads aggregating into the same lock stripe have been waiting for each other
+        long lockWaitTime = aggregator.getStatistics().getLockWaitTime();
+        assertTrue(lockWaitTime > 0, "Should have waited for the lock, was: " + lockWaitTime);
+    }
+
+    @Test
+    public void testAggregateLockStripesCompleteAllGroups() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").aggregate(header("id"), new BodyInAggregatingStrategy() {
+                    @Override
+                    public Exchange aggregate(Exchange oldExchange, Exchange newExchange) {
+                        Exchange answer = super.aggregate(oldExchange, newExchange);
+                        if ("END".equals(newExchange.getIn().getBody())) {
+                            answer.setProperty(Exchange.AGGREGATION_COMPLETE_ALL_GROUPS, true);
+                        }
+                        return answer;
+                    }
+                }).completionSize(10).lockStripes(4).to("mock:result");
+            }
+        });
+        context.start();
+
+        getMockEndpoint("mock:result").expectedBodiesReceivedInAnyOrder("A+B", "C", "D+END");
+
+        template.sendBodyAndHeader("direct:start", "A", "id", 1);
+        template.sendBodyAndHeader("direct:start", "B", "id", 1);
+        template.sendBodyAndHeader("direct:start", "C", "id", 2);
+        template.sendBodyAndHeader("direct:start", "D", "id", 3);
+        template.sendBodyAndHeader("direct:start", "END", "id", 3);
+
+        assertMockEndpointsSatisfied();
+    }
+
+    @Test
+    public void testAggregateLockStripesWithOptimisticLocking() throws Exception {
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").aggregate(header("id"), new BodyInAggregatingStrategy()).completionSize(10)
+                        .optimisticLocking().lockStripes(4).to("mock:result");
+            }
+        });
+        try {
+            context.start();
+            fail("Should have thrown exception");
+        } catch (Exception e) {
+            IllegalArgumentException cause = assertIsInstanceOf(IllegalArgumentException.class, e.getCause().getCause());
+            assertTrue(cause.getMessage().contains("optimistic locking"));
+        }
+    }
+
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.processor.resequencer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SequenceNumberResequencerEngineTest {
+
+    private SequenceNumberResequencerEngine<Integer> engine;
+    private SequenceBuffer<Integer> buffer;
+
+    @BeforeEach
+    public void setUp() {
+        buffer = new SequenceBuffer<>();
+        engine = new SequenceNumberResequencerEngine<>(Integer::longValue);
+        engine.setSequenceSender(buffer);
+        engine.setTimeout(60000);
+    }
+
+    @Test
+    void testFirstElementWaitsForTimeout() throws Exception {
+        engine.insert(4);
+        engine.deliver();
+        assertEquals(0, buffer.size());
+        assertTrue(engine.getNextDeliveryDelay() > 0);
+        assertNull(engine.getLastDelivered());
+
+        engine.setTimeout(0);
+        engine.insert(6);
+        engine.insert(5);
+        engine.deliver();
+        // 4 is still waiting for its timeout, and 5 and 6 are after 4
+        assertEquals(0, buffer.size());
+        assertEquals(3, engine.size());
+    }
+
+    @Test
+    void testTimeout() throws Exception {
+        engine.setTimeout(0);
+        engine.insert(4);
+        engine.deliver();
+        assertEquals(Integer.valueOf(4), buffer.poll(0));
+        assertEquals(Long.valueOf(4), engine.getLastDelivered());
+        assertEquals(-1, engine.getNextDeliveryDelay());
+    }
+
+    @Test
+    void testSuccessorOfLastDelivered() throws Exception {
+        engine.setLastDelivered(3);
+        engine.insert(4);
+        assertEquals(0, engine.getNextDeliveryDelay());
+        engine.deliver();
+        assertEquals(Integer.valueOf(4), buffer.poll(0));
+        assertEquals(Long.valueOf(4), engine.getLastDelivered());
+    }
+
+    @Test
+    void testPredecessorArrives() throws Exception {
+        engine.setLastDelivered(2);
+        engine.insert(5);
+        engine.insert(4);
+        engine.deliver();
+        assertEquals(0, buffer.size());
+
+        engine.insert(3);
+        engine.deliver();
+        assertEquals(Integer.valueOf(3), buffer.poll(0));
+        assertEquals(Integer.valueOf(4), buffer.poll(0));
+        assertEquals(Integer.valueOf(5), buffer.poll(0));
+        assertEquals(0, engine.size());
+        assertEquals(2, engine.getOutOfOrderCount());
+        assertEquals(0, engine.getGapCount());
+    }
+
+    @Test
+    void testGap() throws Exception {
+        engine.setLastDelivered(2);
+        engine.setTimeout(0);
+        engine.insert(7);
+        engine.insert(6);
+        engine.deliver();
+        assertEquals(Integer.valueOf(6), buffer.poll(0));
+        assertEquals(Integer.valueOf(7), buffer.poll(0));
+        assertEquals(1, engine.getGapCount());
+        assertEquals(3, engine.getMissingCount());
+
+        engine.resetStatistics();
+        assertEquals(0, engine.getGapCount());
+        assertEquals(0, engine.getMissingCount());
+        assertEquals(0, engine.getOutOfOrderCount());
+    }
+
+    @Test
+    void testDuplicates() throws Exception {
+        engine.setLastDelivered(0);
+        engine.insert(2);
+        engine.insert(2);
+        engine.insert(3);
+        engine.insert(1);
+        engine.deliver();
+        assertEquals(Integer.valueOf(1), buffer.poll(0));
+        assertEquals(Integer.valueOf(2), buffer.poll(0));
+        assertEquals(Integer.valueOf(3), buffer.poll(0));
+        assertEquals(0, buffer.size());
+        assertEquals(1, engine.getDuplicateCount());
+    }
+
+    @Test
+    void testRejectOld() throws Exception {
+        engine.setRejectOld(true);
+        engine.setLastDelivered(5);
+        assertThrows(MessageRejectedException.class, () -> engine.insert(4));
+        engine.insert(5);
+        assertEquals(1, engine.size());
+    }
+
+    @Test
+    void testNoSequenceNumber() {
+        SequenceNumberResequencerEngine<String> engine = new SequenceNumberResequencerEngine<>(Long::parseLong);
+        assertThrows(IllegalArgumentException.class, () -> engine.insert("foo"));
+        assertEquals(0, engine.size());
+    }
+
+    @Test
+    void testLargeWindow() throws Exception {
+        int input = 100000;
+        List<Integer> list = new ArrayList<>(input);
+        for (int i = 1; i <= input; i++) {
+            list.add(i);
+        }
+        Collections.shuffle(list, new Random(42));
+
+        engine.setLastDelivered(0);
+        for (Integer i : list) {
+            engine.insert(i);
+        }
+        engine.deliver();
+
+        assertEquals(0, engine.size());
+        assertEquals(input, buffer.size());
+        for (int i = 1; i <= input; i++) {
+            assertEquals(Integer.valueOf(i), buffer.poll(0));
+        }
+        assertEquals(0, engine.getGapCount());
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.TimeoutMap;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimingWheelTimeoutMapTest {
+
+    private ScheduledExecutorService executor = new ScheduledThreadPoolExecutor(1);
+
+    @Test
+    public void testTimingWheelTimeoutMapPurge() throws Exception {
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<>(executor, 100);
+        map.start();
+        assertEquals(512, map.getWheelSize());
+
+        assertEquals(0, map.size());
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        await().atMost(Duration.ofSeconds(2))
+                .untilAsserted(() -> assertEquals(0, map.size()));
+
+        map.stop();
+    }
+
+    @Test
+    public void testTimingWheelTimeoutMapGetRemove() throws Exception {
+        TimingWheelTimeoutMap<String, Integer> map = new TimingWheelTimeoutMap<>(executor, 100);
+        map.start();
+
+        map.put("A", 123, 50);
+        assertEquals(1, map.size());
+
+        assertEquals(123, (int) map.get("A"));
+
+        Object old = map.remove("A");
+        assertEquals(123, old);
+        assertNull((Object) map.get("A"));
+        assertEquals(0, map.size());
+
+        map.stop();
+    }
+
+    @Test
+    public void testExpiredInCorrectOrder() throws Exception {
+        final List<String> keys = new ArrayList<>();
+
+        ManualTimingWheelTimeoutMap<String, Integer> map = new ManualTimingWheelTimeoutMap<>(executor, 100, 512);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                keys.add(key);
+            }
+        });
+
+        map.put("A", 1, 250);
+        map.put("B", 2, 30);
+        map.put("C", 3, 140);
+        map.put("D", 4, 20);
+        map.put("E", 5, 140);
+        // is not expired
+        map.put("F", 6, 800);
+
+        map.time += 300;
+        map.purge();
+
+        assertEquals(List.of("D", "B", "C", "E", "A"), keys);
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testExpireAfterWheelRevolution() throws Exception {
+        final List<String> keys = new ArrayList<>();
+
+        // a small wheel with 4 buckets of 10 millis
+        ManualTimingWheelTimeoutMap<String, Integer> map = new ManualTimingWheelTimeoutMap<>(executor, 10, 4);
+        map.addListener((type, key, value) -> {
+            if (type == TimeoutMap.Listener.Type.Evict) {
+                keys.add(key);
+            }
+        });
+
+        map.put("A", 1, 15);
+        map.put("B", 2, 95);
+
+        for (int i = 0; i < 9; i++) {
+            map.time += 10;
+            map.purge();
+        }
+        assertEquals(List.of("A"), keys);
+        assertEquals(1, map.size());
+
+        map.time += 10;
+        map.purge();
+        assertEquals(List.of("A", "B"), keys);
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testGetUpdatesExpireTime() throws Exception {
+        ManualTimingWheelTimeoutMap<String, Integer> map = new ManualTimingWheelTimeoutMap<>(executor, 10, 4);
+
+        map.put("A", 1, 50);
+        map.time += 40;
+        // accessing the entry resets its timeout
+        assertEquals(1, map.get("A").intValue());
+
+        map.time += 40;
+        map.purge();
+        assertEquals(1, map.size());
+
+        map.time += 20;
+        map.purge();
+        assertEquals(0, map.size());
+    }
+
+    @Test
+    public void testPurgeManyEntries() throws Exception {
+        ManualTimingWheelTimeoutMap<Integer, Integer> map = new ManualTimingWheelTimeoutMap<>(executor, 10, 64);
+
+        for (int i = 0; i < 10000; i++) {
+            map.put(i, i, 10 + i % 1000);
+        }
+        assertEquals(10000, map.size());
+
+        map.time += 505;
+        map.purge();
+        assertEquals(5050, map.size());
+
+        map.time += 1000;
+        map.purge();
+        assertEquals(0, map.size());
+    }
+
+    private static final class ManualTimingWheelTimeoutMap<K, V> extends TimingWheelTimeoutMap<K, V> {
+
+        private long time = 1000000;
+
+        private ManualTimingWheelTimeoutMap(ScheduledExecutorService executor, long pollTime, int wheelSize) {
+            super(executor, pollTime, new ReentrantLock(), wheelSize);
+        }
+
+        @Override
+        protected long currentTime() {
+            return time;
+        }
+    }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The test class for {@link TinyLfuLRUCache}.
+ */
+class TinyLfuLRUCacheTest {
+
+    private final List<String> consumed = new ArrayList<>();
+    private final TinyLfuLRUCache<String, String> map
+            = (TinyLfuLRUCache<String, String>) new TinyLfuLRUCacheFactory().<String, String> createLRUCache(3, consumed::add);
+
+    @Test
+    void forbiddenOperations() {
+        assertThrows(UnsupportedOperationException.class, () -> map.values().add("foo"));
+        assertThrows(UnsupportedOperationException.class, () -> map.keySet().add("foo"));
+        assertThrows(UnsupportedOperationException.class, () -> map.entrySet().add(Map.entry("x", "y")));
+        assertThrows(NullPointerException.class, () -> map.put("x", null));
+        assertThrows(NullPointerException.class, () -> map.put(null, "x"));
+    }
+
+    @Test
+    void setValue() {
+        assertNull(map.put("1", "One"));
+        map.entrySet().iterator().next().setValue("bar");
+        assertEquals(1, map.size());
+        assertEquals("bar", map.get("1"));
+    }
+
+    @Test
+    void iteratorRemove() {
+        map.put("1", "One");
+        map.put("2", "Two");
+        Iterator<String> it = map.keySet().iterator();
+        it.next();
+        it.remove();
+        assertEquals(1, map.size());
+        map.values().remove(map.values().iterator().next());
+        assertTrue(map.isEmpty());
+        assertEquals(0, consumed.size());
+    }
+
+    @Test
+    void put() {
+        assertNull(map.put("1", "One"));
+        assertNull(map.put("2", "Two"));
+        assertNull(map.put("3", "Three"));
+        assertEquals(3, map.size());
+        assertEquals(0, consumed.size());
+        // the oldest entry is evicted when no entries are accessed again
+        assertNull(map.put("4", "Four"));
+        assertEquals(3, map.size());
+        assertEquals(1, consumed.size());
+        assertFalse(map.containsKey("1"));
+        assertTrue(consumed.contains("One"));
+        assertEquals("Two", map.put("2", "Two v2"));
+        assertEquals(3, map.size());
+        assertEquals(1, consumed.size());
+        assertEquals("Two v2", map.get("2"));
+    }
+
+    @Test
+    void computeAndMerge() {
+        assertEquals("One", map.computeIfAbsent("1", k -> "One"));
+        assertEquals("One", map.computeIfAbsent("1", k -> "One v2"));
+        assertNull(map.computeIfAbsent("2", k -> null));
+        assertEquals(1, map.size());
+        assertNull(map.computeIfPresent("2", (k, v) -> "Two"));
+        assertEquals("One v2", map.computeIfPresent("1", (k, v) -> "One v2"));
+        assertEquals("Two", map.compute("2", (k, v) -> "Two"));
+        assertNull(map.compute("2", (k, v) -> null));
+        assertEquals(1, map.size());
+        assertEquals("Three", map.merge("3", "Three", String::concat));
+        assertEquals("ThreeV2", map.merge("3", "V2", String::concat));
+        assertNull(map.merge("3", "V2", (v1, v2) -> null));
+        assertEquals(1, map.size());
+        assertEquals(0, consumed.size());
+    }
+
+    @Test
+    void replace() {
+        assertNull(map.replace("1", "One"));
+        assertEquals(0, map.size());
+        map.put("1", "One");
+        assertEquals("One", map.replace("1", "One v2"));
+        assertFalse(map.replace("1", "foo", "One v3"));
+        assertTrue(map.replace("1", "One v2", "One v3"));
+        assertEquals("One v3", map.get("1"));
+        assertFalse(map.remove("1", "foo"));
+        assertTrue(map.remove("1", "One v3"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void frequentlyUsedEntriesAreKept() {
+        TinyLfuLRUCache<Integer, Integer> cache = new TinyLfuLRUCache<>(100);
+        for (int i = 0; i < 100; i++) {
+            cache.put(i, i);
+        }
+        // access the first 10 entries which makes them popular
+        for (int n = 0; n < 5; n++) {
+            for (int i = 0; i < 10; i++) {
+                assertEquals(Integer.valueOf(i), cache.get(i));
+            }
+        }
+        cache.cleanUp();
+
+        // a scan of new entries should not evict the popular entries
+        for (int i = 1000; i < 2000; i++) {
+            cache.put(i, i);
+        }
+        assertEquals(100, cache.size());
+        for (int i = 0; i < 10; i++) {
+            assertTrue(cache.containsKey(i), "Should keep popular entry " + i);
+        }
+        // and the most recent entry is kept as well
+        assertTrue(cache.containsKey(1999));
+    }
+
+    @Test
+    void statistics() {
+        map.put("1", "One");
+        map.put("2", "Two");
+        map.get("1");
+        map.get("1");
+        map.get("3");
+        map.put("3", "Three");
+        map.put("4", "Four");
+        assertEquals(2, map.getHits());
+        assertEquals(1, map.getMisses());
+        assertEquals(1, map.getEvicted());
+        assertEquals(3, map.getMaxCacheSize());
+        map.resetStatistics();
+        assertEquals(0, map.getHits());
+        assertEquals(0, map.getMisses());
+        assertEquals(0, map.getEvicted());
+    }
+
+    @Test
+    void clear() {
+        map.put("1", "One");
+        map.put("2", "Two");
+        map.clear();
+        assertTrue(map.isEmpty());
+        map.put("3", "Three");
+        map.put("4", "Four");
+        map.put("5", "Five");
+        map.put("6", "Six");
+        assertEquals(3, map.size());
+        assertEquals(1, consumed.size());
+        assertTrue(consumed.contains("Three"));
+    }
+
+    @Test
+    void softAndWeakCaches() {
+        TinyLfuLRUCacheFactory factory = new TinyLfuLRUCacheFactory();
+        Map<String, String> soft = factory.createLRUSoftCache(10);
+        Map<String, String> weak = factory.createLRUWeakCache(10);
+        assertEquals(TinyLfuLRUCache.ValueStrength.SOFT, assertInstanceOf(TinyLfuLRUCache.class, soft).getValueStrength());
+        assertEquals(TinyLfuLRUCache.ValueStrength.WEAK, assertInstanceOf(TinyLfuLRUCache.class, weak).getValueStrength());
+
+        String value = new String("One");
+        soft.put("1", value);
+        weak.put("1", value);
+        assertEquals("One", soft.get("1"));
+        assertEquals("One", weak.get("1"));
+        assertEquals("One", weak.remove("1"));
+        assertTrue(weak.isEmpty());
+    }
+
+    @Test
+    void concurrentAccess() throws Exception {
+        TinyLfuLRUCache<Integer, Integer> cache = new TinyLfuLRUCache<>(16, 50, v -> {
+        });
+        int threads = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch latch = new CountDownLatch(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    for (int i = 0; i < 20000; i++) {
+                        int key = random.nextInt(200);
+                        Integer value = cache.get(key);
+                        if (value == null) {
+                            cache.computeIfAbsent(key, k -> k);
+                        } else {
+                            assertEquals(Integer.valueOf(key), value);
+                        }
+                        if (i % 100 == 0) {
+                            cache.remove(random.nextInt(200));
+                        }
+                    }
+                    latch.countDown();
+                });
+            }
+            assertTrue(latch.await(30, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+        cache.cleanUp();
+        assertTrue(cache.size() <= 50, "Size was " + cache.size());
+    }
+
+}
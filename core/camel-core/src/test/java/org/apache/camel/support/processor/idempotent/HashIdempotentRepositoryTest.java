@@ -0,0 +1,194 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.time.Duration;
+
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HashIdempotentRepositoryTest extends TestSupport {
+
+    private HashIdempotentRepository repo;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (repo != null) {
+            repo.stop();
+        }
+    }
+
+    @Test
+    public void testAddContainsRemove() {
+        repo = new HashIdempotentRepository();
+        repo.start();
+
+        assertTrue(repo.add("A"));
+        assertTrue(repo.add("B"));
+        assertFalse(repo.add("A"));
+        assertTrue(repo.contains("A"));
+        assertTrue(repo.contains("B"));
+        assertFalse(repo.contains("C"));
+        assertEquals(2, repo.getSize());
+
+        assertTrue(repo.remove("A"));
+        assertFalse(repo.remove("A"));
+        assertFalse(repo.contains("A"));
+        assertEquals(1, repo.getSize());
+
+        repo.clear();
+        assertFalse(repo.contains("B"));
+        assertEquals(0, repo.getSize());
+
+        // add(A) hit, contains(A) and contains(B) hits
+        assertEquals(3, repo.getHitCount());
+        assertEquals(0, repo.getEvictedCount());
+    }
+
+    @Test
+    public void testAddBeforeStart() {
+        repo = new HashIdempotentRepository(10);
+        assertTrue(repo.add("A"));
+        repo.start();
+        assertTrue(repo.contains("A"));
+    }
+
+    @Test
+    public void testEvictOldest() {
+        repo = new HashIdempotentRepository(100);
+        repo.start();
+
+        for (int i = 0; i < 250; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+        assertEquals(100, repo.getSize());
+        assertEquals(150, repo.getEvictedCount());
+        for (int i = 0; i < 150; i++) {
+            assertFalse(repo.contains("key" + i), "key" + i);
+        }
+        for (int i = 150; i < 250; i++) {
+            assertTrue(repo.contains("key" + i), "key" + i);
+        }
+    }
+
+    @Test
+    public void testEvictAfterRemoveAndAddAgain() {
+        repo = new HashIdempotentRepository(3);
+        repo.start();
+
+        repo.add("A");
+        repo.add("B");
+        repo.remove("A");
+        repo.add("C");
+        // A is now the newest entry
+        repo.add("A");
+        repo.add("D");
+
+        // only B should be evicted
+        assertEquals(3, repo.getSize());
+        assertFalse(repo.contains("B"));
+        assertTrue(repo.contains("C"));
+        assertTrue(repo.contains("A"));
+        assertTrue(repo.contains("D"));
+    }
+
+    @Test
+    public void testExpire() {
+        repo = new HashIdempotentRepository();
+        repo.setExpireTime(200);
+        repo.start();
+
+        assertTrue(repo.add("A"));
+        assertFalse(repo.add("A"));
+
+        await().atMost(Duration.ofSeconds(5)).until(() -> !repo.contains("A"));
+        assertEquals(1, repo.getExpiredCount());
+        assertEquals(0, repo.getSize());
+        assertTrue(repo.add("A"));
+    }
+
+    @Test
+    public void testBloomFilter() {
+        repo = new HashIdempotentRepository(20000);
+        repo.setBloomFilterEnabled(true);
+        repo.setFalsePositiveProbability(0.01);
+        repo.start();
+
+        // add more than max size so the bloom filter grows and is rebuilt
+        for (int i = 0; i < 50000; i++) {
+            assertTrue(repo.add("key" + i));
+        }
+        for (int i = 30000; i < 50000; i++) {
+            assertTrue(repo.contains("key" + i), "key" + i);
+        }
+        for (int i = 0; i < 20000; i++) {
+            assertFalse(repo.contains("other" + i), "other" + i);
+        }
+
+        // most new keys should not need to probe the hash table
+        assertTrue(repo.getBloomFilterSkipCount() > 50000 + 20000 * 0.9, "Was: " + repo.getBloomFilterSkipCount());
+    }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        File file = testDirectory(true).resolve("snapshot.dat").toFile();
+
+        repo = new HashIdempotentRepository(1000);
+        repo.setSnapshotFile(file);
+        repo.start();
+        for (int i = 0; i < 500; i++) {
+            repo.add("key" + i);
+        }
+        repo.remove("key0");
+        repo.stop();
+        assertTrue(file.exists());
+        assertEquals(0, repo.getSize());
+
+        // load into a smaller repository so the oldest entries are evicted
+        repo = new HashIdempotentRepository(100);
+        repo.setSnapshotFile(file);
+        repo.start();
+        assertEquals(100, repo.getSize());
+        assertFalse(repo.contains("key0"));
+        assertFalse(repo.contains("key399"));
+        assertTrue(repo.contains("key400"));
+        assertTrue(repo.contains("key499"));
+    }
+
+    @Test
+    public void testSnapshotNotConfigured() {
+        repo = new HashIdempotentRepository();
+        repo.start();
+        assertThrows(IllegalStateException.class, () -> repo.snapshot());
+    }
+
+    @Test
+    public void testInvalidMaxSize() {
+        repo = new HashIdempotentRepository(0);
+        assertThrows(IllegalArgumentException.class, () -> repo.add("A"));
+        repo = null;
+    }
+
+}
@@ -0,0 +1,200 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.camel.TestSupport;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SegmentedFileIdempotentRepositoryTest extends TestSupport {
+
+    private SegmentedFileIdempotentRepository repo;
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        if (repo != null) {
+            repo.stop();
+        }
+    }
+
+    private SegmentedFileIdempotentRepository createRepository(File directory, int segmentSize) {
+        SegmentedFileIdempotentRepository answer = new SegmentedFileIdempotentRepository(directory);
+        answer.setSegmentSize(segmentSize);
+        answer.start();
+        return answer;
+    }
+
+    @Test
+    public void testAddContainsRemove() {
+        repo = createRepository(testDirectory(true).toFile(), 1024);
+
+        assertTrue(repo.add("A"));
+        assertTrue(repo.add("B"));
+        assertFalse(repo.add("A"));
+        assertTrue(repo.contains("A"));
+        assertTrue(repo.contains("B"));
+        assertFalse(repo.contains("C"));
+        assertEquals(2, repo.getSize());
+
+        assertTrue(repo.remove("A"));
+        assertFalse(repo.remove("A"));
+        assertFalse(repo.contains("A"));
+        assertEquals(1, repo.getSize());
+
+        repo.clear();
+        assertFalse(repo.contains("B"));
+        assertEquals(0, repo.getSize());
+        assertEquals(0, repo.getSegmentCount());
+        assertTrue(repo.add("B"));
+    }
+
+    @Test
+    public void testRestart() {
+        File directory = testDirectory(true).toFile();
+        repo = createRepository(directory, 256);
+        for (int i = 0; i < 100; i++) {
+            repo.add("key-" + i);
+        }
+        for (int i = 0; i < 100; i += 2) {
+            repo.remove("key-" + i);
+        }
+        // add a removed key again, so it is both removed and added in the log
+        repo.add("key-10");
+        assertTrue(repo.getSegmentCount() > 1);
+        repo.stop();
+
+        repo = createRepository(directory, 256);
+        assertEquals(51, repo.getSize());
+        assertTrue(repo.contains("key-10"));
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i % 2 == 1 || i == 10, repo.contains("key-" + i), "key-" + i);
+        }
+    }
+
+    @Test
+    public void testCompaction() {
+        File directory = testDirectory(true).toFile();
+        repo = createRepository(directory, 256);
+
+        for (int i = 0; i < 200; i++) {
+            repo.add("key-" + i);
+        }
+        int before = repo.getSegmentCount();
+        for (int i = 0; i < 200; i++) {
+            if (i % 10 != 0) {
+                repo.remove("key-" + i);
+            }
+        }
+        repo.compact();
+        assertTrue(repo.getCompactionCount() > 0);
+        assertTrue(repo.getSegmentCount() < before,
+                "Should have less segments after compaction, was " + repo.getSegmentCount() + " before " + before);
+        assertEquals(0, repo.compact());
+        assertEquals(20, repo.getSize());
+
+        // add a removed key again after its tombstone may have been compacted
+        assertTrue(repo.add("key-1"));
+        repo.stop();
+
+        repo = createRepository(directory, 256);
+        assertEquals(21, repo.getSize());
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i % 10 == 0 || i == 1, repo.contains("key-" + i), "key-" + i);
+        }
+    }
+
+    @Test
+    public void testCompactionWithoutCamelContext() {
+        repo = createRepository(testDirectory(true).toFile(), 256);
+        // keep adding and removing keys, which should not grow the number of segments
+        for (int i = 0; i < 2000; i++) {
+            repo.add("key-" + i);
+            repo.remove("key-" + i);
+        }
+        assertTrue(repo.getCompactionCount() > 0);
+        assertTrue(repo.getSegmentCount() <= 3, "Should have been compacted, was " + repo.getSegmentCount());
+        assertEquals(0, repo.getSize());
+    }
+
+    @Test
+    public void testDiscardPartiallyWrittenRecord() throws Exception {
+        File directory = testDirectory(true).toFile();
+        repo = createRepository(directory, 1024);
+        repo.add("A");
+        repo.add("B");
+        repo.stop();
+
+        // corrupt the key of the last record, as if the JVM crashed while writing it
+        try (RandomAccessFile raf = new RandomAccessFile(new File(directory, "0000000001.log"), "rw")) {
+            raf.seek(19);
+            raf.write('X');
+        }
+
+        repo = createRepository(directory, 1024);
+        assertTrue(repo.contains("A"));
+        assertFalse(repo.contains("B"));
+        assertTrue(repo.add("C"));
+        repo.stop();
+
+        repo = createRepository(directory, 1024);
+        assertEquals(2, repo.getSize());
+        assertTrue(repo.contains("A"));
+        assertTrue(repo.contains("C"));
+    }
+
+    @Test
+    public void testSyncOnWrite() throws Exception {
+        repo = new SegmentedFileIdempotentRepository(testDirectory(true).toFile());
+        repo.setSyncOnWrite(true);
+        repo.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int thread = t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 100; i++) {
+                        repo.add("key-" + thread + "-" + i);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(400, repo.getSize());
+        // concurrent writers may share a flush
+        assertTrue(repo.getSyncCount() > 0 && repo.getSyncCount() <= 400);
+    }
+
+}
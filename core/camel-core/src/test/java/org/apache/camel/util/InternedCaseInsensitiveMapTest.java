@@ -0,0 +1,213 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InternedCaseInsensitiveMapTest {
+
+    private static final InternedCaseInsensitiveMap.Keys KEYS
+            = InternedCaseInsensitiveMap.Keys.of(List.of("CamelFileName", "Content-Type", "Foo", "foo", "breadcrumbId"));
+
+    @Test
+    public void testKeys() {
+        // foo is a duplicate of Foo
+        assertEquals(4, KEYS.size());
+        assertTrue(KEYS.contains("CamelFileName"));
+        assertTrue(KEYS.contains("camelfilename"));
+        assertTrue(KEYS.contains("FOO"));
+        assertFalse(KEYS.contains("bar"));
+    }
+
+    @Test
+    public void testLookupCaseAgnostic() {
+        Map<String, Object> map = new InternedCaseInsensitiveMap(KEYS);
+        assertNull(map.get("foo"));
+        assertNull(map.get("bar"));
+
+        map.put("foo", "cheese");
+        map.put("bar", "beer");
+
+        assertEquals("cheese", map.get("foo"));
+        assertEquals("cheese", map.get("Foo"));
+        assertEquals("cheese", map.get("FOO"));
+        assertEquals("beer", map.get("bar"));
+        assertEquals("beer", map.get("Bar"));
+        assertEquals("beer", map.get("BAR"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testSetWithDifferentCase() {
+        Map<String, Object> map = new InternedCaseInsensitiveMap(KEYS);
+        map.put("content-type", "text/plain");
+        map.put("bar", "beer");
+        assertEquals(2, map.size());
+
+        assertEquals("text/plain", map.put("Content-Type", "text/xml"));
+        assertEquals("beer", map.put("BAR", "wine"));
+        assertEquals(2, map.size());
+
+        assertEquals("text/xml", map.get("CONTENT-TYPE"));
+        assertEquals("wine", map.get("bar"));
+
+        // the case of the keys added first is preserved
+        Map<String, Object> other = new HashMap<>(map);
+        assertEquals("text/xml", other.get("content-type"));
+        assertEquals("wine", other.get("bar"));
+    }
+
+    @Test
+    public void testRemoveWithDifferentCase() {
+        Map<String, Object> map = new InternedCaseInsensitiveMap(KEYS);
+        map.put("CamelFileName", "hello.txt");
+        map.put("bar", "beer");
+        map.put("baz", null);
+        assertEquals(3, map.size());
+        assertTrue(map.containsKey("BAZ"));
+
+        assertEquals("hello.txt", map.remove("camelfilename"));
+        assertEquals("beer", map.remove("BAR"));
+        assertNull(map.remove("BAR"));
+        assertNull(map.remove("unknown"));
+        assertEquals(1, map.size());
+
+        assertFalse(map.containsKey("CamelFileName"));
+        assertFalse(map.containsKey("bar"));
+        assertTrue(map.containsKey("baz"));
+
+        map.put("bar", "wine");
+        assertEquals("wine", map.get("Bar"));
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    public void testManyKeys() {
+        Map<String, Object> map = new InternedCaseInsensitiveMap(KEYS);
+        for (int i = 0; i < 1000; i++) {
+            map.put("key" + i, i);
+        }
+        assertEquals(1000, map.size());
+        for (int i = 0; i < 1000; i += 2) {
+            assertEquals(i, map.remove("KEY" + i));
+        }
+        assertEquals(500, map.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 == 0 ? null : i, map.get("Key" + i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            map.put("key" + i, i);
+        }
+        assertEquals(1000, map.size());
+        assertEquals(1000, new HashMap<>(map).size());
+    }
+
+    @Test
+    public void testEntrySet() {
+        Map<String, Object> map = new InternedCaseInsensitiveMap(KEYS);
+        map.put("Foo", "cheese");
+        map.put("bar", 123);
+        map.put("CamelFileName", "hello.txt");
+
+        Map<String, Object> other = new HashMap<>();
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            other.put(entry.getKey(), entry.getValue());
+        }
+        assertEquals(Map.of("Foo", "cheese", "bar", 123, "CamelFileName", "hello.txt"), other);
+        assertEquals(other, map);
+
+        // write through
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            entry.setValue("changed");
+        }
+        assertEquals("changed", map.get("foo"));
+        assertEquals("changed", map.get("bar"));
+        assertEquals("changed", map.get("camelFileName"));
+    }
+
+    @Test
+    public void testIteratorRemove() {
+        Map<String, Object> map = new InternedCaseInsensitiveMap(KEYS);
+        map.put("Foo", "cheese");
+        map.put("CamelFileName", "hello.txt");
+        for (int i = 0; i < 20; i++) {
+            map.put("key" + i, i);
+        }
+
+        Iterator<String> it = map.keySet().iterator();
+        while (it.hasNext()) {
+            String key = it.next();
+            if (key.startsWith("key") || key.equals("Foo")) {
+                it.remove();
+            }
+        }
+        assertEquals(Set.of("CamelFileName"), map.keySet());
+
+        map.keySet().removeIf(k -> k.startsWith("Camel"));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testCopy() {
+        Map<String, Object> map = new InternedCaseInsensitiveMap(KEYS);
+        map.put("Foo", "cheese");
+        map.put("bar", 123);
+
+        Map<String, Object> copy = new InternedCaseInsensitiveMap(KEYS, map);
+        assertEquals(map, copy);
+
+        // defensive copy
+        copy.put("foo", "cake");
+        copy.put("baz", "beer");
+        copy.remove("bar");
+        assertEquals("cheese", map.get("foo"));
+        assertEquals(123, map.get("bar"));
+        assertNull(map.get("baz"));
+        assertEquals("cake", copy.get("FOO"));
+        assertEquals("beer", copy.get("BAZ"));
+        assertEquals(2, copy.size());
+
+        // copy from other kind of map
+        Map<String, Object> copy2 = new InternedCaseInsensitiveMap(KEYS, new HashMap<>(map));
+        assertEquals(map, copy2);
+    }
+
+    @Test
+    public void testClear() {
+        Map<String, Object> map = new InternedCaseInsensitiveMap(KEYS);
+        map.put("Foo", "cheese");
+        map.put("bar", 123);
+        map.clear();
+
+        assertTrue(map.isEmpty());
+        assertNull(map.get("foo"));
+        assertNull(map.get("bar"));
+        assertFalse(map.entrySet().iterator().hasNext());
+
+        map.put("bar", 456);
+        assertEquals(456, map.get("BAR"));
+    }
+
+}
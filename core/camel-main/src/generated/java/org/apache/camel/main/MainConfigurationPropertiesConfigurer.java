@@ -115,6 +115,10 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "JmxManagementNamePattern": target.setJmxManagementNamePattern(property(camelContext, java.lang.String.class, value)); return true;
         case "jmxmanagementstatisticslevel":
         case "JmxManagementStatisticsLevel": target.setJmxManagementStatisticsLevel(property(camelContext, org.apache.camel.ManagementStatisticsLevel.class, value)); return true;
+        case "latencyhistogramenabled":
+        case "LatencyHistogramEnabled": target.setLatencyHistogramEnabled(property(camelContext, boolean.class, value)); return true;
+        case "latencyhistogramsignificantdigits":
+        case "LatencyHistogramSignificantDigits": target.setLatencyHistogramSignificantDigits(property(camelContext, int.class, value)); return true;
         case "lightweight":
         case "Lightweight": target.setLightweight(property(camelContext, boolean.class, value)); return true;
         case "loadhealthchecks":
@@ -231,6 +235,12 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingSpoolDirectory": target.setStreamCachingSpoolDirectory(property(camelContext, java.lang.String.class, value)); return true;
         case "streamcachingspoolenabled":
         case "StreamCachingSpoolEnabled": target.setStreamCachingSpoolEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingspooloffheapenabled":
+        case "StreamCachingSpoolOffHeapEnabled": target.setStreamCachingSpoolOffHeapEnabled(property(camelContext, boolean.class, value)); return true;
+        case "streamcachingspooloffheapmappedmaxsize":
+        case "StreamCachingSpoolOffHeapMappedMaxSize": target.setStreamCachingSpoolOffHeapMappedMaxSize(property(camelContext, long.class, value)); return true;
+        case "streamcachingspooloffheapmaxsize":
+        case "StreamCachingSpoolOffHeapMaxSize": target.setStreamCachingSpoolOffHeapMaxSize(property(camelContext, long.class, value)); return true;
         case "streamcachingspoolthreshold":
         case "StreamCachingSpoolThreshold": target.setStreamCachingSpoolThreshold(property(camelContext, long.class, value)); return true;
         case "streamcachingspoolusedheapmemorylimit":
@@ -362,6 +372,10 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "JmxManagementNamePattern": return java.lang.String.class;
         case "jmxmanagementstatisticslevel":
         case "JmxManagementStatisticsLevel": return org.apache.camel.ManagementStatisticsLevel.class;
+        case "latencyhistogramenabled":
+        case "LatencyHistogramEnabled": return boolean.class;
+        case "latencyhistogramsignificantdigits":
+        case "LatencyHistogramSignificantDigits": return int.class;
         case "lightweight":
         case "Lightweight": return boolean.class;
         case "loadhealthchecks":
@@ -478,6 +492,12 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingSpoolDirectory": return java.lang.String.class;
         case "streamcachingspoolenabled":
         case "StreamCachingSpoolEnabled": return boolean.class;
+        case "streamcachingspooloffheapenabled":
+        case "StreamCachingSpoolOffHeapEnabled": return boolean.class;
+        case "streamcachingspooloffheapmappedmaxsize":
+        case "StreamCachingSpoolOffHeapMappedMaxSize": return long.class;
+        case "streamcachingspooloffheapmaxsize":
+        case "StreamCachingSpoolOffHeapMaxSize": return long.class;
         case "streamcachingspoolthreshold":
         case "StreamCachingSpoolThreshold": return long.class;
         case "streamcachingspoolusedheapmemorylimit":
@@ -610,6 +630,10 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "JmxManagementNamePattern": return target.getJmxManagementNamePattern();
         case "jmxmanagementstatisticslevel":
         case "JmxManagementStatisticsLevel": return target.getJmxManagementStatisticsLevel();
+        case "latencyhistogramenabled":
+        case "LatencyHistogramEnabled": return target.isLatencyHistogramEnabled();
+        case "latencyhistogramsignificantdigits":
+        case "LatencyHistogramSignificantDigits": return target.getLatencyHistogramSignificantDigits();
         case "lightweight":
         case "Lightweight": return target.isLightweight();
         case "loadhealthchecks":
@@ -726,6 +750,12 @@ public class MainConfigurationPropertiesConfigurer extends org.apache.camel.supp
         case "StreamCachingSpoolDirectory": return target.getStreamCachingSpoolDirectory();
         case "streamcachingspoolenabled":
         case "StreamCachingSpoolEnabled": return target.isStreamCachingSpoolEnabled();
+        case "streamcachingspooloffheapenabled":
+        case "StreamCachingSpoolOffHeapEnabled": return target.isStreamCachingSpoolOffHeapEnabled();
+        case "streamcachingspooloffheapmappedmaxsize":
+        case "StreamCachingSpoolOffHeapMappedMaxSize": return target.getStreamCachingSpoolOffHeapMappedMaxSize();
+        case "streamcachingspooloffheapmaxsize":
+        case "StreamCachingSpoolOffHeapMaxSize": return target.getStreamCachingSpoolOffHeapMaxSize();
         case "streamcachingspoolthreshold":
         case "StreamCachingSpoolThreshold": return target.getStreamCachingSpoolThreshold();
         case "streamcachingspoolusedheapmemorylimit":
@@ -37,6 +37,10 @@ public class ThreadPoolConfigurationPropertiesConfigurer extends org.apache.came
         case "RejectedPolicy": target.setRejectedPolicy(property(camelContext, org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy.class, value)); return true;
         case "timeunit":
         case "TimeUnit": target.setTimeUnit(property(camelContext, java.util.concurrent.TimeUnit.class, value)); return true;
+        case "virtualthreads":
+        case "VirtualThreads": target.setVirtualThreads(property(camelContext, java.lang.Boolean.class, value)); return true;
+        case "virtualthreadspinnedmonitor":
+        case "VirtualThreadsPinnedMonitor": target.setVirtualThreadsPinnedMonitor(property(camelContext, boolean.class, value)); return true;
         default: return false;
         }
     }
@@ -60,6 +64,10 @@ public class ThreadPoolConfigurationPropertiesConfigurer extends org.apache.came
         case "RejectedPolicy": return org.apache.camel.util.concurrent.ThreadPoolRejectedPolicy.class;
         case "timeunit":
         case "TimeUnit": return java.util.concurrent.TimeUnit.class;
+        case "virtualthreads":
+        case "VirtualThreads": return java.lang.Boolean.class;
+        case "virtualthreadspinnedmonitor":
+        case "VirtualThreadsPinnedMonitor": return boolean.class;
         default: return null;
         }
     }
@@ -84,6 +92,10 @@ public class ThreadPoolConfigurationPropertiesConfigurer extends org.apache.came
         case "RejectedPolicy": return target.getRejectedPolicy();
         case "timeunit":
         case "TimeUnit": return target.getTimeUnit();
+        case "virtualthreads":
+        case "VirtualThreads": return target.getVirtualThreads();
+        case "virtualthreadspinnedmonitor":
+        case "VirtualThreadsPinnedMonitor": return target.isVirtualThreadsPinnedMonitor();
         default: return null;
         }
     }
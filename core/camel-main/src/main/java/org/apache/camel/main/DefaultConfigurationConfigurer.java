@@ -150,6 +150,11 @@ public final class DefaultConfigurationConfigurer {
         if ("pooled".equals(config.getExchangeFactory())) {
             ecc.setExchangeFactory(new PooledExchangeFactory());
             ecc.setProcessorExchangeFactory(new PooledProcessorExchangeFactory());
+        } else if ("fully-pooled".equals(config.getExchangeFactory())) {
+            PooledExchangeFactory pef = new PooledExchangeFactory();
+            pef.setFullyPooled(true);
+            ecc.setExchangeFactory(pef);
+            ecc.setProcessorExchangeFactory(new PooledProcessorExchangeFactory());
         } else if ("prototype".equals(config.getExchangeFactory())) {
             ecc.setExchangeFactory(new PrototypeExchangeFactory());
             ecc.setProcessorExchangeFactory(new PrototypeProcessorExchangeFactory());
@@ -198,6 +203,10 @@ public final class DefaultConfigurationConfigurer {
         camelContext.getStreamCachingStrategy()
                 .setRemoveSpoolDirectoryWhenStopping(config.isStreamCachingRemoveSpoolDirectoryWhenStopping());
         camelContext.getStreamCachingStrategy().setSpoolCipher(config.getStreamCachingSpoolCipher());
+        camelContext.getStreamCachingStrategy().setSpoolOffHeapEnabled(config.isStreamCachingSpoolOffHeapEnabled());
+        camelContext.getStreamCachingStrategy().setSpoolOffHeapMaxSize(config.getStreamCachingSpoolOffHeapMaxSize());
+        camelContext.getStreamCachingStrategy()
+                .setSpoolOffHeapMappedMaxSize(config.getStreamCachingSpoolOffHeapMappedMaxSize());
         if (config.getStreamCachingSpoolDirectory() != null) {
             camelContext.getStreamCachingStrategy().setSpoolDirectory(config.getStreamCachingSpoolDirectory());
         }
@@ -268,6 +277,10 @@ public final class DefaultConfigurationConfigurer {
                     .setEndpointRuntimeStatisticsEnabled(config.isEndpointRuntimeStatisticsEnabled());
             camelContext.getManagementStrategy().getManagementAgent()
                     .setLoadStatisticsEnabled(config.isLoadStatisticsEnabled());
+            camelContext.getManagementStrategy().getManagementAgent()
+                    .setLatencyHistogramEnabled(config.isLatencyHistogramEnabled());
+            camelContext.getManagementStrategy().getManagementAgent()
+                    .setLatencyHistogramSignificantDigits(config.getLatencyHistogramSignificantDigits());
             camelContext.getManagementStrategy().getManagementAgent()
                     .setStatisticsLevel(config.getJmxManagementStatisticsLevel());
             camelContext.getManagementStrategy().getManagementAgent()
@@ -65,6 +65,9 @@ public abstract class DefaultConfigurationProperties<T> {
     private String streamCachingSpoolDirectory;
     private String streamCachingSpoolCipher;
     private long streamCachingSpoolThreshold;
+    private boolean streamCachingSpoolOffHeapEnabled;
+    private long streamCachingSpoolOffHeapMaxSize = 64 * 1024 * 1024L;
+    private long streamCachingSpoolOffHeapMappedMaxSize = 256 * 1024 * 1024L;
     private int streamCachingSpoolUsedHeapMemoryThreshold;
     private String streamCachingSpoolUsedHeapMemoryLimit;
     private boolean streamCachingAnySpoolRules;
@@ -92,6 +95,8 @@ public abstract class DefaultConfigurationProperties<T> {
     private boolean autowiredEnabled = true;
     private boolean endpointRuntimeStatisticsEnabled;
     private boolean loadStatisticsEnabled;
+    private boolean latencyHistogramEnabled;
+    private int latencyHistogramSignificantDigits = 2;
     private boolean endpointLazyStartProducer;
     private boolean endpointBridgeErrorHandler;
     private boolean useDataType;
@@ -125,7 +130,7 @@ public abstract class DefaultConfigurationProperties<T> {
     private boolean routesReloadRemoveAllRoutes = true;
     private boolean routesReloadRestartDuration;
     private boolean lightweight;
-    @Metadata(defaultValue = "default", enums = "default,prototype,pooled")
+    @Metadata(defaultValue = "default", enums = "default,prototype,pooled,fully-pooled")
     private String exchangeFactory = "default";
     private int exchangeFactoryCapacity = 100;
     private boolean exchangeFactoryStatisticsEnabled;
@@ -528,6 +533,44 @@ public abstract class DefaultConfigurationProperties<T> {
         this.streamCachingSpoolCipher = streamCachingSpoolCipher;
     }
 
+    public boolean isStreamCachingSpoolOffHeapEnabled() {
+        return streamCachingSpoolOffHeapEnabled;
+    }
+
+    /**
+     * To enable stream caching spooling to off-heap memory instead of temporary files. The stream caches are spooled
+     * into a pool of direct memory, which overflows into a memory-mapped file in the spool directory shared by all
+     * stream caches. When both are in use, then stream caches are spooled to temporary files as usual. This requires
+     * streamCachingSpoolEnabled=true.
+     */
+    public void setStreamCachingSpoolOffHeapEnabled(boolean streamCachingSpoolOffHeapEnabled) {
+        this.streamCachingSpoolOffHeapEnabled = streamCachingSpoolOffHeapEnabled;
+    }
+
+    public long getStreamCachingSpoolOffHeapMaxSize() {
+        return streamCachingSpoolOffHeapMaxSize;
+    }
+
+    /**
+     * Maximum number of bytes of direct memory to use for stream caching spooling to off-heap memory. The default is 64
+     * MB.
+     */
+    public void setStreamCachingSpoolOffHeapMaxSize(long streamCachingSpoolOffHeapMaxSize) {
+        this.streamCachingSpoolOffHeapMaxSize = streamCachingSpoolOffHeapMaxSize;
+    }
+
+    public long getStreamCachingSpoolOffHeapMappedMaxSize() {
+        return streamCachingSpoolOffHeapMappedMaxSize;
+    }
+
+    /**
+     * Maximum number of bytes of the memory-mapped file to use for stream caching spooling to off-heap memory, when the
+     * direct memory is in use. Use 0 to not use a memory-mapped file. The default is 256 MB.
+     */
+    public void setStreamCachingSpoolOffHeapMappedMaxSize(long streamCachingSpoolOffHeapMappedMaxSize) {
+        this.streamCachingSpoolOffHeapMappedMaxSize = streamCachingSpoolOffHeapMappedMaxSize;
+    }
+
     public long getStreamCachingSpoolThreshold() {
         return streamCachingSpoolThreshold;
     }
@@ -892,6 +935,35 @@ public abstract class DefaultConfigurationProperties<T> {
         this.loadStatisticsEnabled = loadStatisticsEnabled;
     }
 
+    public boolean isLatencyHistogramEnabled() {
+        return latencyHistogramEnabled;
+    }
+
+    /**
+     * Sets whether latency histograms is enabled, which records the processing time of the routes and processors into
+     * histograms, to gather percentiles such as p50, p99 and p999. The statistics requires to have camel-management on
+     * the classpath as JMX is required.
+     *
+     * The default value is false.
+     */
+    public void setLatencyHistogramEnabled(boolean latencyHistogramEnabled) {
+        this.latencyHistogramEnabled = latencyHistogramEnabled;
+    }
+
+    public int getLatencyHistogramSignificantDigits() {
+        return latencyHistogramSignificantDigits;
+    }
+
+    /**
+     * The number of significant decimal digits (1 to 3) the latency histograms records the processing time with. A
+     * higher number gives more accurate percentiles, but uses more memory per route and processor.
+     *
+     * The default value is 2.
+     */
+    public void setLatencyHistogramSignificantDigits(int latencyHistogramSignificantDigits) {
+        this.latencyHistogramSignificantDigits = latencyHistogramSignificantDigits;
+    }
+
     public boolean isEndpointLazyStartProducer() {
         return endpointLazyStartProducer;
     }
@@ -1337,8 +1409,9 @@ public abstract class DefaultConfigurationProperties<T> {
 
     /**
      * Controls whether to pool (reuse) exchanges or create new exchanges (prototype). Using pooled will reduce JVM
-     * garbage collection overhead by avoiding to re-create Exchange instances per message each consumer receives. The
-     * default is prototype mode.
+     * garbage collection overhead by avoiding to re-create Exchange instances per message each consumer receives. Using
+     * fully-pooled will in addition recycle the internal state of the routing engine between exchanges, and measure the
+     * bytes allocated per exchange when statistics is enabled. The default is prototype mode.
      */
     public void setExchangeFactory(String exchangeFactory) {
         this.exchangeFactory = exchangeFactory;
@@ -1914,6 +1987,35 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * To enable stream caching spooling to off-heap memory instead of temporary files. The stream caches are spooled
+     * into a pool of direct memory, which overflows into a memory-mapped file in the spool directory shared by all
+     * stream caches. When both are in use, then stream caches are spooled to temporary files as usual. This requires
+     * streamCachingSpoolEnabled=true.
+     */
+    public T withStreamCachingSpoolOffHeapEnabled(boolean streamCachingSpoolOffHeapEnabled) {
+        this.streamCachingSpoolOffHeapEnabled = streamCachingSpoolOffHeapEnabled;
+        return (T) this;
+    }
+
+    /**
+     * Maximum number of bytes of direct memory to use for stream caching spooling to off-heap memory. The default is 64
+     * MB.
+     */
+    public T withStreamCachingSpoolOffHeapMaxSize(long streamCachingSpoolOffHeapMaxSize) {
+        this.streamCachingSpoolOffHeapMaxSize = streamCachingSpoolOffHeapMaxSize;
+        return (T) this;
+    }
+
+    /**
+     * Maximum number of bytes of the memory-mapped file to use for stream caching spooling to off-heap memory, when the
+     * direct memory is in use. Use 0 to not use a memory-mapped file. The default is 256 MB.
+     */
+    public T withStreamCachingSpoolOffHeapMappedMaxSize(long streamCachingSpoolOffHeapMappedMaxSize) {
+        this.streamCachingSpoolOffHeapMappedMaxSize = streamCachingSpoolOffHeapMappedMaxSize;
+        return (T) this;
+    }
+
     /**
      * Stream caching threshold in bytes when overflow to disk is activated. The default threshold is 128kb. Use -1 to
      * disable overflow to disk.
@@ -2156,6 +2258,27 @@ public abstract class DefaultConfigurationProperties<T> {
         return (T) this;
     }
 
+    /**
+     * Sets whether latency histograms is enabled, which records the processing time of the routes and processors into
+     * histograms, to gather percentiles such as p50, p99 and p999.
+     *
+     * The default value is false.
+     */
+    public T withLatencyHistogramEnabled(boolean latencyHistogramEnabled) {
+        this.latencyHistogramEnabled = latencyHistogramEnabled;
+        return (T) this;
+    }
+
+    /**
+     * The number of significant decimal digits (1 to 3) the latency histograms records the processing time with.
+     *
+     * The default value is 2.
+     */
+    public T withLatencyHistogramSignificantDigits(int latencyHistogramSignificantDigits) {
+        this.latencyHistogramSignificantDigits = latencyHistogramSignificantDigits;
+        return (T) this;
+    }
+
     /**
      * Whether the producer should be started lazy (on the first message). By starting lazy you can use this to allow
      * CamelContext and routes to startup in situations where a producer may otherwise fail during starting and cause
@@ -40,6 +40,8 @@ public class ThreadPoolConfigurationProperties implements BootstrapCloseable {
     private Integer maxQueueSize;
     private Boolean allowCoreThreadTimeOut;
     private ThreadPoolRejectedPolicy rejectedPolicy;
+    private Boolean virtualThreads;
+    private boolean virtualThreadsPinnedMonitor;
 
     // profile specific values
     private Map<String, ThreadPoolProfileConfigurationProperties> config = new HashMap<>();
@@ -138,6 +140,32 @@ public class ThreadPoolConfigurationProperties implements BootstrapCloseable {
         this.rejectedPolicy = rejectedPolicy;
     }
 
+    public Boolean getVirtualThreads() {
+        return virtualThreads;
+    }
+
+    /**
+     * Sets default whether to use virtual threads (requires Java 21 or newer).
+     *
+     * When enabled then thread pools will start a new virtual thread per task, instead of pooling platform threads.
+     */
+    public void setVirtualThreads(Boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isVirtualThreadsPinnedMonitor() {
+        return virtualThreadsPinnedMonitor;
+    }
+
+    /**
+     * Whether to monitor when virtual threads are pinned to their carrier thread (requires Java 21 or newer).
+     *
+     * The monitor uses the JDK Flight Recorder, which adds overhead, and is therefore not enabled by default.
+     */
+    public void setVirtualThreadsPinnedMonitor(boolean virtualThreadsPinnedMonitor) {
+        this.virtualThreadsPinnedMonitor = virtualThreadsPinnedMonitor;
+    }
+
     public Map<String, ThreadPoolProfileConfigurationProperties> getConfig() {
         return config;
     }
@@ -49,6 +49,33 @@ public class MainThreadPoolTest {
         main.stop();
     }
 
+    @Test
+    public void testVirtualThreadPool() throws Exception {
+        Main main = new Main();
+        main.configure().addRoutesBuilder(new MyRouteBuilder());
+        main.addProperty("camel.threadpool.virtual-threads", "true");
+        main.addProperty("camel.threadpool.config[myPool].id", "myPool");
+        main.addProperty("camel.threadpool.config[myPool].pool-size", "1");
+        main.addProperty("camel.threadpool.config[myPlatformPool].id", "myPlatformPool");
+        main.addProperty("camel.threadpool.config[myPlatformPool].virtual-threads", "false");
+        main.start();
+
+        CamelContext camelContext = main.getCamelContext();
+        assertNotNull(camelContext);
+
+        ThreadPoolProfile tp = camelContext.getExecutorServiceManager().getDefaultThreadPoolProfile();
+        assertEquals("default", tp.getId());
+        assertEquals(Boolean.TRUE, tp.getVirtualThreads());
+
+        tp = camelContext.getExecutorServiceManager().getThreadPoolProfile("myPool");
+        assertEquals(Boolean.TRUE, tp.getVirtualThreads());
+
+        tp = camelContext.getExecutorServiceManager().getThreadPoolProfile("myPlatformPool");
+        assertEquals(Boolean.FALSE, tp.getVirtualThreads());
+
+        main.stop();
+    }
+
     @Test
     public void testCustomThreadPool() throws Exception {
         Main main = new Main();
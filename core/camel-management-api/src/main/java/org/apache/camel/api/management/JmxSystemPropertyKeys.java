@@ -40,6 +40,12 @@ public final class JmxSystemPropertyKeys {
     // whether to enable gathering load statistics in the background
     public static final String LOAD_STATISTICS_ENABLED = "org.apache.camel.jmx.loadStatisticsEnabled";
 
+    // whether to enable recording latency histograms of the processing time
+    public static final String LATENCY_HISTOGRAM_ENABLED = "org.apache.camel.jmx.latencyHistogramEnabled";
+
+    // the number of significant digits to record in the latency histograms
+    public static final String LATENCY_HISTOGRAM_SIGNIFICANT_DIGITS = "org.apache.camel.jmx.latencyHistogramSignificantDigits";
+
     // whether to enable gathering endpoint runtime statistics
     public static final String ENDPOINT_RUNTIME_STATISTICS_ENABLED = "org.apache.camel.jmx.endpointRuntimeStatisticsEnabled";
 
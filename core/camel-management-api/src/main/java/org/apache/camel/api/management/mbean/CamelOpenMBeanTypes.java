@@ -188,6 +188,19 @@ public final class CamelOpenMBeanTypes {
                 new OpenType[] { SimpleType.STRING, SimpleType.STRING, SimpleType.STRING, SimpleType.LONG });
     }
 
+    public static TabularType tokenBucketThrottlerTabularType() throws OpenDataException {
+        CompositeType ct = tokenBucketThrottlerCompositeType();
+        return new TabularType("throttler", "Throttler statistics", ct, new String[] { "key" });
+    }
+
+    public static CompositeType tokenBucketThrottlerCompositeType() throws OpenDataException {
+        return new CompositeType(
+                "keys", "Correlation keys",
+                new String[] { "key", "maximumRequestsPerPeriod", "currentRate", "throttled", "rejected" },
+                new String[] { "Key", "Maximum Requests Per Period", "Current Rate", "Throttled", "Rejected" },
+                new OpenType[] { SimpleType.STRING, SimpleType.INTEGER, SimpleType.LONG, SimpleType.LONG, SimpleType.LONG });
+    }
+
     public static TabularType loadbalancerExceptionsTabularType() throws OpenDataException {
         CompositeType ct = loadbalancerExceptionsCompositeType();
         return new TabularType("exception", "Exception statistics", ct, new String[] { "exception" });
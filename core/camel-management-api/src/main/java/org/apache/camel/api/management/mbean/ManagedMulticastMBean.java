@@ -38,4 +38,13 @@ public interface ManagedMulticastMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "The total timeout specified in millis, when using parallel processing.")
     Long getTimeout();
 
+    @ManagedAttribute(description = "The maximum number of sub messages in flight per message, when using parallel processing (0 = no limit).")
+    Integer getMaxInflight();
+
+    @ManagedAttribute(description = "Number of sub messages which has been sent but not yet aggregated, when using max inflight.")
+    Integer getSubExchangesInflight();
+
+    @ManagedAttribute(description = "Number of sub messages which has completed and are waiting for previous sub messages before being aggregated, when using max inflight.")
+    Integer getSubExchangesPendingAggregation();
+
 }
@@ -59,6 +59,21 @@ public interface ManagedPerformanceCounterMBean extends ManagedCounterMBean {
     @ManagedAttribute(description = "Delta Processing Time [milliseconds]")
     long getDeltaProcessingTime();
 
+    @ManagedAttribute(description = "Whether latency histogram is enabled")
+    boolean isLatencyHistogramEnabled();
+
+    @ManagedAttribute(description = "50th Percentile Processing Time [milliseconds] (requires latency histogram enabled)")
+    long getProcessingTimeP50();
+
+    @ManagedAttribute(description = "99th Percentile Processing Time [milliseconds] (requires latency histogram enabled)")
+    long getProcessingTimeP99();
+
+    @ManagedAttribute(description = "99.9th Percentile Processing Time [milliseconds] (requires latency histogram enabled)")
+    long getProcessingTimeP999();
+
+    @ManagedOperation(description = "Processing Time [milliseconds] at the given percentile such as 95 or 99.99 (requires latency histogram enabled)")
+    long processingTimePercentile(double percentile);
+
     @ManagedAttribute(description = "Last Exchange Created Timestamp")
     Date getLastExchangeCreatedTimestamp();
 
@@ -36,6 +36,15 @@ public interface ManagedRecipientListMBean extends ManagedProcessorMBean, Manage
     @ManagedAttribute(description = "Sets the maximum size used by the ProducerCache which is used to cache and reuse producers")
     Integer getCacheSize();
 
+    @ManagedAttribute(description = "Number of times an endpoint was found in the cache of recently used endpoints")
+    Long getEndpointCacheHits();
+
+    @ManagedAttribute(description = "Number of times an endpoint was not found in the cache of recently used endpoints")
+    Long getEndpointCacheMisses();
+
+    @ManagedAttribute(description = "Number of endpoints in the cache of recently used endpoints")
+    Integer getEndpointCacheSize();
+
     @ManagedAttribute(description = "If enabled then the aggregate method on AggregationStrategy can be called concurrently.")
     Boolean isParallelAggregate();
 
@@ -44,4 +44,16 @@ public interface ManagedResequencerMBean extends ManagedProcessorMBean {
     @ManagedAttribute(description = "If true, throws an exception when messages older than the last delivered message are processed")
     Boolean isRejectOld();
 
+    @ManagedAttribute(description = "Number of messages that arrived with a lower sequence number than a previous message (stream resequencer only)")
+    Long getOutOfOrderCount();
+
+    @ManagedAttribute(description = "Number of gaps in the delivered sequence of messages, where messages were delivered after a timeout because their predecessor was missing (stream resequencer only)")
+    Long getGapCount();
+
+    @ManagedAttribute(description = "Number of sequence numbers that were skipped over in the delivered sequence of messages (stream resequencer only)")
+    Long getMissingCount();
+
+    @ManagedAttribute(description = "Number of duplicate messages that were discarded (stream resequencer only)")
+    Long getDuplicateCount();
+
 }
@@ -29,6 +29,15 @@ public interface ManagedSendProcessorMBean extends ManagedProcessorMBean, Manage
     @ManagedAttribute(description = "Message Exchange Pattern")
     String getMessageExchangePattern();
 
+    @ManagedAttribute(description = "Maximum number of messages to send in a batch")
+    int getBatchSize();
+
+    @ManagedAttribute(description = "Maximum time in millis a message can wait for the batch to become full")
+    long getBatchTimeout();
+
+    @ManagedAttribute(description = "Whether messages are sent in batches")
+    boolean isBatching();
+
     @Override
     @ManagedOperation(description = "Statistics of the endpoint which has been sent to")
     TabularData extendedInformation();
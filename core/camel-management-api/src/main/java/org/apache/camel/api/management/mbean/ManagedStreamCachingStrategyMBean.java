@@ -71,6 +71,15 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Buffer size in bytes to use when coping between buffers")
     int getBufferSize();
 
+    @ManagedAttribute(description = "Whether spooling to off-heap memory is enabled")
+    boolean isSpoolOffHeapEnabled();
+
+    @ManagedAttribute(description = "Maximum number of bytes of direct memory to use for spooling off-heap")
+    long getSpoolOffHeapMaxSize();
+
+    @ManagedAttribute(description = "Maximum number of bytes of the memory-mapped file to use for spooling off-heap")
+    long getSpoolOffHeapMappedMaxSize();
+
     @ManagedAttribute(description = "Whether to remove spool directory when stopping")
     void setRemoveSpoolDirectoryWhenStopping(boolean remove);
 
@@ -101,6 +110,21 @@ public interface ManagedStreamCachingStrategyMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Average number of bytes per cached stream for spooled (not in-memory) stream caches.")
     long getCacheSpoolAverageSize();
 
+    @ManagedAttribute(description = "Number of StreamCache spooled to off-heap memory")
+    long getCacheOffHeapCounter();
+
+    @ManagedAttribute(description = "Total accumulated number of bytes which has been stream cached for off-heap StreamCache")
+    long getCacheOffHeapSize();
+
+    @ManagedAttribute(description = "Average number of bytes per cached stream for off-heap stream caches.")
+    long getCacheOffHeapAverageSize();
+
+    @ManagedAttribute(description = "Number of bytes of direct memory currently in use by off-heap stream caches")
+    long getCacheOffHeapMemoryUsed();
+
+    @ManagedAttribute(description = "Number of bytes of the memory-mapped file currently in use by off-heap stream caches")
+    long getCacheOffHeapMappedUsed();
+
     @ManagedAttribute(description = "Whether utilization statistics is enabled")
     boolean isStatisticsEnabled();
 
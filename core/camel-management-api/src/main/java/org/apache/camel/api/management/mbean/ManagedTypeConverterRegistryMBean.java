@@ -36,6 +36,15 @@ public interface ManagedTypeConverterRegistryMBean extends ManagedServiceMBean {
     @ManagedAttribute(description = "Number of type conversion failures (failed conversions)")
     long getFailedCounter();
 
+    @ManagedAttribute(description = "Number of type conversion attempts where the type converter was resolved from cache")
+    long getCacheHitCounter();
+
+    @ManagedAttribute(description = "Number of type conversion attempts where the type converter had to be looked up")
+    long getCacheMissCounter();
+
+    @ManagedAttribute(description = "Number of type conversions done by a fallback type converter")
+    long getFallbackCounter();
+
     @ManagedOperation(description = "Resets the type conversion counters")
     void resetTypeConversionCounters();
 
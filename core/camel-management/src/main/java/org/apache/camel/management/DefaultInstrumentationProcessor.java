@@ -124,6 +124,23 @@ public class DefaultInstrumentationProcessor extends DelegateAsyncProcessor
         return answer;
     }
 
+    @Override
+    public StopWatch before(Exchange exchange, StopWatch previous) {
+        // only record time if stats is enabled
+        if (counter != null && counter.isStatisticsEnabled()) {
+            StopWatch answer = previous;
+            if (answer != null) {
+                // recycle the watch from the previous exchange
+                answer.restart();
+            } else {
+                answer = new StopWatch();
+            }
+            beginTime(exchange);
+            return answer;
+        }
+        return null;
+    }
+
     @Override
     public void after(Exchange exchange, StopWatch watch) {
         // record end time
@@ -132,6 +149,12 @@ public class DefaultInstrumentationProcessor extends DelegateAsyncProcessor
         }
     }
 
+    @Override
+    public boolean isStateReusable() {
+        // the watch is only in use between before and after
+        return true;
+    }
+
     @Override
     public String toString() {
         return "InstrumentProcessorAdvice";
@@ -66,6 +66,8 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
     private Boolean usePlatformMBeanServer = true;
     private Boolean onlyRegisterProcessorWithCustomId = false;
     private Boolean loadStatisticsEnabled = false;
+    private Boolean latencyHistogramEnabled = false;
+    private Integer latencyHistogramSignificantDigits = 2;
     private Boolean endpointRuntimeStatisticsEnabled;
     private Boolean registerAlways = false;
     private Boolean registerNewRoutes = true;
@@ -124,6 +126,14 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
             loadStatisticsEnabled = Boolean.getBoolean(JmxSystemPropertyKeys.LOAD_STATISTICS_ENABLED);
             values.put(JmxSystemPropertyKeys.LOAD_STATISTICS_ENABLED, loadStatisticsEnabled);
         }
+        if (System.getProperty(JmxSystemPropertyKeys.LATENCY_HISTOGRAM_ENABLED) != null) {
+            latencyHistogramEnabled = Boolean.getBoolean(JmxSystemPropertyKeys.LATENCY_HISTOGRAM_ENABLED);
+            values.put(JmxSystemPropertyKeys.LATENCY_HISTOGRAM_ENABLED, latencyHistogramEnabled);
+        }
+        if (System.getProperty(JmxSystemPropertyKeys.LATENCY_HISTOGRAM_SIGNIFICANT_DIGITS) != null) {
+            latencyHistogramSignificantDigits = Integer.getInteger(JmxSystemPropertyKeys.LATENCY_HISTOGRAM_SIGNIFICANT_DIGITS);
+            values.put(JmxSystemPropertyKeys.LATENCY_HISTOGRAM_SIGNIFICANT_DIGITS, latencyHistogramSignificantDigits);
+        }
         if (System.getProperty(JmxSystemPropertyKeys.ENDPOINT_RUNTIME_STATISTICS_ENABLED) != null) {
             endpointRuntimeStatisticsEnabled = Boolean.getBoolean(JmxSystemPropertyKeys.ENDPOINT_RUNTIME_STATISTICS_ENABLED);
             values.put(JmxSystemPropertyKeys.ENDPOINT_RUNTIME_STATISTICS_ENABLED, endpointRuntimeStatisticsEnabled);
@@ -267,6 +277,26 @@ public class DefaultManagementAgent extends ServiceSupport implements Management
         this.loadStatisticsEnabled = loadStatisticsEnabled;
     }
 
+    @Override
+    public Boolean getLatencyHistogramEnabled() {
+        return latencyHistogramEnabled;
+    }
+
+    @Override
+    public void setLatencyHistogramEnabled(Boolean latencyHistogramEnabled) {
+        this.latencyHistogramEnabled = latencyHistogramEnabled;
+    }
+
+    @Override
+    public Integer getLatencyHistogramSignificantDigits() {
+        return latencyHistogramSignificantDigits;
+    }
+
+    @Override
+    public void setLatencyHistogramSignificantDigits(Integer latencyHistogramSignificantDigits) {
+        this.latencyHistogramSignificantDigits = latencyHistogramSignificantDigits;
+    }
+
     @Override
     public Boolean getEndpointRuntimeStatisticsEnabled() {
         return endpointRuntimeStatisticsEnabled;
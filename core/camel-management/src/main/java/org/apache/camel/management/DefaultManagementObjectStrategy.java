@@ -57,6 +57,7 @@ import org.apache.camel.management.mbean.ManagedEnricher;
 import org.apache.camel.management.mbean.ManagedEventNotifier;
 import org.apache.camel.management.mbean.ManagedFailoverLoadBalancer;
 import org.apache.camel.management.mbean.ManagedFilter;
+import org.apache.camel.management.mbean.ManagedFusedProcessor;
 import org.apache.camel.management.mbean.ManagedIdempotentConsumer;
 import org.apache.camel.management.mbean.ManagedLog;
 import org.apache.camel.management.mbean.ManagedLoop;
@@ -99,6 +100,7 @@ import org.apache.camel.management.mbean.ManagedThreads;
 import org.apache.camel.management.mbean.ManagedThrottler;
 import org.apache.camel.management.mbean.ManagedThroughputLogger;
 import org.apache.camel.management.mbean.ManagedThrowException;
+import org.apache.camel.management.mbean.ManagedTokenBucketThrottler;
 import org.apache.camel.management.mbean.ManagedTopicLoadBalancer;
 import org.apache.camel.management.mbean.ManagedTransformer;
 import org.apache.camel.management.mbean.ManagedUnmarshal;
@@ -140,6 +142,7 @@ import org.apache.camel.processor.Enricher;
 import org.apache.camel.processor.ExchangePatternProcessor;
 import org.apache.camel.processor.FilterProcessor;
 import org.apache.camel.processor.FinallyProcessor;
+import org.apache.camel.processor.FusedProcessor;
 import org.apache.camel.processor.LogProcessor;
 import org.apache.camel.processor.LoopProcessor;
 import org.apache.camel.processor.MulticastProcessor;
@@ -167,6 +170,7 @@ import org.apache.camel.processor.StreamResequencer;
 import org.apache.camel.processor.ThreadsProcessor;
 import org.apache.camel.processor.Throttler;
 import org.apache.camel.processor.ThrowExceptionProcessor;
+import org.apache.camel.processor.TokenBucketThrottler;
 import org.apache.camel.processor.TransformProcessor;
 import org.apache.camel.processor.TryProcessor;
 import org.apache.camel.processor.WireTapProcessor;
@@ -348,7 +352,9 @@ public class DefaultManagementObjectStrategy implements ManagementObjectStrategy
                 return false;
             }
 
-            if (target instanceof ConvertBodyProcessor) {
+            if (target instanceof FusedProcessor) {
+                answer = new ManagedFusedProcessor(context, (FusedProcessor) target, definition);
+            } else if (target instanceof ConvertBodyProcessor) {
                 answer = new ManagedConvertBody(context, (ConvertBodyProcessor) target, definition);
             } else if (target instanceof ChoiceProcessor) {
                 answer = new ManagedChoice(context, (ChoiceProcessor) target, definition);
@@ -366,6 +372,8 @@ public class DefaultManagementObjectStrategy implements ManagementObjectStrategy
                 answer = new ManagedDoFinally(context, (FinallyProcessor) target, (FinallyDefinition) definition);
             } else if (target instanceof Throttler) {
                 answer = new ManagedThrottler(context, (Throttler) target, definition);
+            } else if (target instanceof TokenBucketThrottler) {
+                answer = new ManagedTokenBucketThrottler(context, (TokenBucketThrottler) target, definition);
             } else if (target instanceof DynamicRouter) {
                 answer = new ManagedDynamicRouter(context, (DynamicRouter) target, (DynamicRouterDefinition) definition);
             } else if (target instanceof RoutingSlip) {
@@ -147,6 +147,11 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.isOptimisticLocking();
     }
 
+    @Override
+    public int getLockStripes() {
+        return processor.getLockStripes();
+    }
+
     @Override
     public boolean isEagerCheckCompletion() {
         return processor.isEagerCheckCompletion();
@@ -296,6 +301,11 @@ public class ManagedAggregateProcessor extends ManagedProcessor implements Manag
         return processor.getStatistics().getDiscarded();
     }
 
+    @Override
+    public long getLockWaitTime() {
+        return processor.getStatistics().getLockWaitTime();
+    }
+
     @Override
     public void resetStatistics() {
         processor.getStatistics().reset();
@@ -106,6 +106,13 @@ public class ManagedExchangeFactoryManager extends ManagedService implements Man
         return exchangeFactoryManager.getStatistics().getDiscardedCounter();
     }
 
+    @Override
+    public Long getAllocatedBytesPerExchange() {
+        ExchangeFactory.Statistics statistics = exchangeFactoryManager.getStatistics();
+        long measured = statistics.getAllocationMeasuredCounter();
+        return measured > 0 ? statistics.getAllocatedBytes() / measured : 0;
+    }
+
     @Override
     public TabularData listStatistics() {
         try {
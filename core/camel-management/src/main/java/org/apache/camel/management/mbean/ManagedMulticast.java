@@ -60,4 +60,19 @@ public class ManagedMulticast extends ManagedProcessor implements ManagedMultica
     public Long getTimeout() {
         return processor.getTimeout();
     }
+
+    @Override
+    public Integer getMaxInflight() {
+        return processor.getMaxInflight();
+    }
+
+    @Override
+    public Integer getSubExchangesInflight() {
+        return processor.getSubExchangesInflight();
+    }
+
+    @Override
+    public Integer getSubExchangesPendingAggregation() {
+        return processor.getSubExchangesPendingAggregation();
+    }
 }
@@ -23,6 +23,7 @@ import org.apache.camel.Exchange;
 import org.apache.camel.api.management.ManagedResource;
 import org.apache.camel.api.management.mbean.ManagedPerformanceCounterMBean;
 import org.apache.camel.management.PerformanceCounter;
+import org.apache.camel.spi.ManagementAgent;
 import org.apache.camel.spi.ManagementStrategy;
 import org.apache.camel.support.ExchangeHelper;
 
@@ -44,6 +45,7 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
     private Statistic lastProcessingTime;
     private Statistic deltaProcessingTime;
     private Statistic meanProcessingTime;
+    private StatisticHistogram processingTimeHistogram;
     private Statistic firstExchangeCompletedTimestamp;
     private String firstExchangeCompletedExchangeId;
     private Statistic firstExchangeFailureTimestamp;
@@ -72,6 +74,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         this.lastProcessingTime = new StatisticValue();
         this.deltaProcessingTime = new StatisticDelta();
         this.meanProcessingTime = new StatisticValue();
+        ManagementAgent agent = strategy.getManagementAgent();
+        if (agent != null && Boolean.TRUE.equals(agent.getLatencyHistogramEnabled())) {
+            Integer digits = agent.getLatencyHistogramSignificantDigits();
+            this.processingTimeHistogram = digits != null ? new StatisticHistogram(digits) : new StatisticHistogram();
+        }
 
         this.firstExchangeCompletedTimestamp = new StatisticValue();
         this.firstExchangeFailureTimestamp = new StatisticValue();
@@ -95,6 +102,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         lastProcessingTime.reset();
         deltaProcessingTime.reset();
         meanProcessingTime.reset();
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.reset();
+        }
         firstExchangeCompletedTimestamp.reset();
         firstExchangeCompletedExchangeId = null;
         firstExchangeFailureTimestamp.reset();
@@ -166,6 +176,31 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         return deltaProcessingTime.getValue();
     }
 
+    @Override
+    public boolean isLatencyHistogramEnabled() {
+        return processingTimeHistogram != null;
+    }
+
+    @Override
+    public long getProcessingTimeP50() {
+        return processingTimePercentile(50);
+    }
+
+    @Override
+    public long getProcessingTimeP99() {
+        return processingTimePercentile(99);
+    }
+
+    @Override
+    public long getProcessingTimeP999() {
+        return processingTimePercentile(99.9);
+    }
+
+    @Override
+    public long processingTimePercentile(double percentile) {
+        return processingTimeHistogram != null ? processingTimeHistogram.getValueAtPercentile(percentile) : 0;
+    }
+
     @Override
     public Date getLastExchangeCreatedTimestamp() {
         long value = lastExchangeCreatedTimestamp.getValue();
@@ -253,6 +288,9 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         totalProcessingTime.updateValue(time);
         lastProcessingTime.updateValue(time);
         deltaProcessingTime.updateValue(time);
+        if (processingTimeHistogram != null) {
+            processingTimeHistogram.updateValue(time);
+        }
 
         long now = System.currentTimeMillis();
         if (!firstExchangeCompletedTimestamp.isUpdated()) {
@@ -314,6 +352,11 @@ public abstract class ManagedPerformanceCounter extends ManagedCounter
         sb.append(String.format(" lastProcessingTime=\"%s\"", lastProcessingTime.getValue()));
         sb.append(String.format(" deltaProcessingTime=\"%s\"", deltaProcessingTime.getValue()));
         sb.append(String.format(" meanProcessingTime=\"%s\"", meanProcessingTime.getValue()));
+        if (processingTimeHistogram != null) {
+            sb.append(String.format(" processingTimeP50=\"%s\"", processingTimeHistogram.getValueAtPercentile(50)));
+            sb.append(String.format(" processingTimeP99=\"%s\"", processingTimeHistogram.getValueAtPercentile(99)));
+            sb.append(String.format(" processingTimeP999=\"%s\"", processingTimeHistogram.getValueAtPercentile(99.9)));
+        }
 
         if (fullStats) {
             sb.append(String.format(" startTimestamp=\"%s\"", dateAsString(startTimestamp.getTime())));
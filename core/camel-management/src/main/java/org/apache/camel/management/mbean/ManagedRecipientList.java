@@ -33,6 +33,7 @@ import org.apache.camel.model.RecipientListDefinition;
 import org.apache.camel.processor.RecipientList;
 import org.apache.camel.spi.EndpointUtilizationStatistics;
 import org.apache.camel.spi.ManagementStrategy;
+import org.apache.camel.support.cache.RecentEndpointCache;
 import org.apache.camel.util.URISupport;
 
 @ManagedResource(description = "Managed RecipientList")
@@ -62,6 +63,9 @@ public class ManagedRecipientList extends ManagedProcessor implements ManagedRec
         if (processor.getEndpointUtilizationStatistics() != null) {
             processor.getEndpointUtilizationStatistics().clear();
         }
+        if (processor.getEndpointCache() != null) {
+            processor.getEndpointCache().resetStatistics();
+        }
     }
 
     @Override
@@ -94,6 +98,24 @@ public class ManagedRecipientList extends ManagedProcessor implements ManagedRec
         return processor.getCacheSize();
     }
 
+    @Override
+    public Long getEndpointCacheHits() {
+        RecentEndpointCache cache = processor.getEndpointCache();
+        return cache != null ? cache.getHits() : 0;
+    }
+
+    @Override
+    public Long getEndpointCacheMisses() {
+        RecentEndpointCache cache = processor.getEndpointCache();
+        return cache != null ? cache.getMisses() : 0;
+    }
+
+    @Override
+    public Integer getEndpointCacheSize() {
+        RecentEndpointCache cache = processor.getEndpointCache();
+        return cache != null ? cache.size() : 0;
+    }
+
     @Override
     public Boolean isParallelAggregate() {
         return processor.isParallelAggregate();
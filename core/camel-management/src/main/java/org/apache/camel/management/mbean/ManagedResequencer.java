@@ -110,4 +110,52 @@ public class ManagedResequencer extends ManagedProcessor implements ManagedReseq
             return streamProcessor.isRejectOld();
         }
     }
+
+    @Override
+    public Long getOutOfOrderCount() {
+        if (streamProcessor != null) {
+            long answer = streamProcessor.getOutOfOrderCount();
+            return answer >= 0 ? answer : null;
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public Long getGapCount() {
+        if (streamProcessor != null) {
+            long answer = streamProcessor.getGapCount();
+            return answer >= 0 ? answer : null;
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public Long getMissingCount() {
+        if (streamProcessor != null) {
+            long answer = streamProcessor.getMissingCount();
+            return answer >= 0 ? answer : null;
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public Long getDuplicateCount() {
+        if (streamProcessor != null) {
+            long answer = streamProcessor.getDuplicateCount();
+            return answer >= 0 ? answer : null;
+        } else {
+            return null;
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        if (streamProcessor != null) {
+            streamProcessor.resetStatistics();
+        }
+    }
 }
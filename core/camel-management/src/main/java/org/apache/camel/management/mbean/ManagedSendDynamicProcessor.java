@@ -33,6 +33,7 @@ import org.apache.camel.model.ProcessorDefinition;
 import org.apache.camel.processor.SendDynamicProcessor;
 import org.apache.camel.spi.EndpointUtilizationStatistics;
 import org.apache.camel.spi.ManagementStrategy;
+import org.apache.camel.support.cache.RecentEndpointCache;
 import org.apache.camel.util.URISupport;
 
 @ManagedResource(description = "Managed SendDynamicProcessor")
@@ -64,6 +65,9 @@ public class ManagedSendDynamicProcessor extends ManagedProcessor implements Man
         if (processor.getEndpointUtilizationStatistics() != null) {
             processor.getEndpointUtilizationStatistics().clear();
         }
+        if (processor.getEndpointCache() != null) {
+            processor.getEndpointCache().resetStatistics();
+        }
     }
 
     @Override
@@ -95,6 +99,24 @@ public class ManagedSendDynamicProcessor extends ManagedProcessor implements Man
         return processor.getCacheSize();
     }
 
+    @Override
+    public Long getEndpointCacheHits() {
+        RecentEndpointCache cache = processor.getEndpointCache();
+        return cache != null ? cache.getHits() : 0;
+    }
+
+    @Override
+    public Long getEndpointCacheMisses() {
+        RecentEndpointCache cache = processor.getEndpointCache();
+        return cache != null ? cache.getMisses() : 0;
+    }
+
+    @Override
+    public Integer getEndpointCacheSize() {
+        RecentEndpointCache cache = processor.getEndpointCache();
+        return cache != null ? cache.size() : 0;
+    }
+
     @Override
     public Boolean isIgnoreInvalidEndpoint() {
         return processor.isIgnoreInvalidEndpoint();
@@ -83,6 +83,21 @@ public class ManagedSendProcessor extends ManagedProcessor implements ManagedSen
         }
     }
 
+    @Override
+    public int getBatchSize() {
+        return processor.getBatchSize();
+    }
+
+    @Override
+    public long getBatchTimeout() {
+        return processor.getBatchTimeout();
+    }
+
+    @Override
+    public boolean isBatching() {
+        return processor.isBatching();
+    }
+
     @Override
     public TabularData extendedInformation() {
         try {
@@ -154,6 +154,21 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getBufferSize();
     }
 
+    @Override
+    public boolean isSpoolOffHeapEnabled() {
+        return streamCachingStrategy.isSpoolOffHeapEnabled();
+    }
+
+    @Override
+    public long getSpoolOffHeapMaxSize() {
+        return streamCachingStrategy.getSpoolOffHeapMaxSize();
+    }
+
+    @Override
+    public long getSpoolOffHeapMappedMaxSize() {
+        return streamCachingStrategy.getSpoolOffHeapMappedMaxSize();
+    }
+
     @Override
     public void setRemoveSpoolDirectoryWhenStopping(boolean remove) {
         streamCachingStrategy.setRemoveSpoolDirectoryWhenStopping(remove);
@@ -204,6 +219,31 @@ public class ManagedStreamCachingStrategy extends ManagedService implements Mana
         return streamCachingStrategy.getStatistics().getCacheSpoolAverageSize();
     }
 
+    @Override
+    public long getCacheOffHeapCounter() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapCounter();
+    }
+
+    @Override
+    public long getCacheOffHeapSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapSize();
+    }
+
+    @Override
+    public long getCacheOffHeapAverageSize() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapAverageSize();
+    }
+
+    @Override
+    public long getCacheOffHeapMemoryUsed() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapMemoryUsed();
+    }
+
+    @Override
+    public long getCacheOffHeapMappedUsed() {
+        return streamCachingStrategy.getStatistics().getCacheOffHeapMappedUsed();
+    }
+
     @Override
     public boolean isStatisticsEnabled() {
         return streamCachingStrategy.getStatistics().isStatisticsEnabled();
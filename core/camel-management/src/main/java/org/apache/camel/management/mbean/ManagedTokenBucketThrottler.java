@@ -0,0 +1,126 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.CompositeDataSupport;
+import javax.management.openmbean.CompositeType;
+import javax.management.openmbean.TabularData;
+import javax.management.openmbean.TabularDataSupport;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.api.management.mbean.CamelOpenMBeanTypes;
+import org.apache.camel.api.management.mbean.ManagedTokenBucketThrottlerMBean;
+import org.apache.camel.model.ProcessorDefinition;
+import org.apache.camel.processor.TokenBucketThrottler;
+
+import static org.apache.camel.builder.Builder.constant;
+
+@ManagedResource(description = "Managed Token Bucket Throttler")
+public class ManagedTokenBucketThrottler extends ManagedProcessor implements ManagedTokenBucketThrottlerMBean {
+    private final TokenBucketThrottler throttler;
+
+    public ManagedTokenBucketThrottler(CamelContext context, TokenBucketThrottler throttler,
+                                       ProcessorDefinition<?> definition) {
+        super(context, throttler, definition);
+        this.throttler = throttler;
+    }
+
+    public TokenBucketThrottler getThrottler() {
+        return throttler;
+    }
+
+    @Override
+    public void reset() {
+        throttler.reset();
+        super.reset();
+    }
+
+    @Override
+    public long getMaximumRequestsPerPeriod() {
+        return throttler.getCurrentMaximumRequestsPerPeriod();
+    }
+
+    @Override
+    public void setMaximumRequestsPerPeriod(long maximumRequestsPerPeriod) {
+        throttler.setMaximumRequestsPerPeriodExpression(constant(maximumRequestsPerPeriod));
+    }
+
+    @Override
+    public long getTimePeriodMillis() {
+        return throttler.getTimePeriodMillis();
+    }
+
+    @Override
+    public void setTimePeriodMillis(long timePeriodMillis) {
+        throttler.setTimePeriodMillis(timePeriodMillis);
+    }
+
+    @Override
+    public Integer getBurstSize() {
+        return throttler.getBurstSize();
+    }
+
+    @Override
+    public Boolean isCallerRunsWhenRejected() {
+        return throttler.isCallerRunsWhenRejected();
+    }
+
+    @Override
+    public Boolean isRejectExecution() {
+        return throttler.isRejectExecution();
+    }
+
+    @Override
+    public long getThrottledCount() {
+        return throttler.getThrottledCount();
+    }
+
+    @Override
+    public long getRejectedCount() {
+        return throttler.getRejectedCount();
+    }
+
+    @Override
+    public Boolean getSupportExtendedInformation() {
+        return true;
+    }
+
+    @Override
+    public TabularData extendedInformation() {
+        try {
+            TabularData answer = new TabularDataSupport(CamelOpenMBeanTypes.tokenBucketThrottlerTabularType());
+
+            for (String key : throttler.getKeys()) {
+                CompositeType ct = CamelOpenMBeanTypes.tokenBucketThrottlerCompositeType();
+                CompositeData data = new CompositeDataSupport(
+                        ct,
+                        new String[] { "key", "maximumRequestsPerPeriod", "currentRate", "throttled", "rejected" },
+                        new Object[] {
+                                key, throttler.getMaximumRequestsPerPeriod(key), throttler.getCurrentRate(key),
+                                throttler.getThrottledCount(key), throttler.getRejectedCount(key) });
+                answer.put(data);
+            }
+
+            return answer;
+        } catch (Exception e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        }
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A statistic which records the updated values into a histogram, so percentiles such as p50, p99 and p999 can be
+ * calculated.
+ * <p/>
+ * The histogram uses the same bucket layout as HdrHistogram: values are grouped into buckets that double in size, and
+ * each bucket is divided into a fixed number of sub buckets, which is derived from the number of significant digits.
+ * This means values are recorded with a bounded relative error (1% with 2 significant digits), and the memory footprint
+ * is independent of the number of recorded values. Values are recorded lock-free by incrementing the count in an
+ * {@link AtomicLongArray}.
+ * <p/>
+ * Values higher than the highest trackable value (one hour in millis) are recorded as the highest trackable value.
+ */
+public class StatisticHistogram extends Statistic {
+
+    public static final long HIGHEST_TRACKABLE_VALUE = TimeUnit.HOURS.toMillis(1);
+
+    private final int significantDigits;
+    private final int subBucketHalfCountMagnitude;
+    private final int subBucketHalfCount;
+    private final long subBucketMask;
+    private final int leadingZeroCountBase;
+    private final AtomicLongArray counts;
+
+    public StatisticHistogram() {
+        this(2);
+    }
+
+    /**
+     * Creates the histogram
+     *
+     * @param significantDigits the number of significant decimal digits to keep for the recorded values (1 to 3)
+     */
+    public StatisticHistogram(int significantDigits) {
+        if (significantDigits < 1 || significantDigits > 3) {
+            throw new IllegalArgumentException("Significant digits must be between 1 and 3, was: " + significantDigits);
+        }
+        this.significantDigits = significantDigits;
+
+        // the number of sub buckets must be able to hold 2 * 10^digits values with single unit resolution
+        long largestValueWithSingleUnitResolution = 2 * (long) Math.pow(10, significantDigits);
+        int subBucketCountMagnitude = 64 - Long.numberOfLeadingZeros(largestValueWithSingleUnitResolution - 1);
+        this.subBucketHalfCountMagnitude = subBucketCountMagnitude - 1;
+        int subBucketCount = 1 << subBucketCountMagnitude;
+        this.subBucketHalfCount = subBucketCount / 2;
+        this.subBucketMask = subBucketCount - 1;
+        this.leadingZeroCountBase = 64 - subBucketHalfCountMagnitude - 1;
+
+        // each bucket doubles the range covered by the previous bucket
+        int bucketCount = 1;
+        long smallestUntrackableValue = subBucketCount;
+        while (smallestUntrackableValue <= HIGHEST_TRACKABLE_VALUE) {
+            smallestUntrackableValue <<= 1;
+            bucketCount++;
+        }
+        this.counts = new AtomicLongArray((bucketCount + 1) * subBucketHalfCount);
+    }
+
+    public int getSignificantDigits() {
+        return significantDigits;
+    }
+
+    @Override
+    public void updateValue(long newValue) {
+        long value = Math.min(Math.max(newValue, 0), HIGHEST_TRACKABLE_VALUE);
+        counts.incrementAndGet(countsIndex(value));
+    }
+
+    /**
+     * The number of recorded values
+     */
+    @Override
+    public long getValue() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    @Override
+    public boolean isUpdated() {
+        return getValue() > 0;
+    }
+
+    /**
+     * Gets the value at the given percentile, which is the highest value that is equivalent (within the resolution of
+     * the histogram) to the recorded value at the percentile.
+     *
+     * @param  percentile the percentile such as 50, 99 or 99.9
+     * @return            the value, or <tt>0</tt> if no values has been recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        // take a snapshot as values may be recorded concurrently
+        int length = counts.length();
+        long[] snapshot = new long[length];
+        long total = 0;
+        for (int i = 0; i < length; i++) {
+            snapshot[i] = counts.get(i);
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        double p = Math.min(Math.max(percentile, 0), 100);
+        long countAtPercentile = Math.max(1, (long) Math.ceil(p / 100 * total));
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += snapshot[i];
+            if (sum >= countAtPercentile) {
+                return Math.min(valueFromIndex(i + 1) - 1, HIGHEST_TRACKABLE_VALUE);
+            }
+        }
+        return HIGHEST_TRACKABLE_VALUE;
+    }
+
+    @Override
+    public void reset() {
+        for (int i = 0; i < counts.length(); i++) {
+            counts.set(i, 0);
+        }
+    }
+
+    private int countsIndex(long value) {
+        int bucketIndex = leadingZeroCountBase - Long.numberOfLeadingZeros(value | subBucketMask);
+        int subBucketIndex = (int) (value >>> bucketIndex);
+        return ((bucketIndex + 1) << subBucketHalfCountMagnitude) + (subBucketIndex - subBucketHalfCount);
+    }
+
+    private long valueFromIndex(int index) {
+        int bucketIndex = (index >> subBucketHalfCountMagnitude) - 1;
+        int subBucketIndex = (index & (subBucketHalfCount - 1)) + subBucketHalfCount;
+        if (bucketIndex < 0) {
+            subBucketIndex -= subBucketHalfCount;
+            bucketIndex = 0;
+        }
+        return (long) subBucketIndex << bucketIndex;
+    }
+
+    @Override
+    public String toString() {
+        return "p50=" + getValueAtPercentile(50) + ", p99=" + getValueAtPercentile(99) + ", p999="
+               + getValueAtPercentile(99.9);
+    }
+
+}
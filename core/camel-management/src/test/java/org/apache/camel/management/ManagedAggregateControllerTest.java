@@ -83,6 +83,9 @@ public class ManagedAggregateControllerTest extends ManagementTestSupport {
         Long bySize = (Long) mbeanServer.getAttribute(on, "CompletedBySize");
         assertEquals(0, bySize.longValue());
 
+        Long lockWaitTime = (Long) mbeanServer.getAttribute(on, "LockWaitTime");
+        assertNotNull(lockWaitTime);
+
         Integer size = (Integer) mbeanServer.getAttribute(on, "CompletionSize");
         assertEquals(10, size.longValue());
 
@@ -0,0 +1,239 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.NamedNode;
+import org.apache.camel.Processor;
+import org.apache.camel.Route;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.apache.camel.impl.engine.PooledExchangeFactory;
+import org.apache.camel.spi.ManagementInterceptStrategy;
+import org.apache.camel.spi.UnitOfWork;
+import org.apache.camel.support.LifecycleStrategySupport;
+import org.apache.camel.util.StopWatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledIfSystemProperty;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_PROCESSOR;
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_ROUTE;
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_SERVICE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.AIX)
+@DisabledIfSystemProperty(named = "ci.env.name", matches = "github.com", disabledReason = "Flaky on Github CI")
+public class ManagedFullyPooledExchangeTest extends ManagementTestSupport {
+
+    private final AtomicInteger counter = new AtomicInteger();
+    private final AtomicReference<Exchange> ref = new AtomicReference<>();
+    private final AtomicReference<UnitOfWork> uowRef = new AtomicReference<>();
+    private final List<StopWatch> watches = new CopyOnWriteArrayList<>();
+
+    @Override
+    protected CamelContext createCamelContext() throws Exception {
+        CamelContext context = super.createCamelContext();
+
+        PooledExchangeFactory pef = new PooledExchangeFactory();
+        pef.setStatisticsEnabled(true);
+        pef.setFullyPooled(true);
+        context.getCamelContextExtension().setExchangeFactory(pef);
+
+        // record the stop watches used by the instrumentation of myProcessor
+        context.addLifecycleStrategy(new LifecycleStrategySupport() {
+            @Override
+            public void onRouteContextCreate(Route route) {
+                route.setManagementInterceptStrategy(new RecordingInterceptStrategy(route.getManagementInterceptStrategy()));
+            }
+        });
+
+        return context;
+    }
+
+    @Test
+    public void testFullyPooled() throws Exception {
+        MockEndpoint mock = getMockEndpoint("mock:result");
+        mock.expectedMessageCount(3);
+        mock.expectedHeaderValuesReceivedInAnyOrder("myheader", 1, 2, 3);
+
+        context.getRouteController().startAllRoutes();
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        ObjectName on = getCamelObjectName(TYPE_SERVICE, "DefaultExchangeFactoryManager");
+
+        Long num = (Long) mbeanServer.getAttribute(on, "TotalCreated");
+        assertEquals(1, num.intValue());
+
+        num = (Long) mbeanServer.getAttribute(on, "TotalAcquired");
+        assertEquals(2, num.intValue());
+
+        num = (Long) mbeanServer.getAttribute(on, "TotalReleased");
+        assertEquals(3, num.intValue());
+
+        // the timer routes synchronously so the allocations are measured
+        num = (Long) mbeanServer.getAttribute(on, "AllocatedBytesPerExchange");
+        assertTrue(num > 0, "Should measure allocated bytes");
+
+        // the recycled stop watches should still capture the statistics
+        on = getCamelObjectName(TYPE_ROUTE, "foo");
+        num = (Long) mbeanServer.getAttribute(on, "ExchangesCompleted");
+        assertEquals(3, num.intValue());
+
+        on = getCamelObjectName(TYPE_PROCESSOR, "myProcessor");
+        num = (Long) mbeanServer.getAttribute(on, "ExchangesCompleted");
+        assertEquals(3, num.intValue());
+        num = (Long) mbeanServer.getAttribute(on, "MinProcessingTime");
+        assertTrue(num >= 10, "Should take at least 10 millis, was: " + num);
+
+        // and the same stop watch is used by all the exchanges
+        assertEquals(3, watches.size());
+        assertSame(watches.get(0), watches.get(1));
+        assertSame(watches.get(0), watches.get(2));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("timer:foo?period=1&delay=1&repeatCount=3").routeId("foo").noAutoStartup()
+                        .setHeader("myheader", counter::incrementAndGet)
+                        .process(exchange -> {
+                            // should be same exchange instance as its pooled
+                            Exchange old = ref.get();
+                            if (old == null) {
+                                ref.set(exchange);
+                            } else {
+                                assertSame(old, exchange);
+                            }
+                            // and the unit of work is reset and reused together with the exchange
+                            UnitOfWork uow = uowRef.get();
+                            if (uow == null) {
+                                uowRef.set(exchange.getUnitOfWork());
+                            } else {
+                                assertSame(uow, exchange.getUnitOfWork());
+                            }
+                            Thread.sleep(10);
+                        }).id("myProcessor")
+                        .to("mock:result");
+            }
+        };
+    }
+
+    private final class RecordingInterceptStrategy implements ManagementInterceptStrategy {
+
+        private final ManagementInterceptStrategy delegate;
+
+        private RecordingInterceptStrategy(ManagementInterceptStrategy delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public InstrumentationProcessor<?> createProcessor(NamedNode definition, Processor target) {
+            InstrumentationProcessor<?> answer = delegate.createProcessor(definition, target);
+            if ("myProcessor".equals(definition.getId())) {
+                answer = new RecordingInstrumentationProcessor((InstrumentationProcessor<StopWatch>) answer);
+            }
+            return answer;
+        }
+
+        @Override
+        public InstrumentationProcessor<?> createProcessor(String type) {
+            return delegate.createProcessor(type);
+        }
+    }
+
+    private final class RecordingInstrumentationProcessor
+            implements ManagementInterceptStrategy.InstrumentationProcessor<StopWatch> {
+
+        private final ManagementInterceptStrategy.InstrumentationProcessor<StopWatch> delegate;
+
+        private RecordingInstrumentationProcessor(ManagementInterceptStrategy.InstrumentationProcessor<StopWatch> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public StopWatch before(Exchange exchange) {
+            return delegate.before(exchange);
+        }
+
+        @Override
+        public StopWatch before(Exchange exchange, StopWatch previous) {
+            return delegate.before(exchange, previous);
+        }
+
+        @Override
+        public void after(Exchange exchange, StopWatch data) {
+            watches.add(data);
+            delegate.after(exchange, data);
+        }
+
+        @Override
+        public boolean isStateReusable() {
+            return delegate.isStateReusable();
+        }
+
+        @Override
+        public void setProcessor(Processor processor) {
+            delegate.setProcessor(processor);
+        }
+
+        @Override
+        public void setCounter(Object object) {
+            delegate.setCounter(object);
+        }
+
+        @Override
+        public boolean process(Exchange exchange, AsyncCallback callback) {
+            return delegate.process(exchange, callback);
+        }
+
+        @Override
+        public CompletableFuture<Exchange> processAsync(Exchange exchange) {
+            return delegate.processAsync(exchange);
+        }
+
+        @Override
+        public void process(Exchange exchange) throws Exception {
+            delegate.process(exchange);
+        }
+
+        @Override
+        public int getOrder() {
+            return delegate.getOrder();
+        }
+    }
+}
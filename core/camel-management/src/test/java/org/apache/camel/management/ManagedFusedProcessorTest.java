@@ -0,0 +1,74 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.component.mock.MockEndpoint;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_PROCESSOR;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+@DisabledOnOs(OS.AIX)
+public class ManagedFusedProcessorTest extends ManagementTestSupport {
+
+    @Test
+    public void testManageFusedProcessor() throws Exception {
+        MockEndpoint foo = getMockEndpoint("mock:foo");
+        foo.expectedBodiesReceived("Hello World");
+
+        template.sendBody("direct:start", "World");
+
+        assertMockEndpointsSatisfied();
+
+        MBeanServer mbeanServer = getMBeanServer();
+
+        // the fused processor is registered using the id of the first processor
+        ObjectName on = getCamelObjectName(TYPE_PROCESSOR, "myheader");
+        assertEquals("route1", mbeanServer.getAttribute(on, "RouteId"));
+        assertEquals(1L, mbeanServer.getAttribute(on, "ExchangesCompleted"));
+
+        String[] ids = (String[]) mbeanServer.getAttribute(on, "FusedProcessorIds");
+        assertArrayEquals(new String[] { "myheader", "mybody", "mylog" }, ids);
+
+        // and the other fused processors are not registered
+        assertFalse(mbeanServer.isRegistered(getCamelObjectName(TYPE_PROCESSOR, "mybody")));
+        assertFalse(mbeanServer.isRegistered(getCamelObjectName(TYPE_PROCESSOR, "mylog")));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() throws Exception {
+        return new RouteBuilder() {
+            @Override
+            public void configure() throws Exception {
+                from("direct:start").fuseProcessors()
+                        .setHeader("foo", constant("Hello")).id("myheader")
+                        .setBody(simple("${header.foo} ${body}")).id("mybody")
+                        .log("${body}").id("mylog")
+                        .to("mock:foo");
+            }
+        };
+    }
+
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.camel.builder.RouteBuilder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_PROCESSOR;
+import static org.apache.camel.management.DefaultManagementObjectNameStrategy.TYPE_ROUTE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@DisabledOnOs(OS.AIX)
+public class ManagedLatencyHistogramTest extends ManagementTestSupport {
+
+    @Override
+    public boolean isUseRouteBuilder() {
+        return false;
+    }
+
+    @Test
+    public void testLatencyHistogramDisabledByDefault() throws Exception {
+        context.addRoutes(createRouteBuilder());
+        context.start();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName on = getCamelObjectName(TYPE_ROUTE, "foo");
+
+        getMockEndpoint("mock:result").expectedMessageCount(1);
+        template.sendBody("direct:start", "Hello World");
+        assertMockEndpointsSatisfied();
+
+        assertFalse((Boolean) mbeanServer.getAttribute(on, "LatencyHistogramEnabled"));
+        assertEquals(0L, mbeanServer.getAttribute(on, "ProcessingTimeP99"));
+        String xml = (String) mbeanServer.invoke(on, "dumpStatsAsXml", new Object[] { false },
+                new String[] { "boolean" });
+        assertFalse(xml.contains("processingTimeP99"));
+    }
+
+    @Test
+    public void testLatencyHistogram() throws Exception {
+        context.getManagementStrategy().getManagementAgent().setLatencyHistogramEnabled(true);
+        context.addRoutes(createRouteBuilder());
+        context.start();
+
+        MBeanServer mbeanServer = getMBeanServer();
+        ObjectName route = getCamelObjectName(TYPE_ROUTE, "foo");
+        ObjectName delay = getCamelObjectName(TYPE_PROCESSOR, "mydelay");
+
+        getMockEndpoint("mock:result").expectedMessageCount(5);
+        for (int i = 0; i < 5; i++) {
+            template.sendBody("direct:start", "Hello World");
+        }
+        assertMockEndpointsSatisfied();
+
+        assertTrue((Boolean) mbeanServer.getAttribute(route, "LatencyHistogramEnabled"));
+        long p50 = (Long) mbeanServer.getAttribute(route, "ProcessingTimeP50");
+        long p99 = (Long) mbeanServer.getAttribute(route, "ProcessingTimeP99");
+        long p999 = (Long) mbeanServer.getAttribute(route, "ProcessingTimeP999");
+        assertTrue(p50 >= 40, "Should be 40 or higher, was: " + p50);
+        assertTrue(p50 <= p99);
+        assertTrue(p99 <= p999);
+        long max = (Long) mbeanServer.getAttribute(route, "MaxProcessingTime");
+        assertTrue(p999 >= max, "Should be " + max + " or higher, was: " + p999);
+
+        long p95 = (Long) mbeanServer.invoke(route, "processingTimePercentile", new Object[] { 95d },
+                new String[] { "double" });
+        assertTrue(p95 >= p50 && p95 <= p99);
+
+        // the processor has its own histogram
+        p50 = (Long) mbeanServer.getAttribute(delay, "ProcessingTimeP50");
+        assertTrue(p50 >= 40, "Should be 40 or higher, was: " + p50);
+
+        String xml = (String) mbeanServer.invoke(route, "dumpStatsAsXml", new Object[] { false },
+                new String[] { "boolean" });
+        assertTrue(xml.contains("processingTimeP99="));
+
+        // reset should clear the histogram
+        mbeanServer.invoke(route, "reset", null, null);
+        assertEquals(0L, mbeanServer.getAttribute(route, "ProcessingTimeP99"));
+    }
+
+    @Override
+    protected RouteBuilder createRouteBuilder() {
+        return new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:start").routeId("foo")
+                        .delay(50).id("mydelay")
+                        .to("mock:result");
+            }
+        };
+    }
+
+}
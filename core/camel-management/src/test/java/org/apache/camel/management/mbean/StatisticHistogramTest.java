@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.management.mbean;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StatisticHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        StatisticHistogram histogram = new StatisticHistogram();
+        assertFalse(histogram.isUpdated());
+        assertEquals(0, histogram.getValue());
+        assertEquals(0, histogram.getValueAtPercentile(50));
+        assertEquals(0, histogram.getValueAtPercentile(99.9));
+    }
+
+    @Test
+    public void testPercentiles() {
+        StatisticHistogram histogram = new StatisticHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.updateValue(i);
+        }
+        assertTrue(histogram.isUpdated());
+        assertEquals(1000, histogram.getValue());
+
+        assertWithinPrecision(500, histogram.getValueAtPercentile(50), 0.01);
+        assertWithinPrecision(990, histogram.getValueAtPercentile(99), 0.01);
+        assertWithinPrecision(999, histogram.getValueAtPercentile(99.9), 0.01);
+        assertWithinPrecision(1000, histogram.getValueAtPercentile(100), 0.01);
+        assertEquals(1, histogram.getValueAtPercentile(0));
+    }
+
+    @Test
+    public void testSmallValuesAreExact() {
+        StatisticHistogram histogram = new StatisticHistogram();
+        for (int i = 0; i < 98; i++) {
+            histogram.updateValue(3);
+        }
+        histogram.updateValue(120);
+        histogram.updateValue(150);
+
+        assertEquals(3, histogram.getValueAtPercentile(50));
+        assertEquals(3, histogram.getValueAtPercentile(98));
+        assertEquals(120, histogram.getValueAtPercentile(99));
+        assertEquals(150, histogram.getValueAtPercentile(99.9));
+    }
+
+    @Test
+    public void testSignificantDigits() {
+        StatisticHistogram histogram = new StatisticHistogram(3);
+        histogram.updateValue(123456);
+        assertWithinPrecision(123456, histogram.getValueAtPercentile(50), 0.001);
+
+        histogram = new StatisticHistogram(1);
+        histogram.updateValue(123456);
+        assertWithinPrecision(123456, histogram.getValueAtPercentile(50), 0.1);
+
+        assertThrows(IllegalArgumentException.class, () -> new StatisticHistogram(0));
+        assertThrows(IllegalArgumentException.class, () -> new StatisticHistogram(4));
+    }
+
+    @Test
+    public void testOutOfRange() {
+        StatisticHistogram histogram = new StatisticHistogram();
+        histogram.updateValue(-5);
+        assertEquals(0, histogram.getValueAtPercentile(50));
+
+        histogram.reset();
+        histogram.updateValue(Long.MAX_VALUE);
+        assertEquals(StatisticHistogram.HIGHEST_TRACKABLE_VALUE, histogram.getValueAtPercentile(50));
+    }
+
+    @Test
+    public void testReset() {
+        StatisticHistogram histogram = new StatisticHistogram();
+        histogram.updateValue(10);
+        histogram.updateValue(20);
+        assertEquals(2, histogram.getValue());
+
+        histogram.reset();
+        assertFalse(histogram.isUpdated());
+        assertEquals(0, histogram.getValueAtPercentile(99));
+    }
+
+    private static void assertWithinPrecision(long expected, long actual, double precision) {
+        assertTrue(Math.abs(expected - actual) <= expected * precision,
+                "Expected " + expected + " within " + precision + " but was " + actual);
+    }
+
+}
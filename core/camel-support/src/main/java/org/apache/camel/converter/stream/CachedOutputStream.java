@@ -21,6 +21,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 
+import org.apache.camel.CamelContext;
 import org.apache.camel.Exchange;
 import org.apache.camel.StreamCache;
 import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
@@ -33,15 +34,20 @@ import org.apache.camel.spi.StreamCachingStrategy;
  * The temp file will store in the temp directory, you can configure it by setting the TEMP_DIR property. If you don't
  * set the TEMP_DIR property, it will choose the directory which is set by the system property of "java.io.tmpdir".
  * <p/>
+ * If off-heap spooling is enabled, then the content is stored in an {@link OffHeapStreamCacheArena} instead of a temp
+ * file, and only if the arena is exhausted then the content is stored into a temp file.
+ * <p/>
  * You can get a cached input stream of this stream. The temp file which is created with this output stream will be
  * deleted when you close this output stream or the cached fileInputStream(s) is/are closed after all the exchanges
  * using the temp file are completed.
  */
 public class CachedOutputStream extends OutputStream {
 
+    private final CamelContext camelContext;
     private final StreamCachingStrategy strategy;
     private OutputStream currentStream;
     private boolean inMemory = true;
+    private boolean offHeap;
     private int totalLength;
     private final TempFileManager tempFileManager;
     private final boolean closedOnCompletion;
@@ -54,7 +60,8 @@ public class CachedOutputStream extends OutputStream {
         this.closedOnCompletion = closedOnCompletion;
         this.tempFileManager = new TempFileManager(closedOnCompletion);
         this.tempFileManager.addExchange(exchange);
-        this.strategy = exchange.getContext().getStreamCachingStrategy();
+        this.camelContext = exchange.getContext();
+        this.strategy = camelContext.getStreamCachingStrategy();
         this.currentStream = new CachedByteArrayOutputStream(strategy.getBufferSize());
     }
 
@@ -98,6 +105,14 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
+        if (offHeap) {
+            try {
+                currentStream.write(b, off, len);
+                return;
+            } catch (OffHeapSpool.ArenaExhaustedException e) {
+                pageOffHeapToFileStream();
+            }
+        }
         currentStream.write(b, off, len);
     }
 
@@ -107,6 +122,14 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
+        if (offHeap) {
+            try {
+                currentStream.write(b);
+                return;
+            } catch (OffHeapSpool.ArenaExhaustedException e) {
+                pageOffHeapToFileStream();
+            }
+        }
         currentStream.write(b);
     }
 
@@ -116,6 +139,14 @@ public class CachedOutputStream extends OutputStream {
         if (inMemory && currentStream instanceof ByteArrayOutputStream && strategy.shouldSpoolCache(totalLength)) {
             pageToFileStream();
         }
+        if (offHeap) {
+            try {
+                currentStream.write(b);
+                return;
+            } catch (OffHeapSpool.ArenaExhaustedException e) {
+                pageOffHeapToFileStream();
+            }
+        }
         currentStream.write(b);
     }
 
@@ -151,8 +182,23 @@ public class CachedOutputStream extends OutputStream {
         flush();
         ByteArrayOutputStream bout = (ByteArrayOutputStream) currentStream;
         try {
-            // creates a tmp file and a file output stream
-            currentStream = tempFileManager.createOutputStream(strategy);
+            OffHeapStreamCacheArena arena = strategy.isSpoolOffHeapEnabled()
+                    ? camelContext.getCamelContextExtension().getContextPlugin(OffHeapStreamCacheArena.class) : null;
+            if (arena != null) {
+                // spool to off-heap memory
+                currentStream = tempFileManager.createOffHeapOutputStream(arena);
+                offHeap = true;
+                try {
+                    bout.writeTo(currentStream);
+                    return;
+                } catch (OffHeapSpool.ArenaExhaustedException e) {
+                    // nothing was written as the arena is exhausted
+                    pageOffHeapToFileStream();
+                }
+            } else {
+                // creates a tmp file and a file output stream
+                currentStream = tempFileManager.createOutputStream(strategy);
+            }
             bout.writeTo(currentStream);
         } finally {
             // ensure flag is flipped to file based
@@ -160,6 +206,12 @@ public class CachedOutputStream extends OutputStream {
         }
     }
 
+    private void pageOffHeapToFileStream() throws IOException {
+        // the off-heap arena is exhausted so continue with a tmp file
+        offHeap = false;
+        currentStream = tempFileManager.pageOffHeapToFile(strategy);
+    }
+
     public int getStrategyBufferSize() {
         return strategy.getBufferSize();
     }
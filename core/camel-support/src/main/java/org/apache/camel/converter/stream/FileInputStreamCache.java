@@ -212,6 +212,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         private File tempFile;
         private OutputStream outputStream; // file output stream
         private CipherPair ciphers;
+        private OffHeapSpool offHeapSpool;
 
         // there can be several input streams, for example in the multi-cast, or wiretap parallel processing
         private List<FileInputStreamCache> fileInputStreamCaches;
@@ -294,18 +295,7 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             if (tempFile != null) {
                 throw new IllegalStateException("The method 'createOutputStream' can only be called once!");
             }
-            if (closedOnCompletion && exchangeCounter.get() == 0) {
-                // exchange was already stopped -> in this case the tempFile would never be deleted.
-                // This can happen when in the splitter or Multi-cast case with parallel processing, the CachedOutputStream is created when the main unit of work
-                // is still active, but has a timeout and after the timeout which stops the unit of work the FileOutputStream is created.
-                // We only can throw here an Exception and inform the user that the processing took longer than the set timeout.
-                String error
-                        = "Cannot create a FileOutputStream for Stream Caching, because this FileOutputStream would never be removed from the file system."
-                          + " This situation can happen with a Splitter or Multi Cast in parallel processing if there is a timeout set on the Splitter or Multi Cast, "
-                          + " and the processing in a sub-branch takes longer than the timeout. Consider to increase the timeout.";
-                LOG.error(error);
-                throw new IOException(error);
-            }
+            checkExchangeActive("FileOutputStream", "removed from the file system");
             tempFile = FileUtil.createTempFile("cos", ".tmp", strategy.getSpoolDirectory());
 
             LOG.trace("Creating temporary stream cache file: {}", tempFile);
@@ -335,7 +325,51 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             return out;
         }
 
-        FileInputStreamCache newStreamCache() {
+        OutputStream createOffHeapOutputStream(OffHeapStreamCacheArena arena) throws IOException {
+            // should only be called once
+            if (offHeapSpool != null || tempFile != null) {
+                throw new IllegalStateException("The method 'createOffHeapOutputStream' can only be called once!");
+            }
+            checkExchangeActive("off-heap stream cache", "released");
+            offHeapSpool = new OffHeapSpool(arena);
+            return offHeapSpool.createOutputStream();
+        }
+
+        /**
+         * Moves the data spooled off-heap to a temporary file, which is used when the off-heap arena is exhausted.
+         */
+        OutputStream pageOffHeapToFile(StreamCachingStrategy strategy) throws IOException {
+            OffHeapSpool spool = offHeapSpool;
+            OutputStream out = createOutputStream(strategy);
+            try {
+                spool.writeTo(out);
+            } finally {
+                offHeapSpool = null;
+                spool.release();
+            }
+            return out;
+        }
+
+        private void checkExchangeActive(String type, String action) throws IOException {
+            if (closedOnCompletion && exchangeCounter.get() == 0) {
+                // exchange was already stopped -> in this case the tempFile would never be deleted.
+                // This can happen when in the splitter or Multi-cast case with parallel processing, the CachedOutputStream is created when the main unit of work
+                // is still active, but has a timeout and after the timeout which stops the unit of work the FileOutputStream is created.
+                // We only can throw here an Exception and inform the user that the processing took longer than the set timeout.
+                String error
+                        = "Cannot create a " + type + " for Stream Caching, because this " + type + " would never be "
+                          + action + "."
+                          + " This situation can happen with a Splitter or Multi Cast in parallel processing if there is a timeout set on the Splitter or Multi Cast, "
+                          + " and the processing in a sub-branch takes longer than the timeout. Consider to increase the timeout.";
+                LOG.error(error);
+                throw new IOException(error);
+            }
+        }
+
+        StreamCache newStreamCache() {
+            if (offHeapSpool != null) {
+                return new OffHeapInputStreamCache(this);
+            }
             return new FileInputStreamCache(this);
         }
 
@@ -349,6 +383,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
         }
 
         void cleanUpTempFile() {
+            // return the off-heap memory to the arena
+            if (offHeapSpool != null) {
+                offHeapSpool.release();
+            }
             // cleanup temporary file
             try {
                 if (tempFile != null) {
@@ -368,6 +406,10 @@ public final class FileInputStreamCache extends InputStream implements StreamCac
             return ciphers;
         }
 
+        OffHeapSpool getOffHeapSpool() {
+            return offHeapSpool;
+        }
+
     }
 
 }
@@ -0,0 +1,160 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.StreamCache;
+import org.apache.camel.converter.stream.FileInputStreamCache.TempFileManager;
+
+/**
+ * A {@link StreamCache} for data which has been spooled off-heap into an {@link OffHeapStreamCacheArena}.
+ * <p/>
+ * <b>Important:</b> All the classes from the Camel release that implements {@link StreamCache} is NOT intended for end
+ * users to create as instances, but they are part of Camels
+ * <a href="https://camel.apache.org/manual/stream-caching.html">stream-caching</a> functionality.
+ */
+public final class OffHeapInputStreamCache extends InputStream implements StreamCache {
+
+    private final TempFileManager tempFileManager;
+    private final OffHeapSpool spool;
+    private final long length;
+    private int slabIndex;
+    private ByteBuffer current;
+    private long position;
+
+    OffHeapInputStreamCache(TempFileManager tempFileManager) {
+        this.tempFileManager = tempFileManager;
+        this.spool = tempFileManager.getOffHeapSpool();
+        this.length = spool.length();
+    }
+
+    @Override
+    public synchronized void reset() {
+        slabIndex = 0;
+        current = null;
+        position = 0;
+    }
+
+    @Override
+    public void writeTo(OutputStream os) throws IOException {
+        byte[] buf = new byte[(int) Math.min(spool.slabSize(), Math.max(length - position, 1))];
+        int n;
+        while ((n = read(buf, 0, buf.length)) != -1) {
+            os.write(buf, 0, n);
+        }
+    }
+
+    @Override
+    public StreamCache copy(Exchange exchange) throws IOException {
+        tempFileManager.addExchange(exchange);
+        return new OffHeapInputStreamCache(tempFileManager);
+    }
+
+    @Override
+    public boolean inMemory() {
+        return false;
+    }
+
+    @Override
+    public long length() {
+        return length;
+    }
+
+    @Override
+    public long position() {
+        return position;
+    }
+
+    @Override
+    public int available() throws IOException {
+        return (int) Math.min(length - position, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int read() throws IOException {
+        ByteBuffer buffer = currentSlab();
+        if (buffer == null) {
+            return -1;
+        }
+        position++;
+        return buffer.get() & 0xff;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        ByteBuffer buffer = currentSlab();
+        if (buffer == null) {
+            return -1;
+        }
+        int total = 0;
+        while (buffer != null && total < len) {
+            int chunk = Math.min(len - total, buffer.remaining());
+            buffer.get(b, off + total, chunk);
+            total += chunk;
+            if (total < len) {
+                buffer = currentSlab();
+            }
+        }
+        position += total;
+        return total;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = 0;
+        while (skipped < n) {
+            ByteBuffer buffer = currentSlab();
+            if (buffer == null) {
+                break;
+            }
+            int chunk = (int) Math.min(n - skipped, buffer.remaining());
+            buffer.position(buffer.position() + chunk);
+            skipped += chunk;
+        }
+        position += skipped;
+        return skipped;
+    }
+
+    /**
+     * Gets the slab to read from, or <tt>null</tt> if there is no more data
+     */
+    private ByteBuffer currentSlab() throws IOException {
+        if (spool.isReleased()) {
+            throw new IOException("Cannot read from stream cache as its data has been released");
+        }
+        while (current == null || !current.hasRemaining()) {
+            if (slabIndex >= spool.slabCount()) {
+                return null;
+            }
+            current = spool.slab(slabIndex++);
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapInputStreamCache[length: " + length + "]";
+    }
+}
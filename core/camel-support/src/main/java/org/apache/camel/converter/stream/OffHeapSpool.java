@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.camel.converter.stream.OffHeapStreamCacheArena.Slab;
+
+/**
+ * Holds the data of a stream cache which has been spooled into slabs from the {@link OffHeapStreamCacheArena}.
+ * <p/>
+ * The data is written once using {@link #createOutputStream()}, and then read by one or more
+ * {@link OffHeapInputStreamCache}s. The slabs are returned to the arena when the spool is released.
+ */
+final class OffHeapSpool {
+
+    private final OffHeapStreamCacheArena arena;
+    private final int slabSize;
+    private final List<Slab> slabs = new ArrayList<>();
+    private long length;
+    private int writeIndex = -1;
+    private boolean released;
+
+    /**
+     * Thrown when the arena has no more free slabs, which means the data should be spooled to a file instead.
+     */
+    static final class ArenaExhaustedException extends IOException {
+
+        ArenaExhaustedException() {
+            super("Off-heap stream cache arena is exhausted");
+        }
+    }
+
+    OffHeapSpool(OffHeapStreamCacheArena arena) {
+        this.arena = arena;
+        this.slabSize = arena.getSlabSize();
+    }
+
+    long length() {
+        return length;
+    }
+
+    int slabSize() {
+        return slabSize;
+    }
+
+    /**
+     * Gets a read-only view of the slab at the given index, limited to the data written into the slab.
+     */
+    ByteBuffer slab(int index) {
+        ByteBuffer answer = slabs.get(index).buffer.asReadOnlyBuffer();
+        answer.flip();
+        return answer;
+    }
+
+    int slabCount() {
+        return slabs.size();
+    }
+
+    /**
+     * Creates the output stream to write the data into the slabs. If the arena is exhausted then the write methods
+     * throws {@link ArenaExhaustedException} without writing any of the given bytes.
+     */
+    OutputStream createOutputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                ensureCapacity(1);
+                nextSlab().put((byte) b);
+                length++;
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                ensureCapacity(len);
+                while (len > 0) {
+                    ByteBuffer buffer = nextSlab();
+                    int chunk = Math.min(len, buffer.remaining());
+                    buffer.put(b, off, chunk);
+                    off += chunk;
+                    len -= chunk;
+                    length += chunk;
+                }
+            }
+        };
+    }
+
+    private ByteBuffer nextSlab() {
+        ByteBuffer buffer = slabs.get(writeIndex).buffer;
+        if (!buffer.hasRemaining()) {
+            writeIndex++;
+            buffer = slabs.get(writeIndex).buffer;
+        }
+        return buffer;
+    }
+
+    /**
+     * Ensures there is free space for the given number of bytes, by acquiring all the needed slabs up front, so the
+     * data is either written completely or not at all.
+     */
+    private void ensureCapacity(int len) throws IOException {
+        long free = 0;
+        if (writeIndex >= 0) {
+            free = slabs.get(writeIndex).buffer.remaining() + (long) slabSize * (slabs.size() - 1 - writeIndex);
+        }
+        if (free >= len) {
+            return;
+        }
+        int needed = (int) ((len - free + slabSize - 1) / slabSize);
+        List<Slab> acquired = new ArrayList<>(needed);
+        try {
+            for (int i = 0; i < needed; i++) {
+                Slab slab = arena.acquire();
+                if (slab == null) {
+                    throw new ArenaExhaustedException();
+                }
+                acquired.add(slab);
+            }
+        } catch (IOException | RuntimeException e) {
+            // return the slabs acquired so far, as the spool only owns the slabs when all of them are acquired
+            acquired.forEach(arena::release);
+            throw e;
+        }
+        slabs.addAll(acquired);
+        if (writeIndex < 0) {
+            writeIndex = 0;
+        }
+    }
+
+    /**
+     * Writes all the spooled data to the given output stream
+     */
+    void writeTo(OutputStream os) throws IOException {
+        byte[] buf = new byte[(int) Math.min(slabSize, Math.max(length, 1))];
+        for (int i = 0; i < slabs.size(); i++) {
+            ByteBuffer buffer = slab(i);
+            while (buffer.hasRemaining()) {
+                int chunk = Math.min(buf.length, buffer.remaining());
+                buffer.get(buf, 0, chunk);
+                os.write(buf, 0, chunk);
+            }
+        }
+    }
+
+    /**
+     * Returns the slabs to the arena
+     */
+    synchronized void release() {
+        if (!released) {
+            released = true;
+            slabs.forEach(arena::release);
+            slabs.clear();
+        }
+    }
+
+    boolean isReleased() {
+        return released;
+    }
+}
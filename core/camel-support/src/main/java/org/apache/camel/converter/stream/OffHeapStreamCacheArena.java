@@ -0,0 +1,255 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.converter.stream;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.util.FileUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A pool of fixed size memory slabs used for spooling stream caches off-heap, instead of spooling to a temporary file
+ * per stream cache.
+ * <p/>
+ * The slabs are allocated as direct {@link ByteBuffer}s up till the given maximum size. When all direct slabs are in
+ * use, then the slabs overflow to a single memory-mapped segment file (shared by all stream caches), which is mapped in
+ * regions on demand up till the given maximum mapped size. Slabs are recycled when the stream caches are done, and the
+ * arena never allocates beyond its bounds, so when all slabs are in use then {@link #acquire()} returns <tt>null</tt>
+ * and the stream cache must spool to a temporary file instead.
+ */
+public class OffHeapStreamCacheArena implements Closeable {
+
+    public static final int DEFAULT_SLAB_SIZE = 64 * 1024;
+
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapStreamCacheArena.class);
+    private static final int MAPPED_REGION_SIZE = 64 * 1024 * 1024;
+
+    private final int slabSize;
+    private final long maxSize;
+    private final long mappedMaxSize;
+    private final File spoolDirectory;
+    private final Queue<Slab> freeSlabs = new ConcurrentLinkedQueue<>();
+    private final Queue<Slab> freeMappedSlabs = new ConcurrentLinkedQueue<>();
+    private final AtomicLong allocated = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong mappedUsed = new AtomicLong();
+    private final Lock mappedLock = new ReentrantLock();
+    private File segmentFile;
+    private FileChannel segmentChannel;
+    private long mappedAllocated;
+    private volatile boolean closed;
+
+    /**
+     * A fixed size piece of memory from the arena.
+     */
+    static final class Slab {
+        final ByteBuffer buffer;
+        final boolean mapped;
+
+        Slab(ByteBuffer buffer, boolean mapped) {
+            this.buffer = buffer;
+            this.mapped = mapped;
+        }
+    }
+
+    /**
+     * Creates the arena
+     *
+     * @param slabSize       the size in bytes of each slab
+     * @param maxSize        the maximum number of bytes of direct memory to allocate
+     * @param mappedMaxSize  the maximum number of bytes of the memory-mapped segment file, or <tt>0</tt> to not
+     *                       overflow to a memory-mapped file
+     * @param spoolDirectory the directory to create the memory-mapped segment file in
+     */
+    public OffHeapStreamCacheArena(int slabSize, long maxSize, long mappedMaxSize, File spoolDirectory) {
+        if (slabSize <= 0) {
+            throw new IllegalArgumentException("SlabSize must be positive, was: " + slabSize);
+        }
+        this.slabSize = slabSize;
+        this.maxSize = Math.max(maxSize, 0);
+        this.mappedMaxSize = spoolDirectory != null ? Math.max(mappedMaxSize, 0) : 0;
+        this.spoolDirectory = spoolDirectory;
+    }
+
+    public int getSlabSize() {
+        return slabSize;
+    }
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public long getMappedMaxSize() {
+        return mappedMaxSize;
+    }
+
+    /**
+     * Number of bytes of direct memory which is currently in use by stream caches
+     */
+    public long getUsed() {
+        return used.get();
+    }
+
+    /**
+     * Number of bytes of the memory-mapped segment file which is currently in use by stream caches
+     */
+    public long getMappedUsed() {
+        return mappedUsed.get();
+    }
+
+    /**
+     * Number of bytes of direct memory which has been allocated (the arena keeps the memory for reuse)
+     */
+    public long getAllocated() {
+        return allocated.get();
+    }
+
+    /**
+     * Acquires a free slab, which is cleared and ready for writing.
+     *
+     * @return the slab, or <tt>null</tt> if the arena is exhausted
+     */
+    Slab acquire() throws IOException {
+        if (closed) {
+            return null;
+        }
+        Slab slab = freeSlabs.poll();
+        if (slab == null) {
+            slab = allocateDirect();
+        }
+        if (slab == null) {
+            slab = freeMappedSlabs.poll();
+            if (slab == null) {
+                slab = allocateMapped();
+            }
+        }
+        if (slab != null) {
+            slab.buffer.clear();
+            if (slab.mapped) {
+                mappedUsed.addAndGet(slabSize);
+            } else {
+                used.addAndGet(slabSize);
+            }
+        }
+        return slab;
+    }
+
+    /**
+     * Returns the slab to the arena for reuse
+     */
+    void release(Slab slab) {
+        if (slab.mapped) {
+            mappedUsed.addAndGet(-slabSize);
+            if (!closed) {
+                freeMappedSlabs.offer(slab);
+            }
+        } else {
+            used.addAndGet(-slabSize);
+            if (!closed) {
+                freeSlabs.offer(slab);
+            }
+        }
+    }
+
+    private Slab allocateDirect() {
+        while (true) {
+            long current = allocated.get();
+            if (current + slabSize > maxSize) {
+                return null;
+            }
+            if (allocated.compareAndSet(current, current + slabSize)) {
+                return new Slab(ByteBuffer.allocateDirect(slabSize), false);
+            }
+        }
+    }
+
+    private Slab allocateMapped() throws IOException {
+        if (mappedMaxSize < slabSize) {
+            return null;
+        }
+        mappedLock.lock();
+        try {
+            // another thread may have mapped a new region while we waited for the lock
+            Slab slab = freeMappedSlabs.poll();
+            if (slab != null || closed) {
+                return slab;
+            }
+            long remaining = mappedMaxSize - mappedAllocated;
+            int regionSize = (int) (Math.min(MAPPED_REGION_SIZE, remaining) / slabSize * slabSize);
+            if (regionSize <= 0) {
+                return null;
+            }
+            if (segmentChannel == null) {
+                segmentFile = FileUtil.createTempFile("cos", ".seg", spoolDirectory);
+                LOG.debug("Creating memory-mapped stream cache segment file: {}", segmentFile);
+                segmentChannel = FileChannel.open(segmentFile.toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            MappedByteBuffer region = segmentChannel.map(FileChannel.MapMode.READ_WRITE, mappedAllocated, regionSize);
+            mappedAllocated += regionSize;
+            LOG.trace("Mapped region of {} bytes in segment file: {} (total {} bytes)", regionSize, segmentFile,
+                    mappedAllocated);
+
+            for (int offset = slabSize; offset < regionSize; offset += slabSize) {
+                freeMappedSlabs.offer(new Slab(region.slice(offset, slabSize), true));
+            }
+            return new Slab(region.slice(0, slabSize), true);
+        } finally {
+            mappedLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        closed = true;
+        freeSlabs.clear();
+        freeMappedSlabs.clear();
+        mappedLock.lock();
+        try {
+            if (segmentChannel != null) {
+                segmentChannel.close();
+                segmentChannel = null;
+            }
+            if (segmentFile != null) {
+                // the file may still be mapped, so delete it on exit if it cannot be deleted now
+                if (!FileUtil.deleteFile(segmentFile)) {
+                    segmentFile.deleteOnExit();
+                }
+                segmentFile = null;
+            }
+        } finally {
+            mappedLock.unlock();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "OffHeapStreamCacheArena[slabSize=" + slabSize + ", maxSize=" + maxSize + ", mappedMaxSize=" + mappedMaxSize
+               + ", used=" + used.get() + ", mappedUsed=" + mappedUsed.get() + "]";
+    }
+}
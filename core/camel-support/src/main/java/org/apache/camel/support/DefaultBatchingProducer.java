@@ -0,0 +1,70 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.camel.AsyncCallback;
+import org.apache.camel.BatchingProducer;
+import org.apache.camel.Endpoint;
+import org.apache.camel.Exchange;
+
+/**
+ * A default implementation of {@link BatchingProducer} for implementation inheritance, which sends the batch of
+ * {@link Exchange}s synchronously using the bulk operation implemented in {@link #processBatch(List)}.
+ * <p/>
+ * A single exchange is sent as a batch of one.
+ */
+public abstract class DefaultBatchingProducer extends DefaultAsyncProducer implements BatchingProducer {
+
+    public DefaultBatchingProducer(Endpoint endpoint) {
+        super(endpoint);
+    }
+
+    /**
+     * Sends the batch of exchanges using the bulk operation of the component.
+     * <p/>
+     * The reply and failure of each message should be set on its exchange. If this method throws an exception, then the
+     * exception is set on all the exchanges in the batch which has not already failed.
+     *
+     * @param  exchanges the exchanges in the batch
+     * @throws Exception is thrown if the entire batch failed
+     */
+    protected abstract void processBatch(List<Exchange> exchanges) throws Exception;
+
+    @Override
+    public boolean process(Exchange exchange, AsyncCallback callback) {
+        return processBatch(Collections.singletonList(exchange), callback);
+    }
+
+    @Override
+    public boolean processBatch(List<Exchange> exchanges, AsyncCallback callback) {
+        try {
+            processBatch(exchanges);
+        } catch (Exception e) {
+            for (Exchange exchange : exchanges) {
+                if (exchange.getException() == null) {
+                    exchange.setException(e);
+                }
+            }
+        }
+        callback.done(true);
+        return true;
+    }
+
+}
@@ -33,17 +33,26 @@ import org.apache.camel.CamelContextAware;
 import org.apache.camel.StaticService;
 import org.apache.camel.spi.ThreadPoolFactory;
 import org.apache.camel.spi.ThreadPoolProfile;
+import org.apache.camel.support.service.ServiceHelper;
 import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.CamelThreadFactory;
 import org.apache.camel.util.concurrent.RejectableScheduledThreadPoolExecutor;
 import org.apache.camel.util.concurrent.RejectableThreadPoolExecutor;
 import org.apache.camel.util.concurrent.SizedScheduledExecutorService;
+import org.apache.camel.util.concurrent.VirtualThreadHelper;
 
 /**
  * Factory for thread pools that uses the JDK {@link Executors} for creating the thread pools.
+ * <p/>
+ * If the given thread factory creates virtual threads, then a thread per task executor is used instead of pooling
+ * threads. Pinning of the virtual threads to their carrier threads can be monitored by
+ * {@link VirtualThreadPinnedMonitor}, which is not enabled by default as it uses a JDK Flight Recorder stream.
  */
 public class DefaultThreadPoolFactory extends ServiceSupport implements CamelContextAware, ThreadPoolFactory, StaticService {
 
+    private final VirtualThreadPinnedMonitor pinnedMonitor = new VirtualThreadPinnedMonitor();
     private CamelContext camelContext;
+    private boolean virtualThreadsPinnedMonitor;
 
     @Override
     public CamelContext getCamelContext() {
@@ -55,13 +64,40 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
         this.camelContext = camelContext;
     }
 
+    /**
+     * The monitor for virtual threads pinned to their carrier thread
+     */
+    public VirtualThreadPinnedMonitor getVirtualThreadPinnedMonitor() {
+        return pinnedMonitor;
+    }
+
+    public boolean isVirtualThreadsPinnedMonitor() {
+        return virtualThreadsPinnedMonitor;
+    }
+
+    /**
+     * Whether to monitor when virtual threads are pinned to their carrier thread, when virtual threads are in use. The
+     * monitor listens for events from the JDK Flight Recorder, which adds overhead to the JVM, and is therefore not
+     * enabled by default.
+     */
+    public void setVirtualThreadsPinnedMonitor(boolean virtualThreadsPinnedMonitor) {
+        this.virtualThreadsPinnedMonitor = virtualThreadsPinnedMonitor;
+    }
+
     @Override
     public ExecutorService newCachedThreadPool(ThreadFactory threadFactory) {
+        if (isVirtual(threadFactory)) {
+            return newVirtualThreadPool(threadFactory);
+        }
         return Executors.newCachedThreadPool(threadFactory);
     }
 
     @Override
     public ExecutorService newThreadPool(ThreadPoolProfile profile, ThreadFactory factory) {
+        if (profile.isVirtualThreads() && isVirtual(factory)) {
+            return newVirtualThreadPool(factory);
+        }
+
         // allow core thread timeout is default true if not configured
         boolean allow = profile.getAllowCoreThreadTimeOut() != null ? profile.getAllowCoreThreadTimeOut() : true;
         return newThreadPool(profile.getPoolSize(),
@@ -117,6 +153,21 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
         return answer;
     }
 
+    /**
+     * Creates a new thread pool which starts a new virtual thread per task.
+     *
+     * @param  threadFactory the thread factory which creates virtual threads
+     * @return               the thread pool
+     */
+    public ExecutorService newVirtualThreadPool(ThreadFactory threadFactory) {
+        ExecutorService answer = VirtualThreadHelper.newThreadPerTaskExecutor(threadFactory);
+        if (virtualThreadsPinnedMonitor) {
+            // virtual threads are in use so start monitoring them
+            ServiceHelper.startService(pinnedMonitor);
+        }
+        return answer;
+    }
+
     @Override
     public ScheduledExecutorService newScheduledThreadPool(ThreadPoolProfile profile, ThreadFactory threadFactory) {
         RejectedExecutionHandler rejectedExecutionHandler = profile.getRejectedExecutionHandler();
@@ -138,4 +189,13 @@ public class DefaultThreadPoolFactory extends ServiceSupport implements CamelCon
         }
     }
 
+    @Override
+    protected void doStop() throws Exception {
+        ServiceHelper.stopService(pinnedMonitor);
+    }
+
+    private static boolean isVirtual(ThreadFactory threadFactory) {
+        return threadFactory instanceof CamelThreadFactory && ((CamelThreadFactory) threadFactory).isVirtual();
+    }
+
 }
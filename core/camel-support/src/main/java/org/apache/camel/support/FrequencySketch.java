@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+/**
+ * A probabilistic set of 4-bit counters (count-min sketch) used to estimate the popularity of keys within a time
+ * window, as used by the TinyLFU admission policy of {@link TinyLfuLRUCache}.
+ * <p/>
+ * Each key is counted in four counters which are located in the same block of eight longs (a cache line), and the
+ * estimated frequency is the minimum of these counters. When the number of increments reaches the sample size then all
+ * the counters are halved, so the popularity of keys ages over time.
+ * <p/>
+ * This class is not thread-safe and must be guarded by the caller.
+ */
+final class FrequencySketch {
+
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int MAX_TABLE_SIZE = 1 << 30;
+
+    private final long[] table;
+    private final int blockMask;
+    private final int sampleSize;
+    private int size;
+
+    FrequencySketch(int maximumSize) {
+        int capacity = Math.min(Math.max(maximumSize, 8), MAX_TABLE_SIZE);
+        this.table = new long[Integer.highestOneBit(capacity - 1) << 1];
+        this.blockMask = (table.length >>> 3) - 1;
+        this.sampleSize = maximumSize <= 0 ? 10 : (int) Math.min(10L * maximumSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the estimated number of occurrences of the key, up to the maximum of 15.
+     */
+    int frequency(Object key) {
+        int blockHash = spread(key.hashCode());
+        int counterHash = rehash(blockHash);
+        int block = (blockHash & blockMask) << 3;
+        int frequency = Integer.MAX_VALUE;
+        for (int i = 0; i < 4; i++) {
+            int h = counterHash >>> (i << 3);
+            int index = (h >>> 1) & 15;
+            int slot = block + (h & 1) + (i << 1);
+            int count = (int) ((table[slot] >>> (index << 2)) & 0xfL);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Increments the popularity of the key if it does not exceed the maximum of 15, and ages all the counters
+     * periodically.
+     */
+    void increment(Object key) {
+        int blockHash = spread(key.hashCode());
+        int counterHash = rehash(blockHash);
+        int block = (blockHash & blockMask) << 3;
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int h = counterHash >>> (i << 3);
+            int index = (h >>> 1) & 15;
+            int slot = block + (h & 1) + (i << 1);
+            added |= incrementAt(slot, index);
+        }
+        if (added && ++size == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int slot, int counter) {
+        int offset = counter << 2;
+        long mask = 0xfL << offset;
+        if ((table[slot] & mask) != mask) {
+            table[slot] += 1L << offset;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Halves all the counters, and adjusts the sample size for the odd counters which were truncated.
+     */
+    private void reset() {
+        int odd = 0;
+        for (int i = 0; i < table.length; i++) {
+            odd += Long.bitCount(table[i] & ONE_MASK);
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        size = (size - (odd >>> 2)) >>> 1;
+    }
+
+    private static int spread(int x) {
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        x = ((x >>> 16) ^ x) * 0x45d9f3b;
+        return (x >>> 16) ^ x;
+    }
+
+    private static int rehash(int x) {
+        x *= 0x31848bab;
+        x ^= x >>> 14;
+        return x;
+    }
+
+}
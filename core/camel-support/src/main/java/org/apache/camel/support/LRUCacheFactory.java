@@ -51,6 +51,9 @@ public abstract class LRUCacheFactory {
     /**
      * Use this to set a specific LRUCacheFactory instance, such as before starting Camel, that then avoids doing auto
      * discovery of the cache factory via classpath.
+     * <p/>
+     * The default is {@link DefaultLRUCacheFactory}, and {@link TinyLfuLRUCacheFactory} can be set to use a cache with
+     * the W-TinyLFU eviction policy.
      */
     public static void setLRUCacheFactory(LRUCacheFactory cacheFactory) {
         instance = cacheFactory;
@@ -140,6 +140,8 @@ public abstract class PooledObjectFactorySupport<T> extends ServiceSupport imple
         public final LongAdder acquired = new LongAdder();
         public final LongAdder released = new LongAdder();
         public final LongAdder discarded = new LongAdder();
+        public final LongAdder allocationMeasured = new LongAdder();
+        public final LongAdder allocatedBytes = new LongAdder();
 
         @Override
         public void reset() {
@@ -147,6 +149,8 @@ public abstract class PooledObjectFactorySupport<T> extends ServiceSupport imple
             acquired.reset();
             released.reset();
             discarded.reset();
+            allocationMeasured.reset();
+            allocatedBytes.reset();
         }
 
         @Override
@@ -169,6 +173,16 @@ public abstract class PooledObjectFactorySupport<T> extends ServiceSupport imple
             return discarded.longValue();
         }
 
+        @Override
+        public long getAllocationMeasuredCounter() {
+            return allocationMeasured.longValue();
+        }
+
+        @Override
+        public long getAllocatedBytes() {
+            return allocatedBytes.longValue();
+        }
+
     }
 
 }
@@ -0,0 +1,843 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A concurrent {@link LRUCache} which uses the W-TinyLFU eviction policy.
+ * <p/>
+ * New entries are added to a small admission window (1% of the cache) which is ordered by recency. When an entry is
+ * evicted from the window, then it becomes a candidate for the main space of the cache. The candidate is only admitted
+ * into the main space if it is at least as popular as the entry which would otherwise be evicted, where the popularity
+ * is estimated by a {@link FrequencySketch}. The main space is a segmented LRU, where entries which are accessed again
+ * are promoted to a protected segment (80% of the main space).
+ * <p/>
+ * The entries are stored in a {@link ConcurrentHashMap}, and reads are recorded in striped lossy buffers that are
+ * drained when the buffers are full or when the cache is written to. This means reads never block. Reads are only
+ * recorded when the cache is nearly full, as until then there is nothing to evict. Writes update the eviction policy
+ * while holding a lock, and call the eviction listener of the evicted entries after the lock has been released.
+ * <p/>
+ * The values can optionally be held by soft or weak references, in which case the entries are removed when their values
+ * are garbage collected.
+ */
+public class TinyLfuLRUCache<K, V> extends AbstractMap<K, V> implements LRUCache<K, V>, ConcurrentMap<K, V> {
+
+    /**
+     * How the values are referenced by the cache.
+     */
+    public enum ValueStrength {
+        STRONG,
+        SOFT,
+        WEAK
+    }
+
+    // the states of a node, where a node linked in the eviction policy is in one of the queues
+    private static final int NEW = -1;
+    private static final int RETIRED = -2;
+    private static final int WINDOW = 0;
+    private static final int PROBATION = 1;
+    private static final int PROTECTED = 2;
+
+    private static final int READ_BUFFER_SIZE = 16;
+    private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+    private static final int READ_BUFFER_STRIPES
+            = Math.min(16, Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() - 1)) << 1);
+
+    private final ConcurrentHashMap<K, Node<K, V>> data;
+    private final int maximumCacheSize;
+    private final int windowMaximum;
+    private final int protectedMaximum;
+    private final int readRecordingThreshold;
+    private final ValueStrength valueStrength;
+    private final Consumer<V> evict;
+    private final ReferenceQueue<V> referenceQueue;
+    private final ReadBuffer<K, V>[] readBuffers;
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    // the eviction policy which is guarded by the eviction lock
+    private final AccessOrderDeque<K, V> window = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> probation = new AccessOrderDeque<>();
+    private final AccessOrderDeque<K, V> protect = new AccessOrderDeque<>();
+    private int windowSize;
+    private int probationSize;
+    private int protectedSize;
+    private volatile FrequencySketch sketch;
+
+    private Set<Entry<K, V>> entrySet;
+
+    public TinyLfuLRUCache(int maximumCacheSize) {
+        this(16, maximumCacheSize, v -> {
+        });
+    }
+
+    public TinyLfuLRUCache(int initialCapacity, int maximumCacheSize, Consumer<V> evict) {
+        this(initialCapacity, maximumCacheSize, evict, ValueStrength.STRONG);
+    }
+
+    @SuppressWarnings("unchecked")
+    public TinyLfuLRUCache(int initialCapacity, int maximumCacheSize, Consumer<V> evict, ValueStrength valueStrength) {
+        this.data = new ConcurrentHashMap<>(initialCapacity);
+        this.maximumCacheSize = maximumCacheSize;
+        this.windowMaximum = maximumCacheSize <= 0 ? 0 : Math.max(1, maximumCacheSize / 100);
+        this.protectedMaximum = (int) ((maximumCacheSize - (long) windowMaximum) * 80 / 100);
+        this.readRecordingThreshold = maximumCacheSize - (maximumCacheSize >>> 3);
+        this.evict = Objects.requireNonNull(evict);
+        this.valueStrength = Objects.requireNonNull(valueStrength);
+        this.referenceQueue = valueStrength == ValueStrength.STRONG ? null : new ReferenceQueue<>();
+        this.readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+        for (int i = 0; i < readBuffers.length; i++) {
+            readBuffers[i] = new ReadBuffer<>();
+        }
+    }
+
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = data.get(key);
+        V value = node != null ? valueOf(node) : null;
+        if (value == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        afterRead(node);
+        return value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        Node<K, V> node = data.get(key);
+        return node != null && valueOf(node) != null;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        Objects.requireNonNull(value);
+        for (Node<K, V> node : data.values()) {
+            if (value.equals(valueOf(node))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public int size() {
+        return data.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return data.isEmpty();
+    }
+
+    @Override
+    public V put(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        return remap(key, (k, v) -> value).oldValue;
+    }
+
+    @Override
+    public V putIfAbsent(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        V answer = getIfPresent(key);
+        if (answer != null) {
+            return answer;
+        }
+        return remap(key, (k, v) -> v != null ? v : value).oldValue;
+    }
+
+    @Override
+    public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(mappingFunction);
+        V answer = getIfPresent(key);
+        if (answer != null) {
+            return answer;
+        }
+        return remap(key, (k, v) -> v != null ? v : mappingFunction.apply(k)).newValue;
+    }
+
+    @Override
+    public V computeIfPresent(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(remappingFunction);
+        return remap(key, (k, v) -> v != null ? remappingFunction.apply(k, v) : null).newValue;
+    }
+
+    @Override
+    public V compute(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(remappingFunction);
+        return remap(key, remappingFunction).newValue;
+    }
+
+    @Override
+    public V merge(K key, V value, BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        Objects.requireNonNull(remappingFunction);
+        return remap(key, (k, v) -> v != null ? remappingFunction.apply(v, value) : value).newValue;
+    }
+
+    @Override
+    public V replace(K key, V value) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(value);
+        return remap(key, (k, v) -> v != null ? value : null).oldValue;
+    }
+
+    @Override
+    public boolean replace(K key, V oldValue, V newValue) {
+        Objects.requireNonNull(key);
+        Objects.requireNonNull(oldValue);
+        Objects.requireNonNull(newValue);
+        Remapping<K, V> remapping = remap(key, (k, v) -> oldValue.equals(v) ? newValue : v);
+        return oldValue.equals(remapping.oldValue);
+    }
+
+    @Override
+    public V remove(Object key) {
+        Node<K, V> node = data.remove(key);
+        if (node == null) {
+            return null;
+        }
+        afterRemove(node);
+        return valueOf(node);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean remove(Object key, Object value) {
+        Objects.requireNonNull(key);
+        if (value == null) {
+            return false;
+        }
+        Remapping<K, V> remapping = remap((K) key, (k, v) -> value.equals(v) ? null : v);
+        return value.equals(remapping.oldValue);
+    }
+
+    @Override
+    public void clear() {
+        evictionLock.lock();
+        try {
+            for (Node<K, V> node : data.values()) {
+                if (data.remove(node.key, node)) {
+                    unlink(node);
+                    node.queue = RETIRED;
+                }
+            }
+            drainReadBuffers();
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> answer = entrySet;
+        if (answer == null) {
+            answer = new EntrySetView();
+            entrySet = answer;
+        }
+        return answer;
+    }
+
+    @Override
+    public void cleanUp() {
+        List<V> evictedValues;
+        evictionLock.lock();
+        try {
+            evictedValues = maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyEvicted(evictedValues);
+    }
+
+    @Override
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evicted.reset();
+    }
+
+    @Override
+    public long getEvicted() {
+        return evicted.sum();
+    }
+
+    @Override
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    @Override
+    public long getHits() {
+        return hits.sum();
+    }
+
+    @Override
+    public int getMaxCacheSize() {
+        return maximumCacheSize;
+    }
+
+    public ValueStrength getValueStrength() {
+        return valueStrength;
+    }
+
+    /**
+     * Gets the value without recording a miss, which is used by the operations that add the value when absent.
+     */
+    private V getIfPresent(Object key) {
+        Node<K, V> node = data.get(key);
+        V value = node != null ? valueOf(node) : null;
+        if (value != null) {
+            hits.increment();
+            afterRead(node);
+        }
+        return value;
+    }
+
+    /**
+     * Atomically computes the new value of the key, and then updates the eviction policy accordingly.
+     */
+    private Remapping<K, V> remap(K key, BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        Remapping<K, V> remapping = new Remapping<>();
+        data.compute(key, (k, node) -> {
+            V oldValue = node != null ? valueOf(node) : null;
+            V newValue = remappingFunction.apply(k, oldValue);
+            remapping.oldValue = oldValue;
+            remapping.newValue = newValue;
+            if (newValue == null) {
+                remapping.removed = node;
+                return null;
+            }
+            if (node == null) {
+                node = new Node<>(k);
+                remapping.added = node;
+            } else {
+                remapping.accessed = node;
+            }
+            if (newValue != oldValue) {
+                node.value = wrap(node, newValue);
+            }
+            return node;
+        });
+        if (remapping.added != null) {
+            afterAdd(remapping.added);
+        } else if (remapping.removed != null) {
+            afterRemove(remapping.removed);
+        } else if (remapping.accessed != null) {
+            afterRead(remapping.accessed);
+        }
+        return remapping;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueOf(Node<K, V> node) {
+        Object value = node.value;
+        if (valueStrength == ValueStrength.STRONG) {
+            return (V) value;
+        }
+        return value != null ? ((Reference<V>) value).get() : null;
+    }
+
+    private Object wrap(Node<K, V> node, V value) {
+        switch (valueStrength) {
+            case SOFT:
+                return new SoftValue<>(node, value, referenceQueue);
+            case WEAK:
+                return new WeakValue<>(node, value, referenceQueue);
+            default:
+                return value;
+        }
+    }
+
+    private void afterRead(Node<K, V> node) {
+        if (sketch == null || data.size() < readRecordingThreshold) {
+            // the order of the entries only matters when the cache is about to evict, so until then a read is
+            // just a map lookup
+            return;
+        }
+        int stripe = System.identityHashCode(Thread.currentThread()) & (readBuffers.length - 1);
+        if (readBuffers[stripe].offer(node) && evictionLock.tryLock()) {
+            // the buffer is full so drain it
+            List<V> evictedValues;
+            try {
+                evictedValues = maintenance();
+            } finally {
+                evictionLock.unlock();
+            }
+            notifyEvicted(evictedValues);
+        }
+    }
+
+    private void afterAdd(Node<K, V> node) {
+        List<V> evictedValues;
+        evictionLock.lock();
+        try {
+            // the node may already have been removed again
+            if (node.queue == NEW) {
+                node.queue = WINDOW;
+                window.addLast(node);
+                windowSize++;
+                if (sketch != null) {
+                    sketch.increment(node.key);
+                }
+            }
+            evictedValues = maintenance();
+        } finally {
+            evictionLock.unlock();
+        }
+        notifyEvicted(evictedValues);
+    }
+
+    private void afterRemove(Node<K, V> node) {
+        evictionLock.lock();
+        try {
+            unlink(node);
+            node.queue = RETIRED;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void notifyEvicted(List<V> evictedValues) {
+        if (evictedValues != null) {
+            for (V value : evictedValues) {
+                evict.accept(value);
+            }
+        }
+    }
+
+    /**
+     * Applies the pending reads, removes the garbage collected values and evicts entries if the cache is too large.
+     *
+     * @return the evicted values, or <tt>null</tt> if no values was evicted
+     */
+    private List<V> maintenance() {
+        drainReadBuffers();
+        drainReferenceQueue();
+        return evictEntries();
+    }
+
+    private void drainReadBuffers() {
+        for (ReadBuffer<K, V> buffer : readBuffers) {
+            long head = buffer.readCounter;
+            long tail = buffer.writeCounter.get();
+            for (; head < tail; head++) {
+                int index = (int) head & READ_BUFFER_MASK;
+                Node<K, V> node = buffer.buffer.get(index);
+                if (node == null) {
+                    // the read has not been published yet
+                    break;
+                }
+                buffer.buffer.lazySet(index, null);
+                onAccess(node);
+            }
+            buffer.readCounter = head;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void drainReferenceQueue() {
+        if (referenceQueue == null) {
+            return;
+        }
+        Reference<? extends V> reference;
+        while ((reference = referenceQueue.poll()) != null) {
+            Node<K, V> node = ((ValueReference<K, V>) reference).node();
+            Object ref = reference;
+            Node<K, V> current = data.computeIfPresent(node.key, (k, n) -> n == node && n.value == ref ? null : n);
+            if (current == null && node.queue != RETIRED) {
+                unlink(node);
+                node.queue = RETIRED;
+                evicted.increment();
+            }
+        }
+    }
+
+    private void onAccess(Node<K, V> node) {
+        if (node.queue < 0) {
+            // not linked (yet)
+            return;
+        }
+        if (sketch != null) {
+            sketch.increment(node.key);
+        }
+        if (node.queue == WINDOW) {
+            window.moveToBack(node);
+        } else if (node.queue == PROBATION) {
+            // promote to the protected segment
+            probation.remove(node);
+            probationSize--;
+            node.queue = PROTECTED;
+            protect.addLast(node);
+            protectedSize++;
+            while (protectedSize > protectedMaximum) {
+                Node<K, V> demoted = protect.pollFirst();
+                protectedSize--;
+                demoted.queue = PROBATION;
+                probation.addLast(demoted);
+                probationSize++;
+            }
+        } else {
+            protect.moveToBack(node);
+        }
+    }
+
+    private List<V> evictEntries() {
+        if (sketch == null && windowSize + probationSize + protectedSize >= maximumCacheSize >>> 1) {
+            // only start to count the popularity when the cache becomes half full
+            sketch = new FrequencySketch(maximumCacheSize);
+        }
+
+        // move the overflow of the window to the probation segment where they become candidates
+        int candidates = 0;
+        while (windowSize > windowMaximum) {
+            Node<K, V> node = window.pollFirst();
+            windowSize--;
+            node.queue = PROBATION;
+            probation.addLast(node);
+            probationSize++;
+            candidates++;
+        }
+
+        // the candidates are compared from the newest, and the victims from the oldest in the probation segment
+        List<V> evictedValues = null;
+        Node<K, V> candidate = candidates > 0 ? probation.last : null;
+        Node<K, V> victim = probation.first;
+        while (windowSize + probationSize + protectedSize > maximumCacheSize) {
+            Node<K, V> node;
+            if (candidate == null && victim == null) {
+                node = probation.first != null ? probation.first : protect.first != null ? protect.first : window.first;
+                if (node == null) {
+                    break;
+                }
+            } else if (victim == null || candidate == victim) {
+                node = candidate;
+                if (candidate == victim) {
+                    victim = victim.next;
+                }
+                candidate = --candidates > 0 ? candidate.prev : null;
+            } else if (candidate == null) {
+                node = victim;
+                victim = victim.next;
+            } else if (admit(candidate.key, victim.key)) {
+                node = victim;
+                victim = victim.next;
+                candidate = --candidates > 0 ? candidate.prev : null;
+            } else {
+                node = candidate;
+                candidate = --candidates > 0 ? candidate.prev : null;
+            }
+            evictedValues = evictEntry(node, evictedValues);
+        }
+        return evictedValues;
+    }
+
+    /**
+     * Whether the candidate should replace the victim, which favours the candidate when they are equally popular, so
+     * the cache behaves as a LRU cache for entries that are not accessed again.
+     */
+    private boolean admit(K candidateKey, K victimKey) {
+        return sketch == null || sketch.frequency(candidateKey) >= sketch.frequency(victimKey);
+    }
+
+    private List<V> evictEntry(Node<K, V> node, List<V> evictedValues) {
+        unlink(node);
+        node.queue = RETIRED;
+        if (data.remove(node.key, node)) {
+            evicted.increment();
+            V value = valueOf(node);
+            if (value != null) {
+                if (evictedValues == null) {
+                    evictedValues = new ArrayList<>();
+                }
+                evictedValues.add(value);
+            }
+        }
+        return evictedValues;
+    }
+
+    private void unlink(Node<K, V> node) {
+        switch (node.queue) {
+            case WINDOW:
+                window.remove(node);
+                windowSize--;
+                break;
+            case PROBATION:
+                probation.remove(node);
+                probationSize--;
+                break;
+            case PROTECTED:
+                protect.remove(node);
+                protectedSize--;
+                break;
+            default:
+                break;
+        }
+    }
+
+    static final class Node<K, V> {
+        final K key;
+        volatile Object value;
+        // guarded by the eviction lock
+        int queue = NEW;
+        Node<K, V> prev;
+        Node<K, V> next;
+
+        Node(K key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * The result of an atomic remapping of a key.
+     */
+    private static final class Remapping<K, V> {
+        V oldValue;
+        V newValue;
+        Node<K, V> added;
+        Node<K, V> removed;
+        Node<K, V> accessed;
+    }
+
+    /**
+     * A doubly linked list of the nodes, ordered from the least to the most recently used.
+     */
+    private static final class AccessOrderDeque<K, V> {
+        Node<K, V> first;
+        Node<K, V> last;
+
+        void addLast(Node<K, V> node) {
+            node.prev = last;
+            node.next = null;
+            if (last == null) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+            last = node;
+        }
+
+        void remove(Node<K, V> node) {
+            if (node.prev == null) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+            if (node.next == null) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+            node.prev = null;
+            node.next = null;
+        }
+
+        void moveToBack(Node<K, V> node) {
+            if (node != last) {
+                remove(node);
+                addLast(node);
+            }
+        }
+
+        Node<K, V> pollFirst() {
+            Node<K, V> node = first;
+            if (node != null) {
+                remove(node);
+            }
+            return node;
+        }
+    }
+
+    /**
+     * A lossy ring buffer of the nodes which have been read, where reads are dropped when the buffer is full.
+     */
+    private static final class ReadBuffer<K, V> {
+        final AtomicReferenceArray<Node<K, V>> buffer = new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+        final AtomicLong writeCounter = new AtomicLong();
+        // only written while holding the eviction lock
+        volatile long readCounter;
+
+        /**
+         * Records the read of the node.
+         *
+         * @return <tt>true</tt> if the buffer is full and should be drained
+         */
+        boolean offer(Node<K, V> node) {
+            long head = readCounter;
+            long tail = writeCounter.get();
+            if (tail - head >= READ_BUFFER_SIZE) {
+                return true;
+            }
+            if (writeCounter.compareAndSet(tail, tail + 1)) {
+                buffer.lazySet((int) tail & READ_BUFFER_MASK, node);
+            }
+            return false;
+        }
+    }
+
+    private interface ValueReference<K, V> {
+        Node<K, V> node();
+    }
+
+    private static final class SoftValue<K, V> extends SoftReference<V> implements ValueReference<K, V> {
+        private final Node<K, V> node;
+
+        SoftValue(Node<K, V> node, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.node = node;
+        }
+
+        @Override
+        public Node<K, V> node() {
+            return node;
+        }
+    }
+
+    private static final class WeakValue<K, V> extends WeakReference<V> implements ValueReference<K, V> {
+        private final Node<K, V> node;
+
+        WeakValue(Node<K, V> node, V value, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.node = node;
+        }
+
+        @Override
+        public Node<K, V> node() {
+            return node;
+        }
+    }
+
+    private final class EntrySetView extends AbstractSet<Entry<K, V>> {
+
+        @Override
+        public int size() {
+            return TinyLfuLRUCache.this.size();
+        }
+
+        @Override
+        public void clear() {
+            TinyLfuLRUCache.this.clear();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (o instanceof Entry) {
+                Entry<?, ?> entry = (Entry<?, ?>) o;
+                Node<K, V> node = data.get(entry.getKey());
+                V value = node != null ? valueOf(node) : null;
+                return value != null && value.equals(entry.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (o instanceof Entry) {
+                Entry<?, ?> entry = (Entry<?, ?>) o;
+                return TinyLfuLRUCache.this.remove(entry.getKey(), entry.getValue());
+            }
+            return false;
+        }
+
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator();
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        private final Iterator<Node<K, V>> iterator = data.values().iterator();
+        private Entry<K, V> next;
+        private K lastKey;
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && iterator.hasNext()) {
+                Node<K, V> node = iterator.next();
+                V value = valueOf(node);
+                if (value != null) {
+                    next = new WriteThroughEntry(node.key, value);
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Entry<K, V> answer = next;
+            next = null;
+            lastKey = answer.getKey();
+            return answer;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            TinyLfuLRUCache.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    private final class WriteThroughEntry extends SimpleEntry<K, V> {
+
+        WriteThroughEntry(K key, V value) {
+            super(key, value);
+        }
+
+        @Override
+        public V setValue(V value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+}
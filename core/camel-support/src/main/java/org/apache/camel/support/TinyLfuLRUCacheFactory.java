@@ -0,0 +1,167 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.apache.camel.support.TinyLfuLRUCache.ValueStrength;
+import org.apache.camel.support.service.ServiceHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link LRUCacheFactory} which uses the concurrent W-TinyLFU based {@link TinyLfuLRUCache} implementation.
+ * <p/>
+ * This factory is not used by default, and can be enabled by
+ * {@link LRUCacheFactory#setLRUCacheFactory(LRUCacheFactory)}. It gives a better hit ratio than
+ * {@link DefaultLRUCacheFactory} when the cache is full and some keys are more popular than others, but reads are
+ * slower as they are recorded for the eviction policy.
+ */
+public class TinyLfuLRUCacheFactory extends LRUCacheFactory {
+
+    private static final Logger LOG = LoggerFactory.getLogger(TinyLfuLRUCacheFactory.class);
+
+    /**
+     * Constructs an empty <tt>LRUCache</tt> instance with the specified maximumCacheSize, and will stop on eviction.
+     *
+     * @param  maximumCacheSize         the max capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    @Override
+    public <K, V> Map<K, V> createLRUCache(int maximumCacheSize) {
+        LOG.trace("Creating LRUCache with maximumCacheSize: {}", maximumCacheSize);
+        return createCache(16, maximumCacheSize, maximumCacheSize > 0, ValueStrength.STRONG);
+    }
+
+    /**
+     * Constructs an empty <tt>LRUCache</tt> instance with the specified maximumCacheSize, and will stop on eviction.
+     *
+     * @param  maximumCacheSize         the max capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    @Override
+    public <K, V> Map<K, V> createLRUCache(int maximumCacheSize, Consumer<V> onEvict) {
+        LOG.trace("Creating LRUCache with maximumCacheSize: {}", maximumCacheSize);
+        return new TinyLfuLRUCache<>(16, maximumCacheSize, onEvict);
+    }
+
+    /**
+     * Constructs an empty <tt>LRUCache</tt> instance with the specified initial capacity, maximumCacheSize, and will
+     * stop on eviction.
+     *
+     * @param  initialCapacity          the initial capacity.
+     * @param  maximumCacheSize         the max capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    @Override
+    public <K, V> Map<K, V> createLRUCache(int initialCapacity, int maximumCacheSize) {
+        LOG.trace("Creating LRUCache with initialCapacity: {}, maximumCacheSize: {}", initialCapacity, maximumCacheSize);
+        return createCache(initialCapacity, maximumCacheSize, maximumCacheSize > 0, ValueStrength.STRONG);
+    }
+
+    /**
+     * Constructs an empty <tt>LRUCache</tt> instance with the specified initial capacity, maximumCacheSize,load factor
+     * and ordering mode.
+     *
+     * @param  initialCapacity          the initial capacity.
+     * @param  maximumCacheSize         the max capacity.
+     * @param  stopOnEviction           whether to stop service on eviction.
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    @Override
+    public <K, V> Map<K, V> createLRUCache(int initialCapacity, int maximumCacheSize, boolean stopOnEviction) {
+        LOG.trace("Creating LRUCache with initialCapacity: {}, maximumCacheSize: {}, stopOnEviction: {}", initialCapacity,
+                maximumCacheSize, stopOnEviction);
+        return createCache(initialCapacity, maximumCacheSize, stopOnEviction, ValueStrength.STRONG);
+    }
+
+    /**
+     * Constructs an empty <tt>LRUSoftCache</tt> instance with the specified maximumCacheSize, and will stop on
+     * eviction.
+     *
+     * @param  maximumCacheSize         the max capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    @Override
+    public <K, V> Map<K, V> createLRUSoftCache(int maximumCacheSize) {
+        LOG.trace("Creating LRUSoftCache with maximumCacheSize: {}", maximumCacheSize);
+        return createCache(16, maximumCacheSize, maximumCacheSize > 0, ValueStrength.SOFT);
+    }
+
+    @Override
+    public <K, V> Map<K, V> createLRUSoftCache(int initialCapacity, int maximumCacheSize) {
+        LOG.trace("Creating LRUSoftCache with initialCapacity: {}, maximumCacheSize: {}", initialCapacity, maximumCacheSize);
+        return createCache(initialCapacity, maximumCacheSize, maximumCacheSize > 0, ValueStrength.SOFT);
+    }
+
+    @Override
+    public <K, V> Map<K, V> createLRUSoftCache(int initialCapacity, int maximumCacheSize, boolean stopOnEviction) {
+        LOG.trace("Creating LRUSoftCache with initialCapacity: {}, maximumCacheSize: {}, stopOnEviction: {}",
+                initialCapacity, maximumCacheSize, stopOnEviction);
+        return createCache(initialCapacity, maximumCacheSize, stopOnEviction, ValueStrength.SOFT);
+    }
+
+    /**
+     * Constructs an empty <tt>LRUWeakCache</tt> instance with the specified maximumCacheSize, and will stop on
+     * eviction.
+     *
+     * @param  maximumCacheSize         the max capacity.
+     * @throws IllegalArgumentException if the initial capacity is negative
+     */
+    @Override
+    public <K, V> Map<K, V> createLRUWeakCache(int maximumCacheSize) {
+        LOG.trace("Creating LRUWeakCache with maximumCacheSize: {}", maximumCacheSize);
+        return createCache(16, maximumCacheSize, maximumCacheSize > 0, ValueStrength.WEAK);
+    }
+
+    @Override
+    public <K, V> Map<K, V> createLRUWeakCache(int initialCapacity, int maximumCacheSize) {
+        LOG.trace("Creating LRUWeakCache with initialCapacity: {}, maximumCacheSize: {}", initialCapacity, maximumCacheSize);
+        return createCache(initialCapacity, maximumCacheSize, maximumCacheSize > 0, ValueStrength.WEAK);
+    }
+
+    @Override
+    public <K, V> Map<K, V> createLRUWeakCache(int initialCapacity, int maximumCacheSize, boolean stopOnEviction) {
+        LOG.trace("Creating LRUWeakCache with initialCapacity: {}, maximumCacheSize: {}, stopOnEviction: {}",
+                initialCapacity, maximumCacheSize, stopOnEviction);
+        return createCache(initialCapacity, maximumCacheSize, stopOnEviction, ValueStrength.WEAK);
+    }
+
+    private static <K, V> Map<K, V> createCache(
+            int initialCapacity, int maximumCacheSize, boolean stopOnEviction, ValueStrength valueStrength) {
+        Consumer<V> onEvict = stopOnEviction ? TinyLfuLRUCacheFactory::doStop : TinyLfuLRUCacheFactory::doNothing;
+        return new TinyLfuLRUCache<>(initialCapacity, maximumCacheSize, onEvict, valueStrength);
+    }
+
+    private static <V> void doNothing(V value) {
+    }
+
+    private static <V> void doStop(V value) {
+        try {
+            // stop service as its evicted from cache
+            ServiceHelper.stopService(value);
+        } catch (Exception e) {
+            LOG.warn("Error stopping service: {}. This exception will be ignored.", value, e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "camel-core-tinylfu";
+    }
+}
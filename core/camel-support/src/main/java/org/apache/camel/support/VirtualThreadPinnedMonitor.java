@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingStream;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.concurrent.VirtualThreadHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Monitors when virtual threads are pinned to their carrier thread (such as when blocking inside a synchronized block)
+ * which prevents the carrier thread from running other virtual threads.
+ * <p/>
+ * The monitor listens for the JDK Flight Recorder <tt>jdk.VirtualThreadPinned</tt> event which the JVM emits when a
+ * virtual thread has been pinned for longer than the given threshold.
+ */
+public class VirtualThreadPinnedMonitor extends ServiceSupport {
+
+    public static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadPinnedMonitor.class);
+
+    private final LongAdder pinnedCounter = new LongAdder();
+    private final LongAdder pinnedTime = new LongAdder();
+    private volatile long maxPinnedTime;
+    private long threshold = 20;
+    private RecordingStream stream;
+
+    /**
+     * Number of times a virtual thread has been pinned to its carrier thread
+     */
+    public long getPinnedCounter() {
+        return pinnedCounter.sum();
+    }
+
+    /**
+     * Total time in millis virtual threads has been pinned to their carrier threads
+     */
+    public long getPinnedTime() {
+        return pinnedTime.sum();
+    }
+
+    /**
+     * The longest time in millis a virtual thread has been pinned to its carrier thread
+     */
+    public long getMaxPinnedTime() {
+        return maxPinnedTime;
+    }
+
+    public long getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Threshold in millis a virtual thread must be pinned before its counted.
+     */
+    public void setThreshold(long threshold) {
+        this.threshold = threshold;
+    }
+
+    public void reset() {
+        pinnedCounter.reset();
+        pinnedTime.reset();
+        maxPinnedTime = 0;
+    }
+
+    protected void onPinned(RecordedEvent event) {
+        long millis = event.getDuration().toMillis();
+        pinnedCounter.increment();
+        pinnedTime.add(millis);
+        if (millis > maxPinnedTime) {
+            maxPinnedTime = millis;
+        }
+        LOG.trace("Virtual thread pinned for {} millis", millis);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        if (!VirtualThreadHelper.isVirtualThreadsSupported()) {
+            return;
+        }
+        try {
+            stream = new RecordingStream();
+            stream.enable(PINNED_EVENT).withThreshold(Duration.ofMillis(threshold));
+            stream.onEvent(PINNED_EVENT, this::onPinned);
+            stream.setMaxAge(Duration.ofSeconds(10));
+            stream.startAsync();
+            LOG.debug("Started monitoring of pinned virtual threads with threshold: {} millis", threshold);
+        } catch (Exception e) {
+            // flight recorder may not be available in the JVM (such as native mode)
+            LOG.debug("Cannot monitor pinned virtual threads due to: {}. This exception is ignored.", e.getMessage());
+            stream = null;
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (stream != null) {
+            stream.close();
+            stream = null;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.cache;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.camel.Endpoint;
+import org.apache.camel.support.service.ServiceHelper;
+import org.apache.camel.util.URISupport;
+
+/**
+ * A small cache of the most recently used endpoints by their uri, which is used by the EIPs that send to dynamic
+ * endpoints (such as toD, recipient list and routing slip).
+ * <p/>
+ * The cache is keyed by the uri as computed for each message (before the uri is normalized), which avoids normalizing
+ * the uri and looking up the endpoint in the endpoint registry, when the same uris are used over and over again.
+ * <p/>
+ * The cache is direct mapped, which means that a uri can replace another uri that uses the same slot in the cache. Uris
+ * with property placeholders are not cached, as the placeholders are resolved for each message. Uris with sensitive
+ * information (such as RAW values or passwords) are not cached either, to not keep secrets in memory as cache keys.
+ * This cache is thread-safe.
+ */
+public final class RecentEndpointCache {
+
+    public static final int DEFAULT_SIZE = 16;
+
+    private final Entry[] entries;
+    private final int mask;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public RecentEndpointCache() {
+        this(DEFAULT_SIZE);
+    }
+
+    public RecentEndpointCache(int size) {
+        int capacity = Integer.highestOneBit(Math.max(1, size - 1) << 1);
+        this.entries = new Entry[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Gets the endpoint for the given uri
+     *
+     * @param  uri the uri (not normalized)
+     * @return     the endpoint, or <tt>null</tt> if the uri is not in the cache
+     */
+    public Endpoint get(String uri) {
+        int index = indexOf(uri);
+        Entry entry = entries[index];
+        if (entry != null && entry.uri.equals(uri)) {
+            if (!ServiceHelper.isStopped(entry.endpoint)) {
+                hits.increment();
+                return entry.endpoint;
+            }
+            // the endpoint has been stopped (such as removed from the endpoint registry)
+            entries[index] = null;
+        }
+        misses.increment();
+        return null;
+    }
+
+    /**
+     * Adds the endpoint to the cache
+     *
+     * @param uri      the uri (not normalized)
+     * @param endpoint the endpoint resolved from the uri
+     */
+    public void put(String uri, Endpoint endpoint) {
+        if (!isCacheable(uri)) {
+            return;
+        }
+        entries[indexOf(uri)] = new Entry(uri, endpoint);
+    }
+
+    /**
+     * Removes all the endpoints from the cache
+     */
+    public void clear() {
+        Arrays.fill(entries, null);
+    }
+
+    /**
+     * Number of endpoints in the cache
+     */
+    public int size() {
+        int size = 0;
+        for (Entry entry : entries) {
+            if (entry != null) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * The maximum number of endpoints in the cache
+     */
+    public int getCapacity() {
+        return entries.length;
+    }
+
+    /**
+     * Number of times an endpoint was found in the cache
+     */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /**
+     * Number of times an endpoint was not found in the cache
+     */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /**
+     * Resets the cache statistics
+     */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+    }
+
+    /**
+     * Whether the uri can be used as a cache key, which is not the case for uris with property placeholders (as they
+     * are resolved every time), or uris with sensitive information such as RAW values or passwords.
+     *
+     * @param  uri the uri (not normalized)
+     * @return     <tt>true</tt> if the uri can be cached, <tt>false</tt> otherwise
+     */
+    public static boolean isCacheable(String uri) {
+        if (uri.contains("{{") || uri.contains("RAW(") || uri.contains("RAW{")) {
+            return false;
+        }
+        if (uri.indexOf('?') == -1 && uri.indexOf('@') == -1) {
+            // no query parameters or user info so there are no secrets
+            return true;
+        }
+        return uri.equals(URISupport.sanitizeUri(uri));
+    }
+
+    private int indexOf(String uri) {
+        int h = uri.hashCode();
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    private static final class Entry {
+        private final String uri;
+        private final Endpoint endpoint;
+
+        private Entry(String uri, Endpoint endpoint) {
+            this.uri = uri;
+            this.endpoint = endpoint;
+        }
+    }
+}
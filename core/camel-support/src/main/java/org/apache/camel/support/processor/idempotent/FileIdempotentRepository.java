@@ -49,6 +49,9 @@ import org.slf4j.LoggerFactory;
  * this off and have unlimited size). If the file store grows bigger than the maximum capacity, then the
  * {@link #getDropOldestFileStore()} (is default 1000) number of entries from the file store is dropped to reduce the
  * file store and make room for newer entries.
+ * <p/>
+ * Removing a key rewrites the entire file store, so for high volumes of keys with frequent removals then consider using
+ * {@link SegmentedFileIdempotentRepository} instead.
  */
 @ManagedResource(description = "File based idempotent repository")
 public class FileIdempotentRepository extends ServiceSupport implements IdempotentRepository {
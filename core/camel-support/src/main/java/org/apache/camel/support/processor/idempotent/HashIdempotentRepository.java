@@ -0,0 +1,648 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A memory based implementation of {@link org.apache.camel.spi.IdempotentRepository} for high volumes of keys.
+ * <p/>
+ * Instead of storing the keys, this implementation stores a 64-bit hash of each key in a primitive open-addressing hash
+ * table, which uses about 24 to 40 bytes per entry (depending on how full the table is and whether expiry is enabled).
+ * This allows keeping tens of millions of keys in memory. The trade-off is that two different keys with the same 64-bit
+ * hash are regarded as duplicates; the probability of this happening is about <tt>n<sup>2</sup> / 2<sup>65</sup></tt>
+ * for <tt>n</tt> keys, which is negligible for any practical size.
+ * <p/>
+ * The repository holds at most {@link #getMaxSize()} keys, and evicts the oldest keys when full. Keys can also be
+ * expired after a given time using {@link #setExpireTime(long)}.
+ * <p/>
+ * A Bloom filter can be enabled as a pre-check before probing the hash table, which speeds up {@link #contains(String)}
+ * for keys not in the repository, as the Bloom filter is much smaller than the hash table and more likely to be in the
+ * CPU cache. The Bloom filter starts small and grows as keys are added.
+ * <p/>
+ * The keys can be saved to a snapshot file when the repository is stopped, and loaded again when started, so the
+ * repository survives restarts.
+ */
+@ManagedResource(description = "Hash based idempotent repository")
+public class HashIdempotentRepository extends ServiceSupport implements IdempotentRepository {
+
+    private static final Logger LOG = LoggerFactory.getLogger(HashIdempotentRepository.class);
+
+    private static final int SNAPSHOT_MAGIC = 0x43484952;
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long EMPTY = 0L;
+
+    private final Lock lock = new ReentrantLock();
+    private final LongAdder hitCount = new LongAdder();
+    private final LongAdder missCount = new LongAdder();
+    private final LongAdder evictedCount = new LongAdder();
+    private final LongAdder expiredCount = new LongAdder();
+    private final LongAdder bloomFilterSkipCount = new LongAdder();
+
+    private int maxSize = 1000000;
+    private long expireTime;
+    private boolean bloomFilterEnabled;
+    private double falsePositiveProbability = 0.01;
+    private File snapshotFile;
+
+    // open-addressing (linear probing) hash table with the sequence number of the entry in the ring
+    private long[] keys;
+    private int[] seqs;
+    private int mask;
+    private int size;
+
+    // ring of the keys in insertion order, used for evicting the oldest keys
+    private long[] ringKeys;
+    private long[] ringTimes;
+    private int ringMask;
+    private long ringHead;
+    private long ringTail;
+
+    private BloomFilter bloomFilter;
+
+    public HashIdempotentRepository() {
+    }
+
+    public HashIdempotentRepository(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Creates a new hash based repository with a default of 1000000 entries.
+     */
+    public static IdempotentRepository hashIdempotentRepository() {
+        return new HashIdempotentRepository();
+    }
+
+    /**
+     * Creates a new hash based repository.
+     *
+     * @param maxSize the maximum number of entries
+     */
+    public static IdempotentRepository hashIdempotentRepository(int maxSize) {
+        return new HashIdempotentRepository(maxSize);
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        long hash = hash(key);
+        lock.lock();
+        try {
+            long now = expireTime > 0 ? System.currentTimeMillis() : 0;
+            prepare(now);
+            if (containsHash(hash)) {
+                hitCount.increment();
+                return false;
+            }
+            missCount.increment();
+            addHash(hash, now);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        long hash = hash(key);
+        lock.lock();
+        try {
+            prepare(expireTime > 0 ? System.currentTimeMillis() : 0);
+            if (containsHash(hash)) {
+                hitCount.increment();
+                return true;
+            }
+            missCount.increment();
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        long hash = hash(key);
+        lock.lock();
+        try {
+            if (keys == null) {
+                return false;
+            }
+            // the key is left in the ring and bloom filter, which are only hints
+            int index = indexOf(hash);
+            if (index >= 0) {
+                deleteAt(index);
+                return true;
+            }
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store")
+    public void clear() {
+        lock.lock();
+        try {
+            if (keys != null) {
+                Arrays.fill(keys, EMPTY);
+                size = 0;
+                ringHead = 0;
+                ringTail = 0;
+                if (bloomFilter != null) {
+                    bloomFilter = createBloomFilter();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "The current number of entries")
+    public int getSize() {
+        return size;
+    }
+
+    @ManagedAttribute(description = "The maximum number of entries")
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * The maximum number of entries. When the repository is full then the oldest entries are evicted.
+     * <p/>
+     * The default is 1000000.
+     */
+    public void setMaxSize(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    @ManagedAttribute(description = "Time in millis before an entry is expired")
+    public long getExpireTime() {
+        return expireTime;
+    }
+
+    /**
+     * Time in millis before an entry is expired. Use 0 or negative to never expire entries (they are only evicted when
+     * the repository is full).
+     */
+    public void setExpireTime(long expireTime) {
+        this.expireTime = expireTime;
+    }
+
+    @ManagedAttribute(description = "Whether the Bloom filter is enabled")
+    public boolean isBloomFilterEnabled() {
+        return bloomFilterEnabled;
+    }
+
+    /**
+     * Whether to check a Bloom filter before probing the hash table. This speeds up lookups of keys not in the
+     * repository, at the cost of more memory and slower adds. This is mostly useful when the idempotent consumer is not
+     * eager, as then the repository is checked with {@link #contains(String)} before adding the key.
+     */
+    public void setBloomFilterEnabled(boolean bloomFilterEnabled) {
+        this.bloomFilterEnabled = bloomFilterEnabled;
+    }
+
+    @ManagedAttribute(description = "The false positive probability of the Bloom filter")
+    public double getFalsePositiveProbability() {
+        return falsePositiveProbability;
+    }
+
+    /**
+     * The false positive probability of the Bloom filter. A lower probability uses more memory, but probes the hash
+     * table less often for keys not in the repository.
+     * <p/>
+     * The default is 0.01.
+     */
+    public void setFalsePositiveProbability(double falsePositiveProbability) {
+        this.falsePositiveProbability = falsePositiveProbability;
+    }
+
+    public File getSnapshotFile() {
+        return snapshotFile;
+    }
+
+    /**
+     * A file to save the entries to when the repository is stopped, and load the entries from when started.
+     */
+    public void setSnapshotFile(File snapshotFile) {
+        this.snapshotFile = snapshotFile;
+    }
+
+    @ManagedAttribute(description = "The file path for the snapshot")
+    public String getSnapshotFilePath() {
+        return snapshotFile != null ? snapshotFile.getPath() : null;
+    }
+
+    @ManagedAttribute(description = "Number of lookups of keys which are in the store")
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    @ManagedAttribute(description = "Number of lookups of keys which are not in the store")
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    @ManagedAttribute(description = "Number of entries evicted because the store was full")
+    public long getEvictedCount() {
+        return evictedCount.sum();
+    }
+
+    @ManagedAttribute(description = "Number of entries expired")
+    public long getExpiredCount() {
+        return expiredCount.sum();
+    }
+
+    @ManagedAttribute(description = "Number of lookups answered by the Bloom filter without probing the hash table")
+    public long getBloomFilterSkipCount() {
+        return bloomFilterSkipCount.sum();
+    }
+
+    @ManagedOperation(description = "Reset the statistics counters")
+    public void resetStatistics() {
+        hitCount.reset();
+        missCount.reset();
+        evictedCount.reset();
+        expiredCount.reset();
+        bloomFilterSkipCount.reset();
+    }
+
+    /**
+     * Saves the entries to the snapshot file.
+     */
+    @ManagedOperation(description = "Saves the entries to the snapshot file")
+    public void snapshot() throws IOException {
+        if (snapshotFile == null) {
+            throw new IllegalStateException("No snapshot file configured");
+        }
+        lock.lock();
+        try {
+            saveSnapshot();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        lock.lock();
+        try {
+            prepare(0);
+            if (snapshotFile != null && snapshotFile.exists()) {
+                loadSnapshot();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        lock.lock();
+        try {
+            if (snapshotFile != null && keys != null) {
+                saveSnapshot();
+            }
+            // release the memory
+            keys = null;
+            seqs = null;
+            ringKeys = null;
+            ringTimes = null;
+            bloomFilter = null;
+            size = 0;
+            ringHead = 0;
+            ringTail = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Computes the 64-bit hash of the key (FNV-1a with a murmur3 finalizer to spread the bits). The value 0 is reserved
+     * for empty slots in the hash table.
+     */
+    static long hash(String key) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < key.length(); i++) {
+            h ^= key.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h == EMPTY ? 1 : h;
+    }
+
+    private void prepare(long now) {
+        if (keys == null) {
+            if (maxSize <= 0 || maxSize > MAX_CAPACITY / 2) {
+                throw new IllegalArgumentException(
+                        "MaxSize must be between 1 and " + MAX_CAPACITY / 2 + ", was " + maxSize);
+            }
+            // keep the load factor below 0.75
+            int capacity = tableSizeFor((int) Math.min(MAX_CAPACITY, maxSize * 4L / 3 + 1));
+            keys = new long[capacity];
+            seqs = new int[capacity];
+            mask = capacity - 1;
+            int ringCapacity = tableSizeFor(maxSize);
+            ringKeys = new long[ringCapacity];
+            ringTimes = expireTime > 0 ? new long[ringCapacity] : null;
+            ringMask = ringCapacity - 1;
+            bloomFilter = bloomFilterEnabled ? createBloomFilter() : null;
+        }
+        if (ringTimes != null && now > 0) {
+            // the ring is in insertion order so the oldest entries are at the head
+            long deadline = now - expireTime;
+            while (ringHead < ringTail && ringTimes[(int) ringHead & ringMask] <= deadline) {
+                if (removeHead()) {
+                    expiredCount.increment();
+                }
+            }
+        }
+    }
+
+    private boolean containsHash(long hash) {
+        if (bloomFilter != null && !bloomFilter.mightContain(hash)) {
+            bloomFilterSkipCount.increment();
+            return false;
+        }
+        return indexOf(hash) >= 0;
+    }
+
+    private void addHash(long hash, long now) {
+        // make room by evicting the oldest entries (the ring may also hold stale entries of removed keys)
+        while (size >= maxSize || ringTail - ringHead > ringMask) {
+            if (removeHead()) {
+                evictedCount.increment();
+            }
+        }
+
+        long seq = ringTail++;
+        int r = (int) seq & ringMask;
+        ringKeys[r] = hash;
+        if (ringTimes != null) {
+            ringTimes[r] = now;
+        }
+
+        int i = (int) hash & mask;
+        while (keys[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        keys[i] = hash;
+        seqs[i] = (int) seq;
+        size++;
+
+        if (bloomFilter != null) {
+            if (bloomFilter.count >= bloomFilter.capacity) {
+                rebuildBloomFilter();
+            }
+            bloomFilter.add(hash);
+        }
+    }
+
+    /**
+     * Removes the oldest entry in the ring.
+     *
+     * @return <tt>true</tt> if an entry was removed, <tt>false</tt> if the entry was already removed
+     */
+    private boolean removeHead() {
+        long seq = ringHead++;
+        int index = indexOf(ringKeys[(int) seq & ringMask]);
+        // the key may have been removed (and added again) since
+        if (index >= 0 && seqs[index] == (int) seq) {
+            deleteAt(index);
+            return true;
+        }
+        return false;
+    }
+
+    private int indexOf(long hash) {
+        int i = (int) hash & mask;
+        while (true) {
+            long k = keys[i];
+            if (k == hash) {
+                return i;
+            } else if (k == EMPTY) {
+                return -1;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private void deleteAt(int index) {
+        // backward shift deletion, so no tombstones are needed
+        int i = index;
+        int j = index;
+        while (true) {
+            j = (j + 1) & mask;
+            long k = keys[j];
+            if (k == EMPTY) {
+                break;
+            }
+            int home = (int) k & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                keys[i] = k;
+                seqs[i] = seqs[j];
+                i = j;
+            }
+        }
+        keys[i] = EMPTY;
+        size--;
+    }
+
+    private BloomFilter createBloomFilter() {
+        // start small and grow as keys are added, so the memory is not used up front
+        return new BloomFilter(Math.max(Math.min(maxSize, 1024), maxSize / 64), falsePositiveProbability);
+    }
+
+    private void rebuildBloomFilter() {
+        // grow the filter, up to holding the keys added until it must be rebuilt again (it cannot remove keys)
+        int capacity = (int) Math.min(Math.min(MAX_CAPACITY, 2L * maxSize), bloomFilter.capacity * 4L);
+        BloomFilter filter = new BloomFilter(Math.max(capacity, size + 1), falsePositiveProbability);
+        for (long k : keys) {
+            if (k != EMPTY) {
+                filter.add(k);
+            }
+        }
+        bloomFilter = filter;
+    }
+
+    private void saveSnapshot() throws IOException {
+        Path target = snapshotFile.toPath();
+        Path parent = target.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        // write to a temporary file first, so a crash while saving does not corrupt the previous snapshot
+        Path tmp = target.resolveSibling(target.getFileName() + ".tmp");
+        int count = 0;
+        try (OutputStream os = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(size);
+            // write the live entries in insertion order, so eviction order is kept
+            for (long seq = ringHead; seq < ringTail; seq++) {
+                int r = (int) seq & ringMask;
+                int index = indexOf(ringKeys[r]);
+                if (index >= 0 && seqs[index] == (int) seq) {
+                    out.writeLong(ringKeys[r]);
+                    out.writeLong(ringTimes != null ? ringTimes[r] : 0);
+                    count++;
+                }
+            }
+        }
+        if (count != size) {
+            throw new IOException("Snapshot is corrupt, wrote " + count + " of " + size + " entries");
+        }
+        try {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        LOG.debug("Saved {} entries to idempotent snapshot: {}", count, snapshotFile);
+    }
+
+    private void loadSnapshot() throws IOException {
+        long now = System.currentTimeMillis();
+        int loaded = 0;
+        try (InputStream is = Files.newInputStream(snapshotFile.toPath());
+             DataInputStream in = new DataInputStream(new BufferedInputStream(is))) {
+            if (in.readInt() != SNAPSHOT_MAGIC) {
+                throw new IOException("Not an idempotent snapshot file: " + snapshotFile);
+            }
+            int version = in.readInt();
+            if (version != SNAPSHOT_VERSION) {
+                throw new IOException(
+                        "Unsupported idempotent snapshot version: " + version + " in file: " + snapshotFile);
+            }
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                long hash = in.readLong();
+                long time = in.readLong();
+                if (expireTime > 0) {
+                    if (time == 0) {
+                        // saved without expiry so expire from now
+                        time = now;
+                    } else if (time <= now - expireTime) {
+                        continue;
+                    }
+                }
+                if (indexOf(hash) < 0) {
+                    addHash(hash, time);
+                    loaded++;
+                }
+            }
+        }
+        LOG.debug("Loaded {} entries from idempotent snapshot: {}", loaded, snapshotFile);
+    }
+
+    private static int tableSizeFor(int n) {
+        int size = Integer.highestOneBit(Math.max(2, n) - 1) << 1;
+        return Math.min(size, MAX_CAPACITY);
+    }
+
+    /**
+     * A blocked Bloom filter, where all the bits of a key are in the same 512-bit block (a cache line), so a lookup
+     * costs a single cache miss.
+     */
+    private static final class BloomFilter {
+
+        private static final long GOLDEN_RATIO = 0x9e3779b97f4a7c15L;
+
+        private final long[] bits;
+        private final long numBlocks;
+        private final int numHashes;
+        private final int capacity;
+        private int count;
+
+        BloomFilter(int capacity, double falsePositiveProbability) {
+            double ln2 = Math.log(2);
+            long numBits = (long) Math.ceil(-capacity * Math.log(falsePositiveProbability) / (ln2 * ln2));
+            this.numBlocks = Math.max(1, (numBits + 511) / 512);
+            this.bits = new long[(int) (numBlocks * 8)];
+            this.numHashes = Math.min(16, Math.max(1, (int) Math.round((double) numBits / capacity * ln2)));
+            this.capacity = capacity;
+        }
+
+        void add(long hash) {
+            int block = block(hash);
+            long x = hash;
+            for (int i = 0; i < numHashes; i++) {
+                x *= GOLDEN_RATIO;
+                int bit = (int) (x >>> 55);
+                bits[block + (bit >>> 6)] |= 1L << bit;
+            }
+            count++;
+        }
+
+        boolean mightContain(long hash) {
+            int block = block(hash);
+            long x = hash;
+            for (int i = 0; i < numHashes; i++) {
+                x *= GOLDEN_RATIO;
+                int bit = (int) (x >>> 55);
+                if ((bits[block + (bit >>> 6)] & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private int block(long hash) {
+            // multiply-shift instead of modulo to pick the block
+            return (int) (((hash >>> 32) * numBlocks) >>> 32) << 3;
+        }
+    }
+}
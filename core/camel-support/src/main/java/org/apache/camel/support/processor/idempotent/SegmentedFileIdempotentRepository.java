@@ -0,0 +1,865 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.support.processor.idempotent;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.CRC32;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.CamelContextAware;
+import org.apache.camel.RuntimeCamelException;
+import org.apache.camel.api.management.ManagedAttribute;
+import org.apache.camel.api.management.ManagedOperation;
+import org.apache.camel.api.management.ManagedResource;
+import org.apache.camel.spi.IdempotentRepository;
+import org.apache.camel.support.service.ServiceSupport;
+import org.apache.camel.util.FileUtil;
+import org.apache.camel.util.ObjectHelper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A file based implementation of {@link org.apache.camel.spi.IdempotentRepository} for high volumes of keys and
+ * frequent removals.
+ * <p/>
+ * Unlike {@link FileIdempotentRepository}, which rewrites the entire file store when a key is removed, this
+ * implementation stores the keys in an append-only log, which is split into fixed size memory-mapped segment files in
+ * the given directory. Adding a key appends a record to the active segment, and removing a key appends a tombstone
+ * record, so both are O(1) disk writes. Each record has a CRC32 checksum, so a record which was only partially written
+ * when the JVM crashed is detected and discarded on startup.
+ * <p/>
+ * The live keys are indexed in a primitive open-addressing hash table which maps the 64-bit hash of each key to the
+ * location of its record in the log, which uses about 16 to 32 bytes per key, regardless of the length of the keys. The
+ * keys themselves are not kept on the heap, and {@link #contains(String)} verifies the key against the record in the
+ * memory-mapped segment. The index is rebuilt by scanning the segments when the repository is started.
+ * <p/>
+ * Removed keys leave garbage behind in the segments. When the garbage in a segment is above the
+ * {@link #getCompactionThreshold()} then the segment is compacted, by copying its live records to the active segment
+ * and deleting the segment file. Compaction runs in the background every {@link #getCompactionInterval()} millis, or
+ * when a new segment is started if no {@link CamelContext} is available to run background tasks.
+ * <p/>
+ * The segments are written via the OS page cache, and flushed to disk every {@link #getSyncInterval()} millis. For
+ * stronger durability then {@link #setSyncOnWrite(boolean)} can be enabled to flush to disk before {@link #add(String)}
+ * and {@link #remove(String)} return. Concurrent writers are group committed, so a single flush covers the writes of
+ * all the threads waiting for it.
+ */
+@ManagedResource(description = "Segmented file based idempotent repository")
+public class SegmentedFileIdempotentRepository extends ServiceSupport
+        implements IdempotentRepository, CamelContextAware {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SegmentedFileIdempotentRepository.class);
+
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final byte RECORD_END = 0;
+    private static final byte RECORD_ADD = 1;
+    private static final byte RECORD_REMOVE = 2;
+    // record type (1 byte), key length (4 bytes) and checksum (4 bytes)
+    private static final int RECORD_HEADER_SIZE = 9;
+    // a tombstone record also holds the location of the record it removes
+    private static final int TOMBSTONE_SIZE = 8;
+    private static final int MAX_CAPACITY = 1 << 30;
+    private static final long EMPTY = 0L;
+
+    private final Lock lock = new ReentrantLock();
+    private final Lock syncLock = new ReentrantLock();
+    private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+
+    private CamelContext camelContext;
+    private File directory;
+    private int segmentSize = 16 * 1024 * 1024;
+    private double compactionThreshold = 0.5;
+    private long compactionInterval = 10000;
+    private long syncInterval = 1000;
+    private boolean syncOnWrite;
+
+    // the index of the live keys (hash of the key -> location of the record)
+    private long[] hashes;
+    private long[] locations;
+    private int mask;
+    private int size;
+
+    private Segment active;
+    private int nextSegmentId = 1;
+    private boolean compactionPending;
+    private long compactionCount;
+    private long writeSequence;
+    private volatile long syncedSequence;
+    private volatile long syncCount;
+    private ScheduledExecutorService executorService;
+
+    /**
+     * A memory-mapped segment file of the log.
+     */
+    private static final class Segment {
+        private final int id;
+        private final File file;
+        private final MappedByteBuffer buffer;
+        // the number of tombstones per id of the segment with the removed record
+        private final Map<Integer, Integer> tombstones = new HashMap<>();
+        // the number of records, and the number of records which cannot be discarded by a compaction (the records of
+        // live keys, and the tombstones of records in other segments)
+        private int records;
+        private int live;
+        private int position;
+
+        Segment(int id, File file, MappedByteBuffer buffer) {
+            this.id = id;
+            this.file = file;
+            this.buffer = buffer;
+        }
+    }
+
+    public SegmentedFileIdempotentRepository() {
+    }
+
+    public SegmentedFileIdempotentRepository(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a new segmented file based repository.
+     *
+     * @param directory the directory for the segment files
+     */
+    public static IdempotentRepository segmentedFileIdempotentRepository(File directory) {
+        return new SegmentedFileIdempotentRepository(directory);
+    }
+
+    @Override
+    public CamelContext getCamelContext() {
+        return camelContext;
+    }
+
+    @Override
+    public void setCamelContext(CamelContext camelContext) {
+        this.camelContext = camelContext;
+    }
+
+    @Override
+    @ManagedOperation(description = "Adds the key to the store")
+    public boolean add(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = HashIdempotentRepository.hash(key);
+        long sequence;
+        lock.lock();
+        try {
+            if (indexOf(hash, bytes) >= 0) {
+                return false;
+            }
+            long location = append(RECORD_ADD, bytes, 0);
+            active.live++;
+            insert(hash, location);
+            sequence = ++writeSequence;
+            compactIfPending();
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            lock.unlock();
+        }
+        if (syncOnWrite) {
+            sync(sequence);
+        }
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Does the store contain the given key")
+    public boolean contains(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = HashIdempotentRepository.hash(key);
+        lock.lock();
+        try {
+            return indexOf(hash, bytes) >= 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    @ManagedOperation(description = "Remove the key from the store")
+    public boolean remove(String key) {
+        byte[] bytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = HashIdempotentRepository.hash(key);
+        long sequence;
+        lock.lock();
+        try {
+            int index = indexOf(hash, bytes);
+            if (index < 0) {
+                return false;
+            }
+            Segment segment = segmentAt(locations[index]);
+            appendTombstone(bytes, locations[index]);
+            segment.live--;
+            deleteAt(index);
+            sequence = ++writeSequence;
+            compactIfPending();
+        } catch (IOException e) {
+            throw RuntimeCamelException.wrapRuntimeCamelException(e);
+        } finally {
+            lock.unlock();
+        }
+        if (syncOnWrite) {
+            sync(sequence);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean confirm(String key) {
+        // noop
+        return true;
+    }
+
+    @Override
+    @ManagedOperation(description = "Clear the store (danger this removes all entries)")
+    public void clear() {
+        lock.lock();
+        try {
+            for (Segment segment : segments.values()) {
+                deleteSegmentFile(segment);
+            }
+            segments.clear();
+            active = null;
+            if (hashes != null) {
+                Arrays.fill(hashes, EMPTY);
+            }
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * The directory for the segment files.
+     */
+    public void setDirectory(File directory) {
+        this.directory = directory;
+    }
+
+    @ManagedAttribute(description = "The directory for the segment files")
+    public String getDirectoryPath() {
+        return directory != null ? directory.getPath() : null;
+    }
+
+    @ManagedAttribute(description = "The size of each segment file in bytes")
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Sets the size of each segment file in bytes. Existing segment files keep the size they were created with.
+     * <p/>
+     * The default is 16mb.
+     */
+    public void setSegmentSize(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    @ManagedAttribute(description = "The fraction of garbage in a segment before the segment is compacted")
+    public double getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Sets the fraction of garbage (removed keys and tombstones) in a segment, before the segment is compacted.
+     * <p/>
+     * The default is 0.5.
+     */
+    public void setCompactionThreshold(double compactionThreshold) {
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @ManagedAttribute(description = "Interval in millis between background compactions")
+    public long getCompactionInterval() {
+        return compactionInterval;
+    }
+
+    /**
+     * Sets the interval in millis between background compactions. Use 0 to only compact when a new segment is started.
+     * <p/>
+     * The default is 10000.
+     */
+    public void setCompactionInterval(long compactionInterval) {
+        this.compactionInterval = compactionInterval;
+    }
+
+    @ManagedAttribute(description = "Interval in millis between flushing the active segment to disk")
+    public long getSyncInterval() {
+        return syncInterval;
+    }
+
+    /**
+     * Sets the interval in millis between flushing the active segment to disk in the background. Use 0 to leave
+     * flushing up to the operating system.
+     * <p/>
+     * The default is 1000.
+     */
+    public void setSyncInterval(long syncInterval) {
+        this.syncInterval = syncInterval;
+    }
+
+    @ManagedAttribute(description = "Whether to flush to disk before add and remove return")
+    public boolean isSyncOnWrite() {
+        return syncOnWrite;
+    }
+
+    /**
+     * Whether to flush the active segment to disk before {@link #add(String)} and {@link #remove(String)} return.
+     * Concurrent writers are group committed, so one flush covers the writes of all the threads waiting for it.
+     * <p/>
+     * The default is false.
+     */
+    public void setSyncOnWrite(boolean syncOnWrite) {
+        this.syncOnWrite = syncOnWrite;
+    }
+
+    @ManagedAttribute(description = "The current number of entries")
+    public int getSize() {
+        return size;
+    }
+
+    @ManagedAttribute(description = "The current number of segment files")
+    public int getSegmentCount() {
+        lock.lock();
+        try {
+            return segments.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @ManagedAttribute(description = "Number of segments compacted")
+    public long getCompactionCount() {
+        return compactionCount;
+    }
+
+    @ManagedAttribute(description = "Number of flushes to disk")
+    public long getSyncCount() {
+        return syncCount;
+    }
+
+    /**
+     * Compacts the segments with garbage above the compaction threshold.
+     *
+     * @return the number of compacted segments
+     */
+    @ManagedOperation(description = "Compacts the segments with garbage above the compaction threshold")
+    public int compact() {
+        int count = 0;
+        while (true) {
+            // compact one segment at a time, so adding keys is not blocked for the entire compaction
+            lock.lock();
+            try {
+                Segment segment = nextCompactionCandidate();
+                if (segment == null) {
+                    return count;
+                }
+                compactSegment(segment);
+                count++;
+            } catch (IOException e) {
+                throw RuntimeCamelException.wrapRuntimeCamelException(e);
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Flushes the active segment to disk.
+     */
+    @ManagedOperation(description = "Flushes the active segment to disk")
+    public void sync() {
+        long sequence;
+        lock.lock();
+        try {
+            sequence = writeSequence;
+        } finally {
+            lock.unlock();
+        }
+        sync(sequence);
+    }
+
+    @Override
+    protected void doStart() throws Exception {
+        ObjectHelper.notNull(directory, "directory", this);
+        if (segmentSize < RECORD_HEADER_SIZE + TOMBSTONE_SIZE + 1) {
+            throw new IllegalArgumentException(
+                    "SegmentSize must be at least " + (RECORD_HEADER_SIZE + TOMBSTONE_SIZE + 1) + ", was " + segmentSize);
+        }
+        if (!directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Cannot create directory: " + directory);
+        }
+
+        lock.lock();
+        try {
+            loadSegments();
+        } finally {
+            lock.unlock();
+        }
+
+        if (camelContext != null && (compactionInterval > 0 || syncInterval > 0)) {
+            executorService = camelContext.getExecutorServiceManager().newSingleThreadScheduledExecutor(this,
+                    "SegmentedFileIdempotentRepository");
+            if (compactionInterval > 0) {
+                executorService.scheduleWithFixedDelay(this::backgroundCompact, compactionInterval, compactionInterval,
+                        TimeUnit.MILLISECONDS);
+            }
+            if (syncInterval > 0) {
+                executorService.scheduleWithFixedDelay(this::backgroundSync, syncInterval, syncInterval,
+                        TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    @Override
+    protected void doStop() throws Exception {
+        if (executorService != null) {
+            camelContext.getExecutorServiceManager().shutdown(executorService);
+            executorService = null;
+        }
+        sync();
+        lock.lock();
+        try {
+            // release the memory (the segments are unmapped when garbage collected)
+            segments.clear();
+            active = null;
+            hashes = null;
+            locations = null;
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void backgroundCompact() {
+        try {
+            compact();
+        } catch (Exception e) {
+            LOG.warn("Error compacting idempotent log: {}. This exception is ignored.", directory, e);
+        }
+    }
+
+    private void backgroundSync() {
+        try {
+            sync();
+        } catch (Exception e) {
+            LOG.warn("Error flushing idempotent log: {}. This exception is ignored.", directory, e);
+        }
+    }
+
+    /**
+     * Flushes the active segment to disk, unless another thread already flushed past the given write sequence.
+     */
+    private void sync(long sequence) {
+        if (syncedSequence >= sequence) {
+            return;
+        }
+        syncLock.lock();
+        try {
+            // while waiting for the lock, another thread may have flushed our write as part of its flush
+            if (syncedSequence >= sequence) {
+                return;
+            }
+            long target;
+            Segment segment;
+            lock.lock();
+            try {
+                // the previous segments were flushed when they were rolled
+                target = writeSequence;
+                segment = active;
+            } finally {
+                lock.unlock();
+            }
+            if (segment != null) {
+                segment.buffer.force();
+                syncCount++;
+            }
+            syncedSequence = target;
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /**
+     * Appends a record to the active segment, and starts a new segment if the active segment is full.
+     *
+     * @return the location of the record
+     */
+    private long append(byte type, byte[] key, long target) throws IOException {
+        int length = recordSize(type, key.length);
+        if (active == null || active.position + length > active.buffer.capacity()) {
+            if (length > segmentSize) {
+                throw new IllegalArgumentException(
+                        "Key of " + key.length + " bytes is too large for segment size of " + segmentSize + " bytes");
+            }
+            if (active != null) {
+                active.buffer.force();
+                compactionPending = true;
+            }
+            active = createSegment(nextSegmentId++);
+        }
+
+        ByteBuffer buffer = active.buffer;
+        int position = active.position;
+        buffer.put(position + RECORD_HEADER_SIZE, key);
+        if (type == RECORD_REMOVE) {
+            buffer.putLong(position + RECORD_HEADER_SIZE + key.length, target);
+        }
+        buffer.putInt(position + 1, key.length);
+        buffer.putInt(position + 5, checksum(buffer, position, type, key.length));
+        // write the type last, so a partially written record ends the log
+        buffer.put(position, type);
+
+        active.position += length;
+        active.records++;
+        return location(active.id, position);
+    }
+
+    private void appendTombstone(byte[] key, long target) throws IOException {
+        append(RECORD_REMOVE, key, target);
+        int targetSegment = (int) (target >>> 32);
+        if (targetSegment != active.id) {
+            active.tombstones.merge(targetSegment, 1, Integer::sum);
+            active.live++;
+        }
+    }
+
+    private Segment createSegment(int id) throws IOException {
+        File file = new File(directory, String.format("%010d%s", id, SEGMENT_SUFFIX));
+        LOG.debug("Creating idempotent log segment: {}", file);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // the mapping stays valid after the channel is closed
+            Segment segment = new Segment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize));
+            segments.put(id, segment);
+            return segment;
+        }
+    }
+
+    private void loadSegments() throws IOException {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(SEGMENT_SUFFIX));
+        List<Segment> loaded = new ArrayList<>();
+        if (files != null) {
+            for (File file : files) {
+                String name = file.getName();
+                int id;
+                try {
+                    id = Integer.parseInt(name.substring(0, name.length() - SEGMENT_SUFFIX.length()));
+                } catch (NumberFormatException e) {
+                    LOG.debug("Ignoring file which is not an idempotent log segment: {}", file);
+                    continue;
+                }
+                try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ,
+                        StandardOpenOption.WRITE)) {
+                    loaded.add(new Segment(id, file, channel.map(FileChannel.MapMode.READ_WRITE, 0, channel.size())));
+                }
+            }
+        }
+        loaded.sort((a, b) -> Integer.compare(a.id, b.id));
+
+        ensureIndex();
+        for (Segment segment : loaded) {
+            segments.put(segment.id, segment);
+            replaySegment(segment);
+            nextSegmentId = segment.id + 1;
+        }
+        // count the live keys and the tombstones which are still needed per segment
+        for (int i = 0; i < hashes.length; i++) {
+            if (hashes[i] != EMPTY) {
+                segmentAt(locations[i]).live++;
+            }
+        }
+        for (Segment segment : segments.values()) {
+            segment.tombstones.keySet().removeIf(target -> !segments.containsKey(target));
+            for (int count : segment.tombstones.values()) {
+                segment.live += count;
+            }
+        }
+        active = segments.isEmpty() ? null : segments.lastEntry().getValue();
+        compactionPending = segments.size() > 1;
+
+        LOG.debug("Loaded {} entries from {} segments in idempotent log: {}", size, segments.size(), directory);
+    }
+
+    private void replaySegment(Segment segment) {
+        ByteBuffer buffer = segment.buffer;
+        int capacity = buffer.capacity();
+        int position = 0;
+        while (position + RECORD_HEADER_SIZE <= capacity) {
+            byte type = buffer.get(position);
+            if (type == RECORD_END) {
+                break;
+            }
+            int keyLength = buffer.getInt(position + 1);
+            int length = keyLength >= 0 ? recordSize(type, keyLength) : -1;
+            if (type != RECORD_ADD && type != RECORD_REMOVE || length < 0 || length > capacity - position
+                    || checksum(buffer, position, type, keyLength) != buffer.getInt(position + 5)) {
+                // a record which was partially written when the JVM crashed, so discard the rest of the segment
+                LOG.warn("Discarding corrupt record in idempotent log segment: {} at position: {}", segment.file,
+                        position);
+                for (int i = position; i < capacity; i++) {
+                    buffer.put(i, RECORD_END);
+                }
+                break;
+            }
+
+            byte[] key = readKey(buffer, position, keyLength);
+            long hash = HashIdempotentRepository.hash(new String(key, StandardCharsets.UTF_8));
+            int index = indexOf(hash, key);
+            if (type == RECORD_ADD) {
+                if (index >= 0) {
+                    // the record was copied by a compaction which did not finish deleting the old segment
+                    locations[index] = location(segment.id, position);
+                } else {
+                    insert(hash, location(segment.id, position));
+                }
+            } else {
+                // the key may have been added again after the record the tombstone removes
+                long target = buffer.getLong(position + RECORD_HEADER_SIZE + keyLength);
+                if (index >= 0 && locations[index] == target) {
+                    deleteAt(index);
+                }
+                int targetSegment = (int) (target >>> 32);
+                if (targetSegment != segment.id) {
+                    segment.tombstones.merge(targetSegment, 1, Integer::sum);
+                }
+            }
+            segment.records++;
+            position += length;
+        }
+        segment.position = position;
+    }
+
+    private void compactIfPending() throws IOException {
+        // without a background task, then compact when a new segment is started
+        if (compactionPending && executorService == null) {
+            compactionPending = false;
+            Segment segment;
+            while ((segment = nextCompactionCandidate()) != null) {
+                compactSegment(segment);
+            }
+        }
+    }
+
+    private Segment nextCompactionCandidate() {
+        for (Segment segment : segments.values()) {
+            int garbage = segment.records - segment.live;
+            if (segment != active
+                    && (segment.records == 0 || garbage > 0 && garbage >= segment.records * compactionThreshold)) {
+                return segment;
+            }
+        }
+        return null;
+    }
+
+    private void compactSegment(Segment segment) throws IOException {
+        LOG.debug("Compacting idempotent log segment: {} with {} live of {} records", segment.file, segment.live,
+                segment.records);
+        ByteBuffer buffer = segment.buffer;
+        int position = 0;
+        while (position < segment.position) {
+            byte type = buffer.get(position);
+            int keyLength = buffer.getInt(position + 1);
+            byte[] key = readKey(buffer, position, keyLength);
+            if (type == RECORD_ADD) {
+                // copy the record if it is the live record of the key
+                long hash = HashIdempotentRepository.hash(new String(key, StandardCharsets.UTF_8));
+                int index = indexOf(hash, key);
+                if (index >= 0 && locations[index] == location(segment.id, position)) {
+                    locations[index] = append(RECORD_ADD, key, 0);
+                    active.live++;
+                }
+            } else {
+                // the tombstone must be kept as long as the segment with the removed record exists
+                long target = buffer.getLong(position + RECORD_HEADER_SIZE + keyLength);
+                int targetSegment = (int) (target >>> 32);
+                if (targetSegment != segment.id && segments.containsKey(targetSegment)) {
+                    appendTombstone(key, target);
+                }
+            }
+            position += recordSize(type, keyLength);
+        }
+        // the copied records must be on disk before the segment is deleted
+        if (active != null) {
+            active.buffer.force();
+        }
+        segments.remove(segment.id);
+        deleteSegmentFile(segment);
+        // the tombstones of the records in the deleted segment are no longer needed
+        for (Segment other : segments.values()) {
+            Integer count = other.tombstones.remove(segment.id);
+            if (count != null) {
+                other.live -= count;
+            }
+        }
+        compactionCount++;
+    }
+
+    private void deleteSegmentFile(Segment segment) {
+        // the file may still be mapped, so delete it on exit if it cannot be deleted now
+        if (!FileUtil.deleteFile(segment.file)) {
+            LOG.debug("Cannot delete idempotent log segment: {}. Will delete on exit.", segment.file);
+            segment.file.deleteOnExit();
+        }
+    }
+
+    private Segment segmentAt(long location) {
+        return segments.get((int) (location >>> 32));
+    }
+
+    private static long location(int segmentId, int position) {
+        return (long) segmentId << 32 | position;
+    }
+
+    private static int recordSize(byte type, int keyLength) {
+        return RECORD_HEADER_SIZE + keyLength + (type == RECORD_REMOVE ? TOMBSTONE_SIZE : 0);
+    }
+
+    private static byte[] readKey(ByteBuffer buffer, int position, int keyLength) {
+        byte[] key = new byte[keyLength];
+        buffer.get(position + RECORD_HEADER_SIZE, key);
+        return key;
+    }
+
+    private static int checksum(ByteBuffer buffer, int position, byte type, int keyLength) {
+        CRC32 crc = new CRC32();
+        crc.update(type);
+        crc.update(buffer.slice(position + RECORD_HEADER_SIZE, recordSize(type, keyLength) - RECORD_HEADER_SIZE));
+        return (int) crc.getValue();
+    }
+
+    private void ensureIndex() {
+        if (hashes == null) {
+            hashes = new long[16];
+            locations = new long[16];
+            mask = 15;
+            size = 0;
+        }
+    }
+
+    /**
+     * Finds the index slot of the key, by checking the key against the record in the log for each matching hash.
+     */
+    private int indexOf(long hash, byte[] key) {
+        if (hashes == null) {
+            return -1;
+        }
+        int i = (int) hash & mask;
+        while (true) {
+            long h = hashes[i];
+            if (h == EMPTY) {
+                return -1;
+            } else if (h == hash && matches(locations[i], key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+    }
+
+    private boolean matches(long location, byte[] key) {
+        ByteBuffer buffer = segmentAt(location).buffer;
+        int position = (int) location;
+        if (buffer.getInt(position + 1) != key.length) {
+            return false;
+        }
+        for (int i = 0; i < key.length; i++) {
+            if (buffer.get(position + RECORD_HEADER_SIZE + i) != key[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void insert(long hash, long location) {
+        ensureIndex();
+        // keep the load factor below 0.75
+        if ((size + 1) * 4L > hashes.length * 3L) {
+            resize();
+        }
+        int i = (int) hash & mask;
+        while (hashes[i] != EMPTY) {
+            i = (i + 1) & mask;
+        }
+        hashes[i] = hash;
+        locations[i] = location;
+        size++;
+    }
+
+    private void resize() {
+        if (hashes.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("Idempotent log index is full with " + size + " entries");
+        }
+        long[] oldHashes = hashes;
+        long[] oldLocations = locations;
+        hashes = new long[oldHashes.length * 2];
+        locations = new long[oldHashes.length * 2];
+        mask = hashes.length - 1;
+        for (int j = 0; j < oldHashes.length; j++) {
+            long h = oldHashes[j];
+            if (h != EMPTY) {
+                int i = (int) h & mask;
+                while (hashes[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                hashes[i] = h;
+                locations[i] = oldLocations[j];
+            }
+        }
+    }
+
+    private void deleteAt(int index) {
+        // backward shift deletion, so no tombstones are needed in the index
+        int i = index;
+        int j = index;
+        while (true) {
+            j = (j + 1) & mask;
+            long h = hashes[j];
+            if (h == EMPTY) {
+                break;
+            }
+            int home = (int) h & mask;
+            if (((j - home) & mask) >= ((j - i) & mask)) {
+                hashes[i] = h;
+                locations[i] = locations[j];
+                i = j;
+            }
+        }
+        hashes[i] = EMPTY;
+        size--;
+    }
+
+}
@@ -0,0 +1,572 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * A map that uses case insensitive keys, but preserves the original key cases, and which is optimized for a set of well
+ * known keys.
+ * <p/>
+ * The well known keys (see {@link Keys}) are stored in pre-computed slots, which are looked up using the (cached) hash
+ * code of the key when the key is given in its exact case, such as when using a constant. Only when the key is given in
+ * a different case, or is not a well known key, the case insensitive hash code of the key is computed. The other keys
+ * are stored in an open addressing hash table using the case insensitive hash code.
+ * <p/>
+ * The well known keys are iterated first (in the order of the slots), followed by the other keys.
+ * <p/>
+ * This map is <b>not</b> designed to be thread safe as concurrent access to it is not supposed to be performed by the
+ * Camel routing engine.
+ */
+public class InternedCaseInsensitiveMap extends AbstractMap<String, Object> {
+
+    // the slots are allocated on demand in blocks, as most messages only use a few of the well known keys
+    private static final int BLOCK_SHIFT = 4;
+    private static final int BLOCK_SIZE = 1 << BLOCK_SHIFT;
+    private static final int BLOCK_MASK = BLOCK_SIZE - 1;
+    private static final int INITIAL_CAPACITY = 8;
+
+    // marks a removed entry in the open addressing table (compared by identity)
+    private static final String TOMBSTONE = new String("<removed>");
+
+    private final Keys keys;
+    // each block holds the key and the value of the slots next to each other
+    private final Object[][] blocks;
+    private int size;
+    private int modCount;
+
+    // open addressing table for the keys which are not well known
+    private String[] otherKeys;
+    private int[] otherHashes;
+    private Object[] otherValues;
+    private int otherSize;
+    private int otherUsed;
+
+    public InternedCaseInsensitiveMap(Keys keys) {
+        this.keys = keys;
+        this.blocks = new Object[(keys.size() + BLOCK_MASK) >>> BLOCK_SHIFT][];
+    }
+
+    public InternedCaseInsensitiveMap(Keys keys, Map<? extends String, ?> map) {
+        this(keys);
+        if (map instanceof InternedCaseInsensitiveMap other && other.keys == keys) {
+            // fast copy as the slots are the same
+            for (int i = 0; i < blocks.length; i++) {
+                Object[] block = other.blocks[i];
+                if (block != null) {
+                    blocks[i] = block.clone();
+                }
+            }
+            if (other.otherKeys != null) {
+                otherKeys = other.otherKeys.clone();
+                otherHashes = other.otherHashes.clone();
+                otherValues = other.otherValues.clone();
+                otherSize = other.otherSize;
+                otherUsed = other.otherUsed;
+            }
+            size = other.size;
+        } else {
+            putAll(map);
+        }
+    }
+
+    /**
+     * The well known keys used by this map
+     */
+    public Keys getKeys() {
+        return keys;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        if (!(key instanceof String name)) {
+            return false;
+        }
+        int slot = keys.exactSlot(name);
+        int hash = 0;
+        if (slot < 0) {
+            hash = caseInsensitiveHash(name);
+            slot = keys.slot(name, hash);
+        }
+        if (slot >= 0) {
+            Object[] block = blocks[slot >>> BLOCK_SHIFT];
+            return block != null && block[(slot & BLOCK_MASK) << 1] != null;
+        }
+        return otherIndex(name, hash) >= 0;
+    }
+
+    @Override
+    public Object get(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        int slot = keys.exactSlot(name);
+        int hash = 0;
+        if (slot < 0) {
+            hash = caseInsensitiveHash(name);
+            slot = keys.slot(name, hash);
+        }
+        if (slot >= 0) {
+            Object[] block = blocks[slot >>> BLOCK_SHIFT];
+            return block != null ? block[((slot & BLOCK_MASK) << 1) + 1] : null;
+        }
+        int index = otherIndex(name, hash);
+        return index >= 0 ? otherValues[index] : null;
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        Objects.requireNonNull(key, "key");
+        int slot = keys.exactSlot(key);
+        int hash = 0;
+        if (slot < 0) {
+            hash = caseInsensitiveHash(key);
+            slot = keys.slot(key, hash);
+        }
+        if (slot >= 0) {
+            return putSlot(slot, key, value);
+        }
+        return putOther(key, hash, value);
+    }
+
+    @Override
+    public Object remove(Object key) {
+        if (!(key instanceof String name)) {
+            return null;
+        }
+        int slot = keys.exactSlot(name);
+        int hash = 0;
+        if (slot < 0) {
+            hash = caseInsensitiveHash(name);
+            slot = keys.slot(name, hash);
+        }
+        if (slot >= 0) {
+            return removeSlot(slot);
+        }
+        int index = otherIndex(name, hash);
+        return index >= 0 ? removeOther(index) : null;
+    }
+
+    @Override
+    public void clear() {
+        if (size > 0) {
+            Arrays.fill(blocks, null);
+            otherKeys = null;
+            otherHashes = null;
+            otherValues = null;
+            otherSize = 0;
+            otherUsed = 0;
+            size = 0;
+            modCount++;
+        }
+    }
+
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                InternedCaseInsensitiveMap.this.clear();
+            }
+        };
+    }
+
+    private Object putSlot(int slot, String key, Object value) {
+        int b = slot >>> BLOCK_SHIFT;
+        Object[] block = blocks[b];
+        if (block == null) {
+            block = new Object[BLOCK_SIZE << 1];
+            blocks[b] = block;
+        }
+        int i = (slot & BLOCK_MASK) << 1;
+        Object answer = block[i + 1];
+        if (block[i] == null) {
+            // preserve the case of the key when it was added first time
+            block[i] = key;
+            size++;
+            modCount++;
+        }
+        block[i + 1] = value;
+        return answer;
+    }
+
+    private Object removeSlot(int slot) {
+        Object[] block = blocks[slot >>> BLOCK_SHIFT];
+        int i = (slot & BLOCK_MASK) << 1;
+        if (block == null || block[i] == null) {
+            return null;
+        }
+        Object answer = block[i + 1];
+        block[i] = null;
+        block[i + 1] = null;
+        size--;
+        modCount++;
+        return answer;
+    }
+
+    private int otherIndex(String key, int hash) {
+        if (otherSize == 0) {
+            return -1;
+        }
+        int mask = otherKeys.length - 1;
+        int i = spread(hash) & mask;
+        String k;
+        while ((k = otherKeys[i]) != null) {
+            if (k != TOMBSTONE && otherHashes[i] == hash && k.equalsIgnoreCase(key)) {
+                return i;
+            }
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    private Object putOther(String key, int hash, Object value) {
+        if (otherKeys == null) {
+            otherKeys = new String[INITIAL_CAPACITY];
+            otherHashes = new int[INITIAL_CAPACITY];
+            otherValues = new Object[INITIAL_CAPACITY];
+        }
+        int mask = otherKeys.length - 1;
+        int i = spread(hash) & mask;
+        int free = -1;
+        String k;
+        while ((k = otherKeys[i]) != null) {
+            if (k == TOMBSTONE) {
+                if (free < 0) {
+                    free = i;
+                }
+            } else if (otherHashes[i] == hash && k.equalsIgnoreCase(key)) {
+                Object answer = otherValues[i];
+                otherValues[i] = value;
+                return answer;
+            }
+            i = (i + 1) & mask;
+        }
+        if (free >= 0) {
+            // reuse the removed entry
+            i = free;
+        } else {
+            otherUsed++;
+        }
+        otherKeys[i] = key;
+        otherHashes[i] = hash;
+        otherValues[i] = value;
+        otherSize++;
+        size++;
+        modCount++;
+        // keep the table at most half full so the probing stays short
+        if (otherUsed << 1 > otherKeys.length) {
+            resizeOther();
+        }
+        return null;
+    }
+
+    private Object removeOther(int index) {
+        Object answer = otherValues[index];
+        // mark as removed so the probing of the other keys continues
+        otherKeys[index] = TOMBSTONE;
+        otherValues[index] = null;
+        otherSize--;
+        size--;
+        modCount++;
+        return answer;
+    }
+
+    private void resizeOther() {
+        String[] oldKeys = otherKeys;
+        int[] oldHashes = otherHashes;
+        Object[] oldValues = otherValues;
+
+        int capacity = INITIAL_CAPACITY;
+        while (capacity < otherSize << 2) {
+            capacity <<= 1;
+        }
+        otherKeys = new String[capacity];
+        otherHashes = new int[capacity];
+        otherValues = new Object[capacity];
+        int mask = capacity - 1;
+        for (int j = 0; j < oldKeys.length; j++) {
+            String k = oldKeys[j];
+            if (k != null && k != TOMBSTONE) {
+                int i = spread(oldHashes[j]) & mask;
+                while (otherKeys[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                otherKeys[i] = k;
+                otherHashes[i] = oldHashes[j];
+                otherValues[i] = oldValues[j];
+            }
+        }
+        otherUsed = otherSize;
+    }
+
+    private static int spread(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Computes a hash code of the key which is the same for keys that are equal ignoring case (according to
+     * {@link String#equalsIgnoreCase(String)}).
+     */
+    static int caseInsensitiveHash(String key) {
+        int h = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < 128) {
+                if (c >= 'A' && c <= 'Z') {
+                    c += 'a' - 'A';
+                }
+            } else {
+                c = Character.toLowerCase(Character.toUpperCase(c));
+            }
+            h = 31 * h + c;
+        }
+        return h;
+    }
+
+    private final class EntryIterator implements Iterator<Entry<String, Object>> {
+
+        private final int slots = keys.size();
+        private int expectedModCount = modCount;
+        // the slots come first and then the other keys
+        private int next;
+        private int last = -1;
+
+        EntryIterator() {
+            next = advance(0);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next >= 0;
+        }
+
+        @Override
+        public Entry<String, Object> next() {
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (next < 0) {
+                throw new NoSuchElementException();
+            }
+            last = next;
+            next = advance(next + 1);
+
+            Entry<String, Object> answer;
+            if (last < slots) {
+                Object[] block = blocks[last >>> BLOCK_SHIFT];
+                int i = (last & BLOCK_MASK) << 1;
+                answer = new MapEntry((String) block[i], block[i + 1]);
+            } else {
+                int i = last - slots;
+                answer = new MapEntry(otherKeys[i], otherValues[i]);
+            }
+            return answer;
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (last < slots) {
+                removeSlot(last);
+            } else {
+                removeOther(last - slots);
+            }
+            last = -1;
+            expectedModCount = modCount;
+        }
+
+        private int advance(int from) {
+            int pos = from;
+            while (pos < slots) {
+                Object[] block = blocks[pos >>> BLOCK_SHIFT];
+                if (block == null) {
+                    // skip the entire block
+                    pos = ((pos >>> BLOCK_SHIFT) + 1) << BLOCK_SHIFT;
+                } else if (block[(pos & BLOCK_MASK) << 1] != null) {
+                    return pos;
+                } else {
+                    pos++;
+                }
+            }
+            if (otherSize > 0) {
+                for (int i = pos - slots; i < otherKeys.length; i++) {
+                    String k = otherKeys[i];
+                    if (k != null && k != TOMBSTONE) {
+                        return slots + i;
+                    }
+                }
+            }
+            return -1;
+        }
+    }
+
+    private final class MapEntry extends SimpleEntry<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        MapEntry(String key, Object value) {
+            super(key, value);
+        }
+
+        @Override
+        public Object setValue(Object value) {
+            // write through to the map
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    /**
+     * The well known keys of a {@link InternedCaseInsensitiveMap} which are stored in pre-computed slots.
+     * <p/>
+     * The keys should be shared by all the maps, as the maps can then be copied quickly.
+     */
+    public static final class Keys {
+
+        private final String[] names;
+        private final int mask;
+        // lookup table using the exact case of the keys
+        private final String[] exactNames;
+        private final int[] exactSlots;
+        // lookup table using the case insensitive hash code of the keys
+        private final String[] names2;
+        private final int[] hashes2;
+        private final int[] slots2;
+
+        private Keys(String[] names) {
+            this.names = names;
+            int capacity = INITIAL_CAPACITY;
+            while (capacity < names.length << 2) {
+                capacity <<= 1;
+            }
+            this.mask = capacity - 1;
+            this.exactNames = new String[capacity];
+            this.exactSlots = new int[capacity];
+            this.names2 = new String[capacity];
+            this.hashes2 = new int[capacity];
+            this.slots2 = new int[capacity];
+            for (int slot = 0; slot < names.length; slot++) {
+                String name = names[slot];
+                int i = spread(name.hashCode()) & mask;
+                while (exactNames[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                exactNames[i] = name;
+                exactSlots[i] = slot;
+
+                int hash = caseInsensitiveHash(name);
+                i = spread(hash) & mask;
+                while (names2[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                names2[i] = name;
+                hashes2[i] = hash;
+                slots2[i] = slot;
+            }
+        }
+
+        /**
+         * Creates the well known keys. Keys that are equal ignoring case are only included once.
+         */
+        public static Keys of(Collection<String> names) {
+            Map<String, String> unique = new LinkedHashMap<>();
+            for (String name : names) {
+                if (name != null) {
+                    unique.putIfAbsent(name.toLowerCase(Locale.ROOT), name);
+                }
+            }
+            return new Keys(unique.values().toArray(new String[0]));
+        }
+
+        /**
+         * Number of well known keys
+         */
+        public int size() {
+            return names.length;
+        }
+
+        /**
+         * Whether the given name is a well known key (ignoring case)
+         */
+        public boolean contains(String name) {
+            return exactSlot(name) >= 0 || slot(name, caseInsensitiveHash(name)) >= 0;
+        }
+
+        int exactSlot(String name) {
+            int h = name.hashCode();
+            int i = spread(h) & mask;
+            String k;
+            while ((k = exactNames[i]) != null) {
+                if (k == name || k.hashCode() == h && k.equals(name)) {
+                    return exactSlots[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+
+        int slot(String name, int hash) {
+            int i = spread(hash) & mask;
+            String k;
+            while ((k = names2[i]) != null) {
+                if (hashes2[i] == hash && k.equalsIgnoreCase(name)) {
+                    return slots2[i];
+                }
+                i = (i + 1) & mask;
+            }
+            return -1;
+        }
+    }
+
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.camel.util.concurrent;
 
+import java.lang.reflect.Array;
 import java.util.PriorityQueue;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -26,12 +27,17 @@ import java.util.function.Consumer;
 
 /**
  * A completion service that orders the completed tasks in the same order as they where submitted.
+ * <p/>
+ * When created with a fixed window, then the completed tasks are kept in a ring buffer instead of a priority queue. The
+ * caller must then ensure that no more than window size tasks are submitted ahead of the last polled task.
  */
 public class AsyncCompletionService<V> {
 
     private final Executor executor;
     private final boolean ordered;
     private final PriorityQueue<Task> queue;
+    private final Task[] ring;
+    private int size;
     private final AtomicInteger nextId = new AtomicInteger();
     private final AtomicInteger index = new AtomicInteger();
     private final ReentrantLock lock;
@@ -46,14 +52,36 @@ public class AsyncCompletionService<V> {
     }
 
     public AsyncCompletionService(Executor executor, boolean ordered, ReentrantLock lock, int capacity) {
+        this(executor, ordered, lock, capacity, false);
+    }
+
+    /**
+     * Creates the completion service.
+     *
+     * @param executor the executor to run the submitted tasks
+     * @param ordered  whether to poll the completed tasks in the same order as they were submitted
+     * @param lock     optional lock to use
+     * @param capacity the initial capacity, or the window size if using a fixed window
+     * @param window   whether to use a fixed window (ring buffer) of the given capacity, which requires ordered
+     */
+    @SuppressWarnings("unchecked")
+    public AsyncCompletionService(Executor executor, boolean ordered, ReentrantLock lock, int capacity, boolean window) {
         this.executor = executor;
         this.ordered = ordered;
         this.lock = lock != null ? lock : new ReentrantLock();
         this.available = this.lock.newCondition();
-        if (capacity > 0) {
+        if (window) {
+            if (!ordered || capacity <= 0) {
+                throw new IllegalArgumentException("A fixed window requires ordered and a positive capacity");
+            }
+            queue = null;
+            ring = (Task[]) Array.newInstance(Task.class, capacity);
+        } else if (capacity > 0) {
             queue = new PriorityQueue<>(capacity);
+            ring = null;
         } else {
             queue = new PriorityQueue<>();
+            ring = null;
         }
     }
 
@@ -70,11 +98,37 @@ public class AsyncCompletionService<V> {
         index.incrementAndGet();
     }
 
+    /**
+     * The number of completed tasks which has not yet been polled.
+     */
+    public int size() {
+        final ReentrantLock lock = this.lock;
+        lock.lock();
+        try {
+            return ring != null ? size : queue.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
     public V pollUnordered() {
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
-            Task t = queue.poll();
+            Task t;
+            if (ring != null) {
+                t = null;
+                for (int i = 0; i < ring.length && t == null; i++) {
+                    int slot = Math.floorMod(index.get() + i, ring.length);
+                    t = ring[slot];
+                    if (t != null) {
+                        ring[slot] = null;
+                        size--;
+                    }
+                }
+            } else {
+                t = queue.poll();
+            }
             return t != null ? t.result : null;
         } finally {
             lock.unlock();
@@ -85,13 +139,8 @@ public class AsyncCompletionService<V> {
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
-            Task t = queue.peek();
-            if (t != null && (!ordered || index.compareAndSet(t.id, t.id + 1))) {
-                queue.poll();
-                return t.result;
-            } else {
-                return null;
-            }
+            Task t = pollNext();
+            return t != null ? t.result : null;
         } finally {
             lock.unlock();
         }
@@ -103,9 +152,8 @@ public class AsyncCompletionService<V> {
         lock.lockInterruptibly();
         try {
             for (;;) {
-                Task t = queue.peek();
-                if (t != null && (!ordered || index.compareAndSet(t.id, t.id + 1))) {
-                    queue.poll();
+                Task t = pollNext();
+                if (t != null) {
                     return t.result;
                 }
                 if (nanos <= 0) {
@@ -124,9 +172,8 @@ public class AsyncCompletionService<V> {
         lock.lockInterruptibly();
         try {
             for (;;) {
-                Task t = queue.peek();
-                if (t != null && (!ordered || index.compareAndSet(t.id, t.id + 1))) {
-                    queue.poll();
+                Task t = pollNext();
+                if (t != null) {
                     return t.result;
                 }
                 available.await();
@@ -136,11 +183,42 @@ public class AsyncCompletionService<V> {
         }
     }
 
+    private Task pollNext() {
+        if (ring != null) {
+            int id = index.get();
+            int slot = Math.floorMod(id, ring.length);
+            Task t = ring[slot];
+            if (t != null && t.id == id) {
+                ring[slot] = null;
+                size--;
+                index.incrementAndGet();
+                return t;
+            }
+            return null;
+        }
+        Task t = queue.peek();
+        if (t != null && (!ordered || index.compareAndSet(t.id, t.id + 1))) {
+            queue.poll();
+            return t;
+        }
+        return null;
+    }
+
     private void complete(Task task) {
         final ReentrantLock lock = this.lock;
         lock.lock();
         try {
-            queue.add(task);
+            if (ring != null) {
+                int slot = Math.floorMod(task.id, ring.length);
+                if (ring[slot] != null) {
+                    throw new IllegalStateException(
+                            "Task " + task.id + " completed outside the window of " + ring.length + " tasks");
+                }
+                ring[slot] = task;
+                size++;
+            } else {
+                queue.add(task);
+            }
             available.signalAll();
         } finally {
             lock.unlock();
@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.util.concurrent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Helper for creating virtual threads when running on a JVM that supports them (Java 21 onwards).
+ * <p/>
+ * Camel is compiled against Java 17 so the virtual thread API is accessed using method handles which are resolved once.
+ * When the JVM does not support virtual threads then {@link #isVirtualThreadsSupported()} returns <tt>false</tt> and
+ * callers should fallback to use platform threads.
+ */
+public final class VirtualThreadHelper {
+
+    private static final Logger LOG = LoggerFactory.getLogger(VirtualThreadHelper.class);
+
+    private static final MethodHandle OF_VIRTUAL;
+    private static final MethodHandle BUILDER_NAME;
+    private static final MethodHandle BUILDER_UNSTARTED;
+    private static final MethodHandle IS_VIRTUAL;
+    private static final MethodHandle NEW_THREAD_PER_TASK_EXECUTOR;
+
+    static {
+        MethodHandle ofVirtual = null;
+        MethodHandle name = null;
+        MethodHandle unstarted = null;
+        MethodHandle isVirtual = null;
+        MethodHandle perTask = null;
+        try {
+            if (Runtime.version().feature() < 21) {
+                // virtual threads are a preview feature in Java 19 and 20, and throws UnsupportedOperationException
+                // when used without enabling preview features
+                throw new UnsupportedOperationException("Virtual threads requires Java 21 or newer");
+            }
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> builder = Class.forName("java.lang.Thread$Builder");
+            Class<?> ofVirtualBuilder = Class.forName("java.lang.Thread$Builder$OfVirtual");
+            ofVirtual = lookup.findStatic(Thread.class, "ofVirtual", MethodType.methodType(ofVirtualBuilder));
+            name = lookup.findVirtual(ofVirtualBuilder, "name", MethodType.methodType(ofVirtualBuilder, String.class));
+            unstarted = lookup.findVirtual(builder, "unstarted", MethodType.methodType(Thread.class, Runnable.class));
+            isVirtual = lookup.findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+            perTask = lookup.findStatic(Executors.class, "newThreadPerTaskExecutor",
+                    MethodType.methodType(ExecutorService.class, ThreadFactory.class));
+            // verify that a virtual thread can be started, as the JVM may not support them even if the API is present
+            Thread probe = (Thread) unstarted.invoke(ofVirtual.invoke(), (Runnable) Thread::yield);
+            probe.start();
+            probe.join();
+        } catch (Throwable e) {
+            // virtual threads are not supported on this JVM
+            ofVirtual = null;
+            name = null;
+            unstarted = null;
+            isVirtual = null;
+            perTask = null;
+            LOG.trace("Virtual threads are not supported on this JVM due to: {}", e.getMessage());
+        }
+        OF_VIRTUAL = ofVirtual;
+        BUILDER_NAME = name;
+        BUILDER_UNSTARTED = unstarted;
+        IS_VIRTUAL = isVirtual;
+        NEW_THREAD_PER_TASK_EXECUTOR = perTask;
+    }
+
+    private VirtualThreadHelper() {
+    }
+
+    /**
+     * Whether the JVM supports virtual threads
+     */
+    public static boolean isVirtualThreadsSupported() {
+        return OF_VIRTUAL != null;
+    }
+
+    /**
+     * Whether the given thread is a virtual thread
+     *
+     * @param  thread the thread
+     * @return        <tt>true</tt> if virtual thread, <tt>false</tt> if platform thread (or virtual threads is not
+     *                supported)
+     */
+    public static boolean isVirtual(Thread thread) {
+        if (IS_VIRTUAL == null || thread == null) {
+            return false;
+        }
+        try {
+            return (boolean) IS_VIRTUAL.invoke(thread);
+        } catch (Throwable e) {
+            return false;
+        }
+    }
+
+    /**
+     * Creates a new unstarted virtual thread
+     *
+     * @param  name                          the thread name
+     * @param  runnable                      the task to run
+     * @return                               the unstarted virtual thread
+     * @throws UnsupportedOperationException if virtual threads is not supported
+     */
+    public static Thread newVirtualThread(String name, Runnable runnable) {
+        checkSupported();
+        try {
+            Object builder = OF_VIRTUAL.invoke();
+            builder = BUILDER_NAME.invoke(builder, name);
+            return (Thread) BUILDER_UNSTARTED.invoke(builder, runnable);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error creating virtual thread: " + name, e);
+        }
+    }
+
+    /**
+     * Creates an executor that starts a new thread (from the given factory) for each task. This is the recommended
+     * executor to use with virtual threads, which are cheap to create and should not be pooled.
+     *
+     * @param  threadFactory                 the thread factory which should create virtual threads
+     * @return                               the executor
+     * @throws UnsupportedOperationException if virtual threads is not supported
+     */
+    public static ExecutorService newThreadPerTaskExecutor(ThreadFactory threadFactory) {
+        checkSupported();
+        try {
+            return (ExecutorService) NEW_THREAD_PER_TASK_EXECUTOR.invoke(threadFactory);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException("Error creating thread per task executor", e);
+        }
+    }
+
+    private static void checkSupported() {
+        if (!isVirtualThreadsSupported()) {
+            throw new UnsupportedOperationException(
+                    "Virtual threads is not supported on this JVM: " + System.getProperty("java.version"));
+        }
+    }
+
+}
@@ -173,6 +173,36 @@ public class AsyncCompletionServiceTest {
         assertEquals("B", b);
     }
 
+    @Test
+    public void testSubmitOrderedWindow() throws Exception {
+        service = new AsyncCompletionService<>(executor, true, null, 2, true);
+
+        final CountDownLatch latch = new CountDownLatch(1);
+
+        service.submit(result("A", latch, 5, TimeUnit.SECONDS));
+        service.submit(result("B"));
+
+        // b is completed but must wait for a
+        Object a = service.poll(100, TimeUnit.MILLISECONDS);
+        assertNull(a);
+        assertEquals(1, service.size());
+
+        latch.countDown();
+
+        a = service.take();
+        Object b = service.take();
+        assertEquals("A", a);
+        assertEquals("B", b);
+        assertEquals(0, service.size());
+
+        // the ring buffer wraps around
+        service.submit(result("C", 100));
+        service.submit(result("D"));
+
+        assertEquals("C", service.take());
+        assertEquals("D", service.take());
+    }
+
     Consumer<Consumer<Object>> result(Object r) {
         return result -> result.accept(r);
     }
@@ -92,12 +92,14 @@ public class ModelParser extends BaseParser {
                 case "completionSize": def.setCompletionSize(val); break;
                 case "completionTimeout": def.setCompletionTimeout(val); break;
                 case "completionTimeoutCheckerInterval": def.setCompletionTimeoutCheckerInterval(val); break;
+                case "completionTimeoutTimingWheel": def.setCompletionTimeoutTimingWheel(val); break;
                 case "discardOnAggregationFailure": def.setDiscardOnAggregationFailure(val); break;
                 case "discardOnCompletionTimeout": def.setDiscardOnCompletionTimeout(val); break;
                 case "eagerCheckCompletion": def.setEagerCheckCompletion(val); break;
                 case "executorService": def.setExecutorService(val); break;
                 case "forceCompletionOnStop": def.setForceCompletionOnStop(val); break;
                 case "ignoreInvalidCorrelationKeys": def.setIgnoreInvalidCorrelationKeys(val); break;
+                case "lockStripes": def.setLockStripes(val); break;
                 case "optimisticLocking": def.setOptimisticLocking(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
                 case "timeoutCheckerExecutorService": def.setTimeoutCheckerExecutorService(val); break;
@@ -1010,7 +1012,9 @@ public class ModelParser extends BaseParser {
                 case "autoStartup": def.setAutoStartup(val); break;
                 case "delayer": def.setDelayer(val); break;
                 case "errorHandlerRef": def.setErrorHandlerRef(val); break;
+                case "fuseProcessors": def.setFuseProcessors(val); break;
                 case "group": def.setGroup(val); break;
+                case "inflightBrowse": def.setInflightBrowse(val); break;
                 case "logMask": def.setLogMask(val); break;
                 case "messageHistory": def.setMessageHistory(val); break;
                 case "nodePrefixId": def.setNodePrefixId(val); break;
@@ -1318,6 +1322,7 @@ public class ModelParser extends BaseParser {
                 case "aggregationStrategyMethodName": def.setAggregationStrategyMethodName(val); break;
                 case "delimiter": def.setDelimiter(val); break;
                 case "executorService": def.setExecutorService(val); break;
+                case "maxInflight": def.setMaxInflight(val); break;
                 case "onPrepare": def.setOnPrepare(val); break;
                 case "parallelAggregate": def.setParallelAggregate(val); break;
                 case "parallelProcessing": def.setParallelProcessing(val); break;
@@ -1442,10 +1447,12 @@ public class ModelParser extends BaseParser {
         return doParse(new ThrottleDefinition(), (def, key, val) -> {
             switch (key) {
                 case "asyncDelayed": def.setAsyncDelayed(val); break;
+                case "burstSize": def.setBurstSize(val); break;
                 case "callerRunsWhenRejected": def.setCallerRunsWhenRejected(val); break;
                 case "executorService": def.setExecutorService(val); break;
                 case "rejectExecution": def.setRejectExecution(val); break;
                 case "timePeriodMillis": def.setTimePeriodMillis(val); break;
+                case "tokenBucket": def.setTokenBucket(val); break;
                 default: return processorDefinitionAttributeHandler().accept(def, key, val);
             }
             return true;
@@ -1470,11 +1477,13 @@ public class ModelParser extends BaseParser {
     }
     protected ToDefinition doParseToDefinition() throws IOException, XmlPullParserException {
         return doParse(new ToDefinition(), (def, key, val) -> {
-            if ("pattern".equals(key)) {
-                def.setPattern(val);
-                return true;
+            switch (key) {
+                case "batchSize": def.setBatchSize(val); break;
+                case "batchTimeout": def.setBatchTimeout(val); break;
+                case "pattern": def.setPattern(val); break;
+                default: return sendDefinitionAttributeHandler().accept(def, key, val);
             }
-            return sendDefinitionAttributeHandler().accept(def, key, val);
+            return true;
         }, optionalIdentifiedDefinitionElementHandler(), noValueHandler());
     }
     protected <T extends SendDefinition> AttributeHandler<T> sendDefinitionAttributeHandler() {
@@ -1040,7 +1040,9 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("ignoreInvalidCorrelationKeys", def.getIgnoreInvalidCorrelationKeys());
         doWriteAttribute("discardOnCompletionTimeout", def.getDiscardOnCompletionTimeout());
         doWriteAttribute("completionTimeoutCheckerInterval", def.getCompletionTimeoutCheckerInterval());
+        doWriteAttribute("completionTimeoutTimingWheel", def.getCompletionTimeoutTimingWheel());
         doWriteAttribute("optimisticLocking", def.getOptimisticLocking());
+        doWriteAttribute("lockStripes", def.getLockStripes());
         doWriteElement("optimisticLockRetryPolicy", def.getOptimisticLockRetryPolicyDefinition(), this::doWriteOptimisticLockRetryPolicyDefinition);
         doWriteElement("correlationExpression", def.getCorrelationExpression(), this::doWriteExpressionSubElementDefinition);
         doWriteElement("completionPredicate", def.getCompletionPredicate(), this::doWriteExpressionSubElementDefinition);
@@ -2012,6 +2014,8 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("shutdownRunningTask", def.getShutdownRunningTask());
         doWriteAttribute("startupOrder", toString(def.getStartupOrder()));
         doWriteAttribute("logMask", def.getLogMask());
+        doWriteAttribute("fuseProcessors", def.getFuseProcessors());
+        doWriteAttribute("inflightBrowse", def.getInflightBrowse());
         doWriteAttribute("nodePrefixId", def.getNodePrefixId());
         doWriteAttribute("messageHistory", def.getMessageHistory());
         doWriteAttribute("autoStartup", def.getAutoStartup());
@@ -2212,6 +2216,7 @@ public class ModelWriter extends BaseWriter {
         doWriteAttribute("aggregationStrategyMethodName", def.getAggregationStrategyMethodName());
         doWriteAttribute("timeout", def.getTimeout());
         doWriteAttribute("streaming", def.getStreaming());
+        doWriteAttribute("maxInflight", def.getMaxInflight());
         doWriteAttribute("stopOnException", def.getStopOnException());
         doWriteAttribute("delimiter", def.getDelimiter());
         doWriteAttribute("parallelProcessing", def.getParallelProcessing());
@@ -2319,6 +2324,8 @@ public class ModelWriter extends BaseWriter {
         doWriteProcessorDefinitionAttributes(def);
         doWriteAttribute("timePeriodMillis", def.getTimePeriodMillis());
         doWriteAttribute("rejectExecution", def.getRejectExecution());
+        doWriteAttribute("tokenBucket", def.getTokenBucket());
+        doWriteAttribute("burstSize", def.getBurstSize());
         doWriteAttribute("callerRunsWhenRejected", def.getCallerRunsWhenRejected());
         doWriteAttribute("executorService", def.getExecutorService());
         doWriteAttribute("asyncDelayed", def.getAsyncDelayed());
@@ -2344,6 +2351,8 @@ public class ModelWriter extends BaseWriter {
         startElement(name);
         doWriteSendDefinitionAttributes(def);
         doWriteAttribute("pattern", def.getPattern());
+        doWriteAttribute("batchSize", def.getBatchSize());
+        doWriteAttribute("batchTimeout", def.getBatchTimeout());
         endElement(name);
     }
     protected void doWriteToDynamicDefinitionAttributes(
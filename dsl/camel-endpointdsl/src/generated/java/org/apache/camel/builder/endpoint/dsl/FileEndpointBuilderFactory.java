@@ -2472,6 +2472,98 @@ public interface FileEndpointBuilderFactory {
             doSetProperty("startingDirectoryMustHaveAccess", startingDirectoryMustHaveAccess);
             return this;
         }
+        /**
+         * Whether to list the directories using a lazy directory stream
+         * instead of loading all the entries of a directory into memory on
+         * every poll. The files are filtered while being listed and the
+         * listing stops as soon as maxMessagesPerPoll files have been found,
+         * and a cursor is kept per directory so the next poll continues where
+         * the previous poll stopped. This is recommended for directories with
+         * a very large number of files. The preSort option cannot be used
+         * together with streaming listing, as sorting requires the entire
+         * directory to be listed.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param streamingListing the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder streamingListing(
+                boolean streamingListing) {
+            doSetProperty("streamingListing", streamingListing);
+            return this;
+        }
+        /**
+         * Whether to list the directories using a lazy directory stream
+         * instead of loading all the entries of a directory into memory on
+         * every poll. The files are filtered while being listed and the
+         * listing stops as soon as maxMessagesPerPoll files have been found,
+         * and a cursor is kept per directory so the next poll continues where
+         * the previous poll stopped. This is recommended for directories with
+         * a very large number of files. The preSort option cannot be used
+         * together with streaming listing, as sorting requires the entire
+         * directory to be listed.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param streamingListing the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder streamingListing(
+                String streamingListing) {
+            doSetProperty("streamingListing", streamingListing);
+            return this;
+        }
+        /**
+         * When using streaming listing, then whether to use a file system
+         * watch service to detect which directories have changed, so
+         * directories where nothing has been created, modified or deleted
+         * since their last complete listing (which found no files to pick up)
+         * are not listed again. Notice that a filter which depends on the time
+         * of the poll is not re-evaluated for files in an unchanged directory.
+         * 
+         * The option is a: &lt;code&gt;boolean&lt;/code&gt; type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param streamingListingWatch the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder streamingListingWatch(
+                boolean streamingListingWatch) {
+            doSetProperty("streamingListingWatch", streamingListingWatch);
+            return this;
+        }
+        /**
+         * When using streaming listing, then whether to use a file system
+         * watch service to detect which directories have changed, so
+         * directories where nothing has been created, modified or deleted
+         * since their last complete listing (which found no files to pick up)
+         * are not listed again. Notice that a filter which depends on the time
+         * of the poll is not re-evaluated for files in an unchanged directory.
+         * 
+         * The option will be converted to a &lt;code&gt;boolean&lt;/code&gt;
+         * type.
+         * 
+         * Default: false
+         * Group: consumer (advanced)
+         * 
+         * @param streamingListingWatch the value to set
+         * @return the dsl builder
+         */
+        default AdvancedFileEndpointConsumerBuilder streamingListingWatch(
+                String streamingListingWatch) {
+            doSetProperty("streamingListingWatch", streamingListingWatch);
+            return this;
+        }
         /**
          * Automatically create missing directories in the file's pathname. For
          * the file consumer, that means creating the starting directory. For
@@ -322,6 +322,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "completion-timeout", type = "string"),
                     @YamlProperty(name = "completion-timeout-checker-interval", type = "string"),
                     @YamlProperty(name = "completion-timeout-expression", type = "object:org.apache.camel.model.ExpressionSubElementDefinition"),
+                    @YamlProperty(name = "completion-timeout-timing-wheel", type = "boolean"),
                     @YamlProperty(name = "correlation-expression", type = "object:org.apache.camel.model.ExpressionSubElementDefinition"),
                     @YamlProperty(name = "description", type = "string"),
                     @YamlProperty(name = "disabled", type = "boolean"),
@@ -333,6 +334,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "ignore-invalid-correlation-keys", type = "boolean"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
+                    @YamlProperty(name = "lock-stripes", type = "number"),
                     @YamlProperty(name = "optimistic-lock-retry-policy", type = "object:org.apache.camel.model.OptimisticLockRetryPolicyDefinition"),
                     @YamlProperty(name = "optimistic-locking", type = "boolean"),
                     @YamlProperty(name = "parallel-processing", type = "boolean"),
@@ -434,6 +436,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setCompletionTimeoutExpression(val);
                     break;
                 }
+                case "completion-timeout-timing-wheel": {
+                    String val = asText(node);
+                    target.setCompletionTimeoutTimingWheel(val);
+                    break;
+                }
                 case "correlation-expression": {
                     org.apache.camel.model.ExpressionSubElementDefinition val = asType(node, org.apache.camel.model.ExpressionSubElementDefinition.class);
                     target.setCorrelationExpression(val);
@@ -479,6 +486,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
                     break;
                 }
+                case "lock-stripes": {
+                    String val = asText(node);
+                    target.setLockStripes(val);
+                    break;
+                }
                 case "optimistic-lock-retry-policy": {
                     org.apache.camel.model.OptimisticLockRetryPolicyDefinition val = asType(node, org.apache.camel.model.OptimisticLockRetryPolicyDefinition.class);
                     target.setOptimisticLockRetryPolicyDefinition(val);
@@ -15483,6 +15495,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "expression", type = "object:org.apache.camel.model.language.ExpressionDefinition"),
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
+                    @YamlProperty(name = "max-inflight", type = "number"),
                     @YamlProperty(name = "on-prepare", type = "string"),
                     @YamlProperty(name = "parallel-aggregate", type = "boolean"),
                     @YamlProperty(name = "parallel-processing", type = "boolean"),
@@ -15548,6 +15561,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setInheritErrorHandler(java.lang.Boolean.valueOf(val));
                     break;
                 }
+                case "max-inflight": {
+                    String val = asText(node);
+                    target.setMaxInflight(val);
+                    break;
+                }
                 case "on-prepare": {
                     String val = asText(node);
                     target.setOnPrepare(val);
@@ -16530,6 +16548,7 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
             properties = {
                     @YamlProperty(name = "__extends", type = "object:org.apache.camel.model.language.ExpressionDefinition"),
                     @YamlProperty(name = "async-delayed", type = "boolean"),
+                    @YamlProperty(name = "burst-size", type = "number"),
                     @YamlProperty(name = "caller-runs-when-rejected", type = "boolean"),
                     @YamlProperty(name = "correlation-expression", type = "object:org.apache.camel.model.ExpressionSubElementDefinition"),
                     @YamlProperty(name = "description", type = "string"),
@@ -16539,7 +16558,8 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     @YamlProperty(name = "id", type = "string"),
                     @YamlProperty(name = "inherit-error-handler", type = "boolean"),
                     @YamlProperty(name = "reject-execution", type = "boolean"),
-                    @YamlProperty(name = "time-period-millis", type = "string")
+                    @YamlProperty(name = "time-period-millis", type = "string"),
+                    @YamlProperty(name = "token-bucket", type = "boolean")
             }
     )
     public static class ThrottleDefinitionDeserializer extends YamlDeserializerBase<ThrottleDefinition> {
@@ -16561,6 +16581,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setAsyncDelayed(val);
                     break;
                 }
+                case "burst-size": {
+                    String val = asText(node);
+                    target.setBurstSize(val);
+                    break;
+                }
                 case "caller-runs-when-rejected": {
                     String val = asText(node);
                     target.setCallerRunsWhenRejected(val);
@@ -16601,6 +16626,11 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
                     target.setTimePeriodMillis(val);
                     break;
                 }
+                case "token-bucket": {
+                    String val = asText(node);
+                    target.setTokenBucket(val);
+                    break;
+                }
                 case "id": {
                     String val = asText(node);
                     target.setId(val);
@@ -16758,6 +16788,8 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
             types = org.apache.camel.model.ToDefinition.class,
             order = org.apache.camel.dsl.yaml.common.YamlDeserializerResolver.ORDER_LOWEST - 1,
             properties = {
+                    @YamlProperty(name = "batch-size", type = "number"),
+                    @YamlProperty(name = "batch-timeout", type = "string"),
                     @YamlProperty(name = "description", type = "string"),
                     @YamlProperty(name = "disabled", type = "boolean"),
                     @YamlProperty(name = "id", type = "string"),
@@ -16792,6 +16824,16 @@ public final class ModelDeserializers extends YamlDeserializerSupport {
         protected boolean setProperty(ToDefinition target, String propertyKey, String propertyName,
                 Node node) {
             switch(propertyKey) {
+                case "batch-size": {
+                    String val = asText(node);
+                    target.setBatchSize(val);
+                    break;
+                }
+                case "batch-timeout": {
+                    String val = asText(node);
+                    target.setBatchTimeout(val);
+                    break;
+                }
                 case "disabled": {
                     String val = asText(node);
                     target.setDisabled(val);
@@ -49,6 +49,8 @@ import org.snakeyaml.engine.v2.nodes.NodeTuple;
                   @YamlProperty(name = "stream-caching", type = "boolean"),
                   @YamlProperty(name = "message-history", type = "boolean"),
                   @YamlProperty(name = "log-mask", type = "boolean"),
+                  @YamlProperty(name = "fuse-processors", type = "boolean"),
+                  @YamlProperty(name = "inflight-browse", type = "boolean"),
                   @YamlProperty(name = "trace", type = "boolean"),
                   @YamlProperty(name = "input-type", type = "object:org.apache.camel.model.InputTypeDefinition"),
                   @YamlProperty(name = "output-type", type = "object:org.apache.camel.model.OutputTypeDefinition"),
@@ -116,6 +118,14 @@ public class RouteDefinitionDeserializer extends YamlDeserializerBase<RouteDefin
                 case "log-mask":
                     target.setLogMask(asText(val));
                     break;
+                case "fuseProcessors":
+                case "fuse-processors":
+                    target.setFuseProcessors(asText(val));
+                    break;
+                case "inflightBrowse":
+                case "inflight-browse":
+                    target.setInflightBrowse(asText(val));
+                    break;
                 case "messageHistory":
                 case "message-history":
                     target.setMessageHistory(asText(val));
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Message;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.DefaultHeadersMapFactory;
+import org.apache.camel.support.DefaultMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks accessing message headers, which are stored in the case-insensitive map created by the
+ * {@link org.apache.camel.spi.HeadersMapFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeadersBenchmark {
+
+    private CamelContext context;
+    private Message message;
+
+    @Setup
+    public void setup() {
+        context = new DefaultCamelContext();
+        // camel-headersmap is on the classpath for HeadersMapFactoryBenchmark, so use the default factory explicitly
+        context.getCamelContextExtension().setHeadersMapFactory(new DefaultHeadersMapFactory());
+        context.start();
+        message = new DefaultMessage(context);
+        message.setHeader("CamelFileName", "hello.txt");
+        message.setHeader("CamelFileLength", 123L);
+        message.setHeader("JMSCorrelationID", "abc");
+        message.setHeader("foo", "bar");
+        message.setHeader("Content-Type", "text/plain");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object getHeader() {
+        return message.getHeader("CamelFileName");
+    }
+
+    @Benchmark
+    public Object getHeaderOtherCase() {
+        return message.getHeader("content-type");
+    }
+
+    @Benchmark
+    public Object getHeaderMissing() {
+        return message.getHeader("unknown");
+    }
+
+    @Benchmark
+    public Object setHeaders() {
+        Message msg = new DefaultMessage(context);
+        msg.setHeader("CamelFileName", "hello.txt");
+        msg.setHeader("CamelFileLength", 123L);
+        msg.setHeader("foo", "bar");
+        return msg;
+    }
+
+    @Benchmark
+    public Object copyHeaders() {
+        Message msg = new DefaultMessage(context);
+        msg.setHeaders(context.getCamelContextExtension().getHeadersMapFactory().newMap(message.getHeaders()));
+        return msg;
+    }
+
+}
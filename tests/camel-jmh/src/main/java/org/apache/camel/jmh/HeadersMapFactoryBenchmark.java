@@ -0,0 +1,109 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.Exchange;
+import org.apache.camel.component.headersmap.FastHeadersMapFactory;
+import org.apache.camel.impl.engine.DefaultHeadersMapFactory;
+import org.apache.camel.impl.engine.InternedHeadersMapFactory;
+import org.apache.camel.spi.HeadersMapFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the maps created by the {@link HeadersMapFactory} implementations: the default
+ * {@link DefaultHeadersMapFactory}, the {@link FastHeadersMapFactory} from camel-headersmap, and the
+ * {@link InternedHeadersMapFactory}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HeadersMapFactoryBenchmark {
+
+    @Param({ "default", "fast", "interned" })
+    private String factory;
+
+    private HeadersMapFactory headersMapFactory;
+    private Map<String, Object> headers;
+
+    @Setup
+    public void setup() {
+        headersMapFactory = switch (factory) {
+            case "fast" -> new FastHeadersMapFactory();
+            case "interned" -> new InternedHeadersMapFactory();
+            default -> new DefaultHeadersMapFactory();
+        };
+        headers = headersMapFactory.newMap();
+        headers.put(Exchange.FILE_NAME, "hello.txt");
+        headers.put(Exchange.FILE_LENGTH, 123L);
+        headers.put(Exchange.CONTENT_TYPE, "text/plain");
+        headers.put(Exchange.BREADCRUMB_ID, "abc");
+        headers.put("JMSCorrelationID", "abc");
+        headers.put("foo", "bar");
+    }
+
+    @Benchmark
+    public Object getConstant() {
+        return headers.get(Exchange.FILE_NAME);
+    }
+
+    @Benchmark
+    public Object getConstantOtherCase() {
+        return headers.get("content-type");
+    }
+
+    @Benchmark
+    public Object getCustom() {
+        return headers.get("foo");
+    }
+
+    @Benchmark
+    public Object getMissing() {
+        return headers.get("unknown");
+    }
+
+    @Benchmark
+    public Object putHeaders() {
+        Map<String, Object> map = headersMapFactory.newMap();
+        map.put(Exchange.FILE_NAME, "hello.txt");
+        map.put(Exchange.FILE_LENGTH, 123L);
+        map.put(Exchange.CONTENT_TYPE, "text/plain");
+        map.put("foo", "bar");
+        return map;
+    }
+
+    @Benchmark
+    public Object copyHeaders() {
+        return headersMapFactory.newMap(headers);
+    }
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.support.DefaultLRUCacheFactory;
+import org.apache.camel.support.LRUCacheFactory;
+import org.apache.camel.support.TinyLfuLRUCacheFactory;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the LRU caches created by the {@link DefaultLRUCacheFactory} and the {@link TinyLfuLRUCacheFactory}.
+ * <p/>
+ * The read benchmarks use a full cache where every key is present. The zipf benchmarks look up keys with a skewed
+ * distribution over more keys than fit in the cache, and add the missing keys, which reports the hits and misses so the
+ * hit ratio of the caches can be compared.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LRUCacheBenchmark {
+
+    private static final int MAXIMUM_CACHE_SIZE = 1000;
+    private static final int ZIPF_KEYS = 10000;
+    private static final int SAMPLES = 1 << 16;
+
+    @Param({ "default", "tinyLfu" })
+    private String factory;
+
+    private Map<String, String> fullCache;
+    private Map<String, String> zipfCache;
+    private String[] presentKeys;
+    private String[] zipfKeys;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        LRUCacheFactory lruCacheFactory = "tinyLfu".equals(factory)
+                ? new TinyLfuLRUCacheFactory() : new DefaultLRUCacheFactory();
+        fullCache = lruCacheFactory.createLRUCache(16, MAXIMUM_CACHE_SIZE, false);
+        zipfCache = lruCacheFactory.createLRUCache(16, MAXIMUM_CACHE_SIZE, false);
+
+        presentKeys = new String[MAXIMUM_CACHE_SIZE];
+        for (int i = 0; i < MAXIMUM_CACHE_SIZE; i++) {
+            presentKeys[i] = "key" + i;
+            fullCache.put(presentKeys[i], presentKeys[i]);
+        }
+
+        // skewed keys where the key with rank k is used in proportion to 1 / k
+        double[] cumulative = new double[ZIPF_KEYS];
+        double sum = 0;
+        for (int i = 0; i < ZIPF_KEYS; i++) {
+            sum += 1.0 / (i + 1);
+            cumulative[i] = sum;
+        }
+        Random random = new Random(42);
+        zipfKeys = new String[SAMPLES];
+        for (int i = 0; i < SAMPLES; i++) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble() * sum);
+            zipfKeys[i] = "zipf" + (index < 0 ? -index - 1 : index);
+        }
+    }
+
+    /**
+     * The position of a thread in the keys, and the hits and misses of the zipf benchmarks
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        private int position;
+        public long hits;
+        public long misses;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            position = 0;
+            hits = 0;
+            misses = 0;
+        }
+
+        int next() {
+            return position++ & Integer.MAX_VALUE;
+        }
+    }
+
+    @Benchmark
+    public Object readFullCache(Counters counters) {
+        return fullCache.get(presentKeys[counters.next() % MAXIMUM_CACHE_SIZE]);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object readFullCacheContended(Counters counters) {
+        return fullCache.get(presentKeys[counters.next() % MAXIMUM_CACHE_SIZE]);
+    }
+
+    @Benchmark
+    public Object zipf(Counters counters) {
+        return getOrPut(counters);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Object zipfContended(Counters counters) {
+        return getOrPut(counters);
+    }
+
+    private Object getOrPut(Counters counters) {
+        String key = zipfKeys[counters.next() & (SAMPLES - 1)];
+        String value = zipfCache.get(key);
+        if (value != null) {
+            counters.hits++;
+        } else {
+            counters.misses++;
+            zipfCache.put(key, key);
+        }
+        return value;
+    }
+
+}
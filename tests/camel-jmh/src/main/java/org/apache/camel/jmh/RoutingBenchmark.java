@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.ExtendedCamelContext;
+import org.apache.camel.ProducerTemplate;
+import org.apache.camel.builder.RouteBuilder;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.impl.engine.PooledExchangeFactory;
+import org.apache.camel.impl.engine.PooledProcessorExchangeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks routing a message from a direct endpoint through a pipeline of processors, which covers
+ * {@link org.apache.camel.processor.Pipeline}, the {@link org.apache.camel.impl.engine.CamelInternalProcessor} advices,
+ * the channels and the {@link org.apache.camel.processor.SendProcessor}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RoutingBenchmark {
+
+    @Param({ "prototype", "pooled" })
+    String exchangeFactory;
+
+    private CamelContext context;
+    private ProducerTemplate template;
+
+    @Setup
+    public void setup() throws Exception {
+        context = new DefaultCamelContext();
+        if ("pooled".equals(exchangeFactory)) {
+            ExtendedCamelContext ecc = context.getCamelContextExtension();
+            ecc.setExchangeFactory(new PooledExchangeFactory());
+            ecc.setProcessorExchangeFactory(new PooledProcessorExchangeFactory());
+        }
+        context.addRoutes(new RouteBuilder() {
+            @Override
+            public void configure() {
+                from("direct:log")
+                        .setHeader("foo", constant("bar"))
+                        .to("log:jmh?level=OFF");
+
+                from("direct:mock")
+                        .setHeader("foo", constant("bar"))
+                        .to("mock:result?retainFirst=0");
+
+                from("direct:pipeline")
+                        .setHeader("foo", constant("bar"))
+                        .setBody(simple("${body} ${header.foo}"))
+                        .to("direct:sub")
+                        .to("mock:result?retainFirst=0");
+
+                from("direct:sub")
+                        .removeHeader("foo");
+            }
+        });
+        context.start();
+        template = context.createProducerTemplate();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object directToLog() {
+        return template.requestBody("direct:log", "Hello World");
+    }
+
+    @Benchmark
+    public Object directToMock() {
+        return template.requestBody("direct:mock", "Hello World");
+    }
+
+    @Benchmark
+    public Object directPipeline() {
+        return template.requestBody("direct:pipeline", "Hello World");
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.CamelContext;
+import org.apache.camel.Exchange;
+import org.apache.camel.Expression;
+import org.apache.camel.Predicate;
+import org.apache.camel.impl.DefaultCamelContext;
+import org.apache.camel.spi.Language;
+import org.apache.camel.support.DefaultExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks evaluating expressions and predicates with the simple language.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SimpleLanguageBenchmark {
+
+    private CamelContext context;
+    private Language simple;
+    private Exchange exchange;
+    private Expression header;
+    private Expression template;
+    private Predicate predicate;
+
+    @Setup
+    public void setup() {
+        context = new DefaultCamelContext();
+        context.start();
+        simple = context.resolveLanguage("simple");
+        exchange = new DefaultExchange(context);
+        exchange.getIn().setBody("Hello World");
+        exchange.getIn().setHeader("foo", "bar");
+        exchange.getIn().setHeader("amount", 123);
+
+        header = simple.createExpression("${header.foo}");
+        header.init(context);
+        template = simple.createExpression("Hello ${header.foo} the body is ${body} and amount is ${header.amount}");
+        template.init(context);
+        predicate = simple.createPredicate("${header.amount} > 100 && ${header.foo} == 'bar'");
+        predicate.init(context);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.stop();
+    }
+
+    @Benchmark
+    public Object header() {
+        return header.evaluate(exchange, Object.class);
+    }
+
+    @Benchmark
+    public Object template() {
+        return template.evaluate(exchange, String.class);
+    }
+
+    @Benchmark
+    public boolean predicate() {
+        return predicate.matches(exchange);
+    }
+
+    @Benchmark
+    public Object parseAndEvaluate() {
+        Expression exp = simple.createExpression("Hello ${header.foo} the body is ${body}");
+        exp.init(context);
+        return exp.evaluate(exchange, String.class);
+    }
+
+}
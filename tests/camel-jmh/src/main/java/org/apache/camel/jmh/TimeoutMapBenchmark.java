@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.camel.jmh;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.camel.support.DefaultTimeoutMap;
+import org.apache.camel.support.TimingWheelTimeoutMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks the {@link org.apache.camel.TimeoutMap} implementations with a number of entries in flight, comparing the
+ * {@link DefaultTimeoutMap} with the {@link TimingWheelTimeoutMap}.
+ * <p/>
+ * The purge task is not scheduled, instead the purge is called directly by the benchmark.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TimeoutMapBenchmark {
+
+    @Param({ "default", "timingWheel" })
+    String type;
+
+    @Param({ "1000", "100000" })
+    int size;
+
+    private ScheduledExecutorService executor;
+    private BenchmarkTimeoutMap map;
+    private long counter;
+
+    @Setup(Level.Iteration)
+    public void setup() {
+        executor = Executors.newSingleThreadScheduledExecutor();
+        if ("timingWheel".equals(type)) {
+            map = new WheelMap(executor);
+        } else {
+            map = new DefaultMap(executor);
+        }
+        // entries that are in flight and not yet timed out
+        for (int i = 0; i < size; i++) {
+            map.put("key" + i, "value" + i, 60000);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Benchmark
+    public Object putRemove() {
+        String key = "req" + counter++;
+        map.put(key, key, 30000);
+        return map.remove(key);
+    }
+
+    @Benchmark
+    public int purge() {
+        map.purge();
+        return map.size();
+    }
+
+    private interface BenchmarkTimeoutMap {
+
+        String put(String key, String value, long timeoutMillis);
+
+        String remove(String key);
+
+        int size();
+
+        void purge();
+    }
+
+    private static final class DefaultMap extends DefaultTimeoutMap<String, String> implements BenchmarkTimeoutMap {
+
+        DefaultMap(ScheduledExecutorService executor) {
+            super(executor, 1000);
+        }
+
+        @Override
+        public void purge() {
+            super.purge();
+        }
+    }
+
+    private static final class WheelMap extends TimingWheelTimeoutMap<String, String> implements BenchmarkTimeoutMap {
+
+        WheelMap(ScheduledExecutorService executor) {
+            super(executor, 1000);
+        }
+
+        @Override
+        public void purge() {
+            super.purge();
+        }
+    }
+
+}